@@ -0,0 +1,36 @@
+package org.aitest.ai_counsel.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
+import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
+import org.aitest.ai_counsel.client.SentimentClient;
+import org.aitest.ai_counsel.client.SentimentProperties;
+import org.aitest.ai_counsel.service.AnalysisResultCache;
+import org.aitest.ai_counsel.service.ClassificationDictionaryProvider;
+import org.aitest.ai_counsel.service.CounselAnalysisService;
+import org.aitest.ai_counsel.service.KomoranPool;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.time.Duration;
+
+/**
+ * 스프링 컨텍스트 없이 분석 서비스를 구성합니다.
+ * 외부 API 호출과 캐시는 사용하지 않습니다.
+ */
+public final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    public static CounselAnalysisService analysisService() {
+        SentimentClient sentimentClient = new SentimentClient("", "http://localhost/", new SentimentProperties());
+        AnalysisResultCache cache = new AnalysisResultCache(null, false, 1, Duration.ofMinutes(1), false, Duration.ZERO, 0, Duration.ZERO);
+        ClassificationDictionaryProvider dictionaryProvider = new ClassificationDictionaryProvider(
+                new DefaultResourceLoader(), new ObjectMapper(), cache,
+                "classpath:dictionary/counsel-dictionary.json", Duration.ZERO);
+        KomoranPool komoranPool = new KomoranPool(new DefaultResourceLoader(), DEFAULT_MODEL.FULL, "", 0, Duration.ofMinutes(5), false);
+        return new CounselAnalysisService(komoranPool, sentimentClient, cache, dictionaryProvider,
+                ObservationRegistry.NOOP, new SimpleMeterRegistry(), 0, Duration.ZERO);
+    }
+}
@@ -0,0 +1,191 @@
+package org.aitest.ai_counsel.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * JMH 벤치마크를 GC 프로파일러와 함께 실행하고 기준값과 비교합니다.
+ * <p>
+ * 처리량(ops/s)이 기준보다 임계 비율 이상 낮아지거나 연산당 할당량(B/op)이 임계 비율 이상 늘면
+ * 0 이 아닌 코드로 종료하여 빌드를 실패시킵니다. 기준 파일이 없으면 측정 전에 실패하며,
+ * 기준 없이 측정만 하려면 jmh.skip-regression 을 지정해야 합니다.
+ * 기준 파일에는 측정한 JDK 와 장비 정보를 함께 저장하고, 비교 시 현재 환경과 다르면 경고합니다.
+ * <pre>
+ * mvn -Pjmh verify                                   # 실행 및 기준값 비교
+ * mvn -Pjmh verify -Djmh.include=Prediction          # 일부 벤치마크만 실행
+ * mvn -Pjmh verify -Djmh.update-baseline=true        # 측정값을 기준 파일로 저장
+ * mvn -Pjmh verify -Djmh.skip-regression=true        # 기준값 비교 없이 측정만
+ * </pre>
+ */
+public final class BenchmarkRunner {
+
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    private static final String ENVIRONMENT_PREFIX = "env.";
+
+    private BenchmarkRunner() {
+    }
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String include = System.getProperty("jmh.include", "org\\.aitest\\.ai_counsel\\..*Benchmark");
+        Path resultFile = Path.of(System.getProperty("jmh.result", "target/jmh-result.json"));
+        Path baselineFile = Path.of(System.getProperty("jmh.baseline", "src/jmh/resources/jmh-baseline.properties"));
+        double threshold = Double.parseDouble(System.getProperty("jmh.regression-threshold", "10"));
+        boolean updateBaseline = Boolean.getBoolean("jmh.update-baseline");
+        boolean skipRegression = Boolean.getBoolean("jmh.skip-regression");
+
+        if (!updateBaseline && !skipRegression && !Files.exists(baselineFile)) {
+            System.err.println("[jmh] 기준 파일이 없습니다: " + baselineFile);
+            System.err.println("[jmh] 기준 장비에서 -Djmh.update-baseline=true 로 생성하여 커밋하거나, "
+                    + "비교 없이 측정하려면 -Djmh.skip-regression=true 를 지정하세요.");
+            System.exit(2);
+        }
+
+        Files.createDirectories(resultFile.toAbsolutePath().getParent());
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile.toString())
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+
+        Map<String, Double> measured = collect(results);
+        print(measured);
+
+        if (updateBaseline) {
+            writeBaseline(baselineFile, measured);
+            System.out.println("[jmh] 기준값 저장: " + baselineFile);
+            return;
+        }
+        if (skipRegression) {
+            System.out.println("[jmh] jmh.skip-regression 지정으로 회귀 비교를 건너뜁니다.");
+            return;
+        }
+
+        Properties baseline = readBaseline(baselineFile);
+        warnIfEnvironmentDiffers(baseline);
+        List<String> regressions = compare(measurements(baseline), measured, threshold);
+        if (!regressions.isEmpty()) {
+            regressions.forEach(regression -> System.err.println("[jmh] 성능 회귀: " + regression));
+            System.exit(1);
+        }
+        System.out.printf("[jmh] 기준 대비 %.0f%% 이내로 회귀 없음%n", threshold);
+    }
+
+    /**
+     * 벤치마크 이름과 파라미터별 처리량(.ops)과 연산당 할당량(.alloc) 을 모읍니다.
+     */
+    private static Map<String, Double> collect(Collection<RunResult> results) {
+        Map<String, Double> measured = new TreeMap<>();
+        for (RunResult result : results) {
+            String name = result.getParams().getBenchmark().replace("org.aitest.ai_counsel.", "");
+            List<String> params = new ArrayList<>();
+            for (String key : result.getParams().getParamsKeys()) {
+                params.add(key + "=" + result.getParams().getParam(key));
+            }
+            String key = params.isEmpty() ? name : name + "[" + String.join(",", params) + "]";
+
+            measured.put(key + ".ops", result.getPrimaryResult().getScore());
+            Result<?> alloc = result.getSecondaryResults().get(ALLOC_NORM);
+            if (alloc == null) {
+                alloc = result.getSecondaryResults().get("·" + ALLOC_NORM);
+            }
+            if (alloc != null) {
+                measured.put(key + ".alloc", alloc.getScore());
+            }
+        }
+        return measured;
+    }
+
+    private static List<String> compare(Map<String, Double> baseline, Map<String, Double> measured, double threshold) {
+        List<String> regressions = new ArrayList<>();
+        double ratio = threshold / 100.0;
+        baseline.forEach((key, expected) -> {
+            Double actual = measured.get(key);
+            if (actual == null || expected <= 0) {
+                return;
+            }
+            boolean regressed = key.endsWith(".ops")
+                    ? actual < expected * (1 - ratio)
+                    : actual > expected * (1 + ratio);
+            if (regressed) {
+                regressions.add(String.format("%s 기준 %.1f -> 측정 %.1f", key, expected, actual));
+            }
+        });
+        return regressions;
+    }
+
+    private static void print(Map<String, Double> measured) {
+        System.out.println("[jmh] 측정 결과 (ops: ops/s, alloc: B/op)");
+        measured.forEach((key, value) -> System.out.printf("[jmh] %-90s %,15.1f%n", key, value));
+    }
+
+    private static Properties readBaseline(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    private static Map<String, Double> measurements(Properties properties) {
+        Map<String, Double> baseline = new TreeMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.startsWith(ENVIRONMENT_PREFIX)) {
+                baseline.put(key, Double.parseDouble(properties.getProperty(key)));
+            }
+        }
+        return baseline;
+    }
+
+    /**
+     * 측정값은 JDK 와 장비에 따라 달라지므로 기준 파일을 만든 환경과 다르면 알립니다.
+     */
+    private static void warnIfEnvironmentDiffers(Properties baseline) {
+        environment().forEach((key, current) -> {
+            String recorded = baseline.getProperty(key);
+            if (recorded != null && !recorded.equals(current)) {
+                System.out.printf("[jmh] 경고: 기준 측정 환경과 다릅니다 %s 기준 %s -> 현재 %s%n", key, recorded, current);
+            }
+        });
+    }
+
+    private static Map<String, String> environment() {
+        Map<String, String> environment = new TreeMap<>();
+        environment.put(ENVIRONMENT_PREFIX + "java.vm", System.getProperty("java.vm.name") + " " + System.getProperty("java.vm.version"));
+        environment.put(ENVIRONMENT_PREFIX + "os", System.getProperty("os.name") + " " + System.getProperty("os.arch"));
+        environment.put(ENVIRONMENT_PREFIX + "cpus", String.valueOf(Runtime.getRuntime().availableProcessors()));
+        environment.put(ENVIRONMENT_PREFIX + "max-heap-mb", String.valueOf(Runtime.getRuntime().maxMemory() / (1024 * 1024)));
+        return environment;
+    }
+
+    private static void writeBaseline(Path file, Map<String, Double> measured) throws IOException {
+        Properties properties = new Properties();
+        environment().forEach(properties::setProperty);
+        measured.forEach((key, value) -> properties.setProperty(key, String.format(Locale.ROOT, "%.1f", value)));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        try (Writer writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            properties.store(writer, "JMH baseline (ops: ops/s, alloc: B/op)");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package org.aitest.ai_counsel.benchmark;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * data.sql 의 상담 샘플로 벤치마크용 상담 내용을 생성합니다.
+ * 같은 시드로 항상 같은 코퍼스를 만들어 측정 간 비교가 가능하도록 합니다.
+ */
+public final class CounselCorpus {
+
+    public enum ContentType {
+        /** data.sql 샘플 그대로 */
+        SHORT,
+        /** 샘플을 이어 붙인 2000자 내용 */
+        LONG,
+        /** 짧은 내용 70%, 긴 내용 30% */
+        MIXED
+    }
+
+    public static final int LONG_LENGTH = 2000;
+
+    private static final long SEED = 20250101L;
+    private static final Pattern ROW = Pattern.compile(
+            "\\('([^']*)',\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)',\\s*'([^']*)'");
+
+    private CounselCorpus() {
+    }
+
+    /**
+     * data.sql 의 상담 내용 컬럼을 추출합니다.
+     */
+    public static List<String> samples() {
+        try (InputStream in = CounselCorpus.class.getResourceAsStream("/data.sql")) {
+            if (in == null) {
+                throw new IllegalStateException("data.sql 을 찾을 수 없습니다.");
+            }
+            Matcher matcher = ROW.matcher(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            List<String> samples = new ArrayList<>();
+            while (matcher.find()) {
+                samples.add(matcher.group(4));
+            }
+            return Collections.unmodifiableList(samples);
+        } catch (IOException e) {
+            throw new IllegalStateException("data.sql 을 읽을 수 없습니다.", e);
+        }
+    }
+
+    public static List<String> generate(ContentType type, int size) {
+        List<String> samples = samples();
+        Random random = new Random(SEED);
+        List<String> corpus = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            boolean longContent = type == ContentType.LONG
+                    || (type == ContentType.MIXED && random.nextInt(10) < 3);
+            corpus.add(longContent ? longContent(samples, random) : samples.get(random.nextInt(samples.size())));
+        }
+        return corpus;
+    }
+
+    private static String longContent(List<String> samples, Random random) {
+        StringBuilder content = new StringBuilder(LONG_LENGTH + 200);
+        while (content.length() < LONG_LENGTH) {
+            content.append(samples.get(random.nextInt(samples.size()))).append(' ');
+        }
+        return content.substring(0, LONG_LENGTH);
+    }
+}
@@ -0,0 +1,126 @@
+package org.aitest.ai_counsel.service;
+
+import kr.co.shineware.nlp.komoran.model.Token;
+import org.aitest.ai_counsel.benchmark.BenchmarkFixtures;
+import org.aitest.ai_counsel.benchmark.CounselCorpus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 상담 분석 단계별 처리량과 할당량을 측정합니다.
+ * 형태소 분석 결과는 미리 만들어 두고 각 단계의 비용만 측정합니다.
+ * analyzeTokenizeOnce/analyzeTokenizePerStep 은 같은 분석 단계를 형태소 분석 1회 공유와 단계별 반복으로 비교합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CounselAnalysisBenchmark {
+
+    private static final int CORPUS_SIZE = 512;
+
+    @Param({"SHORT", "LONG", "MIXED"})
+    private CounselCorpus.ContentType contentType;
+
+    private CounselAnalysisService analysisService;
+    private String[] contents;
+    private List<Token>[] tokens;
+    private TokenizedContent[] tokenized;
+    private int cursor;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        analysisService = BenchmarkFixtures.analysisService();
+
+        contents = CounselCorpus.generate(contentType, CORPUS_SIZE).toArray(String[]::new);
+        tokens = new List[contents.length];
+        tokenized = new TokenizedContent[contents.length];
+        for (int i = 0; i < contents.length; i++) {
+            tokenized[i] = analysisService.tokenize(contents[i]);
+            tokens[i] = tokenized[i].getTokens();
+        }
+    }
+
+    private int next() {
+        int index = cursor;
+        cursor = (cursor + 1) % contents.length;
+        return index;
+    }
+
+    @Benchmark
+    public TokenizedContent tokenize() {
+        return analysisService.tokenize(contents[next()]);
+    }
+
+    @Benchmark
+    public List<String> extractKeywords() {
+        return TokenizedContent.extractKeywords(tokens[next()]);
+    }
+
+    /**
+     * 정규식과 스트림으로 키워드를 추출하던 기존 구현입니다. 할당량 비교 기준으로 남겨 둡니다.
+     */
+    @Benchmark
+    public List<String> extractKeywordsRegex() {
+        return tokens[next()].stream()
+                .filter(token -> token.getPos().matches("NN.*|VV.*|VA.*"))
+                .map(Token::getMorph)
+                .filter(word -> word.length() > 1)
+                .distinct()
+                .limit(10)
+                .collect(Collectors.toUnmodifiableList());
+    }
+
+    @Benchmark
+    public String classifyCounselType() {
+        return analysisService.classifyCounselType(tokenized[next()]);
+    }
+
+    @Benchmark
+    public String analyzeSentimentFallback() {
+        return analysisService.analyzeSentimentFallback(tokenized[next()]);
+    }
+
+    /**
+     * 형태소 분석 1회 결과를 키워드 추출, 유형 분류, 감정 분석이 함께 사용합니다.
+     */
+    @Benchmark
+    public Object[] analyzeTokenizeOnce() {
+        TokenizedContent shared = analysisService.tokenize(contents[next()]);
+        return new Object[]{
+                shared.getKeywords(),
+                analysisService.classifyCounselType(shared),
+                analysisService.analyzeSentimentFallback(shared)
+        };
+    }
+
+    /**
+     * 단계마다 형태소 분석을 반복하던 기존 구조입니다. analyzeTokenizeOnce 의 비교 기준으로 남겨 둡니다.
+     */
+    @Benchmark
+    public Object[] analyzeTokenizePerStep() {
+        String content = contents[next()];
+        return new Object[]{
+                analysisService.tokenize(content).getKeywords(),
+                analysisService.classifyCounselType(analysisService.tokenize(content)),
+                analysisService.analyzeSentimentFallback(analysisService.tokenize(content))
+        };
+    }
+}
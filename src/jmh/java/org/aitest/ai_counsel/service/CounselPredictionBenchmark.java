@@ -0,0 +1,98 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.benchmark.BenchmarkFixtures;
+import org.aitest.ai_counsel.benchmark.CounselCorpus;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 상담 이력 길이별 예측 처리량과 할당량을 측정합니다.
+ * 이력 전체로 계산하는 경우와 증분 집계로 계산하는 경우를 비교합니다.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+public class CounselPredictionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int historySize;
+
+    @Param({"MIXED"})
+    private CounselCorpus.ContentType contentType;
+
+    private CounselPredictionService predictionService;
+    private List<Counsel> history;
+    private CounselAggregate aggregate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        CounselAnalysisService analysisService = BenchmarkFixtures.analysisService();
+        // 저장소 없이 이력의 유형 순서로 전이 모델을 학습
+        TypeTransitionModel transitionModel = new TypeTransitionModel(null, null, null, false, Duration.ZERO);
+        predictionService = new CounselPredictionService(transitionModel, 0.5, 1.96);
+
+        history = new ArrayList<>(historySize);
+        aggregate = new CounselAggregate(64, CounselAggregate.decayRate(90), true);
+        LocalDateTime date = LocalDateTime.of(2025, 1, 1, 9, 0).plusDays(historySize * 7L);
+        long id = historySize;
+        for (String content : CounselCorpus.generate(contentType, historySize)) {
+            TokenizedContent tokenized = analysisService.tokenize(content);
+            String counselType = analysisService.classifyCounselType(tokenized);
+
+            Counsel counsel = new Counsel();
+            counsel.setId(id);
+            counsel.setContent(content);
+            counsel.setCounselDate(date);
+            counsel.applyAnalysis(counselType, analysisService.analyzeSentimentFallback(tokenized), tokenized.getKeywords());
+            history.add(counsel);
+
+            aggregate.recordCounsel(id, date);
+            aggregate.recordAnalysis(null, counselType, date, tokenized.getKeywords());
+            date = date.minusDays(7);
+            id--;
+        }
+        List<String> sequence = new ArrayList<>(history.stream().map(Counsel::getCounselType).toList());
+        Collections.reverse(sequence);
+        transitionModel.learn(sequence);
+    }
+
+    /**
+     * 매번 이력 전체를 일시 순으로 다시 집계하여 예측합니다. 이력은 최신순으로 들어 있습니다.
+     */
+    @Benchmark
+    public CounselPredictionService.PredictionResult predictFromHistory() {
+        CounselAggregate replayed = new CounselAggregate(64, CounselAggregate.decayRate(90), true);
+        for (int i = history.size() - 1; i >= 0; i--) {
+            Counsel counsel = history.get(i);
+            replayed.recordCounsel(counsel.getId(), counsel.getCounselDate());
+            replayed.recordAnalysis(null, counsel.getCounselType(), counsel.getCounselDate(), counsel.getKeywords());
+        }
+        return predictionService.predictNextCounsel(replayed.toSummary(CounselPredictionService.TOP_KEYWORD_COUNT));
+    }
+
+    @Benchmark
+    public CounselPredictionService.PredictionResult predictFromAggregate() {
+        return predictionService.predictNextCounsel(aggregate.toSummary(CounselPredictionService.TOP_KEYWORD_COUNT));
+    }
+}
@@ -0,0 +1,85 @@
+package org.aitest.ai_counsel.cli;
+
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.aitest.ai_counsel.service.CounselImportService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+
+/**
+ * 명령행에서 상담 파일을 적재하고 종료합니다.
+ * <pre>
+ * java -jar ai-counsel.jar --spring.main.web-application-type=none \
+ *     --counsel.import.file=counsels.csv [--counsel.import.analyze=true] [--counsel.import.resume-id=7]
+ * </pre>
+ * 실패하면 종료 코드 1 과 함께 재개할 작업 ID 를 출력합니다.
+ */
+@Component
+@ConditionalOnProperty(name = "counsel.import.file")
+public class CounselImportRunner implements ApplicationRunner {
+
+    private final CounselImportService counselImportService;
+    private final ConfigurableApplicationContext context;
+    private final String file;
+    private final String format;
+    private final boolean analyze;
+    private final Long resumeId;
+
+    public CounselImportRunner(CounselImportService counselImportService,
+                               ConfigurableApplicationContext context,
+                               @Value("${counsel.import.file}") String file,
+                               @Value("${counsel.import.format:}") String format,
+                               @Value("${counsel.import.analyze:false}") boolean analyze,
+                               @Value("${counsel.import.resume-id:}") Long resumeId) {
+        this.counselImportService = counselImportService;
+        this.context = context;
+        this.file = file;
+        this.format = format;
+        this.analyze = analyze;
+        this.resumeId = resumeId;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        Path path = Path.of(file);
+        Long importId = resumeId != null
+                ? resumeId
+                : counselImportService.create(path.getFileName().toString(), resolveFormat(path), analyze).getId();
+
+        CounselImportService.ImportResult result;
+        try (InputStream in = Files.newInputStream(path)) {
+            result = counselImportService.run(importId, in);
+        }
+
+        CounselImport job = result.getJob();
+        System.out.printf("[import] id=%d status=%s rows=%d imported=%d rejected=%d %.1f rows/s%n",
+                job.getId(), job.getStatus(), result.getRows(), job.getImportedRows(), job.getRejectedRows(),
+                result.getRowsPerSecond());
+        result.getErrors().forEach(error ->
+                System.out.printf("[import] row %d (line %d): %s%n", error.getRow(), error.getLine(), error.getMessage()));
+
+        int exitCode = job.getStatus() == CounselImport.Status.COMPLETED ? 0 : 1;
+        if (exitCode != 0) {
+            System.out.printf("[import] 재개하려면 --counsel.import.resume-id=%d 로 다시 실행하세요. (%s)%n",
+                    job.getId(), job.getLastError());
+        }
+        System.exit(SpringApplication.exit(context, () -> exitCode));
+    }
+
+    private CounselImport.Format resolveFormat(Path path) {
+        if (!format.isBlank()) {
+            return CounselImport.Format.valueOf(format.toUpperCase(Locale.ROOT));
+        }
+        String name = path.getFileName().toString().toLowerCase(Locale.ROOT);
+        return name.endsWith(".csv") ? CounselImport.Format.CSV : CounselImport.Format.NDJSON;
+    }
+}
@@ -0,0 +1,19 @@
+package org.aitest.ai_counsel.client;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 여러 프롬프트를 한 번에 전송하는 Completion 요청입니다.
+ * 라이브러리의 CompletionRequest 는 단일 프롬프트만 지원하므로 별도로 정의합니다.
+ */
+@Getter
+@Builder
+public class BatchCompletionRequest {
+    private String model;
+    private List<String> prompt;
+    private Integer maxTokens;
+    private Double temperature;
+}
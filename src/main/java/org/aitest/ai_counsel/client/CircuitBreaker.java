@@ -0,0 +1,140 @@
+package org.aitest.ai_counsel.client;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 최근 호출 결과를 기준으로 외부 API 호출 허용 여부를 결정하는 서킷 브레이커입니다.
+ * <p>
+ * CLOSED 상태에서 실패율이 임계값을 넘으면 OPEN 으로 전환되어 호출을 차단하고,
+ * 대기 시간이 지나면 HALF_OPEN 상태에서 일부 시험 호출만 허용합니다.
+ */
+public class CircuitBreaker {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int slidingWindowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openDurationMillis;
+    private final int halfOpenPermittedCalls;
+    private final LongSupplier clock;
+
+    private final boolean[] window;
+    private int windowIndex;
+    private int windowCount;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenIssued;
+    private int halfOpenSucceeded;
+    private long openCount;
+
+    public CircuitBreaker(int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                          long openDurationMillis, int halfOpenPermittedCalls) {
+        this(slidingWindowSize, minimumCalls, failureRateThreshold, openDurationMillis, halfOpenPermittedCalls,
+                System::currentTimeMillis);
+    }
+
+    CircuitBreaker(int slidingWindowSize, int minimumCalls, double failureRateThreshold,
+                   long openDurationMillis, int halfOpenPermittedCalls, LongSupplier clock) {
+        this.slidingWindowSize = slidingWindowSize;
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.halfOpenPermittedCalls = halfOpenPermittedCalls;
+        this.clock = clock;
+        this.window = new boolean[slidingWindowSize];
+    }
+
+    /**
+     * 호출 가능 여부를 확인합니다. HALF_OPEN 상태에서는 허용된 시험 호출 수만큼만 통과시킵니다.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openDurationMillis) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenIssued >= halfOpenPermittedCalls) {
+                return false;
+            }
+            halfOpenIssued++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenPermittedCalls) {
+                transitionTo(State.CLOSED);
+            }
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            transitionTo(State.OPEN);
+            return;
+        }
+        if (state == State.CLOSED) {
+            record(true);
+            if (windowCount >= minimumCalls && getFailureRate() >= failureRateThreshold) {
+                transitionTo(State.OPEN);
+            }
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * 슬라이딩 윈도우 기준 실패율(%)을 반환합니다.
+     */
+    public synchronized double getFailureRate() {
+        return windowCount == 0 ? 0.0 : windowFailures * 100.0 / windowCount;
+    }
+
+    public synchronized long getOpenCount() {
+        return openCount;
+    }
+
+    private void record(boolean failure) {
+        if (windowCount == slidingWindowSize) {
+            if (window[windowIndex]) {
+                windowFailures--;
+            }
+        } else {
+            windowCount++;
+        }
+        window[windowIndex] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowIndex = (windowIndex + 1) % slidingWindowSize;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        halfOpenIssued = 0;
+        halfOpenSucceeded = 0;
+        if (newState == State.OPEN) {
+            openedAt = clock.getAsLong();
+            openCount++;
+        }
+        if (newState == State.CLOSED) {
+            windowIndex = 0;
+            windowCount = 0;
+            windowFailures = 0;
+        }
+    }
+}
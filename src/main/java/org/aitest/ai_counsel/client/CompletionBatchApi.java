@@ -0,0 +1,15 @@
+package org.aitest.ai_counsel.client;
+
+import com.theokanning.openai.completion.CompletionResult;
+import io.reactivex.Single;
+import retrofit2.http.Body;
+import retrofit2.http.POST;
+
+/**
+ * 프롬프트 배열을 지원하는 Completion API 정의입니다.
+ */
+public interface CompletionBatchApi {
+
+    @POST("/v1/completions")
+    Single<CompletionResult> createCompletion(@Body BatchCompletionRequest request);
+}
@@ -0,0 +1,127 @@
+package org.aitest.ai_counsel.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 짧은 시간 동안 들어온 감정 분석 요청을 모아 한 번의 API 호출로 전송합니다.
+ * <p>
+ * 대기 요청이 최대 개수에 도달하거나 최대 대기 시간이 지나면 전송하며,
+ * 응답은 요청 순서(index) 기준으로 각 호출자에게 돌려줍니다.
+ */
+public class SentimentBatcher {
+
+    private final int maxBatchSize;
+    private final long maxDelayMillis;
+    private final Function<List<String>, CompletableFuture<List<String>>> sender;
+    private final ScheduledExecutorService scheduler;
+
+    private List<PendingRequest> pending = new ArrayList<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public SentimentBatcher(int maxBatchSize, long maxDelayMillis,
+                            Function<List<String>, CompletableFuture<List<String>>> sender) {
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.sender = sender;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sentiment-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<String> submit(String content) {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        List<PendingRequest> ready = null;
+
+        synchronized (this) {
+            pending.add(new PendingRequest(content, future));
+            if (pending.size() >= maxBatchSize) {
+                ready = drain();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, maxDelayMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (ready != null) {
+            send(ready);
+        }
+        return future;
+    }
+
+    /**
+     * 대기 중인 요청을 즉시 전송합니다.
+     */
+    public void flush() {
+        List<PendingRequest> ready;
+        synchronized (this) {
+            ready = drain();
+        }
+        if (!ready.isEmpty()) {
+            send(ready);
+        }
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    public void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    private List<PendingRequest> drain() {
+        List<PendingRequest> ready = pending;
+        pending = new ArrayList<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return ready;
+    }
+
+    private void send(List<PendingRequest> batch) {
+        List<String> contents = new ArrayList<>(batch.size());
+        for (PendingRequest request : batch) {
+            contents.add(request.content);
+        }
+
+        CompletableFuture<List<String>> response;
+        try {
+            response = sender.apply(contents);
+        } catch (RuntimeException e) {
+            response = CompletableFuture.failedFuture(e);
+        }
+
+        response.whenComplete((results, error) -> {
+            for (int i = 0; i < batch.size(); i++) {
+                CompletableFuture<String> future = batch.get(i).future;
+                String result = error == null && i < results.size() ? results.get(i) : null;
+                if (result != null) {
+                    future.complete(result);
+                } else {
+                    future.completeExceptionally(error != null ? error
+                            : new SentimentClient.SentimentUnavailableException("응답에 해당 요청의 결과가 없습니다."));
+                }
+            }
+        });
+    }
+
+    private static class PendingRequest {
+        private final String content;
+        private final CompletableFuture<String> future;
+
+        private PendingRequest(String content, CompletableFuture<String> future) {
+            this.content = content;
+            this.future = future;
+        }
+    }
+}
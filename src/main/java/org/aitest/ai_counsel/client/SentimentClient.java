@@ -0,0 +1,352 @@
+package org.aitest.ai_counsel.client;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.theokanning.openai.client.OpenAiApi;
+import com.theokanning.openai.completion.CompletionChoice;
+import com.theokanning.openai.completion.CompletionRequest;
+import com.theokanning.openai.completion.CompletionResult;
+import com.theokanning.openai.service.OpenAiService;
+import io.reactivex.Single;
+import io.reactivex.disposables.Disposable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.OkHttpClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import retrofit2.Retrofit;
+import retrofit2.adapter.rxjava2.RxJava2CallAdapterFactory;
+import retrofit2.converter.jackson.JacksonConverterFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * OpenAI Completion API 를 비동기로 호출하여 상담 감정을 분류합니다.
+ * <p>
+ * 동시 호출 수 제한(벌크헤드), 호출별 응답 시간 제한, 서킷 브레이커를 적용하며
+ * 호출이 허용되지 않거나 실패하면 예외로 완료된 Future 를 반환합니다.
+ * 배치 모드에서는 여러 요청을 프롬프트 배열로 묶어 한 번에 전송합니다.
+ */
+@Slf4j
+@Component
+public class SentimentClient {
+
+    private static final String MODEL = "gpt-3.5-turbo-instruct";
+    private static final int MAX_TOKENS = 10;
+    private static final Set<String> SENTIMENTS = Set.of("긍정", "부정", "중립");
+    private static final Set<String> PLACEHOLDER_KEYS = Set.of("your-api-key-here", "YOUR_OPENAI_API_KEY");
+
+    private final OpenAiApi api;
+    private final CompletionBatchApi batchApi;
+    private final SentimentBatcher batcher;
+    private final Semaphore bulkhead;
+    private final CircuitBreaker circuitBreaker;
+    private final int maxConcurrentCalls;
+    private final long timeoutMillis;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder totalCalls = new LongAdder();
+    private final LongAdder successes = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder shortCircuited = new LongAdder();
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public SentimentClient(@Value("${openai.api.key:}") String apiKey,
+                           @Value("${openai.api.base-url:https://api.openai.com/}") String baseUrl,
+                           SentimentProperties properties) {
+        this.maxConcurrentCalls = properties.getMaxConcurrentCalls();
+        this.timeoutMillis = properties.getTimeoutMs();
+        this.bulkhead = new Semaphore(maxConcurrentCalls);
+
+        SentimentProperties.Circuit circuit = properties.getCircuit();
+        this.circuitBreaker = new CircuitBreaker(circuit.getSlidingWindowSize(), circuit.getMinimumCalls(),
+                circuit.getFailureRateThreshold(), circuit.getOpenDurationMs(), circuit.getHalfOpenCalls());
+
+        if (isValidKey(apiKey)) {
+            Retrofit retrofit = buildRetrofit(apiKey, baseUrl, maxConcurrentCalls, timeoutMillis);
+            this.api = retrofit.create(OpenAiApi.class);
+            this.batchApi = retrofit.create(CompletionBatchApi.class);
+        } else {
+            this.api = null;
+            this.batchApi = null;
+        }
+
+        SentimentProperties.Batch batch = properties.getBatch();
+        this.batcher = api != null && batch.isEnabled() && batch.getMaxSize() > 1
+                ? new SentimentBatcher(batch.getMaxSize(), batch.getMaxDelayMs(), this::classifyAll)
+                : null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (batcher != null) {
+            batcher.shutdown();
+        }
+    }
+
+    /**
+     * API 키가 설정되어 외부 호출이 가능한지 여부를 반환합니다.
+     */
+    public boolean isEnabled() {
+        return api != null;
+    }
+
+    /**
+     * 상담 내용의 감정을 비동기로 분류합니다. 묶음 대기 없이 바로 호출하므로 단건 분석 요청에 사용합니다.
+     */
+    public CompletableFuture<String> classify(String content) {
+        return classify(content, false);
+    }
+
+    /**
+     * 상담 내용의 감정을 비동기로 분류합니다. 묶음 요청이 켜져 있으면 max-delay-ms 동안 다른 요청과 모아
+     * 한 번에 호출하므로 일괄 분석, 자동 분석처럼 응답 지연보다 호출 수가 중요한 경로에서 사용합니다.
+     */
+    public CompletableFuture<String> classifyBatched(String content) {
+        return classify(content, true);
+    }
+
+    private CompletableFuture<String> classify(String content, boolean batched) {
+        if (!isEnabled()) {
+            return CompletableFuture.failedFuture(new SentimentUnavailableException("OpenAI API 키가 설정되지 않았습니다."));
+        }
+
+        requests.increment();
+        CompletableFuture<String> future = batched && batcher != null
+                ? batcher.submit(content)
+                : execute(() -> api.createCompletion(buildRequest(content))).thenApply(this::parse);
+
+        return future.whenComplete((sentiment, error) -> {
+            if (error != null) {
+                fallbacks.increment();
+            }
+        });
+    }
+
+    /**
+     * 여러 상담 내용을 하나의 Completion 요청으로 분류합니다.
+     * 응답 choice 는 index 기준으로 요청 순서에 매핑합니다.
+     */
+    CompletableFuture<List<String>> classifyAll(List<String> contents) {
+        return execute(() -> batchApi.createCompletion(buildBatchRequest(contents)))
+                .thenApply(result -> mapChoices(result, contents.size()));
+    }
+
+    /**
+     * 벌크헤드, 서킷 브레이커, 응답 시간 제한을 적용하여 API 를 호출합니다.
+     */
+    private CompletableFuture<CompletionResult> execute(Supplier<Single<CompletionResult>> call) {
+        totalCalls.increment();
+        if (!bulkhead.tryAcquire()) {
+            rejected.increment();
+            return CompletableFuture.failedFuture(new SentimentUnavailableException("동시 호출 한도를 초과했습니다."));
+        }
+        if (!circuitBreaker.tryAcquirePermission()) {
+            bulkhead.release();
+            shortCircuited.increment();
+            return CompletableFuture.failedFuture(new SentimentUnavailableException("서킷 브레이커가 열려 있습니다."));
+        }
+
+        inFlight.incrementAndGet();
+        CompletableFuture<CompletionResult> future = new CompletableFuture<>();
+        Disposable subscription;
+        try {
+            subscription = call.get().subscribe(future::complete, future::completeExceptionally);
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            subscription = null;
+        }
+
+        // 호출 결과 집계가 끝난 뒤에 후속 단계가 실행되도록 whenComplete 단계를 반환
+        Disposable finalSubscription = subscription;
+        return future.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS)
+                .whenComplete((result, error) -> {
+                    if (finalSubscription != null) {
+                        finalSubscription.dispose();
+                    }
+                    inFlight.decrementAndGet();
+                    bulkhead.release();
+                    onComplete(error);
+                });
+    }
+
+    private void onComplete(Throwable error) {
+        if (error == null) {
+            successes.increment();
+            circuitBreaker.onSuccess();
+            return;
+        }
+
+        circuitBreaker.onFailure();
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            timeouts.increment();
+            log.warn("OpenAI API 응답 시간 초과: {}ms", timeoutMillis);
+        } else {
+            failures.increment();
+            log.warn("OpenAI API 호출 중 오류 발생: {}", cause.getMessage());
+        }
+    }
+
+    private CompletionRequest buildRequest(String content) {
+        return CompletionRequest.builder()
+                .model(MODEL)
+                .prompt(buildPrompt(content))
+                .maxTokens(MAX_TOKENS)
+                .temperature(0.0)
+                .build();
+    }
+
+    private BatchCompletionRequest buildBatchRequest(List<String> contents) {
+        List<String> prompts = new ArrayList<>(contents.size());
+        for (String content : contents) {
+            prompts.add(buildPrompt(content));
+        }
+        return BatchCompletionRequest.builder()
+                .model(MODEL)
+                .prompt(prompts)
+                .maxTokens(MAX_TOKENS)
+                .temperature(0.0)
+                .build();
+    }
+
+    static String buildPrompt(String content) {
+        return String.format(
+                "다음 상담 내용은 긍정, 부정, 중립 중 어떤 감정에 해당하나요? 답변은 '긍정', '부정', '중립' 중 하나로만 해주세요.\n\n내용: %s\n\n감정:",
+                content
+        );
+    }
+
+    /**
+     * AI의 답변이 예상과 다를 경우 중립으로 처리합니다.
+     */
+    static String normalize(String text) {
+        String sentiment = text == null ? "" : text.trim();
+        return SENTIMENTS.contains(sentiment) ? sentiment : "중립";
+    }
+
+    private String parse(CompletionResult result) {
+        return normalize(result.getChoices().get(0).getText());
+    }
+
+    /**
+     * choice 의 index 로 요청 순서를 복원합니다. 응답에 없는 요청은 null 로 남깁니다.
+     */
+    private List<String> mapChoices(CompletionResult result, int size) {
+        List<String> sentiments = new ArrayList<>(Collections.nCopies(size, null));
+        List<CompletionChoice> choices = result.getChoices() == null ? List.of() : result.getChoices();
+        for (CompletionChoice choice : choices) {
+            Integer index = choice.getIndex();
+            if (index != null && index >= 0 && index < size) {
+                sentiments.set(index, normalize(choice.getText()));
+            }
+        }
+        return sentiments;
+    }
+
+    private static boolean isValidKey(String apiKey) {
+        return apiKey != null && !apiKey.isBlank() && !PLACEHOLDER_KEYS.contains(apiKey);
+    }
+
+    private static Retrofit buildRetrofit(String apiKey, String baseUrl, int maxConcurrentCalls, long timeoutMillis) {
+        ObjectMapper mapper = OpenAiService.defaultObjectMapper();
+        OkHttpClient client = OpenAiService.defaultClient(apiKey, Duration.ofMillis(timeoutMillis));
+        client.dispatcher().setMaxRequests(maxConcurrentCalls);
+        client.dispatcher().setMaxRequestsPerHost(maxConcurrentCalls);
+
+        // createAsync: 요청 스레드를 점유하지 않도록 OkHttp 비동기 호출 사용
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl)
+                .client(client)
+                .addConverterFactory(JacksonConverterFactory.create(mapper))
+                .addCallAdapterFactory(RxJava2CallAdapterFactory.createAsync())
+                .build();
+    }
+
+    public CircuitBreaker.State getCircuitState() {
+        return circuitBreaker.getState();
+    }
+
+    public double getCircuitFailureRate() {
+        return circuitBreaker.getFailureRate();
+    }
+
+    public long getCircuitOpenCount() {
+        return circuitBreaker.getOpenCount();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public int getMaxConcurrentCalls() {
+        return maxConcurrentCalls;
+    }
+
+    public int getPendingBatchSize() {
+        return batcher == null ? 0 : batcher.getPendingCount();
+    }
+
+    public long getTotalCalls() {
+        return totalCalls.sum();
+    }
+
+    public long getSuccesses() {
+        return successes.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getShortCircuited() {
+        return shortCircuited.sum();
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getFallbacks() {
+        return fallbacks.sum();
+    }
+
+    /**
+     * 감정 분석 요청 중 대체 로직으로 처리된 비율(%)을 반환합니다.
+     */
+    public double getFallbackRate() {
+        long total = getRequests();
+        return total == 0 ? 0.0 : getFallbacks() * 100.0 / total;
+    }
+
+    /**
+     * 호출이 허용되지 않았거나 사용할 수 없는 상태임을 나타냅니다.
+     */
+    public static class SentimentUnavailableException extends RuntimeException {
+        public SentimentUnavailableException(String message) {
+            super(message);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package org.aitest.ai_counsel.client;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 감정 분석 API 호출 설정입니다. (openai.sentiment.*)
+ */
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "openai.sentiment")
+public class SentimentProperties {
+
+    /** 최대 동시 호출 수 (벌크헤드) */
+    private int maxConcurrentCalls = 8;
+
+    /** 호출별 응답 시간 제한(ms) */
+    private long timeoutMs = 3000;
+
+    private final Circuit circuit = new Circuit();
+
+    private final Batch batch = new Batch();
+
+    @Getter
+    @Setter
+    public static class Circuit {
+        private int slidingWindowSize = 20;
+        private int minimumCalls = 10;
+        private double failureRateThreshold = 50;
+        private long openDurationMs = 30000;
+        private int halfOpenCalls = 3;
+    }
+
+    @Getter
+    @Setter
+    public static class Batch {
+        /** 일괄 / 자동 분석의 감정 분석 요청을 하나의 Completion 요청으로 묶을지 여부 (단건 분석은 묶지 않음) */
+        private boolean enabled = true;
+
+        /** 한 번에 묶을 최대 요청 수 */
+        private int maxSize = 20;
+
+        /** 요청을 모으기 위해 기다리는 최대 시간(ms) */
+        private long maxDelayMs = 10;
+    }
+}
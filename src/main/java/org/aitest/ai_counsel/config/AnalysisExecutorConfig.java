@@ -0,0 +1,155 @@
+package org.aitest.ai_counsel.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * 분석 작업 실행기 설정입니다.
+ * <p>
+ * spring.threads.virtual.enabled=true 이고 Java 21 이상이면 DB 조회와 외부 API 응답을 주로 기다리는
+ * 자동 분석 워커와 일괄 작업 조정 스레드를 가상 스레드로 만듭니다. 큐 용량과 동시 실행 수 제한은 그대로 유지합니다.
+ * CPU 를 쓰는 일괄 분석 워커는 플랫폼 스레드로 남기고, 형태소 분석은 KomoranPool 의 전용 스레드에서 실행합니다.
+ */
+@Configuration
+public class AnalysisExecutorConfig {
+
+    /**
+     * 일괄 분석 작업을 병렬로 처리하는 워커 풀입니다.
+     * 큐가 가득 차면 호출 스레드에서 직접 실행하여 작업 제출 속도를 조절합니다.
+     */
+    @Bean(name = "batchAnalysisExecutor")
+    public ThreadPoolTaskExecutor batchAnalysisExecutor(
+            @Value("${counsel.analysis.batch.workers:0}") int workers,
+            @Value("${counsel.analysis.batch.queue-capacity:256}") int queueCapacity) {
+        int poolSize = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(poolSize);
+        executor.setMaxPoolSize(poolSize);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("batch-analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 일괄 분석 작업 단위(Job)를 순서대로 실행하는 조정 스레드입니다.
+     */
+    @Bean(name = "batchJobExecutor")
+    public ThreadPoolTaskExecutor batchJobExecutor(
+            @Value("${counsel.analysis.batch.max-pending-jobs:16}") int maxPendingJobs,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(maxPendingJobs);
+        executor.setThreadNamePrefix("batch-job-");
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 저장된 상담을 백그라운드에서 분석하는 워커 풀입니다.
+     * 저장 요청을 지연시키지 않도록 큐가 가득 차면 작업을 거절하며, 거절된 상담은 미분석 일괄 분석으로 처리합니다.
+     */
+    @Bean(name = "autoAnalysisExecutor")
+    public ThreadPoolTaskExecutor autoAnalysisExecutor(
+            @Value("${counsel.analysis.auto.workers:2}") int workers,
+            @Value("${counsel.analysis.auto.queue-capacity:1000}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("auto-analysis-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 단건 분석 요청의 감정 분석 응답이 오면 결과를 저장하는 워커 풀입니다.
+     * 응답을 완료한 스레드(HTTP 콜백, 타임아웃 스레드)를 DB 작업으로 막지 않도록 저장을 여기서 수행합니다.
+     * 큐가 가득 차면 결과를 버리지 않도록 호출 스레드에서 직접 실행합니다.
+     */
+    @Bean(name = "analysisPersistExecutor")
+    public ThreadPoolTaskExecutor analysisPersistExecutor(
+            @Value("${counsel.analysis.persist.workers:4}") int workers,
+            @Value("${counsel.analysis.persist.queue-capacity:1000}") int queueCapacity,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("analysis-persist-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 통계 집계를 기간 구간별로 병렬 재계산하는 워커 풀입니다.
+     * 워커마다 DB 커넥션을 하나씩 사용하므로 커넥션 풀보다 작게 설정합니다.
+     */
+    @Bean(name = "rollupRebuildExecutor")
+    public ThreadPoolTaskExecutor rollupRebuildExecutor(
+            @Value("${counsel.statistics.rebuild.parallelism:4}") int parallelism,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("rollup-rebuild-");
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 상담 유형 전이 행렬을 고객 구간별로 병렬 재계산하는 워커 풀입니다.
+     */
+    @Bean(name = "transitionRebuildExecutor")
+    public ThreadPoolTaskExecutor transitionRebuildExecutor(
+            @Value("${counsel.prediction.transition.rebuild.parallelism:4}") int parallelism,
+            Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setThreadNamePrefix("transition-rebuild-");
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    /**
+     * 전체 고객 일괄 예측 작업을 실행하는 조정 스레드입니다. 고객별 예측은 일괄 분석 워커 풀에서 수행합니다.
+     */
+    @Bean(name = "bulkPredictionExecutor")
+    public ThreadPoolTaskExecutor bulkPredictionExecutor(Environment environment) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(1);
+        executor.setThreadNamePrefix("bulk-prediction-");
+        useVirtualThreadsIfEnabled(executor, environment);
+        executor.initialize();
+        return executor;
+    }
+
+    private static void useVirtualThreadsIfEnabled(ThreadPoolTaskExecutor executor, Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            executor.setThreadFactory(new VirtualThreadTaskExecutor(executor.getThreadNamePrefix()).getVirtualThreadFactory());
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package org.aitest.ai_counsel.config;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.aitest.ai_counsel.client.CircuitBreaker;
+import org.aitest.ai_counsel.client.SentimentClient;
+import org.aitest.ai_counsel.service.AnalysisResultCache;
+import org.aitest.ai_counsel.service.CounselAutoAnalyzer;
+import org.aitest.ai_counsel.service.CounselIngestionQueue;
+import org.aitest.ai_counsel.service.CounselReadCache;
+import org.aitest.ai_counsel.service.CounselSearchIndex;
+import org.aitest.ai_counsel.service.KomoranPool;
+import org.aitest.ai_counsel.service.TypeTransitionModel;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * 분석 파이프라인 구성 요소가 이미 집계하고 있는 값을 Micrometer 지표로 노출합니다. (GET /actuator/prometheus)
+ * <p>
+ * 누적 건수는 FunctionCounter, 현재 값은 Gauge 로 등록하여 수집 시점에만 값을 읽습니다.
+ * 실행기(ThreadPoolTaskExecutor) 큐 길이는 스프링 부트가 executor.* 지표로 노출합니다.
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public MeterBinder sentimentClientMetrics(SentimentClient client) {
+        return registry -> {
+            callCounter(registry, client, "success", SentimentClient::getSuccesses);
+            callCounter(registry, client, "failure", SentimentClient::getFailures);
+            callCounter(registry, client, "timeout", SentimentClient::getTimeouts);
+            callCounter(registry, client, "rejected", SentimentClient::getRejected);
+            callCounter(registry, client, "short_circuited", SentimentClient::getShortCircuited);
+            FunctionCounter.builder("counsel.sentiment.requests", client, SentimentClient::getRequests)
+                    .description("감정 분석 요청 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.sentiment.fallbacks", client, SentimentClient::getFallbacks)
+                    .description("대체 로직으로 처리된 감정 분석 요청 수")
+                    .register(registry);
+            Gauge.builder("counsel.sentiment.in_flight", client, SentimentClient::getInFlight)
+                    .description("진행 중인 API 호출 수")
+                    .register(registry);
+            Gauge.builder("counsel.sentiment.batch.pending", client, SentimentClient::getPendingBatchSize)
+                    .description("배치 전송을 기다리는 요청 수")
+                    .register(registry);
+            Gauge.builder("counsel.sentiment.circuit.open", client,
+                            c -> c.getCircuitState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                    .description("서킷 브레이커 열림 여부")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder analysisCacheMetrics(AnalysisResultCache cache) {
+        return registry -> {
+            FunctionCounter.builder("counsel.analysis.cache.requests", cache, c -> c.getStats().hitCount())
+                    .description("분석 결과 캐시 조회 수")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("counsel.analysis.cache.requests", cache, c -> c.getStats().missCount())
+                    .description("분석 결과 캐시 조회 수")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("counsel.analysis.cache.evictions", cache, c -> c.getStats().evictionCount())
+                    .description("분석 결과 캐시 제거 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.analysis.cache.persistent.requests", cache, AnalysisResultCache::getPersistentHits)
+                    .description("영속 캐시 조회 수")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("counsel.analysis.cache.persistent.requests", cache, AnalysisResultCache::getPersistentMisses)
+                    .description("영속 캐시 조회 수")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("counsel.analysis.cache.size", cache, AnalysisResultCache::getSize)
+                    .description("분석 결과 캐시 항목 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder counselReadCacheMetrics(CounselReadCache cache) {
+        return registry -> {
+            readCacheMeters(registry, cache, "counsel", CounselReadCache::getCounselStats, CounselReadCache::getCounselSize);
+            readCacheMeters(registry, cache, "history", CounselReadCache::getHistoryStats, CounselReadCache::getHistorySize);
+        };
+    }
+
+    @Bean
+    public MeterBinder predictionModelMetrics(TypeTransitionModel model) {
+        return registry -> {
+            Gauge.builder("counsel.prediction.transitions", model, TypeTransitionModel::getTransitionCount)
+                    .description("학습된 상담 유형 전이 수")
+                    .register(registry);
+            Gauge.builder("counsel.prediction.model.rebuilding", model, m -> m.isRebuilding() ? 1 : 0)
+                    .description("예측 모델 재구축 진행 여부")
+                    .register(registry);
+            FunctionCounter.builder("counsel.prediction.model.events", model, TypeTransitionModel::getAppliedEvents)
+                    .description("증분 학습한 분석 이벤트 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.prediction.model.skipped_events", model, TypeTransitionModel::getSkippedEvents)
+                    .description("재구축으로 미룬 분석 이벤트 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder komoranPoolMetrics(KomoranPool pool) {
+        return registry -> {
+            Gauge.builder("counsel.komoran.ready", pool, p -> p.isReady() ? 1 : 0)
+                    .description("형태소 분석기 적재 완료 여부")
+                    .register(registry);
+            Gauge.builder("counsel.komoran.in_use", pool, KomoranPool::getInUse)
+                    .description("분석 중인 요청 수")
+                    .register(registry);
+            Gauge.builder("counsel.komoran.waiting", pool, KomoranPool::getWaiting)
+                    .description("허가를 기다리는 요청 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.komoran.analyses", pool, KomoranPool::getAnalyses)
+                    .description("형태소 분석 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.komoran.waits", pool, KomoranPool::getWaits)
+                    .description("허가를 기다린 요청 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.komoran.timeouts", pool, KomoranPool::getTimeouts)
+                    .description("허가 대기 시간 초과 수")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder pipelineQueueMetrics(CounselIngestionQueue ingestionQueue,
+                                            CounselAutoAnalyzer autoAnalyzer,
+                                            CounselSearchIndex searchIndex) {
+        return registry -> {
+            Gauge.builder("counsel.ingestion.queue.depth", ingestionQueue, CounselIngestionQueue::getQueueDepth)
+                    .description("기록 대기 중인 상담 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.accepted", ingestionQueue, CounselIngestionQueue::getAccepted)
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.rejected", ingestionQueue, CounselIngestionQueue::getRejected)
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.written", ingestionQueue, CounselIngestionQueue::getWritten)
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.failed", ingestionQueue, CounselIngestionQueue::getFailed)
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.retried", ingestionQueue, CounselIngestionQueue::getRetried)
+                    .register(registry);
+            FunctionCounter.builder("counsel.ingestion.dead_lettered", ingestionQueue, CounselIngestionQueue::getDeadLettered)
+                    .register(registry);
+
+            Gauge.builder("counsel.auto_analysis.queue.depth", autoAnalyzer, CounselAutoAnalyzer::getQueueDepth)
+                    .description("자동 분석 대기 중인 상담 수")
+                    .register(registry);
+            FunctionCounter.builder("counsel.auto_analysis.rejected", autoAnalyzer, CounselAutoAnalyzer::getRejected)
+                    .register(registry);
+            FunctionCounter.builder("counsel.auto_analysis.retried", autoAnalyzer, CounselAutoAnalyzer::getRetried)
+                    .register(registry);
+            FunctionCounter.builder("counsel.auto_analysis.failed", autoAnalyzer, CounselAutoAnalyzer::getFailed)
+                    .register(registry);
+
+            Gauge.builder("counsel.search.documents", searchIndex, CounselSearchIndex::getDocumentCount)
+                    .description("검색 색인 문서 수")
+                    .register(registry);
+            Gauge.builder("counsel.search.pending", searchIndex, CounselSearchIndex::getPendingCount)
+                    .description("검색 색인 대기 중인 상담 수")
+                    .register(registry);
+        };
+    }
+
+    private static void readCacheMeters(MeterRegistry registry, CounselReadCache cache, String name,
+                                        Function<CounselReadCache, CacheStats> stats,
+                                        ToDoubleFunction<CounselReadCache> size) {
+        FunctionCounter.builder("counsel.read_cache.requests", cache, c -> stats.apply(c).hitCount())
+                .description("상담 조회 캐시 조회 수")
+                .tags("cache", name, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("counsel.read_cache.requests", cache, c -> stats.apply(c).missCount())
+                .description("상담 조회 캐시 조회 수")
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        FunctionCounter.builder("counsel.read_cache.evictions", cache, c -> stats.apply(c).evictionCount())
+                .description("상담 조회 캐시 제거 수")
+                .tag("cache", name)
+                .register(registry);
+        Gauge.builder("counsel.read_cache.size", cache, size)
+                .description("상담 조회 캐시 항목 수")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private static void callCounter(MeterRegistry registry, SentimentClient client,
+                                    String outcome, ToDoubleFunction<SentimentClient> count) {
+        FunctionCounter.builder("counsel.sentiment.calls", client, count)
+                .description("감정 분석 API 호출 결과")
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package org.aitest.ai_counsel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.dto.BatchAnalysisJobResponse;
+import org.aitest.ai_counsel.dto.BatchAnalysisRequest;
+import org.aitest.ai_counsel.service.BatchAnalysisService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "상담 일괄 분석", description = "대량 상담 분석 작업 API")
+@RestController
+@RequestMapping("/api/counsels/analysis/batch")
+@RequiredArgsConstructor
+public class BatchAnalysisController {
+
+    private final BatchAnalysisService batchAnalysisService;
+
+    @Operation(summary = "일괄 분석 요청", description = "ID 목록, 기간 또는 미분석 상담 전체를 대상으로 분석 작업을 시작합니다.")
+    @PostMapping
+    public ResponseEntity<BatchAnalysisJobResponse> submitBatchAnalysis(@Valid @RequestBody BatchAnalysisRequest request) {
+        BatchAnalysisJobResponse response = BatchAnalysisJobResponse.from(batchAnalysisService.submit(request));
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @Operation(summary = "일괄 분석 진행 상황 조회", description = "일괄 분석 작업의 진행률과 처리량을 조회합니다.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BatchAnalysisJobResponse> getBatchAnalysis(
+            @Parameter(description = "작업 ID") @PathVariable String jobId) {
+        return ResponseEntity.ok(BatchAnalysisJobResponse.from(batchAnalysisService.getJob(jobId)));
+    }
+}
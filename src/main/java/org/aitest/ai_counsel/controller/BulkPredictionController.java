@@ -0,0 +1,45 @@
+package org.aitest.ai_counsel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.CounselPredictionJob;
+import org.aitest.ai_counsel.dto.CounselPredictionJobResponse;
+import org.aitest.ai_counsel.service.BulkPredictionService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "상담 일괄 예측", description = "전체 고객 다음 상담 일괄 예측 작업 API")
+@RestController
+@RequestMapping("/api/counsels/prediction/batch")
+@RequiredArgsConstructor
+public class BulkPredictionController {
+
+    private final BulkPredictionService bulkPredictionService;
+
+    @Operation(summary = "일괄 예측 시작",
+            description = "최근 상담이 있는 전체 고객의 다음 상담을 예측하여 저장하는 작업을 시작합니다. 실행 중인 작업이 있으면 409 를 반환합니다.")
+    @PostMapping
+    public ResponseEntity<CounselPredictionJobResponse> startBulkPrediction() {
+        return ResponseEntity.accepted().body(response(bulkPredictionService.start()));
+    }
+
+    @Operation(summary = "일괄 예측 재개", description = "실패하거나 중단된 작업을 마지막으로 커밋된 고객 다음부터 이어서 실행합니다.")
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<CounselPredictionJobResponse> resumeBulkPrediction(
+            @Parameter(description = "예측 작업 ID") @PathVariable Long jobId) {
+        return ResponseEntity.accepted().body(response(bulkPredictionService.resume(jobId)));
+    }
+
+    @Operation(summary = "일괄 예측 진행 상황 조회", description = "처리 고객 수, 재개 지점과 초당 처리량을 조회합니다.")
+    @GetMapping("/{jobId}")
+    public ResponseEntity<CounselPredictionJobResponse> getBulkPrediction(
+            @Parameter(description = "예측 작업 ID") @PathVariable Long jobId) {
+        return ResponseEntity.ok(response(bulkPredictionService.getJob(jobId)));
+    }
+
+    private CounselPredictionJobResponse response(CounselPredictionJob job) {
+        return CounselPredictionJobResponse.from(job, bulkPredictionService.isRunning(job.getId()));
+    }
+}
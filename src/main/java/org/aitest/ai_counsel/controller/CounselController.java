@@ -6,16 +6,28 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.dto.CounselPredictionResponse;
 import org.aitest.ai_counsel.dto.CounselRequest;
 import org.aitest.ai_counsel.dto.CounselResponse;
+import org.aitest.ai_counsel.dto.CounselSearchResponse;
+import org.aitest.ai_counsel.dto.CounselSummaryResponse;
+import org.aitest.ai_counsel.dto.CursorPage;
+import org.aitest.ai_counsel.service.CounselExportService;
+import org.aitest.ai_counsel.service.CounselIngestionQueue;
+import org.aitest.ai_counsel.service.CounselSearchIndex;
 import org.aitest.ai_counsel.service.CounselService;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.concurrent.CompletableFuture;
 
 @Tag(name = "상담 관리", description = "상담 내용 관리 및 분석 API")
 @RestController
@@ -23,22 +35,27 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class CounselController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final CounselService counselService;
+    private final CounselExportService counselExportService;
+    private final CounselIngestionQueue counselIngestionQueue;
 
     @Operation(summary = "상담 내용 저장", description = "새로운 상담 내용을 저장합니다.")
     @PostMapping
     public ResponseEntity<CounselResponse> createCounsel(@Valid @RequestBody CounselRequest request) {
-        Counsel counsel = new Counsel();
-        counsel.setCounselorId(request.getCounselorId());
-        counsel.setCustomerId(request.getCustomerId());
-        counsel.setContent(request.getContent());
-        counsel.setCounselDate(request.getCounselDate() != null ? request.getCounselDate() : LocalDateTime.now());
-        counsel.setProductInfo(request.getProductInfo());
-
-        Counsel saved = counselService.saveCounsel(counsel);
+        Counsel saved = counselService.saveCounsel(request.toEntity());
         return ResponseEntity.ok(CounselResponse.from(saved));
     }
 
+    @Operation(summary = "상담 내용 적재 (쓰기 지연)",
+            description = "상담을 적재 큐에 넣고 즉시 202 를 반환합니다. 저장은 배치로 처리되며, 큐가 가득 차면 429 를 반환합니다.")
+    @PostMapping("/ingest")
+    public ResponseEntity<Void> ingestCounsel(@Valid @RequestBody CounselRequest request) {
+        counselIngestionQueue.submit(request.toEntity());
+        return ResponseEntity.accepted().build();
+    }
+
     @Operation(summary = "상담 상세 조회", description = "특정 상담의 상세 정보를 조회합니다.")
     @GetMapping("/{id}")
     public ResponseEntity<CounselResponse> getCounsel(
@@ -47,63 +64,139 @@ public class CounselController {
         return ResponseEntity.ok(CounselResponse.from(counsel));
     }
 
-    @Operation(summary = "모든 상담 조회", description = "모든 상담 내역을 조회합니다.")
+    @Operation(summary = "상담 목록 조회", description = "상담 내역을 ID 순으로 커서 기반 페이지 조회합니다.")
     @GetMapping
-    public ResponseEntity<List<CounselResponse>> getAllCounsels() {
-        List<CounselResponse> responses = counselService.getAllCounsels()
-                .stream()
-                .map(CounselResponse::from)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<CursorPage<CounselSummaryResponse>> getAllCounsels(
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(counselService.getCounsels(cursor, size).map(CounselSummaryResponse::from));
+    }
+
+    @Operation(summary = "상담 전체 내보내기", description = "모든 상담 내역을 NDJSON 형식으로 스트리밍합니다.")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportCounsels() {
+        StreamingResponseBody body = counselExportService::exportNdjson;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
-    @Operation(summary = "상담사별 상담 내역 조회", description = "특정 상담사의 상담 내역을 조회합니다.")
+    @Operation(summary = "고객별 상담 내역 조회", description = "특정 고객의 상담 내역을 최신순으로 커서 기반 페이지 조회합니다.")
+    @GetMapping("/customer/{customerId}")
+    public ResponseEntity<CursorPage<CounselSummaryResponse>> getCustomerHistory(
+            @Parameter(description = "고객 ID") @PathVariable String customerId,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(counselService.getCustomerHistory(customerId, cursor, size).map(CounselSummaryResponse::from));
+    }
+
+    @Operation(summary = "상담사별 상담 내역 조회", description = "특정 상담사의 상담 내역을 최신순으로 커서 기반 페이지 조회합니다.")
     @GetMapping("/counselor/{counselorId}")
-    public ResponseEntity<List<CounselResponse>> getCounselorHistory(
-            @Parameter(description = "상담사 ID") @PathVariable String counselorId) {
-        List<CounselResponse> responses = counselService.getCounselorHistory(counselorId)
-                .stream()
-                .map(CounselResponse::from)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<CursorPage<CounselSummaryResponse>> getCounselorHistory(
+            @Parameter(description = "상담사 ID") @PathVariable String counselorId,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(counselService.getCounselorHistory(counselorId, cursor, size).map(CounselSummaryResponse::from));
     }
 
-    @Operation(summary = "기간별 상담 내역 조회", description = "지정된 기간의 상담 내역을 조회합니다.")
+    @Operation(summary = "기간별 상담 내역 조회", description = "지정된 기간의 상담 내역을 상담 일시 순으로 커서 기반 페이지 조회합니다.")
     @GetMapping("/period")
-    public ResponseEntity<List<CounselResponse>> getCounselsByPeriod(
+    public ResponseEntity<CursorPage<CounselSummaryResponse>> getCounselsByPeriod(
             @Parameter(description = "시작일") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
-            @Parameter(description = "종료일") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end) {
-        List<CounselResponse> responses = counselService.getCounselsByPeriod(start, end)
-                .stream()
-                .map(CounselResponse::from)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+            @Parameter(description = "종료일") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(counselService.getCounselsByPeriod(start, end, cursor, size).map(CounselSummaryResponse::from));
     }
 
-    @Operation(summary = "상품별 상담 내역 조회", description = "특정 상품 관련 상담 내역을 조회합니다.")
+    @Operation(summary = "상품별 상담 내역 조회", description = "특정 상품 관련 상담 내역을 커서 기반 페이지 조회합니다.")
     @GetMapping("/product")
-    public ResponseEntity<List<CounselResponse>> getCounselsByProduct(
-            @Parameter(description = "상품 정보") @RequestParam String productInfo) {
-        List<CounselResponse> responses = counselService.getCounselsByProduct(productInfo)
+    public ResponseEntity<CursorPage<CounselSummaryResponse>> getCounselsByProduct(
+            @Parameter(description = "상품 정보") @RequestParam String productInfo,
+            @Parameter(description = "이전 응답의 nextCursor") @RequestParam(required = false) String cursor,
+            @Parameter(description = "페이지 크기 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(counselService.getCounselsByProduct(productInfo, cursor, size).map(CounselSummaryResponse::from));
+    }
+
+    @Operation(summary = "상담 검색", description = "상담 내용과 상품 정보를 형태소 단위로 검색하여 관련도 순으로 조회합니다.")
+    @GetMapping("/search")
+    public ResponseEntity<List<CounselSearchResponse>> searchCounsels(
+            @Parameter(description = "검색어") @RequestParam String q,
+            @Parameter(description = "검색 대상 필드") @RequestParam(defaultValue = "ALL") CounselSearchIndex.Field field,
+            @Parameter(description = "결과 개수 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        List<CounselSearchResponse> responses = counselService.searchCounsels(q, field, size)
                 .stream()
-                .map(CounselResponse::from)
-                .collect(Collectors.toList());
+                .map(CounselSearchResponse::from)
+                .toList();
         return ResponseEntity.ok(responses);
     }
 
-    @Operation(summary = "상담 내용 분석", description = "상담 내용을 분석하여 키워드, 감정, 유형을 분석합니다.")
+    @Operation(summary = "상담 분석 결과 조회",
+            description = "저장된 분석 결과를 조회합니다. 분석을 실행하지 않으며, ETag / Last-Modified 조건부 요청에는 304 를 반환합니다.")
     @GetMapping("/{id}/analysis")
-    public ResponseEntity<CounselResponse> analyzeCounsel(
+    public ResponseEntity<CounselResponse> getAnalysis(
+            @Parameter(description = "상담 ID") @PathVariable Long id) {
+        return conditional(counselService.getAnalyzedCounsel(id));
+    }
+
+    @Operation(summary = "상담 내용 분석",
+            description = "상담 내용을 분석하여 키워드, 감정, 유형을 저장합니다. 감정 분석 응답을 기다리는 동안 요청 스레드를 점유하지 않습니다.")
+    @PostMapping("/{id}/analysis")
+    public CompletableFuture<ResponseEntity<CounselResponse>> analyzeCounsel(
             @Parameter(description = "상담 ID") @PathVariable Long id) {
-        Counsel analyzed = counselService.analyzeCounsel(id);
-        return ResponseEntity.ok(CounselResponse.from(analyzed));
+        return counselService.analyzeCounsel(id)
+                .thenApply(analyzed -> ResponseEntity.ok(CounselResponse.from(analyzed)));
     }
 
-    @Operation(summary = "다음 상담 예측", description = "과거 상담 내역을 기반으로 다음 상담을 예측합니다.")
+    @Operation(summary = "다음 상담 예측 조회",
+            description = "고객의 가장 최근 예측을 조회합니다. 예측을 계산하지 않으며, 예측은 수정되지 않으므로 "
+                    + "ETag / Last-Modified 조건부 요청에는 304 를 반환합니다.")
     @GetMapping("/{customerId}/prediction")
-    public ResponseEntity<CounselResponse> predictNextCounsel(
+    public ResponseEntity<CounselPredictionResponse> getPrediction(
             @Parameter(description = "고객 ID") @PathVariable String customerId) {
-        Counsel prediction = counselService.predictNextCounselByCustomer(customerId);
-        return ResponseEntity.ok(CounselResponse.from(prediction));
+        CounselPrediction prediction = counselService.getPredictionByCustomer(customerId);
+        long lastModified = prediction.getGeneratedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(String.valueOf(prediction.getId()))
+                .lastModified(lastModified)
+                .body(CounselPredictionResponse.from(prediction));
+    }
+
+    @Operation(summary = "다음 상담 예측 이력 조회", description = "고객의 예측 이력을 최신순으로 조회합니다.")
+    @GetMapping("/{customerId}/prediction/history")
+    public ResponseEntity<List<CounselPredictionResponse>> getPredictionHistory(
+            @Parameter(description = "고객 ID") @PathVariable String customerId,
+            @Parameter(description = "조회 개수 (최대 100)") @RequestParam(defaultValue = "20") int size) {
+        List<CounselPredictionResponse> responses = counselService.getPredictionHistoryByCustomer(customerId, size)
+                .stream()
+                .map(CounselPredictionResponse::from)
+                .toList();
+        return ResponseEntity.ok(responses);
+    }
+
+    @Operation(summary = "다음 상담 예측", description = "과거 상담 내역을 기반으로 다음 상담을 예측하여 예측 이력에 추가합니다.")
+    @PostMapping("/{customerId}/prediction")
+    public ResponseEntity<CounselPredictionResponse> predictNextCounsel(
+            @Parameter(description = "고객 ID") @PathVariable String customerId) {
+        CounselPrediction prediction = counselService.predictNextCounselByCustomer(customerId);
+        return ResponseEntity.ok(CounselPredictionResponse.from(prediction));
+    }
+
+    /**
+     * 상담 수정 시각으로 ETag 와 Last-Modified 를 붙입니다.
+     * GET 요청의 If-None-Match / If-Modified-Since 가 일치하면 스프링이 본문 없이 304 로 응답합니다.
+     */
+    private static ResponseEntity<CounselResponse> conditional(Counsel counsel) {
+        LocalDateTime modifiedAt = counsel.getModifiedAt() != null ? counsel.getModifiedAt() : counsel.getCreatedAt();
+        if (modifiedAt == null) {
+            return ResponseEntity.ok(CounselResponse.from(counsel));
+        }
+        long lastModified = modifiedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(counsel.getId() + "-" + lastModified)
+                .lastModified(lastModified)
+                .body(CounselResponse.from(counsel));
     }
 }
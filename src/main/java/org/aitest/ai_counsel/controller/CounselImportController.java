@@ -0,0 +1,70 @@
+package org.aitest.ai_counsel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.aitest.ai_counsel.dto.CounselImportResponse;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.service.CounselImportService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@Tag(name = "상담 대량 적재", description = "CSV / NDJSON 파일 스트리밍 적재 API")
+@RestController
+@RequestMapping("/api/counsels/import")
+@RequiredArgsConstructor
+public class CounselImportController {
+
+    private static final String CSV = "text/csv";
+    private static final String NDJSON = "application/x-ndjson";
+
+    private final CounselImportService counselImportService;
+
+    @Operation(summary = "상담 대량 적재",
+            description = "요청 본문의 CSV(헤더 필수) 또는 NDJSON 을 스트리밍으로 읽어 배치로 저장합니다. "
+                    + "실패하면 500 과 함께 작업 ID 를 반환하며, 같은 파일을 resumeId 와 함께 다시 보내면 이어서 적재합니다.")
+    @PostMapping(consumes = {CSV, NDJSON, MediaType.APPLICATION_OCTET_STREAM_VALUE})
+    public ResponseEntity<CounselImportResponse> importCounsels(
+            HttpServletRequest request,
+            @Parameter(description = "파일 형식 (생략 시 Content-Type 으로 판단)") @RequestParam(required = false) CounselImport.Format format,
+            @Parameter(description = "원본 파일 이름") @RequestParam(required = false) String source,
+            @Parameter(description = "저장 후 일괄 분석 실행 여부") @RequestParam(defaultValue = "false") boolean analyze,
+            @Parameter(description = "재개할 적재 작업 ID") @RequestParam(required = false) Long resumeId) throws IOException {
+        Long importId = resumeId != null
+                ? resumeId
+                : counselImportService.create(source, resolveFormat(format, request.getContentType()), analyze).getId();
+
+        CounselImportService.ImportResult result = counselImportService.run(importId, request.getInputStream());
+        HttpStatus status = result.getJob().getStatus() == CounselImport.Status.COMPLETED
+                ? HttpStatus.OK
+                : HttpStatus.INTERNAL_SERVER_ERROR;
+        return ResponseEntity.status(status).body(CounselImportResponse.from(result));
+    }
+
+    @Operation(summary = "상담 대량 적재 상태 조회", description = "적재 작업의 진행 행 수와 재개 지점을 조회합니다.")
+    @GetMapping("/{importId}")
+    public ResponseEntity<CounselImportResponse> getImport(
+            @Parameter(description = "적재 작업 ID") @PathVariable Long importId) {
+        return ResponseEntity.ok(CounselImportResponse.from(counselImportService.getImport(importId)));
+    }
+
+    private static CounselImport.Format resolveFormat(CounselImport.Format format, String contentType) {
+        if (format != null) {
+            return format;
+        }
+        if (contentType != null && contentType.startsWith(CSV)) {
+            return CounselImport.Format.CSV;
+        }
+        if (contentType != null && contentType.startsWith(NDJSON)) {
+            return CounselImport.Format.NDJSON;
+        }
+        throw new InvalidRequestException("파일 형식을 판단할 수 없습니다. format 파라미터를 지정해주세요.");
+    }
+}
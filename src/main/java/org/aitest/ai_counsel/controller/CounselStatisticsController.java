@@ -0,0 +1,84 @@
+package org.aitest.ai_counsel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.CounselRollup;
+import org.aitest.ai_counsel.dto.CounselStatisticsResponse;
+import org.aitest.ai_counsel.dto.PredictionAccuracyResponse;
+import org.aitest.ai_counsel.dto.StatisticsRebuildStatusResponse;
+import org.aitest.ai_counsel.service.CounselStatisticsService;
+import org.aitest.ai_counsel.service.PredictionAccuracyService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+@Tag(name = "상담 통계", description = "상담 유형 / 감정 집계와 예측 정확도 조회 API")
+@RestController
+@RequestMapping("/api/statistics")
+@RequiredArgsConstructor
+public class CounselStatisticsController {
+
+    private final CounselStatisticsService counselStatisticsService;
+    private final PredictionAccuracyService predictionAccuracyService;
+
+    @Operation(summary = "상담 유형 / 감정 통계 조회",
+            description = "시간 또는 일 단위 집계 테이블에서 구간별 상담 수를 조회합니다. "
+                    + "groupBy 로 상담사(COUNSELOR), 상품(PRODUCT), 상담 유형(TYPE), 감정(SENTIMENT)별로 나눌 수 있습니다.")
+    @GetMapping("/counsels")
+    public ResponseEntity<CounselStatisticsResponse> getCounselStatistics(
+            @Parameter(description = "집계 단위") @RequestParam(defaultValue = "DAILY") CounselRollup.Granularity granularity,
+            @Parameter(description = "시작 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "종료 시각 (미포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "묶을 차원 (쉼표로 구분)") @RequestParam(defaultValue = "TYPE,SENTIMENT") List<CounselRollup.Dimension> groupBy,
+            @Parameter(description = "상담사 ID") @RequestParam(required = false) String counselorId,
+            @Parameter(description = "상품 정보") @RequestParam(required = false) String productInfo,
+            @Parameter(description = "상담 유형") @RequestParam(required = false) String counselType,
+            @Parameter(description = "고객 감정") @RequestParam(required = false) String sentiment) {
+        Map<CounselRollup.Dimension, String> filters = new EnumMap<>(CounselRollup.Dimension.class);
+        putIfPresent(filters, CounselRollup.Dimension.COUNSELOR, counselorId);
+        putIfPresent(filters, CounselRollup.Dimension.PRODUCT, productInfo);
+        putIfPresent(filters, CounselRollup.Dimension.TYPE, counselType);
+        putIfPresent(filters, CounselRollup.Dimension.SENTIMENT, sentiment);
+
+        return ResponseEntity.ok(CounselStatisticsResponse.from(granularity, from, to, groupBy,
+                counselStatisticsService.getStatistics(granularity, from, to, groupBy, filters)));
+    }
+
+    @Operation(summary = "상담 통계 재구축",
+            description = "집계 테이블을 상담 테이블로부터 기간 구간별로 병렬 재계산합니다. 진행 중인 재구축이 있으면 409 를 반환합니다.")
+    @PostMapping("/rebuild")
+    public ResponseEntity<StatisticsRebuildStatusResponse> rebuild() {
+        counselStatisticsService.startRebuild();
+        return ResponseEntity.accepted().body(StatisticsRebuildStatusResponse.from(counselStatisticsService));
+    }
+
+    @Operation(summary = "상담 통계 재구축 상태 조회", description = "재구축 진행 구간 수와 증분 반영 건수를 조회합니다.")
+    @GetMapping("/rebuild")
+    public ResponseEntity<StatisticsRebuildStatusResponse> getRebuildStatus() {
+        return ResponseEntity.ok(StatisticsRebuildStatusResponse.from(counselStatisticsService));
+    }
+
+    @Operation(summary = "다음 상담 예측 정확도 조회",
+            description = "기간 안에 생성된 고객별 예측을 이후 실제 첫 상담과 비교하여 유형 적중률, 예상일 범위 적중률, "
+                    + "예상일 평균 오차를 계산합니다.")
+    @GetMapping("/predictions/accuracy")
+    public ResponseEntity<PredictionAccuracyResponse> getPredictionAccuracy(
+            @Parameter(description = "예측 생성 시작 시각") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "예측 생성 종료 시각 (미포함)") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(PredictionAccuracyResponse.from(predictionAccuracyService.evaluate(from, to)));
+    }
+
+    private static void putIfPresent(Map<CounselRollup.Dimension, String> filters,
+                                     CounselRollup.Dimension dimension, String value) {
+        if (value != null && !value.isBlank()) {
+            filters.put(dimension, value);
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package org.aitest.ai_counsel.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.client.SentimentClient;
+import org.aitest.ai_counsel.dto.AnalysisCacheStatusResponse;
+import org.aitest.ai_counsel.dto.AnalyzerStatusResponse;
+import org.aitest.ai_counsel.dto.AutoAnalysisStatusResponse;
+import org.aitest.ai_counsel.dto.CounselCacheStatusResponse;
+import org.aitest.ai_counsel.dto.DictionaryStatusResponse;
+import org.aitest.ai_counsel.dto.IngestionStatusResponse;
+import org.aitest.ai_counsel.dto.PredictionModelStatusResponse;
+import org.aitest.ai_counsel.dto.SearchIndexStatusResponse;
+import org.aitest.ai_counsel.dto.SentimentStatusResponse;
+import org.aitest.ai_counsel.service.AnalysisResultCache;
+import org.aitest.ai_counsel.service.ClassificationDictionaryProvider;
+import org.aitest.ai_counsel.service.CounselAutoAnalyzer;
+import org.aitest.ai_counsel.service.CounselIngestionQueue;
+import org.aitest.ai_counsel.service.CounselReadCache;
+import org.aitest.ai_counsel.service.CounselSearchIndex;
+import org.aitest.ai_counsel.service.KomoranPool;
+import org.aitest.ai_counsel.service.TypeTransitionModel;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Tag(name = "운영 모니터링", description = "분석 파이프라인 상태 조회 API")
+@RestController
+@RequestMapping("/api/monitoring")
+@RequiredArgsConstructor
+public class MonitoringController {
+
+    private final SentimentClient sentimentClient;
+    private final AnalysisResultCache analysisResultCache;
+    private final CounselSearchIndex counselSearchIndex;
+    private final ClassificationDictionaryProvider dictionaryProvider;
+    private final KomoranPool komoranPool;
+    private final CounselIngestionQueue counselIngestionQueue;
+    private final CounselAutoAnalyzer counselAutoAnalyzer;
+    private final CounselReadCache counselReadCache;
+    private final TypeTransitionModel typeTransitionModel;
+
+    @Operation(summary = "감정 분석 API 상태 조회", description = "서킷 브레이커 상태, 동시 호출 수, 대체 로직 처리 비율을 조회합니다.")
+    @GetMapping("/sentiment")
+    public ResponseEntity<SentimentStatusResponse> getSentimentStatus() {
+        return ResponseEntity.ok(SentimentStatusResponse.from(sentimentClient));
+    }
+
+    @Operation(summary = "분석 결과 캐시 상태 조회", description = "분석 결과 캐시의 적중률과 제거 건수를 조회합니다.")
+    @GetMapping("/analysis-cache")
+    public ResponseEntity<AnalysisCacheStatusResponse> getAnalysisCacheStatus() {
+        return ResponseEntity.ok(AnalysisCacheStatusResponse.from(analysisResultCache));
+    }
+
+    @Operation(summary = "상담 조회 캐시 상태 조회", description = "상담 단건과 고객/상담사별 내역 페이지 캐시의 적중률과 제거 건수를 조회합니다.")
+    @GetMapping("/counsel-cache")
+    public ResponseEntity<CounselCacheStatusResponse> getCounselCacheStatus() {
+        return ResponseEntity.ok(CounselCacheStatusResponse.from(counselReadCache));
+    }
+
+    @Operation(summary = "형태소 분석기 상태 조회", description = "모델 적재 여부와 동시 분석 풀 사용량, 대기 시간을 조회합니다.")
+    @GetMapping("/analyzer")
+    public ResponseEntity<AnalyzerStatusResponse> getAnalyzerStatus() {
+        return ResponseEntity.ok(AnalyzerStatusResponse.from(komoranPool));
+    }
+
+    @Operation(summary = "상담 적재 큐 상태 조회", description = "쓰기 지연 적재 큐의 대기 건수, 거절 건수, 배치 기록 현황을 조회합니다.")
+    @GetMapping("/ingestion")
+    public ResponseEntity<IngestionStatusResponse> getIngestionStatus() {
+        return ResponseEntity.ok(IngestionStatusResponse.from(counselIngestionQueue));
+    }
+
+    @Operation(summary = "자동 분석 상태 조회", description = "저장 시 자동 분석의 대기 건수, 거절 건수, 재시도와 실패 현황을 조회합니다.")
+    @GetMapping("/auto-analysis")
+    public ResponseEntity<AutoAnalysisStatusResponse> getAutoAnalysisStatus() {
+        return ResponseEntity.ok(AutoAnalysisStatusResponse.from(counselAutoAnalyzer));
+    }
+
+    @Operation(summary = "검색 색인 상태 조회", description = "상담 검색 색인의 문서 수와 재구축 상태를 조회합니다.")
+    @GetMapping("/search-index")
+    public ResponseEntity<SearchIndexStatusResponse> getSearchIndexStatus() {
+        return ResponseEntity.ok(SearchIndexStatusResponse.from(counselSearchIndex));
+    }
+
+    @Operation(summary = "분류 사전 상태 조회", description = "적용 중인 분류 사전의 버전과 상담 유형을 조회합니다.")
+    @GetMapping("/dictionary")
+    public ResponseEntity<DictionaryStatusResponse> getDictionaryStatus() {
+        return ResponseEntity.ok(DictionaryStatusResponse.from(dictionaryProvider));
+    }
+
+    @Operation(summary = "분류 사전 다시 적재", description = "사전 파일을 즉시 다시 읽어 적용하고 분석 결과 캐시를 비웁니다.")
+    @PostMapping("/dictionary/reload")
+    public ResponseEntity<DictionaryStatusResponse> reloadDictionary() {
+        dictionaryProvider.reload();
+        return ResponseEntity.ok(DictionaryStatusResponse.from(dictionaryProvider));
+    }
+
+    @Operation(summary = "예측 모델 상태 조회", description = "상담 유형 전이 모델의 학습 규모와 재구축 진행 상태를 조회합니다.")
+    @GetMapping("/prediction-model")
+    public ResponseEntity<PredictionModelStatusResponse> getPredictionModelStatus() {
+        return ResponseEntity.ok(PredictionModelStatusResponse.from(typeTransitionModel));
+    }
+
+    @Operation(summary = "예측 모델 재구축",
+            description = "상담 유형 전이 행렬을 상담 테이블로부터 고객 구간별로 병렬 재계산합니다. 진행 중인 재구축이 있으면 409 를 반환합니다.")
+    @PostMapping("/prediction-model/rebuild")
+    public ResponseEntity<PredictionModelStatusResponse> rebuildPredictionModel() {
+        typeTransitionModel.startRebuild();
+        return ResponseEntity.accepted().body(PredictionModelStatusResponse.from(typeTransitionModel));
+    }
+}
@@ -0,0 +1,34 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 분석 결과 캐시의 영속 계층입니다. 정규화된 상담 내용의 해시를 키로 사용합니다.
+ */
+@Entity
+@Table(name = "analysis_cache", indexes = {
+        @Index(name = "idx_analysis_cache_created", columnList = "created_at")
+})
+@Getter
+@Setter
+public class AnalysisCacheEntry {
+    @Id
+    @Column(length = 64)
+    private String contentHash;
+
+    @Column(length = 50)
+    private String counselType;
+
+    @Column(length = 20)
+    private String sentiment;
+
+    @Column(length = 500)
+    private String keywords;
+
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -4,8 +4,17 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 @Entity
+@Table(indexes = {
+        @Index(name = "idx_counsel_customer_date", columnList = "customer_id, counsel_date"),
+        @Index(name = "idx_counsel_counselor_date", columnList = "counselor_id, counsel_date"),
+        @Index(name = "idx_counsel_counsel_date", columnList = "counsel_date"),
+        @Index(name = "idx_counsel_counsel_type", columnList = "counsel_type"),
+        @Index(name = "idx_counsel_sentiment", columnList = "sentiment")
+})
 @Getter
 @Setter
 public class Counsel {
@@ -27,11 +36,25 @@ public class Counsel {
 
     private String productInfo;
 
+    /**
+     * 분석 결과 요약 문자열입니다. counselType, sentiment, keywords 로부터 생성됩니다.
+     */
     @Column(length = 500)
     private String analysis;
 
-    @Column
-    private String prediction;
+    @Column(length = 20)
+    private String counselType;
+
+    @Column(length = 10)
+    private String sentiment;
+
+    @ElementCollection
+    @CollectionTable(name = "counsel_keyword",
+            joinColumns = @JoinColumn(name = "counsel_id"),
+            indexes = @Index(name = "idx_counsel_keyword_keyword", columnList = "keyword"))
+    @OrderColumn(name = "keyword_order")
+    @Column(name = "keyword", length = 100)
+    private List<String> keywords = new ArrayList<>();
 
     private LocalDateTime createdAt;
     private LocalDateTime modifiedAt;
@@ -45,4 +68,25 @@ public class Counsel {
     protected void onUpdate() {
         modifiedAt = LocalDateTime.now();
     }
+
+    /**
+     * 분석 결과를 반영합니다. 요약 문자열은 구조화된 값으로부터 다시 생성합니다.
+     */
+    public void applyAnalysis(String counselType, String sentiment, List<String> keywords) {
+        this.counselType = counselType;
+        this.sentiment = sentiment;
+        this.keywords = new ArrayList<>(keywords);
+        this.analysis = formatAnalysis(counselType, sentiment, keywords);
+    }
+
+    public boolean isAnalyzed() {
+        return counselType != null;
+    }
+
+    public static String formatAnalysis(String counselType, String sentiment, List<String> keywords) {
+        return String.format("상담 유형: %s\n고객 감정: %s\n주요 키워드: %s",
+                counselType,
+                sentiment,
+                String.join(", ", keywords));
+    }
 }
@@ -0,0 +1,55 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담 대량 적재 작업과 재개 지점(checkpoint)입니다.
+ * processedRows 는 마지막으로 커밋된 배치까지 읽은 데이터 행 수이며, 재개 시 이만큼 건너뜁니다.
+ */
+@Entity
+@Table(name = "counsel_import")
+@Getter
+@Setter
+public class CounselImport {
+
+    public enum Format {
+        CSV, NDJSON
+    }
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 200)
+    private String source;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Format format;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    private boolean analyze;
+
+    private long processedRows;
+
+    private long importedRows;
+
+    private long rejectedRows;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
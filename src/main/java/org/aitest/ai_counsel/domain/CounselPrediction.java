@@ -0,0 +1,71 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 고객 또는 상담사별 다음 상담 예측 결과입니다. 예측할 때마다 새 행을 추가하며 기존 행은 수정하지 않으므로,
+ * 상담 행을 잠그지 않고 저장하고 (소유자 ID, 생성 일시) 색인으로 최신 예측을 조회합니다.
+ * 쌓인 이력은 이후 실제 상담과 비교하여 예측 정확도를 측정하는 데 사용합니다.
+ * 일괄 예측으로 만든 행은 jobId 로 작업을 구분합니다.
+ */
+@Entity
+@Table(name = "counsel_prediction", indexes = {
+        @Index(name = "idx_counsel_prediction_customer", columnList = "customer_id, generated_at"),
+        @Index(name = "idx_counsel_prediction_counselor", columnList = "counselor_id, generated_at"),
+        @Index(name = "idx_counsel_prediction_job", columnList = "job_id"),
+        @Index(name = "idx_counsel_prediction_generated", columnList = "generated_at")
+})
+@Getter
+@Setter
+public class CounselPrediction {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /**
+     * 고객별 예측이면 고객 ID, 상담사별 예측이면 상담사 ID 중 하나만 채웁니다.
+     */
+    private String customerId;
+
+    private String counselorId;
+
+    private Long jobId;
+
+    @Column(nullable = false, length = 20)
+    private String predictedType;
+
+    /**
+     * 예측 유형의 확률입니다.
+     */
+    private double typeProbability;
+
+    private double averageCycle;
+
+    private LocalDateTime nextCounselDate;
+    private LocalDateTime nextCounselEarliest;
+    private LocalDateTime nextCounselLatest;
+
+    /**
+     * 유형별 다음 상담 확률 등 화면 표시용 설명입니다.
+     */
+    @Column(length = 2000)
+    private String details;
+
+    @Convert(converter = KeywordListConverter.class)
+    @Column(length = 500)
+    private List<String> topKeywords = new ArrayList<>();
+
+    private long counselCount;
+
+    private Long lastCounselId;
+
+    @Column(nullable = false)
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,56 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 전체 고객 다음 상담 일괄 예측 작업과 재개 지점(checkpoint)입니다.
+ * 고객 ID 순으로 처리하며, lastCustomerId 는 마지막으로 커밋된 묶음의 마지막 고객입니다.
+ * 대상 고객 기준(activeSince)도 함께 저장하므로 재개해도 같은 고객 집합을 이어서 처리합니다.
+ */
+@Entity
+@Table(name = "counsel_prediction_job")
+@Getter
+@Setter
+public class CounselPredictionJob {
+
+    public enum Status {
+        RUNNING, COMPLETED, FAILED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Status status;
+
+    /**
+     * 이 일시 이후에 상담한 고객만 예측합니다.
+     */
+    @Column(nullable = false)
+    private LocalDateTime activeSince;
+
+    private String lastCustomerId;
+
+    private long processedCustomers;
+
+    private long predictedCustomers;
+
+    private long failedCustomers;
+
+    /**
+     * 실행 시간의 합계입니다. 재개한 작업은 각 실행 시간을 더합니다.
+     */
+    private long elapsedMillis;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+}
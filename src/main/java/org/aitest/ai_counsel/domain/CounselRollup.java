@@ -0,0 +1,74 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 상담 일시 구간(시간/일)과 상담사, 상품, 상담 유형, 감정별 분석된 상담 수입니다.
+ * <p>
+ * 분석 이벤트로 증분 갱신하며(CounselRollupRepository), 상품 정보가 없는 상담은 빈 문자열로 집계합니다.
+ * 통계 조회는 상담 테이블 대신 이 테이블만 읽으므로 전체 상담 수와 관계없이 구간 수에 비례하는 비용이 듭니다.
+ */
+@Entity
+@Table(name = "counsel_rollup",
+        uniqueConstraints = @UniqueConstraint(name = "uk_counsel_rollup_bucket",
+                columnNames = {"granularity", "bucket_start", "counselor_id", "product_info", "counsel_type", "sentiment"}))
+@Getter
+@Setter
+public class CounselRollup {
+
+    public enum Granularity {
+        HOURLY(ChronoUnit.HOURS), DAILY(ChronoUnit.DAYS);
+
+        private final ChronoUnit unit;
+
+        Granularity(ChronoUnit unit) {
+            this.unit = unit;
+        }
+
+        public LocalDateTime truncate(LocalDateTime dateTime) {
+            return dateTime.truncatedTo(unit);
+        }
+    }
+
+    /**
+     * 통계 조회 시 묶을 수 있는 차원입니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public enum Dimension {
+        COUNSELOR("counselor_id"), PRODUCT("product_info"), TYPE("counsel_type"), SENTIMENT("sentiment");
+
+        private final String column;
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Granularity granularity;
+
+    @Column(nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(nullable = false)
+    private String counselorId;
+
+    @Column(nullable = false)
+    private String productInfo;
+
+    @Column(nullable = false, length = 20)
+    private String counselType;
+
+    @Column(nullable = false, length = 10)
+    private String sentiment;
+
+    private long counselCount;
+}
@@ -0,0 +1,29 @@
+package org.aitest.ai_counsel.domain;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 순서가 있는 키워드 목록을 쉼표로 구분한 한 컬럼으로 저장합니다. 형태소 분석 키워드에는 쉼표가 없습니다.
+ */
+@Converter
+public class KeywordListConverter implements AttributeConverter<List<String>, String> {
+
+    private static final String DELIMITER = ",";
+
+    @Override
+    public String convertToDatabaseColumn(List<String> keywords) {
+        return keywords == null || keywords.isEmpty() ? null : String.join(DELIMITER, keywords);
+    }
+
+    @Override
+    public List<String> convertToEntityAttribute(String column) {
+        return column == null || column.isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(Arrays.asList(column.split(DELIMITER)));
+    }
+}
@@ -0,0 +1,55 @@
+package org.aitest.ai_counsel.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.AnalysisResultCache;
+
+@Getter
+@Builder
+@Schema(description = "분석 결과 캐시 상태")
+public class AnalysisCacheStatusResponse {
+
+    @Schema(description = "캐시 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "영속 계층 사용 여부", example = "false")
+    private boolean persistentEnabled;
+
+    @Schema(description = "캐시된 항목 수", example = "842")
+    private long size;
+
+    @Schema(description = "적중 건수", example = "15230")
+    private long hits;
+
+    @Schema(description = "미적중 건수", example = "912")
+    private long misses;
+
+    @Schema(description = "적중률(%)", example = "94.3")
+    private double hitRate;
+
+    @Schema(description = "제거된 항목 수", example = "70")
+    private long evictions;
+
+    @Schema(description = "영속 계층 적중 건수", example = "120")
+    private long persistentHits;
+
+    @Schema(description = "영속 계층 미적중 건수", example = "792")
+    private long persistentMisses;
+
+    public static AnalysisCacheStatusResponse from(AnalysisResultCache cache) {
+        CacheStats stats = cache.getStats();
+        return AnalysisCacheStatusResponse.builder()
+                .enabled(cache.isEnabled())
+                .persistentEnabled(cache.isPersistentEnabled())
+                .size(cache.getSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate() * 100.0)
+                .evictions(stats.evictionCount())
+                .persistentHits(cache.getPersistentHits())
+                .persistentMisses(cache.getPersistentMisses())
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.KomoranPool;
+
+@Getter
+@Builder
+@Schema(description = "형태소 분석기 상태")
+public class AnalyzerStatusResponse {
+
+    @Schema(description = "모델 적재 및 예열 완료 여부", example = "true")
+    private boolean ready;
+
+    @Schema(description = "Komoran 모델", example = "FULL")
+    private String model;
+
+    @Schema(description = "사용자 사전 위치", example = "classpath:dictionary/komoran-user.dic")
+    private String userDictionary;
+
+    @Schema(description = "모델 적재 및 예열 소요 시간(ms), 적재 전이면 -1", example = "4210")
+    private long loadMillis;
+
+    @Schema(description = "동시 분석 허가 수 (풀 크기)", example = "8")
+    private int size;
+
+    @Schema(description = "전용 플랫폼 스레드에서 분석하는지 여부 (가상 스레드 모드)", example = "false")
+    private boolean dedicatedThreads;
+
+    @Schema(description = "분석 중인 요청 수", example = "3")
+    private int inUse;
+
+    @Schema(description = "허가를 기다리는 요청 수", example = "0")
+    private int waiting;
+
+    @Schema(description = "누적 분석 건수", example = "152300")
+    private long analyses;
+
+    @Schema(description = "허가를 기다린 요청 수", example = "120")
+    private long waits;
+
+    @Schema(description = "허가 대기 시간 초과 건수", example = "0")
+    private long timeouts;
+
+    @Schema(description = "평균 대기 시간(ms)", example = "1.8")
+    private double averageWaitMillis;
+
+    @Schema(description = "최대 대기 시간(ms)", example = "42.5")
+    private double maxWaitMillis;
+
+    public static AnalyzerStatusResponse from(KomoranPool pool) {
+        return AnalyzerStatusResponse.builder()
+                .ready(pool.isReady())
+                .model(pool.getModel().name())
+                .userDictionary(pool.getUserDictionary())
+                .loadMillis(pool.getLoadMillis())
+                .size(pool.getSize())
+                .dedicatedThreads(pool.isDedicatedThreads())
+                .inUse(pool.getInUse())
+                .waiting(pool.getWaiting())
+                .analyses(pool.getAnalyses())
+                .waits(pool.getWaits())
+                .timeouts(pool.getTimeouts())
+                .averageWaitMillis(pool.getAverageWaitMillis())
+                .maxWaitMillis(pool.getMaxWaitMillis())
+                .build();
+    }
+}
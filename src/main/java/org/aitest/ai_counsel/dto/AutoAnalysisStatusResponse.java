@@ -0,0 +1,53 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselAutoAnalyzer;
+
+@Getter
+@Builder
+@Schema(description = "저장 시 자동 분석 상태")
+public class AutoAnalysisStatusResponse {
+
+    @Schema(description = "자동 분석 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "분석 대기 중인 상담 수", example = "35")
+    private int queueDepth;
+
+    @Schema(description = "분석 중인 워커 수", example = "2")
+    private int active;
+
+    @Schema(description = "분석 대기열에 넣은 상담 수", example = "12000")
+    private long submitted;
+
+    @Schema(description = "대기열이 가득 차 건너뛴 상담 수", example = "4")
+    private long rejected;
+
+    @Schema(description = "분석 완료된 상담 수", example = "11950")
+    private long succeeded;
+
+    @Schema(description = "이미 분석되었거나 삭제되어 건너뛴 상담 수", example = "10")
+    private long skipped;
+
+    @Schema(description = "재시도한 횟수", example = "7")
+    private long retried;
+
+    @Schema(description = "재시도 후에도 실패한 상담 수", example = "1")
+    private long failed;
+
+    public static AutoAnalysisStatusResponse from(CounselAutoAnalyzer analyzer) {
+        return AutoAnalysisStatusResponse.builder()
+                .enabled(analyzer.isEnabled())
+                .queueDepth(analyzer.getQueueDepth())
+                .active(analyzer.getActive())
+                .submitted(analyzer.getSubmitted())
+                .rejected(analyzer.getRejected())
+                .succeeded(analyzer.getSucceeded())
+                .skipped(analyzer.getSkipped())
+                .retried(analyzer.getRetried())
+                .failed(analyzer.getFailed())
+                .build();
+    }
+}
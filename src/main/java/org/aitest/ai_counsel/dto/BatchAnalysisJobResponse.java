@@ -0,0 +1,67 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.BatchAnalysisJob;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "상담 일괄 분석 작업 상태")
+public class BatchAnalysisJobResponse {
+
+    @Schema(description = "작업 ID", example = "3f1c2a9e-8b7d-4c55-9a51-0f3e2d1b6c47")
+    private String jobId;
+
+    @Schema(description = "작업 상태", example = "RUNNING")
+    private BatchAnalysisJob.Status status;
+
+    @Schema(description = "전체 대상 건수", example = "10000")
+    private int total;
+
+    @Schema(description = "처리 완료 건수", example = "2500")
+    private int processed;
+
+    @Schema(description = "분석 성공 건수", example = "2498")
+    private int succeeded;
+
+    @Schema(description = "분석 실패 건수", example = "2")
+    private int failed;
+
+    @Schema(description = "초당 처리 건수", example = "412.5")
+    private double throughput;
+
+    @Schema(description = "경과 시간(ms)", example = "6060")
+    private long elapsedMillis;
+
+    @Schema(description = "요청 일시")
+    private LocalDateTime requestedAt;
+
+    @Schema(description = "시작 일시")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "종료 일시")
+    private LocalDateTime finishedAt;
+
+    @Schema(description = "오류 메시지")
+    private String errorMessage;
+
+    public static BatchAnalysisJobResponse from(BatchAnalysisJob job) {
+        return BatchAnalysisJobResponse.builder()
+                .jobId(job.getJobId())
+                .status(job.getStatus())
+                .total(job.getTotal())
+                .processed(job.getProcessed())
+                .succeeded(job.getSucceeded())
+                .failed(job.getFailed())
+                .throughput(job.getThroughput())
+                .elapsedMillis(job.getElapsedMillis())
+                .requestedAt(job.getRequestedAt())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .errorMessage(job.getErrorMessage())
+                .build();
+    }
+}
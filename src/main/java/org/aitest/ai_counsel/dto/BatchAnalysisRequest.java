@@ -0,0 +1,30 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@Schema(description = "상담 일괄 분석 요청")
+public class BatchAnalysisRequest {
+
+    @Schema(description = "분석 대상 (IDS: ID 목록, PERIOD: 기간, UNANALYZED: 미분석 상담 전체)", example = "UNANALYZED")
+    @NotNull(message = "분석 대상은 필수입니다.")
+    private Target target;
+
+    @Schema(description = "분석할 상담 ID 목록 (target이 IDS인 경우)", example = "[1, 2, 3]")
+    private List<Long> ids;
+
+    @Schema(description = "시작일 (target이 PERIOD인 경우)", example = "2025-01-01T00:00:00")
+    private LocalDateTime start;
+
+    @Schema(description = "종료일 (target이 PERIOD인 경우)", example = "2025-01-31T23:59:59")
+    private LocalDateTime end;
+
+    public enum Target {
+        IDS, PERIOD, UNANALYZED
+    }
+}
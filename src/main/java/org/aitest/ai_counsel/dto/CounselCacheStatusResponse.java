@@ -0,0 +1,58 @@
+package org.aitest.ai_counsel.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselReadCache;
+
+@Getter
+@Builder
+@Schema(description = "상담 조회 캐시 상태")
+public class CounselCacheStatusResponse {
+
+    @Schema(description = "캐시 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "상담 단건 캐시")
+    private CacheResponse counsel;
+
+    @Schema(description = "고객/상담사별 상담 내역 페이지 캐시")
+    private CacheResponse history;
+
+    public static CounselCacheStatusResponse from(CounselReadCache cache) {
+        return CounselCacheStatusResponse.builder()
+                .enabled(cache.isEnabled())
+                .counsel(new CacheResponse(cache.getCounselSize(), cache.getCounselStats()))
+                .history(new CacheResponse(cache.getHistorySize(), cache.getHistoryStats()))
+                .build();
+    }
+
+    @Getter
+    @Schema(description = "캐시 적중 / 제거 현황")
+    public static class CacheResponse {
+
+        @Schema(description = "캐시된 항목 수", example = "842")
+        private final long size;
+
+        @Schema(description = "적중 건수", example = "15230")
+        private final long hits;
+
+        @Schema(description = "미적중 건수", example = "912")
+        private final long misses;
+
+        @Schema(description = "적중률(%)", example = "94.3")
+        private final double hitRate;
+
+        @Schema(description = "크기 / 만료로 제거된 항목 수", example = "70")
+        private final long evictions;
+
+        public CacheResponse(long size, CacheStats stats) {
+            this.size = size;
+            this.hits = stats.hitCount();
+            this.misses = stats.missCount();
+            this.hitRate = stats.hitRate() * 100.0;
+            this.evictions = stats.evictionCount();
+        }
+    }
+}
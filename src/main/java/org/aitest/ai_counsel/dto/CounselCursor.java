@@ -0,0 +1,52 @@
+package org.aitest.ai_counsel.dto;
+
+import lombok.Getter;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * 키셋 페이지네이션 커서입니다. 마지막으로 조회한 행의 정렬 키(상담 일시, ID)를 담습니다.
+ * 클라이언트에는 해석할 필요 없는 문자열로 전달합니다.
+ */
+@Getter
+public class CounselCursor {
+
+    private static final String DELIMITER = "_";
+
+    private final LocalDateTime counselDate;
+    private final long id;
+
+    private CounselCursor(LocalDateTime counselDate, long id) {
+        this.counselDate = counselDate;
+        this.id = id;
+    }
+
+    public static CounselCursor of(long id) {
+        return new CounselCursor(null, id);
+    }
+
+    public static CounselCursor of(LocalDateTime counselDate, long id) {
+        return new CounselCursor(counselDate, id);
+    }
+
+    public String encode() {
+        String raw = counselDate == null ? String.valueOf(id) : counselDate + DELIMITER + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CounselCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int delimiter = raw.lastIndexOf(DELIMITER);
+            if (delimiter < 0) {
+                return of(Long.parseLong(raw));
+            }
+            return of(LocalDateTime.parse(raw.substring(0, delimiter)), Long.parseLong(raw.substring(delimiter + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidRequestException("잘못된 커서입니다.");
+        }
+    }
+}
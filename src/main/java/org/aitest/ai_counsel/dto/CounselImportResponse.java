@@ -0,0 +1,111 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.aitest.ai_counsel.service.CounselImportService;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "상담 대량 적재 작업 상태")
+public class CounselImportResponse {
+
+    @Schema(description = "적재 작업 ID (실패 시 resumeId 로 지정하면 이어서 적재)", example = "7")
+    private Long importId;
+
+    @Schema(description = "원본 파일 이름", example = "counsels-2024.csv")
+    private String source;
+
+    @Schema(description = "파일 형식", example = "CSV")
+    private CounselImport.Format format;
+
+    @Schema(description = "작업 상태", example = "COMPLETED")
+    private CounselImport.Status status;
+
+    @Schema(description = "적재 후 분석 여부", example = "false")
+    private boolean analyze;
+
+    @Schema(description = "커밋된 데이터 행 수 (재개 지점)", example = "1000000")
+    private long processedRows;
+
+    @Schema(description = "저장된 상담 수", example = "999870")
+    private long importedRows;
+
+    @Schema(description = "검증 실패로 제외된 행 수", example = "130")
+    private long rejectedRows;
+
+    @Schema(description = "실패 원인")
+    private String lastError;
+
+    @Schema(description = "이번 실행에서 읽은 행 수", example = "1000000")
+    private Long rows;
+
+    @Schema(description = "이번 실행 소요 시간(ms)", example = "41230")
+    private Long elapsedMillis;
+
+    @Schema(description = "초당 처리 행 수", example = "24254.2")
+    private Double rowsPerSecond;
+
+    @Schema(description = "검증 실패 행 (최대 100건)")
+    private List<RowErrorResponse> errors;
+
+    @Schema(description = "시작 일시")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "종료 일시")
+    private LocalDateTime finishedAt;
+
+    public static CounselImportResponse from(CounselImport job) {
+        return base(job).build();
+    }
+
+    public static CounselImportResponse from(CounselImportService.ImportResult result) {
+        return base(result.getJob())
+                .rows(result.getRows())
+                .elapsedMillis(result.getElapsedMillis())
+                .rowsPerSecond(result.getRowsPerSecond())
+                .errors(result.getErrors().stream()
+                        .map(error -> new RowErrorResponse(error.getRow(), error.getLine(), error.getMessage()))
+                        .toList())
+                .build();
+    }
+
+    private static CounselImportResponseBuilder base(CounselImport job) {
+        return CounselImportResponse.builder()
+                .importId(job.getId())
+                .source(job.getSource())
+                .format(job.getFormat())
+                .status(job.getStatus())
+                .analyze(job.isAnalyze())
+                .processedRows(job.getProcessedRows())
+                .importedRows(job.getImportedRows())
+                .rejectedRows(job.getRejectedRows())
+                .lastError(job.getLastError())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt());
+    }
+
+    @Getter
+    @Schema(description = "검증 실패 행")
+    public static class RowErrorResponse {
+
+        @Schema(description = "데이터 행 번호 (헤더 제외, 1부터)", example = "42")
+        private final long row;
+
+        @Schema(description = "파일 줄 번호", example = "43")
+        private final long line;
+
+        @Schema(description = "오류 내용", example = "상담 내용은 10자 이상 2000자 이하로 입력해주세요.")
+        private final String message;
+
+        public RowErrorResponse(long row, long line, String message) {
+            this.row = row;
+            this.line = line;
+            this.message = message;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.domain.CounselPredictionJob;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "전체 고객 일괄 예측 작업 상태")
+public class CounselPredictionJobResponse {
+
+    @Schema(description = "예측 작업 ID (실패 시 재개 요청에 사용)", example = "3")
+    private Long jobId;
+
+    @Schema(description = "작업 상태", example = "RUNNING")
+    private CounselPredictionJob.Status status;
+
+    @Schema(description = "이 인스턴스에서 실행 중인지 여부 (RUNNING 이지만 false 면 중단된 작업으로 재개 가능)", example = "true")
+    private boolean running;
+
+    @Schema(description = "예측 대상 기준 (이 일시 이후 상담한 고객)")
+    private LocalDateTime activeSince;
+
+    @Schema(description = "마지막으로 커밋된 고객 ID (재개 지점)", example = "CUST012345")
+    private String lastCustomerId;
+
+    @Schema(description = "처리한 고객 수", example = "120000")
+    private long processedCustomers;
+
+    @Schema(description = "예측을 저장한 고객 수", example = "119998")
+    private long predictedCustomers;
+
+    @Schema(description = "예측에 실패한 고객 수", example = "2")
+    private long failedCustomers;
+
+    @Schema(description = "누적 실행 시간(ms)", example = "48210")
+    private long elapsedMillis;
+
+    @Schema(description = "초당 처리 고객 수", example = "2489.1")
+    private double recordsPerSecond;
+
+    @Schema(description = "실패 원인")
+    private String lastError;
+
+    @Schema(description = "시작 일시")
+    private LocalDateTime startedAt;
+
+    @Schema(description = "종료 일시")
+    private LocalDateTime finishedAt;
+
+    public static CounselPredictionJobResponse from(CounselPredictionJob job, boolean running) {
+        return CounselPredictionJobResponse.builder()
+                .jobId(job.getId())
+                .status(job.getStatus())
+                .running(running)
+                .activeSince(job.getActiveSince())
+                .lastCustomerId(job.getLastCustomerId())
+                .processedCustomers(job.getProcessedCustomers())
+                .predictedCustomers(job.getPredictedCustomers())
+                .failedCustomers(job.getFailedCustomers())
+                .elapsedMillis(job.getElapsedMillis())
+                .recordsPerSecond(job.getElapsedMillis() == 0 ? 0.0
+                        : job.getProcessedCustomers() * 1000.0 / job.getElapsedMillis())
+                .lastError(job.getLastError())
+                .startedAt(job.getStartedAt())
+                .finishedAt(job.getFinishedAt())
+                .build();
+    }
+}
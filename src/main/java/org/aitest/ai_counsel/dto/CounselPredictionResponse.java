@@ -0,0 +1,80 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "다음 상담 예측")
+public class CounselPredictionResponse {
+
+    @Schema(description = "예측 ID", example = "42")
+    private Long id;
+
+    @Schema(description = "고객 ID (고객별 예측)", example = "customer001")
+    private String customerId;
+
+    @Schema(description = "상담사 ID (상담사별 예측)", example = "counselor001")
+    private String counselorId;
+
+    @Schema(description = "일괄 예측 작업 ID (단건 예측이면 없음)", example = "3")
+    private Long jobId;
+
+    @Schema(description = "예측 상담 유형", example = "상품문의")
+    private String predictedType;
+
+    @Schema(description = "예측 유형의 확률", example = "0.62")
+    private double typeProbability;
+
+    @Schema(description = "평균 상담 주기(일)", example = "30.0")
+    private double averageCycle;
+
+    @Schema(description = "다음 상담 예상일", example = "2025-02-14T10:00:00")
+    private LocalDateTime nextCounselDate;
+
+    @Schema(description = "다음 상담 예상일 범위 시작", example = "2025-02-03T10:00:00")
+    private LocalDateTime nextCounselEarliest;
+
+    @Schema(description = "다음 상담 예상일 범위 끝", example = "2025-02-25T10:00:00")
+    private LocalDateTime nextCounselLatest;
+
+    @Schema(description = "상위 키워드 (빈도순)", example = "[\"펀드\", \"수익률\"]")
+    private List<String> topKeywords;
+
+    @Schema(description = "예측 세부 정보", example = "예상 상담 주기: 30.0일\n - 상품문의: 2회 (다음 상담 확률 62.0%)")
+    private String details;
+
+    @Schema(description = "예측에 사용한 상담 수", example = "3")
+    private long counselCount;
+
+    @Schema(description = "예측 시점의 최근 상담 ID", example = "17")
+    private Long lastCounselId;
+
+    @Schema(description = "예측 생성 일시")
+    private LocalDateTime generatedAt;
+
+    public static CounselPredictionResponse from(CounselPrediction prediction) {
+        return CounselPredictionResponse.builder()
+                .id(prediction.getId())
+                .customerId(prediction.getCustomerId())
+                .counselorId(prediction.getCounselorId())
+                .jobId(prediction.getJobId())
+                .predictedType(prediction.getPredictedType())
+                .typeProbability(prediction.getTypeProbability())
+                .averageCycle(prediction.getAverageCycle())
+                .nextCounselDate(prediction.getNextCounselDate())
+                .nextCounselEarliest(prediction.getNextCounselEarliest())
+                .nextCounselLatest(prediction.getNextCounselLatest())
+                .topKeywords(List.copyOf(prediction.getTopKeywords()))
+                .details(prediction.getDetails())
+                .counselCount(prediction.getCounselCount())
+                .lastCounselId(prediction.getLastCounselId())
+                .generatedAt(prediction.getGeneratedAt())
+                .build();
+    }
+}
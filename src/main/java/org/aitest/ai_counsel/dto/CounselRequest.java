@@ -4,6 +4,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 import lombok.Data;
+import org.aitest.ai_counsel.domain.Counsel;
 
 import java.time.LocalDateTime;
 
@@ -32,4 +33,17 @@ public class CounselRequest {
     @Schema(description = "상품 정보", example = "주식형 펀드")
     @Size(max = 200, message = "상품 정보는 200자를 초과할 수 없습니다.")
     private String productInfo;
+
+    /**
+     * 등록할 상담 엔티티를 만듭니다. 상담 일시가 없으면 현재 시각을 사용합니다.
+     */
+    public Counsel toEntity() {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId(counselorId);
+        counsel.setCustomerId(customerId);
+        counsel.setContent(content);
+        counsel.setCounselDate(counselDate != null ? counselDate : LocalDateTime.now());
+        counsel.setProductInfo(productInfo);
+        return counsel;
+    }
 }
@@ -6,6 +6,7 @@ import lombok.Getter;
 import org.aitest.ai_counsel.domain.Counsel;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Getter
 @Builder
@@ -33,8 +34,14 @@ public class CounselResponse {
     @Schema(description = "분석 결과", example = "상담 유형: 상품문의\n고객 감정: 중립\n주요 키워드: 펀드, 상품, 수익률")
     private String analysis;
 
-    @Schema(description = "예측 결과", example = "일반상담\n상담 주기: 30일\n - 상품문의: 2회\n - 일반상담: 1회")
-    private String prediction;
+    @Schema(description = "상담 유형", example = "상품문의")
+    private String counselType;
+
+    @Schema(description = "고객 감정", example = "중립")
+    private String sentiment;
+
+    @Schema(description = "주요 키워드", example = "[\"펀드\", \"상품\", \"수익률\"]")
+    private List<String> keywords;
 
     @Schema(description = "생성 일시")
     private LocalDateTime createdAt;
@@ -43,6 +50,14 @@ public class CounselResponse {
     private LocalDateTime modifiedAt;
 
     public static CounselResponse from(Counsel counsel) {
+        return from(counsel, true);
+    }
+
+    /**
+     * 대량 내보내기에서는 행마다 키워드 컬렉션을 로딩하지 않도록 키워드를 제외할 수 있습니다.
+     * 키워드는 analysis 요약 문자열에도 포함되어 있습니다.
+     */
+    public static CounselResponse from(Counsel counsel, boolean withKeywords) {
         return CounselResponse.builder()
                 .id(counsel.getId())
                 .counselorId(counsel.getCounselorId())
@@ -51,7 +66,9 @@ public class CounselResponse {
                 .counselDate(counsel.getCounselDate())
                 .productInfo(counsel.getProductInfo())
                 .analysis(counsel.getAnalysis())
-                .prediction(counsel.getPrediction())
+                .counselType(counsel.getCounselType())
+                .sentiment(counsel.getSentiment())
+                .keywords(withKeywords && counsel.isAnalyzed() ? List.copyOf(counsel.getKeywords()) : List.of())
                 .createdAt(counsel.getCreatedAt())
                 .modifiedAt(counsel.getModifiedAt())
                 .build();
@@ -0,0 +1,25 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselService;
+
+@Getter
+@Builder
+@Schema(description = "상담 검색 결과")
+public class CounselSearchResponse {
+
+    @Schema(description = "관련도 점수 (BM25)", example = "7.41")
+    private double score;
+
+    @Schema(description = "상담 요약")
+    private CounselSummaryResponse counsel;
+
+    public static CounselSearchResponse from(CounselService.SearchResult result) {
+        return CounselSearchResponse.builder()
+                .score(result.getScore())
+                .counsel(CounselSummaryResponse.from(result.getCounsel()))
+                .build();
+    }
+}
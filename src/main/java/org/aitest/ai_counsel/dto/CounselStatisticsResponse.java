@@ -0,0 +1,78 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.domain.CounselRollup;
+import org.aitest.ai_counsel.repository.CounselRollupCount;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@Schema(description = "상담 유형 / 감정 통계 (집계 구간별)")
+public class CounselStatisticsResponse {
+
+    @Schema(description = "집계 단위", example = "DAILY")
+    private CounselRollup.Granularity granularity;
+
+    @Schema(description = "조회 시작 시각 (집계 단위로 내림)", example = "2025-01-01T00:00:00")
+    private LocalDateTime from;
+
+    @Schema(description = "조회 종료 시각 (미포함)", example = "2025-02-01T00:00:00")
+    private LocalDateTime to;
+
+    @Schema(description = "구간 시작 시각과 함께 묶은 차원", example = "[\"TYPE\", \"SENTIMENT\"]")
+    private List<CounselRollup.Dimension> groupBy;
+
+    @Schema(description = "전체 상담 수", example = "1520")
+    private long total;
+
+    @Schema(description = "구간 / 차원별 상담 수 (묶지 않은 차원은 null)")
+    private List<BucketResponse> buckets;
+
+    public static CounselStatisticsResponse from(CounselRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                                 List<CounselRollup.Dimension> groupBy, List<CounselRollupCount> counts) {
+        return CounselStatisticsResponse.builder()
+                .granularity(granularity)
+                .from(granularity.truncate(from))
+                .to(to)
+                .groupBy(groupBy)
+                .total(counts.stream().mapToLong(CounselRollupCount::getCount).sum())
+                .buckets(counts.stream().map(BucketResponse::new).toList())
+                .build();
+    }
+
+    @Getter
+    @Schema(description = "집계 구간별 상담 수")
+    public static class BucketResponse {
+
+        @Schema(description = "구간 시작 시각", example = "2025-01-15T00:00:00")
+        private final LocalDateTime bucketStart;
+
+        @Schema(description = "상담사 ID", example = "CS001")
+        private final String counselorId;
+
+        @Schema(description = "상품 정보", example = "프리미엄 신용카드")
+        private final String productInfo;
+
+        @Schema(description = "상담 유형", example = "상품문의")
+        private final String counselType;
+
+        @Schema(description = "고객 감정", example = "중립")
+        private final String sentiment;
+
+        @Schema(description = "상담 수", example = "42")
+        private final long count;
+
+        public BucketResponse(CounselRollupCount count) {
+            this.bucketStart = count.getBucketStart();
+            this.counselorId = count.getCounselorId();
+            this.productInfo = count.getProductInfo();
+            this.counselType = count.getCounselType();
+            this.sentiment = count.getSentiment();
+            this.count = count.getCount();
+        }
+    }
+}
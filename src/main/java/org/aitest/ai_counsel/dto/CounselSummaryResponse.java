@@ -0,0 +1,55 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.repository.CounselSummary;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "상담 목록 응답 (상담 내용 제외, 상세는 /api/counsels/{id} 로 조회)")
+public class CounselSummaryResponse {
+
+    @Schema(description = "상담 ID", example = "1")
+    private Long id;
+
+    @Schema(description = "상담사 ID", example = "counselor001")
+    private String counselorId;
+
+    @Schema(description = "고객 ID", example = "customer001")
+    private String customerId;
+
+    @Schema(description = "상담 일시", example = "2024-01-15T09:30:00")
+    private LocalDateTime counselDate;
+
+    @Schema(description = "상품 정보", example = "주식형 펀드")
+    private String productInfo;
+
+    @Schema(description = "상담 유형", example = "상품문의")
+    private String counselType;
+
+    @Schema(description = "고객 감정", example = "중립")
+    private String sentiment;
+
+    @Schema(description = "생성 일시")
+    private LocalDateTime createdAt;
+
+    @Schema(description = "수정 일시")
+    private LocalDateTime modifiedAt;
+
+    public static CounselSummaryResponse from(CounselSummary counsel) {
+        return CounselSummaryResponse.builder()
+                .id(counsel.getId())
+                .counselorId(counsel.getCounselorId())
+                .customerId(counsel.getCustomerId())
+                .counselDate(counsel.getCounselDate())
+                .productInfo(counsel.getProductInfo())
+                .counselType(counsel.getCounselType())
+                .sentiment(counsel.getSentiment())
+                .createdAt(counsel.getCreatedAt())
+                .modifiedAt(counsel.getModifiedAt())
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Getter;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Getter
+@Schema(description = "커서 기반 페이지 응답")
+public class CursorPage<T> {
+
+    @Schema(description = "조회 결과")
+    private final List<T> content;
+
+    @Schema(description = "요청한 페이지 크기", example = "20")
+    private final int size;
+
+    @Schema(description = "다음 페이지 존재 여부", example = "true")
+    private final boolean hasNext;
+
+    @Schema(description = "다음 페이지 조회용 커서", example = "MjAyNS0wMS0xNVQxMDozMF8y")
+    private final String nextCursor;
+
+    private CursorPage(List<T> content, int size, boolean hasNext, String nextCursor) {
+        this.content = content;
+        this.size = size;
+        this.hasNext = hasNext;
+        this.nextCursor = nextCursor;
+    }
+
+    /**
+     * 페이지 크기보다 하나 더 조회한 결과로 다음 페이지 존재 여부를 판단합니다.
+     */
+    public static <T> CursorPage<T> of(List<T> fetched, int size, Function<T, String> cursorOf) {
+        boolean hasNext = fetched.size() > size;
+        List<T> content = hasNext ? fetched.subList(0, size) : fetched;
+        String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)) : null;
+        return new CursorPage<>(content, size, hasNext, nextCursor);
+    }
+
+    public <R> CursorPage<R> map(Function<T, R> mapper) {
+        return new CursorPage<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor);
+    }
+}
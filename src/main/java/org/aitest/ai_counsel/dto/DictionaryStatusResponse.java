@@ -0,0 +1,42 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.ClassificationDictionary;
+import org.aitest.ai_counsel.service.ClassificationDictionaryProvider;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Getter
+@Builder
+@Schema(description = "분류 사전 상태")
+public class DictionaryStatusResponse {
+
+    @Schema(description = "사전 파일 위치", example = "file:/etc/ai-counsel/counsel-dictionary.json")
+    private String location;
+
+    @Schema(description = "적용된 사전 버전 (적재할 때마다 증가)", example = "3")
+    private long version;
+
+    @Schema(description = "마지막 적용 시각")
+    private LocalDateTime loadedAt;
+
+    @Schema(description = "컴파일된 패턴 수", example = "42")
+    private int patternCount;
+
+    @Schema(description = "상담 유형별 설명")
+    private Map<String, String> types;
+
+    public static DictionaryStatusResponse from(ClassificationDictionaryProvider provider) {
+        ClassificationDictionary dictionary = provider.get();
+        return DictionaryStatusResponse.builder()
+                .location(provider.getLocation())
+                .version(provider.getVersion())
+                .loadedAt(provider.getLoadedAt())
+                .patternCount(dictionary.getPatternCount())
+                .types(dictionary.getTypeDescriptions())
+                .build();
+    }
+}
@@ -0,0 +1,66 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselIngestionQueue;
+
+@Getter
+@Builder
+@Schema(description = "상담 적재 큐 상태")
+public class IngestionStatusResponse {
+
+    @Schema(description = "요청 수신 여부", example = "true")
+    private boolean running;
+
+    @Schema(description = "큐 용량", example = "10000")
+    private int capacity;
+
+    @Schema(description = "기록 대기 중인 상담 수", example = "120")
+    private int queueDepth;
+
+    @Schema(description = "접수된 상담 수", example = "250000")
+    private long accepted;
+
+    @Schema(description = "큐가 가득 차 거절된 상담 수", example = "12")
+    private long rejected;
+
+    @Schema(description = "기록 완료된 상담 수", example = "249880")
+    private long written;
+
+    @Schema(description = "재시도와 분할 기록으로도 기록하지 못한 상담 수", example = "0")
+    private long failed;
+
+    @Schema(description = "배치 기록 재시도 횟수", example = "2")
+    private long retried;
+
+    @Schema(description = "dead-letter 파일에 보관된 상담 수", example = "0")
+    private long deadLettered;
+
+    @Schema(description = "dead-letter 파일 경로 (대량 적재 API 로 다시 적재 가능한 NDJSON)",
+            example = "dead-letter/counsel-ingestion.ndjson")
+    private String deadLetterFile;
+
+    @Schema(description = "실행된 배치 수", example = "612")
+    private long batches;
+
+    @Schema(description = "마지막 배치 기록 소요 시간(ms)", example = "38")
+    private long lastFlushMillis;
+
+    public static IngestionStatusResponse from(CounselIngestionQueue queue) {
+        return IngestionStatusResponse.builder()
+                .running(queue.isRunning())
+                .capacity(queue.getCapacity())
+                .queueDepth(queue.getQueueDepth())
+                .accepted(queue.getAccepted())
+                .rejected(queue.getRejected())
+                .written(queue.getWritten())
+                .failed(queue.getFailed())
+                .retried(queue.getRetried())
+                .deadLettered(queue.getDeadLettered())
+                .deadLetterFile(queue.getDeadLetterFile().toString())
+                .batches(queue.getBatches())
+                .lastFlushMillis(queue.getLastFlushMillis())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.PredictionAccuracyService;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "다음 상담 예측 정확도")
+public class PredictionAccuracyResponse {
+
+    @Schema(description = "예측 생성 기간 시작")
+    private LocalDateTime from;
+
+    @Schema(description = "예측 생성 기간 끝 (미포함)")
+    private LocalDateTime to;
+
+    @Schema(description = "기간 내 고객별 예측 수", example = "120000")
+    private long predictions;
+
+    @Schema(description = "이후 상담이 아직 없어 평가하지 못한 예측 수", example = "45000")
+    private long pending;
+
+    @Schema(description = "이후 상담과 비교한 예측 수", example = "75000")
+    private long evaluated;
+
+    @Schema(description = "유형을 비교한 예측 수 (이후 상담이 분석된 경우)", example = "74200")
+    private long typeEvaluated;
+
+    @Schema(description = "유형 적중률", example = "0.41")
+    private double typeAccuracy;
+
+    @Schema(description = "예상일을 비교한 예측 수", example = "68000")
+    private long dateEvaluated;
+
+    @Schema(description = "실제 상담일이 예상일 범위 안에 든 비율", example = "0.87")
+    private double intervalHitRate;
+
+    @Schema(description = "예상일 평균 절대 오차(일)", example = "6.3")
+    private double meanAbsoluteErrorDays;
+
+    public static PredictionAccuracyResponse from(PredictionAccuracyService.PredictionAccuracy accuracy) {
+        return PredictionAccuracyResponse.builder()
+                .from(accuracy.getFrom())
+                .to(accuracy.getTo())
+                .predictions(accuracy.getPredictions())
+                .pending(accuracy.getPending())
+                .evaluated(accuracy.getEvaluated())
+                .typeEvaluated(accuracy.getTypeEvaluated())
+                .typeAccuracy(accuracy.getTypeAccuracy())
+                .dateEvaluated(accuracy.getDateEvaluated())
+                .intervalHitRate(accuracy.getIntervalHitRate())
+                .meanAbsoluteErrorDays(accuracy.getMeanAbsoluteErrorDays())
+                .build();
+    }
+}
@@ -0,0 +1,59 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.TypeTransitionModel;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "상담 유형 전이 모델 상태")
+public class PredictionModelStatusResponse {
+
+    @Schema(description = "학습된 상담 유형 수", example = "8")
+    private int typeCount;
+
+    @Schema(description = "학습된 유형 전이 수", example = "152340")
+    private long transitionCount;
+
+    @Schema(description = "재구축 진행 여부", example = "false")
+    private boolean rebuilding;
+
+    @Schema(description = "재구축 고객 구간 수", example = "16")
+    private int partitions;
+
+    @Schema(description = "완료된 구간 수", example = "16")
+    private int completedPartitions;
+
+    @Schema(description = "마지막 재구축 소요 시간(ms)", example = "2140")
+    private long lastRebuildMillis;
+
+    @Schema(description = "마지막 재구축 완료 시각")
+    private LocalDateTime lastRebuildAt;
+
+    @Schema(description = "증분 학습한 분석 이벤트 수", example = "18230")
+    private long appliedEvents;
+
+    @Schema(description = "증분 대기열이 가득 차거나 계산에 실패해 재구축으로 미룬 분석 이벤트 수", example = "0")
+    private long skippedEvents;
+
+    @Schema(description = "증분 반영 대기 중인 트랜잭션 수", example = "0")
+    private int pendingDeltaBatches;
+
+    public static PredictionModelStatusResponse from(TypeTransitionModel model) {
+        return PredictionModelStatusResponse.builder()
+                .typeCount(model.getTypeCount())
+                .transitionCount(model.getTransitionCount())
+                .rebuilding(model.isRebuilding())
+                .partitions(model.getPartitions())
+                .completedPartitions(model.getCompletedPartitions())
+                .lastRebuildMillis(model.getLastRebuildMillis())
+                .lastRebuildAt(model.getLastRebuildAt())
+                .appliedEvents(model.getAppliedEvents())
+                .skippedEvents(model.getSkippedEvents())
+                .pendingDeltaBatches(model.getPendingDeltaBatches())
+                .build();
+    }
+}
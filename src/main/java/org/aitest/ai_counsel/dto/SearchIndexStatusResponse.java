@@ -0,0 +1,41 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselSearchIndex;
+
+@Getter
+@Builder
+@Schema(description = "상담 검색 색인 상태")
+public class SearchIndexStatusResponse {
+
+    @Schema(description = "초기 색인 완료 여부", example = "true")
+    private boolean ready;
+
+    @Schema(description = "재구축 진행 여부", example = "false")
+    private boolean rebuilding;
+
+    @Schema(description = "색인된 상담 수", example = "1000000")
+    private int documentCount;
+
+    @Schema(description = "색인된 용어 수", example = "48210")
+    private int termCount;
+
+    @Schema(description = "색인 대기 중인 상담 수", example = "0")
+    private int pendingCount;
+
+    @Schema(description = "마지막 재구축 소요 시간(ms)", example = "84210")
+    private long lastRebuildMillis;
+
+    public static SearchIndexStatusResponse from(CounselSearchIndex index) {
+        return SearchIndexStatusResponse.builder()
+                .ready(index.isReady())
+                .rebuilding(index.isRebuilding())
+                .documentCount(index.getDocumentCount())
+                .termCount(index.getTermCount())
+                .pendingCount(index.getPendingCount())
+                .lastRebuildMillis(index.getLastRebuildMillis())
+                .build();
+    }
+}
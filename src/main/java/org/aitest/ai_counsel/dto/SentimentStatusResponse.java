@@ -0,0 +1,82 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.client.CircuitBreaker;
+import org.aitest.ai_counsel.client.SentimentClient;
+
+@Getter
+@Builder
+@Schema(description = "감정 분석 API 호출 상태")
+public class SentimentStatusResponse {
+
+    @Schema(description = "외부 API 사용 여부", example = "true")
+    private boolean enabled;
+
+    @Schema(description = "서킷 브레이커 상태", example = "CLOSED")
+    private CircuitBreaker.State circuitState;
+
+    @Schema(description = "최근 호출 실패율(%)", example = "5.0")
+    private double failureRate;
+
+    @Schema(description = "서킷 OPEN 전환 횟수", example = "0")
+    private long openCount;
+
+    @Schema(description = "진행 중인 호출 수", example = "3")
+    private int inFlight;
+
+    @Schema(description = "최대 동시 호출 수", example = "8")
+    private int maxConcurrentCalls;
+
+    @Schema(description = "배치 전송 대기 중인 요청 수", example = "4")
+    private int pendingBatchSize;
+
+    @Schema(description = "감정 분석 요청 수", example = "24000")
+    private long requests;
+
+    @Schema(description = "대체 로직으로 처리된 요청 수", example = "1000")
+    private long fallbacks;
+
+    @Schema(description = "전체 API 호출 수", example = "1200")
+    private long totalCalls;
+
+    @Schema(description = "성공 건수", example = "1150")
+    private long successes;
+
+    @Schema(description = "실패 건수", example = "20")
+    private long failures;
+
+    @Schema(description = "응답 시간 초과 건수", example = "10")
+    private long timeouts;
+
+    @Schema(description = "동시 호출 한도 초과로 거절된 건수", example = "15")
+    private long rejected;
+
+    @Schema(description = "서킷 차단으로 호출하지 않은 건수", example = "5")
+    private long shortCircuited;
+
+    @Schema(description = "대체 로직 처리 비율(%)", example = "4.2")
+    private double fallbackRate;
+
+    public static SentimentStatusResponse from(SentimentClient client) {
+        return SentimentStatusResponse.builder()
+                .enabled(client.isEnabled())
+                .circuitState(client.getCircuitState())
+                .failureRate(client.getCircuitFailureRate())
+                .openCount(client.getCircuitOpenCount())
+                .inFlight(client.getInFlight())
+                .maxConcurrentCalls(client.getMaxConcurrentCalls())
+                .pendingBatchSize(client.getPendingBatchSize())
+                .requests(client.getRequests())
+                .fallbacks(client.getFallbacks())
+                .totalCalls(client.getTotalCalls())
+                .successes(client.getSuccesses())
+                .failures(client.getFailures())
+                .timeouts(client.getTimeouts())
+                .rejected(client.getRejected())
+                .shortCircuited(client.getShortCircuited())
+                .fallbackRate(client.getFallbackRate())
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package org.aitest.ai_counsel.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Builder;
+import lombok.Getter;
+import org.aitest.ai_counsel.service.CounselStatisticsService;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@Schema(description = "상담 통계 집계 / 재구축 상태")
+public class StatisticsRebuildStatusResponse {
+
+    @Schema(description = "재구축 진행 여부", example = "true")
+    private boolean rebuilding;
+
+    @Schema(description = "재구축 기간 구간 수", example = "53")
+    private int partitions;
+
+    @Schema(description = "완료된 구간 수", example = "20")
+    private int completedPartitions;
+
+    @Schema(description = "재시도 후에도 실패한 구간 수", example = "0")
+    private int failedPartitions;
+
+    @Schema(description = "마지막 재구축 소요 시간(ms)", example = "3120")
+    private long lastRebuildMillis;
+
+    @Schema(description = "마지막 재구축 완료 시각")
+    private LocalDateTime lastRebuildAt;
+
+    @Schema(description = "증분 반영한 분석 이벤트 수", example = "18230")
+    private long appliedEvents;
+
+    public static StatisticsRebuildStatusResponse from(CounselStatisticsService service) {
+        return StatisticsRebuildStatusResponse.builder()
+                .rebuilding(service.isRebuilding())
+                .partitions(service.getPartitions())
+                .completedPartitions(service.getCompletedPartitions())
+                .failedPartitions(service.getFailedPartitions())
+                .lastRebuildMillis(service.getLastRebuildMillis())
+                .lastRebuildAt(service.getLastRebuildAt())
+                .appliedEvents(service.getAppliedEvents())
+                .build();
+    }
+}
@@ -0,0 +1,40 @@
+package org.aitest.ai_counsel.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.Counsel;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 상담 분석 결과가 반영되었음을 알립니다.
+ * 이전 상담 유형이 없으면 처음 분석된 상담입니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CounselAnalyzedEvent {
+    private final Long counselId;
+    private final String customerId;
+    private final String counselorId;
+    private final LocalDateTime counselDate;
+    private final String productInfo;
+    private final String previousCounselType;
+    private final String previousSentiment;
+    private final String counselType;
+    private final String sentiment;
+    private final List<String> keywords;
+
+    /**
+     * 분석 결과가 반영된 상담으로 이벤트를 만듭니다. 이전 값은 결과를 반영하기 전에 읽어 두어야 합니다.
+     */
+    public static CounselAnalyzedEvent from(Counsel analyzed, String previousCounselType, String previousSentiment) {
+        return new CounselAnalyzedEvent(analyzed.getId(), analyzed.getCustomerId(), analyzed.getCounselorId(),
+                analyzed.getCounselDate(), analyzed.getProductInfo(), previousCounselType, previousSentiment,
+                analyzed.getCounselType(), analyzed.getSentiment(), List.copyOf(analyzed.getKeywords()));
+    }
+
+    public boolean isFirstAnalysis() {
+        return previousCounselType == null;
+    }
+}
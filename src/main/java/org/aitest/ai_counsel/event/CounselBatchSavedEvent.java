@@ -0,0 +1,21 @@
+package org.aitest.ai_counsel.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.Counsel;
+
+import java.util.List;
+
+/**
+ * 여러 상담이 한 트랜잭션에서 배치로 저장되었음을 알립니다.
+ * 대량 적재처럼 건수가 많은 경로에서 상담마다 이벤트를 발행하지 않고 배치당 한 번 발행합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CounselBatchSavedEvent {
+    private final List<CounselSavedEvent> counsels;
+
+    public static CounselBatchSavedEvent from(List<Counsel> counsels) {
+        return new CounselBatchSavedEvent(counsels.stream().map(CounselSavedEvent::from).toList());
+    }
+}
@@ -0,0 +1,26 @@
+package org.aitest.ai_counsel.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.Counsel;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담이 저장되었음을 알립니다. 트랜잭션 커밋 이후에 처리해야 하는 후속 작업에서 사용합니다.
+ */
+@Getter
+@RequiredArgsConstructor
+public class CounselSavedEvent {
+    private final Long counselId;
+    private final String customerId;
+    private final String counselorId;
+    private final LocalDateTime counselDate;
+    private final String content;
+    private final String productInfo;
+
+    public static CounselSavedEvent from(Counsel counsel) {
+        return new CounselSavedEvent(counsel.getId(), counsel.getCustomerId(), counsel.getCounselorId(),
+                counsel.getCounselDate(), counsel.getContent(), counsel.getProductInfo());
+    }
+}
@@ -18,12 +18,32 @@ public enum ErrorCode {
 
     // Counsel
     COUNSEL_NOT_FOUND(HttpStatus.NOT_FOUND, "S001", "Counsel is not found."),
+    INGESTION_QUEUE_FULL(HttpStatus.TOO_MANY_REQUESTS, "S002", "Counsel ingestion queue is full."),
+    INGESTION_STOPPED(HttpStatus.SERVICE_UNAVAILABLE, "S003", "Counsel ingestion is not accepting requests."),
 
     // Analysis
     ANALYSIS_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "A001", "Analysis error."),
+    INVALID_DICTIONARY(HttpStatus.UNPROCESSABLE_ENTITY, "A002", "Invalid analysis dictionary."),
+    ANALYZER_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE, "A003", "Morphological analyzer is not available."),
+    ANALYSIS_NOT_FOUND(HttpStatus.NOT_FOUND, "A004", "Counsel has not been analyzed yet."),
+
+    // Import
+    IMPORT_NOT_FOUND(HttpStatus.NOT_FOUND, "I001", "Counsel import is not found."),
+    IMPORT_IN_PROGRESS(HttpStatus.CONFLICT, "I002", "Counsel import is already running."),
 
     // Prediction
-    PREDICTION_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "P001", "Prediction error.");
+    PREDICTION_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "P001", "Prediction error."),
+    PREDICTION_NOT_FOUND(HttpStatus.NOT_FOUND, "P002", "Prediction has not been generated yet."),
+    PREDICTION_MODEL_REBUILD_IN_PROGRESS(HttpStatus.CONFLICT, "P003", "Prediction model rebuild is already running."),
+    PREDICTION_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "P004", "Prediction job is not found."),
+    PREDICTION_JOB_IN_PROGRESS(HttpStatus.CONFLICT, "P005", "Prediction job is already running."),
+
+    // Batch
+    BATCH_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "B001", "Batch job is not found."),
+    BATCH_JOB_REJECTED(HttpStatus.TOO_MANY_REQUESTS, "B002", "Too many pending batch jobs."),
+
+    // Statistics
+    STATISTICS_REBUILD_IN_PROGRESS(HttpStatus.CONFLICT, "T001", "Statistics rebuild is already running.");
 
 
     private final HttpStatus status;
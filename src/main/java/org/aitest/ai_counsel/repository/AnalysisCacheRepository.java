@@ -0,0 +1,48 @@
+package org.aitest.ai_counsel.repository;
+
+import org.aitest.ai_counsel.domain.AnalysisCacheEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AnalysisCacheRepository extends JpaRepository<AnalysisCacheEntry, String> {
+
+    /**
+     * 만료된 분석 결과를 삭제합니다.
+     */
+    @Transactional
+    @Modifying(clearAutomatically = true)
+    @Query("delete from AnalysisCacheEntry e where e.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") LocalDateTime cutoff);
+
+    /**
+     * 분석 결과를 저장하거나 같은 해시의 행을 덮어씁니다.
+     * 호출한 쪽의 분석 트랜잭션과 분리된 새 트랜잭션에서 실행하므로 캐시 저장 실패가 분석 저장을 되돌리지 않습니다.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query(value = "INSERT INTO analysis_cache (content_hash, counsel_type, sentiment, keywords, created_at) "
+            + "VALUES (:contentHash, :counselType, :sentiment, :keywords, :createdAt) "
+            + "ON DUPLICATE KEY UPDATE counsel_type = VALUES(counsel_type), sentiment = VALUES(sentiment), "
+            + "keywords = VALUES(keywords), created_at = VALUES(created_at)", nativeQuery = true)
+    int upsert(@Param("contentHash") String contentHash,
+               @Param("counselType") String counselType,
+               @Param("sentiment") String sentiment,
+               @Param("keywords") String keywords,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    /**
+     * 오래 저장된 순서로 해시를 조회합니다.
+     */
+    @Query("select e.contentHash from AnalysisCacheEntry e order by e.createdAt, e.contentHash")
+    List<String> findOldestHashes(Pageable pageable);
+}
@@ -0,0 +1,112 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 예측용 고객/상담사 집계의 초기값을 집계 쿼리로 조회합니다.
+ * <p>
+ * 상담 이력 행을 애플리케이션으로 읽지 않고 (소유자 ID, 상담 일시) 색인 구간에서 DB 가 집계하므로,
+ * 이력 길이와 관계없이 유형 수만큼의 행만 전달됩니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounselHistoryJdbcRepository {
+
+    private static final String CUSTOMER_COLUMN = "customer_id";
+    private static final String COUNSELOR_COLUMN = "counselor_id";
+
+    // 상담 간격 제곱합: 일시 순으로 바로 앞 상담과의 간격(초)
+    private static final String SELECT_PERIOD_SQL =
+            "SELECT COUNT(*), MIN(counsel_date), MAX(counsel_date), SUM(gap * gap) FROM ("
+                    + "SELECT counsel_date, CAST(TIMESTAMPDIFF(SECOND, LAG(counsel_date) OVER (ORDER BY counsel_date, id), "
+                    + "counsel_date) AS DOUBLE) AS gap FROM counsel WHERE %s = ?) t";
+    private static final String SELECT_LATEST_SQL =
+            "SELECT id FROM counsel WHERE %s = ? ORDER BY counsel_date DESC, id DESC LIMIT 1";
+    private static final String SELECT_LAST_ANALYZED_SQL =
+            "SELECT counsel_type, counsel_date FROM counsel WHERE %s = ? AND counsel_type IS NOT NULL "
+                    + "ORDER BY counsel_date DESC, id DESC LIMIT 1";
+    // 감쇠 가중치: 마지막 분석 상담 일시를 기준으로 exp(-감쇠율 × 경과 일수)
+    private static final String SELECT_TYPES_SQL =
+            "SELECT counsel_type, COUNT(*), SUM(EXP(? * TIMESTAMPDIFF(SECOND, ?, counsel_date))) FROM counsel "
+                    + "WHERE %s = ? AND counsel_type IS NOT NULL GROUP BY counsel_type "
+                    + "ORDER BY MIN(counsel_date), counsel_type";
+    private static final double SECONDS_PER_DAY = 86_400.0;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public HistoryStatistics summarizeByCustomerId(String customerId, double decayRate) {
+        return summarize(CUSTOMER_COLUMN, customerId, decayRate);
+    }
+
+    public HistoryStatistics summarizeByCounselorId(String counselorId, double decayRate) {
+        return summarize(COUNSELOR_COLUMN, counselorId, decayRate);
+    }
+
+    /**
+     * @param decayRate 하루당 감쇠율
+     */
+    private HistoryStatistics summarize(String ownerColumn, String ownerId, double decayRate) {
+        HistoryStatistics statistics = jdbcTemplate.queryForObject(SELECT_PERIOD_SQL.formatted(ownerColumn),
+                (rs, rowNum) -> new HistoryStatistics(rs.getLong(1), localDateTime(rs.getTimestamp(2)),
+                        localDateTime(rs.getTimestamp(3)), rs.getDouble(4)), ownerId);
+        if (statistics == null || statistics.count == 0) {
+            return new HistoryStatistics(0, null, null, 0.0);
+        }
+
+        List<Long> latest = jdbcTemplate.queryForList(SELECT_LATEST_SQL.formatted(ownerColumn), Long.class, ownerId);
+        statistics.latestCounselId = latest.isEmpty() ? null : latest.get(0);
+
+        jdbcTemplate.query(SELECT_LAST_ANALYZED_SQL.formatted(ownerColumn), (RowCallbackHandler) rs -> {
+            statistics.lastCounselType = rs.getString(1);
+            statistics.lastAnalyzedDate = rs.getTimestamp(2).toLocalDateTime();
+        }, ownerId);
+        if (statistics.lastAnalyzedDate == null) {
+            return statistics;
+        }
+
+        jdbcTemplate.query(SELECT_TYPES_SQL.formatted(ownerColumn), (RowCallbackHandler) rs -> {
+            statistics.typeCounts.put(rs.getString(1), rs.getInt(2));
+            statistics.decayedTypeWeights.put(rs.getString(1), rs.getDouble(3));
+        }, decayRate / SECONDS_PER_DAY, Timestamp.valueOf(statistics.lastAnalyzedDate), ownerId);
+        return statistics;
+    }
+
+    private static LocalDateTime localDateTime(Timestamp value) {
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    /**
+     * 고객 또는 상담사 한 명의 상담 이력 집계값입니다.
+     * 감쇠 가중치는 마지막으로 분석된 상담 일시(lastAnalyzedDate)를 기준 시점으로 합니다.
+     */
+    @Getter
+    public static class HistoryStatistics {
+        private final long count;
+        private final LocalDateTime firstDate;
+        private final LocalDateTime lastDate;
+        /** 일시 순으로 이웃한 상담 간격(초)의 제곱합 */
+        private final double gapSquareSeconds;
+        private final Map<String, Integer> typeCounts = new LinkedHashMap<>();
+        private final Map<String, Double> decayedTypeWeights = new LinkedHashMap<>();
+        private Long latestCounselId;
+        private String lastCounselType;
+        private LocalDateTime lastAnalyzedDate;
+
+        private HistoryStatistics(long count, LocalDateTime firstDate, LocalDateTime lastDate, double gapSquareSeconds) {
+            this.count = count;
+            this.firstDate = firstDate;
+            this.lastDate = lastDate;
+            this.gapSquareSeconds = gapSquareSeconds;
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package org.aitest.ai_counsel.repository;
+
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CounselImportRepository extends JpaRepository<CounselImport, Long> {
+
+    /**
+     * 배치 커밋과 같은 트랜잭션에서 재개 지점을 갱신합니다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update CounselImport i set i.processedRows = :processedRows, i.importedRows = :importedRows, " +
+            "i.rejectedRows = :rejectedRows where i.id = :id")
+    int updateCheckpoint(@Param("id") Long id,
+                         @Param("processedRows") long processedRows,
+                         @Param("importedRows") long importedRows,
+                         @Param("rejectedRows") long rejectedRows);
+}
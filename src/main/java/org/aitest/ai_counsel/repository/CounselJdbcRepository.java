@@ -0,0 +1,142 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JPA 영속성 컨텍스트를 거치지 않고 JDBC 배치로 대량 갱신을 수행합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounselJdbcRepository {
+
+    private static final String INSERT_COUNSEL_SQL =
+            "INSERT INTO counsel (counselor_id, customer_id, content, counsel_date, product_info, created_at) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_ANALYSIS_SQL =
+            "UPDATE counsel SET analysis = ?, counsel_type = ?, sentiment = ?, modified_at = ? "
+                    + "WHERE id = ? AND COALESCE(counsel_type, '') = COALESCE(?, '') AND COALESCE(sentiment, '') = COALESCE(?, '')";
+    private static final String DELETE_KEYWORDS_SQL =
+            "DELETE FROM counsel_keyword WHERE counsel_id = ?";
+    private static final String INSERT_KEYWORD_SQL =
+            "INSERT INTO counsel_keyword (counsel_id, keyword_order, keyword) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 상담을 한 번의 배치 INSERT 로 저장하고 생성된 ID 를 각 엔티티에 채웁니다.
+     * IDENTITY 전략에서는 Hibernate 가 INSERT 를 배치로 묶지 못하므로 JDBC 로 직접 실행합니다.
+     */
+    @Transactional
+    public void insertCounsels(List<Counsel> counsels) {
+        if (counsels.isEmpty()) {
+            return;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_COUNSEL_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (Counsel counsel : counsels) {
+                    counsel.setCreatedAt(now);
+                    ps.setString(1, counsel.getCounselorId());
+                    ps.setString(2, counsel.getCustomerId());
+                    ps.setString(3, counsel.getContent());
+                    ps.setTimestamp(4, Timestamp.valueOf(counsel.getCounselDate()));
+                    ps.setString(5, counsel.getProductInfo());
+                    ps.setTimestamp(6, Timestamp.valueOf(now));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+
+                // 생성된 키는 INSERT 순서대로 반환됨
+                try (ResultSet keys = ps.getGeneratedKeys()) {
+                    int index = 0;
+                    while (keys.next() && index < counsels.size()) {
+                        counsels.get(index++).setId(keys.getLong(1));
+                    }
+                    if (index != counsels.size()) {
+                        throw new IllegalStateException("생성된 상담 ID 수가 일치하지 않습니다: " + index + "/" + counsels.size());
+                    }
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * 분석 결과와 키워드를 한 번의 트랜잭션에서 배치로 저장합니다.
+     * 분석 전에 읽어 둔 유형과 감정이 그대로인 행만 갱신하므로, 같은 상담을 동시에 분석하면 먼저 반영된 결과만 남습니다.
+     *
+     * @return 실제로 갱신된 항목. 다른 분석이 먼저 반영된 항목은 제외됩니다.
+     */
+    @Transactional
+    public List<AnalysisUpdate> updateAnalyses(List<AnalysisUpdate> updates) {
+        if (updates.isEmpty()) {
+            return List.of();
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        int[][] counts = jdbcTemplate.batchUpdate(UPDATE_ANALYSIS_SQL, updates, updates.size(), (ps, update) -> {
+            Counsel counsel = update.getCounsel();
+            ps.setString(1, counsel.getAnalysis());
+            ps.setString(2, counsel.getCounselType());
+            ps.setString(3, counsel.getSentiment());
+            ps.setTimestamp(4, Timestamp.valueOf(now));
+            ps.setLong(5, counsel.getId());
+            ps.setString(6, update.getPreviousCounselType());
+            ps.setString(7, update.getPreviousSentiment());
+        });
+
+        List<AnalysisUpdate> applied = new ArrayList<>();
+        for (int i = 0; i < updates.size(); i++) {
+            if (counts[0][i] > 0) {
+                AnalysisUpdate update = updates.get(i);
+                update.getCounsel().setModifiedAt(now);
+                applied.add(update);
+            }
+        }
+        if (applied.isEmpty()) {
+            return applied;
+        }
+
+        jdbcTemplate.batchUpdate(DELETE_KEYWORDS_SQL, applied, applied.size(),
+                (ps, update) -> ps.setLong(1, update.getCounsel().getId()));
+
+        List<Object[]> keywordRows = new ArrayList<>();
+        for (AnalysisUpdate update : applied) {
+            Counsel counsel = update.getCounsel();
+            List<String> keywords = counsel.getKeywords();
+            for (int i = 0; i < keywords.size(); i++) {
+                keywordRows.add(new Object[]{counsel.getId(), i, keywords.get(i)});
+            }
+        }
+        if (!keywordRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_KEYWORD_SQL, keywordRows);
+        }
+        return applied;
+    }
+
+    /**
+     * 분석 결과가 반영된 상담과, 분석 전에 읽어 둔 유형·감정입니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class AnalysisUpdate {
+        private final Counsel counsel;
+        private final String previousCounselType;
+        private final String previousSentiment;
+    }
+}
@@ -0,0 +1,154 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.domain.KeywordListConverter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * 전체 고객 일괄 예측용 조회, 예측 결과 배치 저장과 예측 정확도 측정용 조회를 JDBC 로 수행합니다.
+ * <p>
+ * 고객은 customer_id 순 키셋으로 묶음 단위 조회하고, 묶음에 속한 고객의 이력은 customer_id 구간 조건 한 번으로 읽으므로
+ * 고객 수와 무관하게 묶음당 쿼리 수가 일정합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounselPredictionJdbcRepository {
+
+    private static final String SELECT_ACTIVE_CUSTOMERS_SQL =
+            "SELECT customer_id FROM counsel WHERE customer_id > ? "
+                    + "GROUP BY customer_id HAVING MAX(counsel_date) >= ? ORDER BY customer_id LIMIT ?";
+    private static final String SELECT_TIMELINES_SQL =
+            "SELECT customer_id, id, counsel_date, counsel_type FROM counsel "
+                    + "WHERE customer_id > ? AND customer_id <= ? ORDER BY customer_id, counsel_date, id";
+    private static final String SELECT_KEYWORD_COUNTS_SQL =
+            "SELECT c.customer_id, k.keyword, COUNT(*) FROM counsel c JOIN counsel_keyword k ON k.counsel_id = c.id "
+                    + "WHERE c.customer_id > ? AND c.customer_id <= ? GROUP BY c.customer_id, k.keyword";
+    private static final String INSERT_PREDICTION_SQL =
+            "INSERT INTO counsel_prediction (customer_id, counselor_id, job_id, predicted_type, type_probability, "
+                    + "average_cycle, next_counsel_date, next_counsel_earliest, next_counsel_latest, details, top_keywords, "
+                    + "counsel_count, last_counsel_id, generated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+    // 예측 생성 이후 같은 고객의 첫 상담과 짝지음 (없으면 아직 결과를 알 수 없는 예측)
+    private static final String SELECT_OUTCOMES_SQL =
+            "SELECT p.predicted_type, p.next_counsel_date, p.next_counsel_earliest, p.next_counsel_latest, "
+                    + "c.counsel_type, c.counsel_date FROM counsel_prediction p "
+                    + "LEFT JOIN counsel c ON c.id = (SELECT n.id FROM counsel n "
+                    + "WHERE n.customer_id = p.customer_id AND n.counsel_date > p.generated_at "
+                    + "ORDER BY n.counsel_date, n.id LIMIT 1) "
+                    + "WHERE p.customer_id IS NOT NULL AND p.generated_at >= ? AND p.generated_at < ?";
+
+    private static final KeywordListConverter KEYWORD_CONVERTER = new KeywordListConverter();
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * afterCustomerId 다음 고객부터, activeSince 이후 상담이 있는 고객 ID 를 limit 명까지 순서대로 조회합니다.
+     */
+    public List<String> findActiveCustomerIdsAfter(String afterCustomerId, LocalDateTime activeSince, int limit) {
+        return jdbcTemplate.queryForList(SELECT_ACTIVE_CUSTOMERS_SQL, String.class,
+                afterCustomerId == null ? "" : afterCustomerId, Timestamp.valueOf(activeSince), limit);
+    }
+
+    /**
+     * (afterCustomerId, lastCustomerId] 구간 고객의 상담 일시와 유형을 고객별로 일시 순 정렬하여 조회합니다.
+     */
+    public Map<String, List<CounselTimelineEntry>> findTimelines(String afterCustomerId, String lastCustomerId) {
+        Map<String, List<CounselTimelineEntry>> timelines = new HashMap<>();
+        jdbcTemplate.query(SELECT_TIMELINES_SQL, (RowCallbackHandler) rs -> {
+            Timestamp counselDate = rs.getTimestamp(3);
+            timelines.computeIfAbsent(rs.getString(1), customerId -> new ArrayList<>())
+                    .add(new TimelineRow(rs.getLong(2), counselDate.toLocalDateTime(), rs.getString(4)));
+        }, afterCustomerId == null ? "" : afterCustomerId, lastCustomerId);
+        return timelines;
+    }
+
+    /**
+     * (afterCustomerId, lastCustomerId] 구간 고객의 키워드별 출현 횟수를 조회합니다.
+     */
+    public Map<String, Map<String, Integer>> countKeywords(String afterCustomerId, String lastCustomerId) {
+        Map<String, Map<String, Integer>> counts = new HashMap<>();
+        jdbcTemplate.query(SELECT_KEYWORD_COUNTS_SQL, (RowCallbackHandler) rs -> counts
+                        .computeIfAbsent(rs.getString(1), customerId -> new HashMap<>())
+                        .put(rs.getString(2), rs.getInt(3)),
+                afterCustomerId == null ? "" : afterCustomerId, lastCustomerId);
+        return counts;
+    }
+
+    /**
+     * 예측 결과를 한 번의 배치 INSERT 로 저장합니다. 호출하는 쪽의 트랜잭션에 참여합니다.
+     */
+    public void insertPredictions(List<CounselPrediction> predictions) {
+        if (predictions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_PREDICTION_SQL, predictions, predictions.size(), (ps, prediction) -> {
+            ps.setString(1, prediction.getCustomerId());
+            ps.setString(2, prediction.getCounselorId());
+            ps.setObject(3, prediction.getJobId(), Types.BIGINT);
+            ps.setString(4, prediction.getPredictedType());
+            ps.setDouble(5, prediction.getTypeProbability());
+            ps.setDouble(6, prediction.getAverageCycle());
+            ps.setTimestamp(7, timestamp(prediction.getNextCounselDate()));
+            ps.setTimestamp(8, timestamp(prediction.getNextCounselEarliest()));
+            ps.setTimestamp(9, timestamp(prediction.getNextCounselLatest()));
+            ps.setString(10, prediction.getDetails());
+            ps.setString(11, KEYWORD_CONVERTER.convertToDatabaseColumn(prediction.getTopKeywords()));
+            ps.setLong(12, prediction.getCounselCount());
+            ps.setObject(13, prediction.getLastCounselId(), Types.BIGINT);
+            ps.setTimestamp(14, Timestamp.valueOf(prediction.getGeneratedAt()));
+        });
+    }
+
+    /**
+     * [from, to) 에 생성된 고객별 예측을 예측 이후 실제 첫 상담과 짝지어 순서대로 전달합니다.
+     */
+    public void findOutcomes(LocalDateTime from, LocalDateTime to, Consumer<PredictionOutcome> consumer) {
+        jdbcTemplate.query(SELECT_OUTCOMES_SQL, (RowCallbackHandler) rs -> consumer.accept(new PredictionOutcome(
+                        rs.getString(1), localDateTime(rs.getTimestamp(2)), localDateTime(rs.getTimestamp(3)),
+                        localDateTime(rs.getTimestamp(4)), rs.getString(5), localDateTime(rs.getTimestamp(6)))),
+                Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    private static LocalDateTime localDateTime(Timestamp value) {
+        return value == null ? null : value.toLocalDateTime();
+    }
+
+    private static Timestamp timestamp(LocalDateTime value) {
+        return value == null ? null : Timestamp.valueOf(value);
+    }
+
+    /**
+     * 예측과 그 이후 실제 상담입니다. 이후 상담이 없으면 actualDate 가 null 이고, 미분석이면 actualType 이 null 입니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    public static class PredictionOutcome {
+        private final String predictedType;
+        private final LocalDateTime nextCounselDate;
+        private final LocalDateTime nextCounselEarliest;
+        private final LocalDateTime nextCounselLatest;
+        private final String actualType;
+        private final LocalDateTime actualDate;
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static final class TimelineRow implements CounselTimelineEntry {
+        private final Long id;
+        private final LocalDateTime counselDate;
+        private final String counselType;
+    }
+}
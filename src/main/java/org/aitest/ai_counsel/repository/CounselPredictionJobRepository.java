@@ -0,0 +1,26 @@
+package org.aitest.ai_counsel.repository;
+
+import org.aitest.ai_counsel.domain.CounselPredictionJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CounselPredictionJobRepository extends JpaRepository<CounselPredictionJob, Long> {
+
+    /**
+     * 예측 결과 배치 저장과 같은 트랜잭션에서 재개 지점을 갱신합니다.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update CounselPredictionJob j set j.lastCustomerId = :lastCustomerId, " +
+            "j.processedCustomers = :processedCustomers, j.predictedCustomers = :predictedCustomers, " +
+            "j.failedCustomers = :failedCustomers, j.elapsedMillis = :elapsedMillis where j.id = :id")
+    int updateCheckpoint(@Param("id") Long id,
+                         @Param("lastCustomerId") String lastCustomerId,
+                         @Param("processedCustomers") long processedCustomers,
+                         @Param("predictedCustomers") long predictedCustomers,
+                         @Param("failedCustomers") long failedCustomers,
+                         @Param("elapsedMillis") long elapsedMillis);
+}
@@ -0,0 +1,22 @@
+package org.aitest.ai_counsel.repository;
+
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CounselPredictionRepository extends JpaRepository<CounselPrediction, Long> {
+
+    // (소유자 ID, 생성 일시) 색인 범위 조회
+    Optional<CounselPrediction> findFirstByCustomerIdOrderByGeneratedAtDescIdDesc(String customerId);
+
+    List<CounselPrediction> findByCustomerIdOrderByGeneratedAtDescIdDesc(String customerId, Pageable pageable);
+
+    List<CounselPrediction> findByJobIdAndCustomerIdIn(Long jobId, List<String> customerIds);
+
+    long countByJobId(Long jobId);
+}
@@ -1,16 +1,109 @@
 package org.aitest.ai_counsel.repository;
 
+import jakarta.persistence.QueryHint;
 import org.aitest.ai_counsel.domain.Counsel;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface CounselRepository extends JpaRepository<Counsel, Long> {
-    List<Counsel> findByCounselorIdOrderByCounselDateDesc(String counselorId);
     List<Counsel> findByCustomerIdOrderByCounselDateDesc(String customerId);
-    List<Counsel> findByCounselDateBetween(LocalDateTime start, LocalDateTime end);
-    List<Counsel> findByProductInfoContaining(String productInfo);
+
+    Optional<Counsel> findFirstByCustomerIdOrderByCounselDateDesc(String customerId);
+
+    String SUMMARY_SELECT = "select c.id as id, c.counselorId as counselorId, c.customerId as customerId, " +
+            "c.counselDate as counselDate, c.productInfo as productInfo, c.counselType as counselType, " +
+            "c.sentiment as sentiment, c.createdAt as createdAt, c.modifiedAt as modifiedAt from Counsel c ";
+
+    // 키셋 페이지네이션 쿼리: 마지막으로 조회한 정렬 키 다음부터 조회하므로 깊은 페이지도 비용이 일정
+    @Query(SUMMARY_SELECT + "where c.id > :afterId order by c.id")
+    List<CounselSummary> findPageAfterId(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.counselorId = :counselorId " +
+            "and (c.counselDate < :counselDate or (c.counselDate = :counselDate and c.id < :id)) " +
+            "order by c.counselDate desc, c.id desc")
+    List<CounselSummary> findCounselorPageBefore(@Param("counselorId") String counselorId,
+                                                 @Param("counselDate") LocalDateTime counselDate,
+                                                 @Param("id") long id,
+                                                 Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.customerId = :customerId " +
+            "and (c.counselDate < :counselDate or (c.counselDate = :counselDate and c.id < :id)) " +
+            "order by c.counselDate desc, c.id desc")
+    List<CounselSummary> findCustomerPageBefore(@Param("customerId") String customerId,
+                                                @Param("counselDate") LocalDateTime counselDate,
+                                                @Param("id") long id,
+                                                Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.counselDate between :start and :end " +
+            "and (c.counselDate > :counselDate or (c.counselDate = :counselDate and c.id > :id)) " +
+            "order by c.counselDate, c.id")
+    List<CounselSummary> findPeriodPageAfter(@Param("start") LocalDateTime start,
+                                             @Param("end") LocalDateTime end,
+                                             @Param("counselDate") LocalDateTime counselDate,
+                                             @Param("id") long id,
+                                             Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.productInfo like concat('%', :productInfo, '%') " +
+            "and c.id > :afterId order by c.id")
+    List<CounselSummary> findProductPageAfterId(@Param("productInfo") String productInfo,
+                                                @Param("afterId") long afterId,
+                                                Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where c.id in :ids")
+    List<CounselSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * 전체 상담을 ID 순으로 스트리밍합니다. 트랜잭션 안에서 사용하고 반드시 닫아야 합니다.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("select c from Counsel c order by c.id")
+    Stream<Counsel> streamAllOrderById();
+
+    @Query("select c.id from Counsel c where c.counselDate between :start and :end order by c.id")
+    List<Long> findIdsByCounselDateBetween(@Param("start") LocalDateTime start, @Param("end") LocalDateTime end);
+
+    @Query("select c.id from Counsel c where c.counselType is null order by c.id")
+    List<Long> findUnanalyzedIds();
+
+    // 예측용 집계 쿼리
+    @Query("select k as keyword, count(k) as count from Counsel c join c.keywords k " +
+            "where c.customerId = :customerId group by k order by count(k) desc, k")
+    List<KeywordCount> countKeywordsByCustomerId(@Param("customerId") String customerId, Pageable pageable);
+
+    @Query("select k as keyword, count(k) as count from Counsel c join c.keywords k " +
+            "where c.counselorId = :counselorId group by k order by count(k) desc, k")
+    List<KeywordCount> countKeywordsByCounselorId(@Param("counselorId") String counselorId, Pageable pageable);
+
+    // 유형 전이 모델 증분 학습용: 같은 고객의 바로 앞 / 뒤에 분석된 상담 유형
+    @Query("select c.counselType from Counsel c where c.customerId = :customerId and c.counselType is not null " +
+            "and (c.counselDate < :counselDate or (c.counselDate = :counselDate and c.id < :id)) " +
+            "order by c.counselDate desc, c.id desc")
+    List<String> findPreviousCounselTypes(@Param("customerId") String customerId,
+                                          @Param("counselDate") LocalDateTime counselDate,
+                                          @Param("id") long id,
+                                          Pageable pageable);
+
+    @Query("select c.counselType from Counsel c where c.customerId = :customerId and c.counselType is not null " +
+            "and (c.counselDate > :counselDate or (c.counselDate = :counselDate and c.id > :id)) " +
+            "order by c.counselDate, c.id")
+    List<String> findNextCounselTypes(@Param("customerId") String customerId,
+                                      @Param("counselDate") LocalDateTime counselDate,
+                                      @Param("id") long id,
+                                      Pageable pageable);
 }
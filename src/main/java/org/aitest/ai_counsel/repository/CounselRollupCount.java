@@ -0,0 +1,20 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 집계 구간별 상담 수 조회 결과입니다. 묶지 않은 차원은 null 입니다.
+ */
+@Getter
+@Builder
+public class CounselRollupCount {
+    private final LocalDateTime bucketStart;
+    private final String counselorId;
+    private final String productInfo;
+    private final String counselType;
+    private final String sentiment;
+    private final long count;
+}
@@ -0,0 +1,76 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.Getter;
+import org.aitest.ai_counsel.domain.CounselRollup;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * 집계 행 하나를 가리키는 키입니다. 없는 상품 정보와 감정은 빈 문자열로 맞춥니다.
+ * 여러 행을 갱신할 때 항상 같은 순서로 잠그도록 정렬 순서를 정의합니다.
+ */
+@Getter
+public class CounselRollupKey implements Comparable<CounselRollupKey> {
+
+    private static final Comparator<CounselRollupKey> ORDER = Comparator
+            .comparing(CounselRollupKey::getGranularity)
+            .thenComparing(CounselRollupKey::getBucketStart)
+            .thenComparing(CounselRollupKey::getCounselorId)
+            .thenComparing(CounselRollupKey::getProductInfo)
+            .thenComparing(CounselRollupKey::getCounselType)
+            .thenComparing(CounselRollupKey::getSentiment);
+
+    private final CounselRollup.Granularity granularity;
+    private final LocalDateTime bucketStart;
+    private final String counselorId;
+    private final String productInfo;
+    private final String counselType;
+    private final String sentiment;
+
+    private CounselRollupKey(CounselRollup.Granularity granularity, LocalDateTime bucketStart, String counselorId,
+                             String productInfo, String counselType, String sentiment) {
+        this.granularity = granularity;
+        this.bucketStart = bucketStart;
+        this.counselorId = counselorId;
+        this.productInfo = productInfo;
+        this.counselType = counselType;
+        this.sentiment = sentiment;
+    }
+
+    /**
+     * 상담 일시를 집계 단위의 시작 시각으로 내림한 키를 만듭니다.
+     */
+    public static CounselRollupKey of(CounselRollup.Granularity granularity, LocalDateTime counselDate,
+                                      String counselorId, String productInfo, String counselType, String sentiment) {
+        return new CounselRollupKey(granularity, granularity.truncate(counselDate), counselorId,
+                Objects.requireNonNullElse(productInfo, ""), counselType, Objects.requireNonNullElse(sentiment, ""));
+    }
+
+    @Override
+    public int compareTo(CounselRollupKey other) {
+        return ORDER.compare(this, other);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CounselRollupKey other)) {
+            return false;
+        }
+        return granularity == other.granularity
+                && bucketStart.equals(other.bucketStart)
+                && counselorId.equals(other.counselorId)
+                && productInfo.equals(other.productInfo)
+                && counselType.equals(other.counselType)
+                && sentiment.equals(other.sentiment);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(granularity, bucketStart, counselorId, productInfo, counselType, sentiment);
+    }
+}
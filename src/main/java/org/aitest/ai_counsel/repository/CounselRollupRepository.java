@@ -0,0 +1,159 @@
+package org.aitest.ai_counsel.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.domain.CounselRollup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상담 집계 테이블(counsel_rollup)을 JDBC 로 갱신하고 조회합니다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class CounselRollupRepository {
+
+    private static final String INCREMENT_SQL =
+            "INSERT INTO counsel_rollup (granularity, bucket_start, counselor_id, product_info, counsel_type, sentiment, counsel_count) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?) "
+                    + "ON DUPLICATE KEY UPDATE counsel_count = counsel_count + VALUES(counsel_count)";
+    private static final String INSERT_SQL =
+            "INSERT INTO counsel_rollup (granularity, bucket_start, counselor_id, product_info, counsel_type, sentiment, counsel_count) "
+                    + "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM counsel_rollup WHERE bucket_start >= ? AND bucket_start < ?";
+    private static final String SELECT_ANALYZED_SQL =
+            "SELECT counsel_date, counselor_id, product_info, counsel_type, sentiment FROM counsel "
+                    + "WHERE counsel_date >= ? AND counsel_date < ? AND counsel_type IS NOT NULL";
+    private static final String SELECT_DATE_RANGE_SQL =
+            "SELECT MIN(first_date), MAX(last_date) FROM ("
+                    + "SELECT MIN(counsel_date) AS first_date, MAX(counsel_date) AS last_date FROM counsel WHERE counsel_type IS NOT NULL "
+                    + "UNION ALL "
+                    + "SELECT MIN(bucket_start), MAX(bucket_start) FROM counsel_rollup) dates";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 집계 행마다 증감분을 더합니다. 없는 행은 만들고, 0 인 증감분은 건너뜁니다.
+     * 동시에 갱신하는 트랜잭션끼리 교착되지 않도록 키 순서대로 갱신합니다.
+     */
+    public void increment(Map<CounselRollupKey, Long> deltas) {
+        List<Map.Entry<CounselRollupKey, Long>> rows = deltas.entrySet().stream()
+                .filter(entry -> entry.getValue() != 0)
+                .sorted(Map.Entry.comparingByKey())
+                .toList();
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, rows, rows.size(),
+                    (ps, row) -> setRow(ps, row.getKey(), row.getValue()));
+        }
+    }
+
+    /**
+     * [from, to) 구간의 집계 행을 모두 지웁니다.
+     */
+    public void deleteRange(LocalDateTime from, LocalDateTime to) {
+        jdbcTemplate.update(DELETE_RANGE_SQL, Timestamp.valueOf(from), Timestamp.valueOf(to));
+    }
+
+    /**
+     * 집계 행을 배치로 추가합니다. 같은 키의 행이 이미 있으면 실패합니다.
+     */
+    public void insert(Map<CounselRollupKey, Long> counts) {
+        List<Map.Entry<CounselRollupKey, Long>> rows = new ArrayList<>(counts.entrySet());
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(),
+                    (ps, row) -> setRow(ps, row.getKey(), row.getValue()));
+        }
+    }
+
+    /**
+     * 상담 테이블에서 [from, to) 구간에 분석된 상담을 읽어 시간/일 단위 집계를 계산합니다.
+     */
+    public Map<CounselRollupKey, Long> aggregateAnalyzed(LocalDateTime from, LocalDateTime to) {
+        Map<CounselRollupKey, Long> counts = new HashMap<>();
+        jdbcTemplate.query(SELECT_ANALYZED_SQL, rs -> {
+            LocalDateTime counselDate = rs.getTimestamp(1).toLocalDateTime();
+            for (CounselRollup.Granularity granularity : CounselRollup.Granularity.values()) {
+                CounselRollupKey key = CounselRollupKey.of(granularity, counselDate,
+                        rs.getString(2), rs.getString(3), rs.getString(4), rs.getString(5));
+                counts.merge(key, 1L, Long::sum);
+            }
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        return counts;
+    }
+
+    /**
+     * 분석된 상담과 기존 집계 행을 모두 포함하는 가장 이른/늦은 시각입니다. 데이터가 없으면 빈 목록을 반환합니다.
+     */
+    public List<LocalDateTime> findDateRange() {
+        return jdbcTemplate.query(SELECT_DATE_RANGE_SQL, rs -> {
+            if (!rs.next() || rs.getTimestamp(1) == null) {
+                return List.of();
+            }
+            return List.of(rs.getTimestamp(1).toLocalDateTime(), rs.getTimestamp(2).toLocalDateTime());
+        });
+    }
+
+    /**
+     * [from, to) 구간의 집계 행을 구간 시작 시각과 groupBy 차원으로 묶어 합산합니다.
+     * filters 의 차원은 값이 같은 행만 포함합니다.
+     */
+    public List<CounselRollupCount> summarize(CounselRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                              List<CounselRollup.Dimension> groupBy,
+                                              Map<CounselRollup.Dimension, String> filters) {
+        StringBuilder columns = new StringBuilder("bucket_start");
+        for (CounselRollup.Dimension dimension : groupBy) {
+            columns.append(", ").append(dimension.getColumn());
+        }
+
+        List<Object> args = new ArrayList<>();
+        args.add(granularity.name());
+        args.add(Timestamp.valueOf(from));
+        args.add(Timestamp.valueOf(to));
+        StringBuilder where = new StringBuilder("granularity = ? AND bucket_start >= ? AND bucket_start < ?");
+        filters.forEach((dimension, value) -> {
+            where.append(" AND ").append(dimension.getColumn()).append(" = ?");
+            args.add(value);
+        });
+
+        String sql = "SELECT " + columns + ", SUM(counsel_count) FROM counsel_rollup WHERE " + where
+                + " GROUP BY " + columns + " HAVING SUM(counsel_count) > 0 ORDER BY " + columns;
+        return jdbcTemplate.query(sql, (rs, rowNum) -> toCount(rs, groupBy), args.toArray());
+    }
+
+    private static CounselRollupCount toCount(ResultSet rs, List<CounselRollup.Dimension> groupBy) throws SQLException {
+        CounselRollupCount.CounselRollupCountBuilder builder = CounselRollupCount.builder()
+                .bucketStart(rs.getTimestamp(1).toLocalDateTime())
+                .count(rs.getLong(groupBy.size() + 2));
+        for (int i = 0; i < groupBy.size(); i++) {
+            String value = rs.getString(i + 2);
+            switch (groupBy.get(i)) {
+                case COUNSELOR -> builder.counselorId(value);
+                // 상품 정보가 없는 상담은 빈 문자열로 집계되어 있음
+                case PRODUCT -> builder.productInfo(value.isEmpty() ? null : value);
+                case TYPE -> builder.counselType(value);
+                case SENTIMENT -> builder.sentiment(value);
+            }
+        }
+        return builder.build();
+    }
+
+    private static void setRow(PreparedStatement ps, CounselRollupKey key, long count) throws SQLException {
+        ps.setString(1, key.getGranularity().name());
+        ps.setTimestamp(2, Timestamp.valueOf(key.getBucketStart()));
+        ps.setString(3, key.getCounselorId());
+        ps.setString(4, key.getProductInfo());
+        ps.setString(5, key.getCounselType());
+        ps.setString(6, key.getSentiment());
+        ps.setLong(7, count);
+    }
+}
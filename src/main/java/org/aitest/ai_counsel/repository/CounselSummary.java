@@ -0,0 +1,18 @@
+package org.aitest.ai_counsel.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 목록 조회용 상담 요약입니다. 상담 내용과 분석/예측 문자열 컬럼은 읽지 않습니다.
+ */
+public interface CounselSummary {
+    Long getId();
+    String getCounselorId();
+    String getCustomerId();
+    LocalDateTime getCounselDate();
+    String getProductInfo();
+    String getCounselType();
+    String getSentiment();
+    LocalDateTime getCreatedAt();
+    LocalDateTime getModifiedAt();
+}
@@ -0,0 +1,12 @@
+package org.aitest.ai_counsel.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * 상담 이력의 일시와 유형만 담은 조회 결과입니다. 미분석 상담은 유형이 null 입니다.
+ */
+public interface CounselTimelineEntry {
+    Long getId();
+    LocalDateTime getCounselDate();
+    String getCounselType();
+}
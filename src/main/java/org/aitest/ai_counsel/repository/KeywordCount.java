@@ -0,0 +1,9 @@
+package org.aitest.ai_counsel.repository;
+
+/**
+ * 키워드별 등장 건수 집계 결과입니다.
+ */
+public interface KeywordCount {
+    String getKeyword();
+    long getCount();
+}
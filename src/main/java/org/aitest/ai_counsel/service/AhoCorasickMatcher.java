@@ -0,0 +1,153 @@
+package org.aitest.ai_counsel.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.TreeMap;
+
+/**
+ * 여러 패턴을 한 번의 순회로 찾는 Aho-Corasick 매처입니다.
+ * <p>
+ * 생성 후에는 변경되지 않으며 여러 스레드에서 동시에 사용할 수 있습니다.
+ * 노드별 전이는 정렬된 문자 배열로 저장하여 이진 탐색합니다.
+ */
+final class AhoCorasickMatcher {
+
+    /**
+     * 패턴이 발견될 때마다 호출됩니다. end 는 패턴 다음 위치(배타적)입니다.
+     */
+    interface MatchHandler {
+        void onMatch(int pattern, int start, int end);
+    }
+
+    private static final char[] NO_CHARS = new char[0];
+    private static final int[] NO_INTS = new int[0];
+
+    private final int[] patternLengths;
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+    private final int[] failure;
+    private final int[][] outputs;
+
+    AhoCorasickMatcher(List<String> patterns) {
+        this.patternLengths = new int[patterns.size()];
+
+        // 1. 트라이 구성
+        List<TreeMap<Character, Integer>> children = new ArrayList<>();
+        List<List<Integer>> nodeOutputs = new ArrayList<>();
+        children.add(new TreeMap<>());
+        nodeOutputs.add(new ArrayList<>());
+
+        for (int id = 0; id < patterns.size(); id++) {
+            String pattern = patterns.get(id);
+            if (pattern == null || pattern.isEmpty()) {
+                throw new IllegalArgumentException("빈 패턴은 사용할 수 없습니다.");
+            }
+            patternLengths[id] = pattern.length();
+
+            int node = 0;
+            for (int i = 0; i < pattern.length(); i++) {
+                Integer next = children.get(node).get(pattern.charAt(i));
+                if (next == null) {
+                    next = children.size();
+                    children.get(node).put(pattern.charAt(i), next);
+                    children.add(new TreeMap<>());
+                    nodeOutputs.add(new ArrayList<>());
+                }
+                node = next;
+            }
+            nodeOutputs.get(node).add(id);
+        }
+
+        int size = children.size();
+        this.edgeChars = new char[size][];
+        this.edgeTargets = new int[size][];
+        for (int node = 0; node < size; node++) {
+            TreeMap<Character, Integer> edges = children.get(node);
+            edgeChars[node] = edges.isEmpty() ? NO_CHARS : new char[edges.size()];
+            edgeTargets[node] = edges.isEmpty() ? NO_INTS : new int[edges.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                edgeChars[node][i] = edge.getKey();
+                edgeTargets[node][i] = edge.getValue();
+                i++;
+            }
+        }
+
+        // 2. 너비 우선으로 실패 링크를 계산하고 출력 집합을 병합
+        this.failure = new int[size];
+        this.outputs = new int[size][];
+        outputs[0] = toArray(nodeOutputs.get(0));
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : edgeTargets[0]) {
+            failure[child] = 0;
+            outputs[child] = toArray(nodeOutputs.get(child));
+            queue.add(child);
+        }
+
+        while (!queue.isEmpty()) {
+            int node = queue.poll();
+            for (int i = 0; i < edgeChars[node].length; i++) {
+                char c = edgeChars[node][i];
+                int child = edgeTargets[node][i];
+
+                int fallback = failure[node];
+                while (fallback != 0 && transition(fallback, c) < 0) {
+                    fallback = failure[fallback];
+                }
+                int target = transition(fallback, c);
+                failure[child] = target >= 0 && target != child ? target : 0;
+
+                List<Integer> merged = new ArrayList<>(nodeOutputs.get(child));
+                for (int inherited : outputs[failure[child]]) {
+                    merged.add(inherited);
+                }
+                outputs[child] = toArray(merged);
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * 텍스트를 한 번 순회하며 모든 패턴 출현을 보고합니다.
+     */
+    void scan(CharSequence text, MatchHandler handler) {
+        int node = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            int next = transition(node, c);
+            while (next < 0 && node != 0) {
+                node = failure[node];
+                next = transition(node, c);
+            }
+            node = Math.max(next, 0);
+
+            for (int pattern : outputs[node]) {
+                handler.onMatch(pattern, i + 1 - patternLengths[pattern], i + 1);
+            }
+        }
+    }
+
+    int getPatternCount() {
+        return patternLengths.length;
+    }
+
+    private int transition(int node, char c) {
+        int index = Arrays.binarySearch(edgeChars[node], c);
+        return index >= 0 ? edgeTargets[node][index] : -1;
+    }
+
+    private static int[] toArray(List<Integer> values) {
+        if (values.isEmpty()) {
+            return NO_INTS;
+        }
+        int[] array = new int[values.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = values.get(i);
+        }
+        return array;
+    }
+}
@@ -0,0 +1,248 @@
+package org.aitest.ai_counsel.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.repository.AnalysisCacheRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * 정규화된 상담 내용의 해시를 키로 분석 결과를 캐시합니다.
+ * <p>
+ * 메모리 계층은 최대 개수와 TTL 기준으로 제거되며,
+ * 영속 계층을 사용하면 재시작 후에도 이전 분석 결과를 재사용합니다.
+ * 영속 계층은 purge-interval 마다 TTL 이 지난 행을 삭제하고, max-rows 를 넘으면 오래된 행부터 삭제합니다.
+ */
+@Slf4j
+@Component
+public class AnalysisResultCache {
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String KEYWORD_DELIMITER = ", ";
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
+    private final AnalysisCacheRepository cacheRepository;
+    private final Cache<String, CounselAnalysisService.AnalysisResult> cache;
+    private final boolean enabled;
+    private final boolean persistentEnabled;
+    private final Duration persistentTtl;
+    private final long persistentMaxRows;
+    private final ScheduledExecutorService purgeScheduler;
+
+    private final LongAdder persistentHits = new LongAdder();
+    private final LongAdder persistentMisses = new LongAdder();
+
+    public AnalysisResultCache(AnalysisCacheRepository cacheRepository,
+                               @Value("${counsel.analysis.cache.enabled:true}") boolean enabled,
+                               @Value("${counsel.analysis.cache.maximum-size:10000}") long maximumSize,
+                               @Value("${counsel.analysis.cache.ttl:1h}") Duration ttl,
+                               @Value("${counsel.analysis.cache.persistent.enabled:false}") boolean persistentEnabled,
+                               @Value("${counsel.analysis.cache.persistent.ttl:7d}") Duration persistentTtl,
+                               @Value("${counsel.analysis.cache.persistent.max-rows:100000}") long persistentMaxRows,
+                               @Value("${counsel.analysis.cache.persistent.purge-interval:1h}") Duration purgeInterval) {
+        this.cacheRepository = cacheRepository;
+        this.enabled = enabled;
+        this.persistentEnabled = persistentEnabled;
+        this.persistentTtl = persistentTtl;
+        this.persistentMaxRows = persistentMaxRows;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        if (!enabled || !persistentEnabled || purgeInterval.isZero() || purgeInterval.isNegative()) {
+            this.purgeScheduler = null;
+        } else {
+            this.purgeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "analysis-cache-purge");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = purgeInterval.toMillis();
+            purgeScheduler.scheduleWithFixedDelay(this::purgeQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (purgeScheduler != null) {
+            purgeScheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 캐시된 분석 결과를 조회합니다. 없으면 null 을 반환합니다.
+     */
+    public CounselAnalysisService.AnalysisResult get(String content) {
+        if (!enabled) {
+            return null;
+        }
+
+        String key = hash(content);
+        CounselAnalysisService.AnalysisResult result = cache.getIfPresent(key);
+        if (result != null || !persistentEnabled) {
+            return result;
+        }
+
+        result = loadPersistent(key);
+        if (result != null) {
+            persistentHits.increment();
+            cache.put(key, result);
+        } else {
+            persistentMisses.increment();
+        }
+        return result;
+    }
+
+    public void put(String content, CounselAnalysisService.AnalysisResult result) {
+        if (!enabled) {
+            return;
+        }
+
+        String key = hash(content);
+        cache.put(key, result);
+        if (persistentEnabled) {
+            savePersistent(key, result);
+        }
+    }
+
+    /**
+     * 메모리 계층과 영속 계층을 모두 비웁니다. 분류 기준이 바뀐 경우 호출합니다.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+        if (persistentEnabled) {
+            cacheRepository.deleteAllInBatch();
+        }
+    }
+
+    /**
+     * 영속 계층에서 TTL 이 지난 행을 삭제하고, 남은 행이 max-rows 를 넘으면 오래된 행부터 삭제합니다.
+     *
+     * @return 삭제한 행 수
+     */
+    public long purgePersistent() {
+        if (!persistentEnabled) {
+            return 0;
+        }
+
+        long deleted = cacheRepository.deleteCreatedBefore(LocalDateTime.now().minus(persistentTtl));
+        long excess = cacheRepository.count() - persistentMaxRows;
+        while (excess > 0) {
+            List<String> oldest = cacheRepository.findOldestHashes(
+                    PageRequest.ofSize((int) Math.min(excess, PURGE_CHUNK_SIZE)));
+            if (oldest.isEmpty()) {
+                break;
+            }
+            cacheRepository.deleteAllByIdInBatch(oldest);
+            deleted += oldest.size();
+            excess -= oldest.size();
+        }
+        return deleted;
+    }
+
+    private void purgeQuietly() {
+        try {
+            long deleted = purgePersistent();
+            if (deleted > 0) {
+                log.info("분석 결과 캐시 영속 계층 정리: {}건 삭제", deleted);
+            }
+        } catch (Exception e) {
+            log.warn("분석 결과 캐시 영속 계층 정리 실패: {}", e.getMessage());
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isPersistentEnabled() {
+        return persistentEnabled;
+    }
+
+    public long getSize() {
+        return cache.estimatedSize();
+    }
+
+    public CacheStats getStats() {
+        return cache.stats();
+    }
+
+    public long getPersistentHits() {
+        return persistentHits.sum();
+    }
+
+    public long getPersistentMisses() {
+        return persistentMisses.sum();
+    }
+
+    /**
+     * 공백과 유니코드 표현 차이를 제거한 뒤 SHA-256 해시를 계산합니다.
+     */
+    static String hash(String content) {
+        String normalized = WHITESPACE.matcher(Normalizer.normalize(content, Normalizer.Form.NFC))
+                .replaceAll(" ")
+                .trim();
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(normalized.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 알고리즘을 사용할 수 없습니다.", e);
+        }
+    }
+
+    private CounselAnalysisService.AnalysisResult loadPersistent(String key) {
+        try {
+            return cacheRepository.findById(key)
+                    .filter(entry -> entry.getCreatedAt().plus(persistentTtl).isAfter(LocalDateTime.now()))
+                    .map(entry -> new CounselAnalysisService.AnalysisResult(
+                            splitKeywords(entry.getKeywords()),
+                            entry.getCounselType(),
+                            entry.getSentiment()))
+                    .orElse(null);
+        } catch (Exception e) {
+            log.warn("분석 결과 캐시 조회 실패: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 호출한 쪽의 트랜잭션과 분리하여 저장하고, 실패하면 기록만 남겨 분석 결과 저장에 영향을 주지 않습니다.
+     */
+    private void savePersistent(String key, CounselAnalysisService.AnalysisResult result) {
+        try {
+            cacheRepository.upsert(key, result.getCounselType(), result.getSentiment(),
+                    String.join(KEYWORD_DELIMITER, result.getKeywords()), LocalDateTime.now());
+        } catch (Exception e) {
+            log.warn("분석 결과 캐시 저장 실패: {}", e.getMessage());
+        }
+    }
+
+    private static List<String> splitKeywords(String keywords) {
+        if (keywords == null || keywords.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return List.copyOf(Arrays.asList(keywords.split(KEYWORD_DELIMITER)));
+    }
+}
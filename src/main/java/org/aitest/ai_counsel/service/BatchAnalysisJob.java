@@ -0,0 +1,94 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 일괄 분석 작업의 진행 상태입니다.
+ */
+@Getter
+public class BatchAnalysisJob {
+
+    public enum Status {
+        PENDING, RUNNING, COMPLETED, FAILED
+    }
+
+    private final String jobId;
+    private final int total;
+    private final LocalDateTime requestedAt = LocalDateTime.now();
+
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime startedAt;
+    private volatile LocalDateTime finishedAt;
+    private volatile String errorMessage;
+
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger succeeded = new AtomicInteger();
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger failed = new AtomicInteger();
+
+    public BatchAnalysisJob(String jobId, int total) {
+        this.jobId = jobId;
+        this.total = total;
+    }
+
+    void start() {
+        startedAt = LocalDateTime.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = LocalDateTime.now();
+        status = Status.COMPLETED;
+    }
+
+    void fail(String message) {
+        finishedAt = LocalDateTime.now();
+        errorMessage = message;
+        status = Status.FAILED;
+    }
+
+    void recordSucceeded(int count) {
+        succeeded.addAndGet(count);
+    }
+
+    void recordFailed(int count) {
+        failed.addAndGet(count);
+    }
+
+    public int getSucceeded() {
+        return succeeded.get();
+    }
+
+    public int getFailed() {
+        return failed.get();
+    }
+
+    public int getProcessed() {
+        return getSucceeded() + getFailed();
+    }
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+
+    public long getElapsedMillis() {
+        if (startedAt == null) {
+            return 0L;
+        }
+        LocalDateTime end = finishedAt != null ? finishedAt : LocalDateTime.now();
+        return Duration.between(startedAt, end).toMillis();
+    }
+
+    /**
+     * 초당 처리 건수를 계산합니다.
+     */
+    public double getThroughput() {
+        long elapsed = getElapsedMillis();
+        return elapsed == 0 ? 0.0 : getProcessed() * 1000.0 / elapsed;
+    }
+}
@@ -0,0 +1,213 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.dto.BatchAnalysisRequest;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository.AnalysisUpdate;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Function;
+
+/**
+ * 다수의 상담을 워커 풀에서 병렬로 분석하고 결과를 JDBC 배치로 저장합니다.
+ */
+@Slf4j
+@Service
+public class BatchAnalysisService {
+
+    private final CounselRepository counselRepository;
+    private final CounselJdbcRepository counselJdbcRepository;
+    private final CounselAnalysisService analysisService;
+    private final ThreadPoolTaskExecutor workerExecutor;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final int chunkSize;
+    private final int jobHistorySize;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final Map<String, BatchAnalysisJob> jobs = new ConcurrentHashMap<>();
+    private final Queue<String> jobOrder = new ConcurrentLinkedQueue<>();
+
+    public BatchAnalysisService(CounselRepository counselRepository,
+                                CounselJdbcRepository counselJdbcRepository,
+                                CounselAnalysisService analysisService,
+                                @Qualifier("batchAnalysisExecutor") ThreadPoolTaskExecutor workerExecutor,
+                                @Qualifier("batchJobExecutor") ThreadPoolTaskExecutor jobExecutor,
+                                @Value("${counsel.analysis.batch.chunk-size:500}") int chunkSize,
+                                @Value("${counsel.analysis.batch.job-history-size:100}") int jobHistorySize,
+                                PlatformTransactionManager transactionManager,
+                                ApplicationEventPublisher eventPublisher) {
+        this.counselRepository = counselRepository;
+        this.counselJdbcRepository = counselJdbcRepository;
+        this.analysisService = analysisService;
+        this.workerExecutor = workerExecutor;
+        this.jobExecutor = jobExecutor;
+        this.chunkSize = chunkSize;
+        this.jobHistorySize = jobHistorySize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 분석 대상을 확정하고 작업을 등록합니다. 실제 분석은 백그라운드에서 진행됩니다.
+     */
+    public BatchAnalysisJob submit(BatchAnalysisRequest request) {
+        List<Long> ids = resolveTargetIds(request);
+        BatchAnalysisJob job = new BatchAnalysisJob(UUID.randomUUID().toString(), ids.size());
+        register(job);
+
+        try {
+            jobExecutor.execute(() -> run(job, ids));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            jobOrder.remove(job.getJobId());
+            throw new BusinessException(ErrorCode.BATCH_JOB_REJECTED);
+        }
+        return job;
+    }
+
+    public BatchAnalysisJob getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .orElseThrow(() -> new BusinessException(ErrorCode.BATCH_JOB_NOT_FOUND));
+    }
+
+    private List<Long> resolveTargetIds(BatchAnalysisRequest request) {
+        if (request == null || request.getTarget() == null) {
+            throw new InvalidRequestException("분석 대상이 지정되지 않았습니다.");
+        }
+
+        switch (request.getTarget()) {
+            case IDS:
+                if (request.getIds() == null || request.getIds().isEmpty()) {
+                    throw new InvalidRequestException("분석할 상담 ID 목록이 비어있습니다.");
+                }
+                return request.getIds().stream()
+                        .filter(Objects::nonNull)
+                        .distinct()
+                        .toList();
+            case PERIOD:
+                if (request.getStart() == null || request.getEnd() == null || request.getStart().isAfter(request.getEnd())) {
+                    throw new InvalidRequestException("분석 기간이 올바르지 않습니다.");
+                }
+                return counselRepository.findIdsByCounselDateBetween(request.getStart(), request.getEnd());
+            case UNANALYZED:
+            default:
+                return counselRepository.findUnanalyzedIds();
+        }
+    }
+
+    private void register(BatchAnalysisJob job) {
+        jobs.put(job.getJobId(), job);
+        jobOrder.add(job.getJobId());
+
+        trimHistory();
+    }
+
+    /**
+     * 보관 개수를 넘은 만큼 완료된 작업을 오래된 순으로 정리합니다.
+     * 진행 중인 작업은 건너뛰고 그 뒤의 완료된 작업을 계속 확인하므로, 오래 걸리는 작업이 앞에 있어도 이력이 무한히 쌓이지 않습니다.
+     */
+    private synchronized void trimHistory() {
+        int excess = jobOrder.size() - jobHistorySize;
+        Iterator<String> iterator = jobOrder.iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            String jobId = iterator.next();
+            BatchAnalysisJob candidate = jobs.get(jobId);
+            if (candidate != null && !candidate.isFinished()) {
+                continue;
+            }
+            iterator.remove();
+            jobs.remove(jobId);
+            excess--;
+        }
+    }
+
+    private void run(BatchAnalysisJob job, List<Long> ids) {
+        job.start();
+        log.info("일괄 분석 시작: jobId={}, total={}", job.getJobId(), job.getTotal());
+
+        try {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                processChunk(job, chunk);
+                log.debug("일괄 분석 진행: jobId={}, processed={}/{}, throughput={}/s",
+                        job.getJobId(), job.getProcessed(), job.getTotal(), String.format("%.1f", job.getThroughput()));
+            }
+            job.complete();
+        } catch (Exception e) {
+            log.error("일괄 분석 실패: jobId={}", job.getJobId(), e);
+            job.fail(e.getMessage());
+        }
+
+        log.info("일괄 분석 종료: jobId={}, status={}, succeeded={}, failed={}, elapsed={}ms, throughput={}/s",
+                job.getJobId(), job.getStatus(), job.getSucceeded(), job.getFailed(),
+                job.getElapsedMillis(), String.format("%.1f", job.getThroughput()));
+    }
+
+    /**
+     * 한 묶음의 상담을 병렬 분석한 뒤 결과를 한 번의 배치로 저장합니다.
+     */
+    private void processChunk(BatchAnalysisJob job, List<Long> chunk) {
+        List<Counsel> counsels = counselRepository.findAllById(chunk);
+        // 조회되지 않은 ID는 실패로 집계
+        job.recordFailed(chunk.size() - counsels.size());
+
+        List<CompletableFuture<AnalysisUpdate>> futures = counsels.stream()
+                .map(counsel -> analyze(job, counsel))
+                .toList();
+
+        List<AnalysisUpdate> updates = futures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+
+        // 집계 갱신이 커밋 여부를 따르도록 저장과 이벤트 발행을 한 트랜잭션에서 수행
+        // 다른 경로에서 먼저 분석된 상담은 갱신되지 않으므로 이벤트도 발행하지 않음
+        transactionTemplate.executeWithoutResult(status -> counselJdbcRepository.updateAnalyses(updates)
+                .forEach(update -> eventPublisher.publishEvent(CounselAnalyzedEvent.from(
+                        update.getCounsel(), update.getPreviousCounselType(), update.getPreviousSentiment()))));
+        job.recordSucceeded(updates.size());
+    }
+
+    /**
+     * 형태소 분석은 워커 풀에서 수행하고, 감정 분석 응답은 워커를 점유하지 않고 기다립니다.
+     */
+    private CompletableFuture<AnalysisUpdate> analyze(BatchAnalysisJob job, Counsel counsel) {
+        return CompletableFuture.supplyAsync(() -> analysisService.analyzeCounselAsync(counsel, true), workerExecutor)
+                .thenCompose(Function.identity())
+                .handle((result, error) -> {
+                    if (error != null) {
+                        log.warn("상담 분석 실패: jobId={}, counselId={}, reason={}",
+                                job.getJobId(), counsel.getId(), error.getMessage());
+                        job.recordFailed(1);
+                        return null;
+                    }
+                    AnalysisUpdate update = new AnalysisUpdate(counsel, counsel.getCounselType(), counsel.getSentiment());
+                    result.applyTo(counsel);
+                    return update;
+                });
+    }
+}
@@ -0,0 +1,308 @@
+package org.aitest.ai_counsel.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.domain.CounselPredictionJob;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselPredictionJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselPredictionJobRepository;
+import org.aitest.ai_counsel.repository.CounselTimelineEntry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 최근 상담이 있는 전체 고객의 다음 상담을 일괄 예측하여 counsel_prediction 테이블에 저장합니다. 선제 연락 대상 목록에 사용합니다.
+ * <p>
+ * 고객을 customer_id 순으로 chunk-size 명씩 조회하고, 묶음에 속한 고객의 상담 일시/유형과 키워드 빈도를 쿼리 두 번으로 읽습니다.
+ * 예측은 일괄 분석 워커 풀에서 고객별로 병렬 수행하며, 조회 API 와 같은 집계와 예측 로직을 사용합니다.
+ * 묶음의 예측 결과 배치 저장과 재개 지점 갱신을 한 트랜잭션에서 커밋하므로, 실패하거나 중단된 작업은
+ * 재개하면 마지막으로 커밋된 고객 다음부터 이어서 예측합니다.
+ * <p>
+ * 동시에 하나의 작업만 실행하며, daily-at 을 지정하면 매일 그 시각에 새 작업을 시작합니다.
+ */
+@Slf4j
+@Service
+public class BulkPredictionService {
+
+    private static final long PROGRESS_LOG_INTERVAL = 10_000;
+
+    private final CounselPredictionJobRepository jobRepository;
+    private final CounselPredictionJdbcRepository predictionJdbcRepository;
+    private final CounselAggregateStore aggregateStore;
+    private final CounselPredictionService predictionService;
+    private final ThreadPoolTaskExecutor workerExecutor;
+    private final ThreadPoolTaskExecutor jobExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int activeDays;
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<Long> runningJobId = new AtomicReference<>();
+
+    public BulkPredictionService(CounselPredictionJobRepository jobRepository,
+                                 CounselPredictionJdbcRepository predictionJdbcRepository,
+                                 CounselAggregateStore aggregateStore,
+                                 CounselPredictionService predictionService,
+                                 @Qualifier("batchAnalysisExecutor") ThreadPoolTaskExecutor workerExecutor,
+                                 @Qualifier("bulkPredictionExecutor") ThreadPoolTaskExecutor jobExecutor,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${counsel.prediction.bulk.chunk-size:500}") int chunkSize,
+                                 @Value("${counsel.prediction.bulk.active-days:365}") int activeDays,
+                                 @Value("${counsel.prediction.bulk.daily-at:}") String dailyAt) {
+        this.jobRepository = jobRepository;
+        this.predictionJdbcRepository = predictionJdbcRepository;
+        this.aggregateStore = aggregateStore;
+        this.predictionService = predictionService;
+        this.workerExecutor = workerExecutor;
+        this.jobExecutor = jobExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.activeDays = activeDays;
+
+        if (dailyAt == null || dailyAt.isBlank()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "bulk-prediction-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            scheduler.scheduleAtFixedRate(this::scheduledStart, initialDelayMillis(LocalTime.parse(dailyAt.trim())),
+                    TimeUnit.DAYS.toMillis(1), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * 새 일괄 예측 작업을 등록하고 백그라운드에서 실행합니다.
+     */
+    public CounselPredictionJob start() {
+        CounselPredictionJob job = new CounselPredictionJob();
+        job.setStatus(CounselPredictionJob.Status.RUNNING);
+        job.setActiveSince(LocalDateTime.now().minusDays(activeDays));
+        job.setStartedAt(LocalDateTime.now());
+
+        if (!runningJobId.compareAndSet(null, 0L)) {
+            throw new BusinessException(ErrorCode.PREDICTION_JOB_IN_PROGRESS);
+        }
+        try {
+            job = jobRepository.save(job);
+        } catch (RuntimeException e) {
+            runningJobId.set(null);
+            throw e;
+        }
+        runningJobId.set(job.getId());
+        submit(job.getId());
+        return job;
+    }
+
+    /**
+     * 실패하거나 중단된 작업을 재개 지점부터 다시 실행합니다.
+     */
+    public CounselPredictionJob resume(Long jobId) {
+        CounselPredictionJob job = getJob(jobId);
+        if (job.getStatus() == CounselPredictionJob.Status.COMPLETED) {
+            throw new InvalidRequestException("이미 완료된 예측 작업입니다: " + jobId);
+        }
+        if (!runningJobId.compareAndSet(null, jobId)) {
+            throw new BusinessException(ErrorCode.PREDICTION_JOB_IN_PROGRESS);
+        }
+        submit(jobId);
+        return job;
+    }
+
+    public CounselPredictionJob getJob(Long jobId) {
+        return jobRepository.findById(jobId)
+                .orElseThrow(() -> new BusinessException(ErrorCode.PREDICTION_JOB_NOT_FOUND));
+    }
+
+    /**
+     * 작업이 이 인스턴스에서 실행 중인지 여부입니다. 프로세스가 중단되어 RUNNING 상태로 남은 작업은 false 입니다.
+     */
+    public boolean isRunning(Long jobId) {
+        return Objects.equals(runningJobId.get(), jobId);
+    }
+
+    private void submit(Long jobId) {
+        try {
+            jobExecutor.execute(() -> {
+                try {
+                    execute(jobId);
+                } finally {
+                    runningJobId.set(null);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            runningJobId.set(null);
+            throw new BusinessException(ErrorCode.PREDICTION_JOB_IN_PROGRESS);
+        }
+    }
+
+    private void scheduledStart() {
+        try {
+            start();
+        } catch (BusinessException e) {
+            log.info("일괄 예측 예약 실행 건너뜀: 실행 중인 작업이 있습니다. jobId={}", runningJobId.get());
+        } catch (Exception e) {
+            log.error("일괄 예측 예약 실행 실패", e);
+        }
+    }
+
+    private void execute(Long jobId) {
+        CounselPredictionJob job = markRunning(getJob(jobId));
+        Progress progress = new Progress(job);
+        long resumedCustomers = progress.processed;
+        long start = System.nanoTime();
+        log.info("일괄 예측 시작: jobId={}, activeSince={}, 재개 지점={}", jobId, job.getActiveSince(), progress.lastCustomerId);
+
+        try {
+            List<String> customerIds;
+            while (!(customerIds = predictionJdbcRepository.findActiveCustomerIdsAfter(
+                    progress.lastCustomerId, job.getActiveSince(), chunkSize)).isEmpty()) {
+                processChunk(job, customerIds, progress, start);
+
+                long processed = progress.processed - resumedCustomers;
+                if (processed / PROGRESS_LOG_INTERVAL != (processed - customerIds.size()) / PROGRESS_LOG_INTERVAL) {
+                    log.info("일괄 예측 진행: jobId={}, customers={}, {} customers/s", jobId, progress.processed,
+                            Math.round(ratePerSecond(processed, System.nanoTime() - start)));
+                }
+            }
+            job = finish(jobId, CounselPredictionJob.Status.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("일괄 예측 실패: jobId={}, 재개 지점={}", jobId, progress.lastCustomerId, e);
+            job = finish(jobId, CounselPredictionJob.Status.FAILED, e.getMessage());
+        }
+
+        long customers = job.getProcessedCustomers() - resumedCustomers;
+        log.info("일괄 예측 종료: jobId={}, status={}, customers={}, predicted={}, failed={}, {} customers/s",
+                jobId, job.getStatus(), customers, job.getPredictedCustomers(), job.getFailedCustomers(),
+                Math.round(ratePerSecond(customers, System.nanoTime() - start)));
+    }
+
+    /**
+     * 한 묶음의 고객을 병렬 예측한 뒤 결과 저장과 재개 지점 갱신을 한 트랜잭션에서 커밋합니다.
+     */
+    private void processChunk(CounselPredictionJob job, List<String> customerIds, Progress progress, long start) {
+        String lastCustomerId = customerIds.get(customerIds.size() - 1);
+        Map<String, List<CounselTimelineEntry>> timelines =
+                predictionJdbcRepository.findTimelines(progress.lastCustomerId, lastCustomerId);
+        Map<String, Map<String, Integer>> keywords =
+                predictionJdbcRepository.countKeywords(progress.lastCustomerId, lastCustomerId);
+        LocalDateTime generatedAt = LocalDateTime.now();
+
+        List<CompletableFuture<CounselPrediction>> futures = customerIds.stream()
+                .map(customerId -> CompletableFuture
+                        .supplyAsync(() -> predict(job.getId(), customerId, timelines.get(customerId),
+                                keywords.getOrDefault(customerId, Map.of()), generatedAt), workerExecutor)
+                        .exceptionally(error -> {
+                            log.warn("고객 예측 실패: jobId={}, customerId={}, reason={}",
+                                    job.getId(), customerId, error.getMessage());
+                            return null;
+                        }))
+                .toList();
+        List<CounselPrediction> predictions = futures.stream()
+                .map(CompletableFuture::join)
+                .filter(Objects::nonNull)
+                .toList();
+
+        long processed = progress.processed + customerIds.size();
+        long predicted = progress.predicted + predictions.size();
+        long failed = progress.failed + customerIds.size() - predictions.size();
+        long elapsedMillis = progress.previousElapsedMillis + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        transactionTemplate.executeWithoutResult(status -> {
+            predictionJdbcRepository.insertPredictions(predictions);
+            jobRepository.updateCheckpoint(job.getId(), lastCustomerId, processed, predicted, failed, elapsedMillis);
+        });
+        progress.lastCustomerId = lastCustomerId;
+        progress.processed = processed;
+        progress.predicted = predicted;
+        progress.failed = failed;
+    }
+
+    private CounselPrediction predict(Long jobId, String customerId, List<CounselTimelineEntry> timeline,
+                                      Map<String, Integer> keywordCounts, LocalDateTime generatedAt) {
+        if (timeline == null || timeline.isEmpty()) {
+            throw new IllegalStateException("상담 이력이 없습니다.");
+        }
+
+        CounselPrediction prediction = predictionService.createPrediction(
+                aggregateStore.createCustomerAggregate(timeline, keywordCounts), generatedAt);
+        prediction.setCustomerId(customerId);
+        prediction.setJobId(jobId);
+        return prediction;
+    }
+
+    private CounselPredictionJob markRunning(CounselPredictionJob job) {
+        job.setStatus(CounselPredictionJob.Status.RUNNING);
+        job.setLastError(null);
+        job.setFinishedAt(null);
+        return jobRepository.save(job);
+    }
+
+    private CounselPredictionJob finish(Long id, CounselPredictionJob.Status status, String error) {
+        CounselPredictionJob job = getJob(id);
+        job.setStatus(status);
+        job.setLastError(error == null ? null : truncate(error, 1000));
+        job.setFinishedAt(LocalDateTime.now());
+        return jobRepository.save(job);
+    }
+
+    private static long initialDelayMillis(LocalTime at) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime next = now.toLocalDate().atTime(at);
+        if (!next.isAfter(now)) {
+            next = next.plusDays(1);
+        }
+        return Duration.between(now, next).toMillis();
+    }
+
+    private static double ratePerSecond(long count, long nanos) {
+        return nanos <= 0 ? 0.0 : count * 1_000_000_000.0 / nanos;
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    private static final class Progress {
+        private String lastCustomerId;
+        private long processed;
+        private long predicted;
+        private long failed;
+        private final long previousElapsedMillis;
+
+        private Progress(CounselPredictionJob job) {
+            this.lastCustomerId = job.getLastCustomerId();
+            this.processed = job.getProcessedCustomers();
+            this.predicted = job.getPredictedCustomers();
+            this.failed = job.getFailedCustomers();
+            this.previousElapsedMillis = job.getElapsedMillis();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package org.aitest.ai_counsel.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 사전 정의를 하나의 Aho-Corasick 매처로 미리 컴파일한 불변 분류 사전입니다.
+ * <p>
+ * 상담 내용을 한 번 순회하여 유형별 문구와 우선 분류 문구를 찾고,
+ * 키워드마다 한 번 순회하여 유형 키워드(완전 일치)와 감정 어근(부분 일치)을 함께 집계합니다.
+ */
+public final class ClassificationDictionary {
+
+    public static final String POSITIVE = "긍정";
+    public static final String NEGATIVE = "부정";
+    public static final String NEUTRAL = "중립";
+
+    /** 상담, 예측, 집계 테이블의 상담 유형 컬럼 길이 */
+    public static final int MAX_TYPE_NAME_LENGTH = 20;
+
+    private enum Kind {
+        KEYWORD, PHRASE, OVERRIDE, POSITIVE, NEGATIVE
+    }
+
+    private static final class Entry {
+        private final Kind kind;
+        private final int type;
+
+        private Entry(Kind kind, int type) {
+            this.kind = kind;
+            this.type = type;
+        }
+    }
+
+    private final String[] typeNames;
+    private final Map<String, String> typeDescriptions;
+    private final int[] keywordScores;
+    private final int[] phraseScores;
+    private final int threshold;
+    private final int defaultType;
+    private final AhoCorasickMatcher matcher;
+    private final Entry[][] entries;
+
+    private ClassificationDictionary(String[] typeNames, Map<String, String> typeDescriptions,
+                                     int[] keywordScores, int[] phraseScores, int threshold, int defaultType,
+                                     AhoCorasickMatcher matcher, Entry[][] entries) {
+        this.typeNames = typeNames;
+        this.typeDescriptions = typeDescriptions;
+        this.keywordScores = keywordScores;
+        this.phraseScores = phraseScores;
+        this.threshold = threshold;
+        this.defaultType = defaultType;
+        this.matcher = matcher;
+        this.entries = entries;
+    }
+
+    /**
+     * 사전 정의를 검증하고 컴파일합니다.
+     *
+     * @throws IllegalArgumentException 정의가 올바르지 않은 경우
+     */
+    public static ClassificationDictionary compile(ClassificationDictionaryDefinition definition) {
+        List<ClassificationDictionaryDefinition.TypeDefinition> types = definition.getTypes();
+        if (types == null || types.isEmpty()) {
+            throw new IllegalArgumentException("분류 유형이 정의되지 않았습니다.");
+        }
+        if (definition.getThreshold() < 1) {
+            throw new IllegalArgumentException("분류 임계값은 1 이상이어야 합니다.");
+        }
+
+        String[] typeNames = new String[types.size()];
+        int[] keywordScores = new int[types.size()];
+        int[] phraseScores = new int[types.size()];
+        Map<String, String> descriptions = new LinkedHashMap<>();
+        Map<String, Integer> typeIndex = new LinkedHashMap<>();
+        for (int i = 0; i < types.size(); i++) {
+            ClassificationDictionaryDefinition.TypeDefinition type = types.get(i);
+            if (type.getName() == null || type.getName().isBlank() || typeIndex.putIfAbsent(type.getName(), i) != null) {
+                throw new IllegalArgumentException("유형 이름이 비어있거나 중복되었습니다: " + type.getName());
+            }
+            if (type.getName().length() > MAX_TYPE_NAME_LENGTH) {
+                throw new IllegalArgumentException(
+                        "유형 이름은 " + MAX_TYPE_NAME_LENGTH + "자를 초과할 수 없습니다: " + type.getName());
+            }
+            typeNames[i] = type.getName();
+            keywordScores[i] = type.getKeywordScore();
+            phraseScores[i] = type.getPhraseScore();
+            descriptions.put(type.getName(), type.getDescription());
+        }
+
+        Integer defaultType = typeIndex.get(definition.getDefaultType());
+        if (defaultType == null) {
+            throw new IllegalArgumentException("기본 유형이 분류 유형에 없습니다: " + definition.getDefaultType());
+        }
+
+        // 같은 문자열이 여러 용도로 쓰일 수 있으므로 패턴별 항목 목록으로 모음
+        Map<String, List<Entry>> patterns = new LinkedHashMap<>();
+        Set<String> typedKeywords = new HashSet<>();
+        for (int i = 0; i < types.size(); i++) {
+            for (String keyword : types.get(i).getKeywords()) {
+                // 먼저 정의된 유형이 우선
+                if (typedKeywords.add(keyword)) {
+                    register(patterns, keyword, new Entry(Kind.KEYWORD, i));
+                }
+            }
+            for (String phrase : types.get(i).getPhrases()) {
+                register(patterns, phrase, new Entry(Kind.PHRASE, i));
+            }
+        }
+        for (ClassificationDictionaryDefinition.OverrideDefinition override : definition.getOverrides()) {
+            Integer type = typeIndex.get(override.getType());
+            if (type == null) {
+                throw new IllegalArgumentException("우선 분류 유형이 분류 유형에 없습니다: " + override.getType());
+            }
+            for (String phrase : override.getPhrases()) {
+                register(patterns, phrase, new Entry(Kind.OVERRIDE, type));
+            }
+        }
+        definition.getSentiment().getPositive().forEach(root -> register(patterns, root, new Entry(Kind.POSITIVE, -1)));
+        definition.getSentiment().getNegative().forEach(root -> register(patterns, root, new Entry(Kind.NEGATIVE, -1)));
+
+        List<String> patternList = new ArrayList<>(patterns.keySet());
+        Entry[][] entries = new Entry[patternList.size()][];
+        for (int i = 0; i < entries.length; i++) {
+            entries[i] = patterns.get(patternList.get(i)).toArray(new Entry[0]);
+        }
+
+        return new ClassificationDictionary(typeNames, Collections.unmodifiableMap(descriptions),
+                keywordScores, phraseScores, definition.getThreshold(), defaultType,
+                new AhoCorasickMatcher(patternList), entries);
+    }
+
+    private static void register(Map<String, List<Entry>> patterns, String pattern, Entry entry) {
+        if (pattern == null || pattern.isBlank()) {
+            throw new IllegalArgumentException("사전에 빈 문자열이 있습니다.");
+        }
+        patterns.computeIfAbsent(pattern, key -> new ArrayList<>(1)).add(entry);
+    }
+
+    /**
+     * 형태소 분석 결과를 사전과 대조하여 유형 점수와 감정 극성을 집계합니다.
+     */
+    public Match match(TokenizedContent tokenized) {
+        Match match = new Match();
+
+        match.scanningKeyword = null;
+        matcher.scan(tokenized.getContent(), match);
+
+        for (String keyword : tokenized.getKeywords()) {
+            match.scanningKeyword = keyword;
+            match.keywordType = -1;
+            match.keywordPositive = false;
+            match.keywordNegative = false;
+            matcher.scan(keyword, match);
+
+            if (match.keywordType >= 0) {
+                match.scores[match.keywordType] += keywordScores[match.keywordType];
+            }
+            if (match.keywordPositive) {
+                match.positive++;
+            }
+            if (match.keywordNegative) {
+                match.negative++;
+            }
+        }
+        return match;
+    }
+
+    public Map<String, String> getTypeDescriptions() {
+        return typeDescriptions;
+    }
+
+    public int getPatternCount() {
+        return matcher.getPatternCount();
+    }
+
+    /**
+     * 한 건의 상담에 대한 사전 대조 결과입니다.
+     */
+    public final class Match implements AhoCorasickMatcher.MatchHandler {
+
+        private final int[] scores = new int[typeNames.length];
+        private final boolean[] phraseMatched = new boolean[typeNames.length];
+        private int overrideType = -1;
+        private int positive;
+        private int negative;
+
+        // 순회 중인 키워드 상태 (null 이면 상담 내용 순회 중)
+        private String scanningKeyword;
+        private int keywordType;
+        private boolean keywordPositive;
+        private boolean keywordNegative;
+
+        private Match() {
+        }
+
+        @Override
+        public void onMatch(int pattern, int start, int end) {
+            for (Entry entry : entries[pattern]) {
+                if (scanningKeyword == null) {
+                    onContentMatch(entry);
+                } else {
+                    onKeywordMatch(entry, start, end);
+                }
+            }
+        }
+
+        private void onContentMatch(Entry entry) {
+            if (entry.kind == Kind.PHRASE && !phraseMatched[entry.type]) {
+                phraseMatched[entry.type] = true;
+                scores[entry.type] += phraseScores[entry.type];
+            } else if (entry.kind == Kind.OVERRIDE && overrideType < 0) {
+                overrideType = entry.type;
+            }
+        }
+
+        private void onKeywordMatch(Entry entry, int start, int end) {
+            switch (entry.kind) {
+                case KEYWORD -> {
+                    if (start == 0 && end == scanningKeyword.length()) {
+                        keywordType = entry.type;
+                    }
+                }
+                case POSITIVE -> keywordPositive = true;
+                case NEGATIVE -> keywordNegative = true;
+                default -> {
+                }
+            }
+        }
+
+        /**
+         * 우선 분류 문구가 있으면 해당 유형, 없으면 임계값 이상인 최고 점수 유형을 반환합니다.
+         * 점수가 같으면 먼저 정의된 유형을 선택합니다.
+         */
+        public String getCounselType() {
+            if (overrideType >= 0) {
+                return typeNames[overrideType];
+            }
+            int best = -1;
+            for (int i = 0; i < scores.length; i++) {
+                if (scores[i] >= threshold && (best < 0 || scores[i] > scores[best])) {
+                    best = i;
+                }
+            }
+            return typeNames[best >= 0 ? best : defaultType];
+        }
+
+        public String getSentiment() {
+            if (positive > negative) {
+                return POSITIVE;
+            }
+            return negative > positive ? NEGATIVE : NEUTRAL;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 상담 유형 분류와 대체 감정 분석에 사용하는 사전의 JSON 정의입니다.
+ * (counsel.analysis.dictionary.location)
+ */
+@Getter
+@Setter
+public class ClassificationDictionaryDefinition {
+
+    /** 유형으로 분류하기 위한 최소 점수 */
+    private int threshold = 2;
+
+    /** 임계값을 넘는 유형이 없을 때의 유형 */
+    private String defaultType;
+
+    /** 분류 유형. 키워드가 여러 유형에 있으면 먼저 정의된 유형으로 집계합니다. */
+    private List<TypeDefinition> types = new ArrayList<>();
+
+    /** 상담 내용에 포함되면 점수와 관계없이 지정한 유형으로 분류하는 문구 */
+    private List<OverrideDefinition> overrides = new ArrayList<>();
+
+    private SentimentDefinition sentiment = new SentimentDefinition();
+
+    @Getter
+    @Setter
+    public static class TypeDefinition {
+        private String name;
+        private String description;
+
+        /** 형태소 키워드와 정확히 일치하면 keywordScore 를 더합니다. */
+        private List<String> keywords = new ArrayList<>();
+        private int keywordScore = 1;
+
+        /** 상담 내용에 하나라도 포함되면 phraseScore 를 한 번 더합니다. */
+        private List<String> phrases = new ArrayList<>();
+        private int phraseScore = 1;
+    }
+
+    @Getter
+    @Setter
+    public static class OverrideDefinition {
+        private String type;
+        private List<String> phrases = new ArrayList<>();
+    }
+
+    /**
+     * 키워드에 포함되면 해당 극성으로 집계하는 어근 목록입니다.
+     */
+    @Getter
+    @Setter
+    public static class SentimentDefinition {
+        private List<String> positive = new ArrayList<>();
+        private List<String> negative = new ArrayList<>();
+    }
+}
@@ -0,0 +1,145 @@
+package org.aitest.ai_counsel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 분류 사전을 외부 설정 파일에서 읽어 컴파일하고, 파일이 바뀌면 다시 적재합니다.
+ * <p>
+ * 새 사전이 올바르지 않으면 기존 사전을 유지합니다.
+ * 사전이 바뀌면 이전 기준으로 분석된 결과를 쓰지 않도록 분석 결과 캐시를 비웁니다.
+ */
+@Slf4j
+@Component
+public class ClassificationDictionaryProvider {
+
+    private final ResourceLoader resourceLoader;
+    private final ObjectMapper objectMapper;
+    private final AnalysisResultCache analysisCache;
+    private final String location;
+    private final ScheduledExecutorService watcher;
+
+    private volatile ClassificationDictionary dictionary;
+    private volatile LocalDateTime loadedAt;
+    private volatile long lastModified;
+    private volatile long version;
+
+    public ClassificationDictionaryProvider(ResourceLoader resourceLoader,
+                                            ObjectMapper objectMapper,
+                                            AnalysisResultCache analysisCache,
+                                            @Value("${counsel.analysis.dictionary.location:classpath:dictionary/counsel-dictionary.json}") String location,
+                                            @Value("${counsel.analysis.dictionary.reload-interval:30s}") Duration reloadInterval) {
+        this.resourceLoader = resourceLoader;
+        this.objectMapper = objectMapper;
+        this.analysisCache = analysisCache;
+        this.location = location;
+
+        // 기동 시 사전을 읽지 못하면 분석할 수 없으므로 즉시 실패
+        Resource resource = resourceLoader.getResource(location);
+        this.dictionary = load(resource);
+        this.lastModified = lastModified(resource);
+        this.loadedAt = LocalDateTime.now();
+        this.version = 1;
+
+        if (reloadInterval.isZero() || reloadInterval.isNegative()) {
+            this.watcher = null;
+        } else {
+            this.watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "dictionary-watcher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = reloadInterval.toMillis();
+            watcher.scheduleWithFixedDelay(this::reloadIfModified, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+        }
+    }
+
+    public ClassificationDictionary get() {
+        return dictionary;
+    }
+
+    /**
+     * 사전 파일을 다시 읽어 적용합니다.
+     *
+     * @throws BusinessException 사전을 읽을 수 없거나 정의가 올바르지 않은 경우
+     */
+    public synchronized ClassificationDictionary reload() {
+        Resource resource = resourceLoader.getResource(location);
+        try {
+            ClassificationDictionary reloaded = load(resource);
+            dictionary = reloaded;
+            lastModified = lastModified(resource);
+            loadedAt = LocalDateTime.now();
+            version++;
+            analysisCache.invalidateAll();
+            log.info("분류 사전 적용: location={}, version={}, patterns={}", location, version, reloaded.getPatternCount());
+            return reloaded;
+        } catch (IllegalStateException e) {
+            throw new BusinessException(e.getMessage(), ErrorCode.INVALID_DICTIONARY, e.getCause());
+        }
+    }
+
+    private void reloadIfModified() {
+        try {
+            long modified = lastModified(resourceLoader.getResource(location));
+            if (modified > 0 && modified != lastModified) {
+                reload();
+            }
+        } catch (Exception e) {
+            log.error("분류 사전 갱신 실패, 기존 사전을 유지합니다: {}", e.getMessage());
+        }
+    }
+
+    private ClassificationDictionary load(Resource resource) {
+        try (InputStream in = resource.getInputStream()) {
+            return ClassificationDictionary.compile(objectMapper.readValue(in, ClassificationDictionaryDefinition.class));
+        } catch (IOException | IllegalArgumentException e) {
+            throw new IllegalStateException("분류 사전을 적재할 수 없습니다 (" + location + "): " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 파일 리소스의 수정 시각을 반환합니다. 클래스패스 JAR 내부처럼 확인할 수 없으면 0 입니다.
+     */
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.isFile() ? resource.lastModified() : 0L;
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    public String getLocation() {
+        return location;
+    }
+
+    public LocalDateTime getLoadedAt() {
+        return loadedAt;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -0,0 +1,185 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.repository.CounselHistoryJdbcRepository.HistoryStatistics;
+import org.aitest.ai_counsel.repository.CounselTimelineEntry;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 고객 또는 상담사 한 명의 상담 이력 집계 상태입니다.
+ * <p>
+ * 상담 건수, 유형별 건수, 키워드 빈도 요약, 최초/최근 상담 일시를 유지하며
+ * 상담 저장과 분석 시 증분으로 갱신되므로 예측 비용이 이력 길이와 무관합니다.
+ * 정렬된 상담 간격의 합은 최초~최근 상담 사이 기간과 같으므로 두 일시만 유지합니다.
+ * <p>
+ * 유형별 가중치는 상담 일시 기준으로 지수 감쇠하며, 가장 최근 상담 일시를 기준 시점으로 저장합니다.
+ * 더 최근 상담이 들어오면 기존 가중치 전체에 같은 비율을 곱해 기준 시점을 옮깁니다.
+ * 상담 간격의 분산은 이력의 앞이나 뒤에 붙는 상담의 간격으로만 계산하고, 사이에 끼어든 상담은 제외합니다.
+ */
+public class CounselAggregate {
+
+    private static final double SECONDS_PER_DAY = 86_400.0;
+    private static final double MIN_WEIGHT = 1e-12;
+
+    private final Map<String, Integer> typeCounts = new LinkedHashMap<>();
+    private final Map<String, Double> decayedTypeWeights = new LinkedHashMap<>();
+    private final KeywordSketch keywords;
+    private final double decayRate;
+    private final boolean sequential;
+    private long counselCount;
+    private LocalDateTime firstDate;
+    private LocalDateTime lastDate;
+    private Long latestCounselId;
+    private LocalDateTime decayReference;
+    private String lastCounselType;
+    private LocalDateTime lastAnalyzedDate;
+    private long gapCount;
+    private double gapSum;
+    private double gapSquareSum;
+
+    /**
+     * @param decayRate  하루당 감쇠율. 반감기로부터 {@link #decayRate(double)} 로 구합니다.
+     * @param sequential 상담 유형 순서가 의미 있는 이력(고객)인지 여부. 아니면 마지막 상담 유형을 요약에 넣지 않습니다.
+     */
+    CounselAggregate(int keywordCapacity, double decayRate, boolean sequential) {
+        this.keywords = new KeywordSketch(keywordCapacity);
+        this.decayRate = decayRate;
+        this.sequential = sequential;
+    }
+
+    static double decayRate(double halfLifeDays) {
+        return halfLifeDays > 0 ? Math.log(2) / halfLifeDays : 0.0;
+    }
+
+    synchronized void recordCounsel(Long counselId, LocalDateTime counselDate) {
+        counselCount++;
+        if (lastDate != null && !counselDate.isBefore(lastDate)) {
+            recordGap(days(lastDate, counselDate));
+        } else if (firstDate != null && counselDate.isBefore(firstDate)) {
+            recordGap(days(counselDate, firstDate));
+        }
+
+        if (firstDate == null || counselDate.isBefore(firstDate)) {
+            firstDate = counselDate;
+        }
+        if (lastDate == null || !counselDate.isBefore(lastDate)) {
+            lastDate = counselDate;
+            latestCounselId = counselId;
+        }
+    }
+
+    /**
+     * 분석 결과를 반영합니다. 같은 내용의 재분석은 유형과 키워드가 바뀌지 않으므로
+     * 처음 분석된 경우에만 키워드를 집계하고, 유형은 바뀐 경우 옮겨 집계합니다.
+     */
+    synchronized void recordAnalysis(String previousType, String counselType, LocalDateTime counselDate,
+                                     List<String> counselKeywords) {
+        if (previousType == null) {
+            typeCounts.merge(counselType, 1, Integer::sum);
+            addDecayedWeight(counselType, counselDate, 1);
+            counselKeywords.forEach(keyword -> keywords.add(keyword, 1));
+        } else if (!previousType.equals(counselType)) {
+            typeCounts.computeIfPresent(previousType, (type, count) -> count > 1 ? count - 1 : null);
+            typeCounts.merge(counselType, 1, Integer::sum);
+            addDecayedWeight(previousType, counselDate, -1);
+            addDecayedWeight(counselType, counselDate, 1);
+        }
+        recordLastType(counselType, counselDate);
+    }
+
+    /**
+     * 상담 일시 순으로 정렬된 이력과 키워드 빈도 집계로 초기 상태를 채웁니다.
+     */
+    synchronized void seed(List<CounselTimelineEntry> timeline, Map<String, Integer> keywordCounts) {
+        for (CounselTimelineEntry entry : timeline) {
+            recordCounsel(entry.getId(), entry.getCounselDate());
+            if (entry.getCounselType() != null) {
+                typeCounts.merge(entry.getCounselType(), 1, Integer::sum);
+                addDecayedWeight(entry.getCounselType(), entry.getCounselDate(), 1);
+                recordLastType(entry.getCounselType(), entry.getCounselDate());
+            }
+        }
+        keywordCounts.forEach(keywords::add);
+    }
+
+    /**
+     * DB 집계 결과와 키워드 빈도 집계로 초기 상태를 채웁니다. 이력 전체로 채운 것과 같은 상태가 됩니다.
+     */
+    synchronized void seed(HistoryStatistics history, Map<String, Integer> keywordCounts) {
+        counselCount = history.getCount();
+        firstDate = history.getFirstDate();
+        lastDate = history.getLastDate();
+        latestCounselId = history.getLatestCounselId();
+        if (counselCount > 1) {
+            gapCount = counselCount - 1;
+            gapSum = days(firstDate, lastDate);
+            gapSquareSum = history.getGapSquareSeconds() / (SECONDS_PER_DAY * SECONDS_PER_DAY);
+        }
+
+        typeCounts.putAll(history.getTypeCounts());
+        history.getDecayedTypeWeights().forEach((type, weight) -> {
+            if (weight > MIN_WEIGHT) {
+                decayedTypeWeights.put(type, weight);
+            }
+        });
+        decayReference = history.getLastAnalyzedDate();
+        lastCounselType = history.getLastCounselType();
+        lastAnalyzedDate = history.getLastAnalyzedDate();
+        keywordCounts.forEach(keywords::add);
+    }
+
+    public synchronized Long getLatestCounselId() {
+        return latestCounselId;
+    }
+
+    public synchronized CounselHistorySummary toSummary(int topKeywords) {
+        double averageCycle = counselCount < 2 ? 0.0 : days(firstDate, lastDate) / (counselCount - 1);
+        double cycleDeviation = gapCount < 2 ? 0.0
+                : Math.sqrt(Math.max(0.0, (gapSquareSum - gapSum * gapSum / gapCount) / (gapCount - 1)));
+        return new CounselHistorySummary(new LinkedHashMap<>(typeCounts), keywords.top(topKeywords),
+                counselCount, averageCycle, cycleDeviation, lastDate,
+                sequential ? lastCounselType : null, new LinkedHashMap<>(decayedTypeWeights));
+    }
+
+    private void recordGap(double gapDays) {
+        gapCount++;
+        gapSum += gapDays;
+        gapSquareSum += gapDays * gapDays;
+    }
+
+    private void recordLastType(String counselType, LocalDateTime counselDate) {
+        if (lastAnalyzedDate == null || !counselDate.isBefore(lastAnalyzedDate)) {
+            lastCounselType = counselType;
+            lastAnalyzedDate = counselDate;
+        }
+    }
+
+    /**
+     * 기준 시점에서 본 감쇠 가중치를 더하거나 뺍니다. 기준 시점보다 최근 상담이면 기준 시점을 옮깁니다.
+     */
+    private void addDecayedWeight(String counselType, LocalDateTime counselDate, int sign) {
+        if (decayReference == null) {
+            decayReference = counselDate;
+        } else if (counselDate.isAfter(decayReference)) {
+            double factor = Math.exp(-decayRate * days(decayReference, counselDate));
+            decayedTypeWeights.replaceAll((type, weight) -> weight * factor);
+            decayReference = counselDate;
+        }
+
+        double weight = Math.exp(-decayRate * days(counselDate, decayReference));
+        double updated = decayedTypeWeights.getOrDefault(counselType, 0.0) + sign * weight;
+        if (updated > MIN_WEIGHT) {
+            decayedTypeWeights.put(counselType, updated);
+        } else {
+            decayedTypeWeights.remove(counselType);
+        }
+    }
+
+    private static double days(LocalDateTime from, LocalDateTime to) {
+        return ChronoUnit.SECONDS.between(from, to) / SECONDS_PER_DAY;
+    }
+}
@@ -0,0 +1,246 @@
+package org.aitest.ai_counsel.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
+import org.aitest.ai_counsel.repository.CounselHistoryJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselHistoryJdbcRepository.HistoryStatistics;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.aitest.ai_counsel.repository.CounselTimelineEntry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * 고객별, 상담사별 상담 이력 집계 상태를 메모리에 유지합니다.
+ * <p>
+ * 처음 조회할 때 건수·기간·간격 제곱합, 유형별 건수와 감쇠 가중치, 키워드 빈도를 DB 집계 쿼리로 한 번 적재하고,
+ * 이후에는 상담 저장/분석 이벤트로 증분 갱신합니다. 적재 시 이력 행을 읽지 않으므로 캐시에서 밀려나거나
+ * 재시작한 뒤에도 적재 비용이 이력 길이에 비례하여 늘지 않습니다.
+ * 적재 중에 같은 고객/상담사에 커밋된 변경이 있으면 적재 결과를 캐시하지 않아 이중 집계를 막습니다.
+ * 진행 중/반영된 변경 수는 키별로 관리하므로 다른 고객의 저장이 캐시 적재를 막지 않으며,
+ * 키별 상태는 진행 중인 변경이나 적재가 있는 동안만 유지합니다.
+ * 이벤트는 트랜잭션 안에서 발행되어야 하며 커밋된 경우에만 반영됩니다.
+ */
+@Component
+public class CounselAggregateStore {
+
+    private enum Owner {
+        CUSTOMER, COUNSELOR
+    }
+
+    private final CounselRepository counselRepository;
+    private final CounselHistoryJdbcRepository historyRepository;
+    private final int keywordCapacity;
+    private final double decayRate;
+    private final Cache<String, CounselAggregate> aggregates;
+
+    /** 진행 중인 변경이나 적재가 있는 키의 변경 상태 */
+    private final ConcurrentMap<String, KeyVersion> versions = new ConcurrentHashMap<>();
+
+    public CounselAggregateStore(CounselRepository counselRepository,
+                                 CounselHistoryJdbcRepository historyRepository,
+                                 @Value("${counsel.prediction.aggregate.maximum-size:100000}") long maximumSize,
+                                 @Value("${counsel.prediction.aggregate.keyword-sketch-size:64}") int keywordCapacity,
+                                 @Value("${counsel.prediction.decay-half-life-days:90}") double decayHalfLifeDays) {
+        this.counselRepository = counselRepository;
+        this.historyRepository = historyRepository;
+        this.keywordCapacity = keywordCapacity;
+        this.decayRate = CounselAggregate.decayRate(decayHalfLifeDays);
+        this.aggregates = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    public CounselAggregate getCustomerAggregate(String customerId) {
+        return get(Owner.CUSTOMER, customerId);
+    }
+
+    public CounselAggregate getCounselorAggregate(String counselorId) {
+        return get(Owner.COUNSELOR, counselorId);
+    }
+
+    @EventListener
+    public void onCounselSaved(CounselSavedEvent event) {
+        Consumer<CounselAggregate> change = aggregate -> aggregate.recordCounsel(event.getCounselId(), event.getCounselDate());
+        afterCommit(Owner.CUSTOMER, event.getCustomerId(), change);
+        afterCommit(Owner.COUNSELOR, event.getCounselorId(), change);
+    }
+
+    @EventListener
+    public void onCounselsSaved(CounselBatchSavedEvent event) {
+        event.getCounsels().forEach(this::onCounselSaved);
+    }
+
+    @EventListener
+    public void onCounselAnalyzed(CounselAnalyzedEvent event) {
+        Consumer<CounselAggregate> change = aggregate -> aggregate.recordAnalysis(event.getPreviousCounselType(),
+                event.getCounselType(), event.getCounselDate(), event.getKeywords());
+        afterCommit(Owner.CUSTOMER, event.getCustomerId(), change);
+        afterCommit(Owner.COUNSELOR, event.getCounselorId(), change);
+    }
+
+    public long getSize() {
+        return aggregates.estimatedSize();
+    }
+
+    private CounselAggregate get(Owner owner, String ownerId) {
+        String key = key(owner, ownerId);
+        CounselAggregate aggregate = aggregates.getIfPresent(key);
+        if (aggregate != null) {
+            return aggregate;
+        }
+
+        // 적재가 끝날 때까지 키 상태를 유지하여 그 사이 반영된 변경을 놓치지 않음
+        long[] started = new long[2];
+        versions.compute(key, (k, version) -> {
+            KeyVersion state = version != null ? version : new KeyVersion();
+            state.loaders++;
+            started[0] = state.pending;
+            started[1] = state.applied;
+            return state;
+        });
+        boolean quiet = started[0] == 0;
+        long applied = started[1];
+
+        CounselAggregate loaded;
+        try {
+            loaded = load(owner, ownerId);
+        } catch (RuntimeException e) {
+            versions.computeIfPresent(key, (k, version) -> {
+                version.loaders--;
+                return version.isIdle() ? null : version;
+            });
+            throw e;
+        }
+
+        CounselAggregate[] result = {loaded};
+        versions.computeIfPresent(key, (k, version) -> {
+            version.loaders--;
+            CounselAggregate existing = aggregates.getIfPresent(key);
+            if (existing != null) {
+                result[0] = existing;
+            } else if (quiet && version.pending == 0 && version.applied == applied) {
+                // 적재하는 동안 이 키에 진행 중이거나 반영된 변경이 없을 때만 캐시
+                aggregates.put(key, loaded);
+            }
+            return version.isIdle() ? null : version;
+        });
+        return result[0];
+    }
+
+    private CounselAggregate load(Owner owner, String ownerId) {
+        PageRequest keywordLimit = PageRequest.ofSize(keywordCapacity);
+        HistoryStatistics history;
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+
+        if (owner == Owner.CUSTOMER) {
+            history = historyRepository.summarizeByCustomerId(ownerId, decayRate);
+            counselRepository.countKeywordsByCustomerId(ownerId, keywordLimit)
+                    .forEach(count -> keywords.put(count.getKeyword(), (int) count.getCount()));
+        } else {
+            history = historyRepository.summarizeByCounselorId(ownerId, decayRate);
+            counselRepository.countKeywordsByCounselorId(ownerId, keywordLimit)
+                    .forEach(count -> keywords.put(count.getKeyword(), (int) count.getCount()));
+        }
+
+        // 상담사의 상담은 여러 고객에 걸쳐 있으므로 유형 순서를 전이 예측에 쓰지 않음
+        CounselAggregate aggregate = new CounselAggregate(keywordCapacity, decayRate, owner == Owner.CUSTOMER);
+        aggregate.seed(history, keywords);
+        return aggregate;
+    }
+
+    /**
+     * 캐시를 거치지 않고 미리 조회한 이력으로 고객 집계를 만듭니다. 일괄 예측에서 조회 시와 같은 설정으로 예측하도록 사용합니다.
+     * 키워드는 조회 시와 같이 빈도 상위 keyword-sketch-size 개만 반영합니다.
+     */
+    CounselAggregate createCustomerAggregate(List<CounselTimelineEntry> timeline, Map<String, Integer> keywordCounts) {
+        Map<String, Integer> keywords = new LinkedHashMap<>();
+        keywordCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.<String, Integer>comparingByKey()))
+                .limit(keywordCapacity)
+                .forEach(entry -> keywords.put(entry.getKey(), entry.getValue()));
+
+        CounselAggregate aggregate = new CounselAggregate(keywordCapacity, decayRate, true);
+        aggregate.seed(timeline, keywords);
+        return aggregate;
+    }
+
+    /**
+     * 키의 변경을 진행 중으로 표시하고, 트랜잭션이 커밋되면 캐시된 집계에 반영합니다.
+     */
+    private void afterCommit(Owner owner, String ownerId, Consumer<CounselAggregate> change) {
+        if (ownerId == null) {
+            return;
+        }
+        String key = key(owner, ownerId);
+        versions.compute(key, (k, version) -> {
+            KeyVersion state = version != null ? version : new KeyVersion();
+            state.pending++;
+            return state;
+        });
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(key, change);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(key, status == STATUS_COMMITTED ? change : null);
+            }
+        });
+    }
+
+    /**
+     * 캐시된 집계가 있으면 변경을 반영하고 진행 중 표시를 해제합니다. 롤백된 변경(null)은 표시만 해제합니다.
+     */
+    private void complete(String key, Consumer<CounselAggregate> change) {
+        versions.computeIfPresent(key, (k, version) -> {
+            try {
+                if (change != null) {
+                    CounselAggregate aggregate = aggregates.getIfPresent(key);
+                    if (aggregate != null) {
+                        change.accept(aggregate);
+                    }
+                }
+            } finally {
+                version.pending--;
+                if (change != null) {
+                    version.applied++;
+                }
+            }
+            return version.isIdle() ? null : version;
+        });
+    }
+
+    private static String key(Owner owner, String ownerId) {
+        return owner.name() + ":" + ownerId;
+    }
+
+    /**
+     * 키별 진행 중인 변경 수, 반영된 변경 수, 적재 중인 스레드 수입니다.
+     * 읽기와 갱신은 모두 맵의 compute 안에서 하므로 같은 키에 대해 순서가 보장됩니다.
+     */
+    private static final class KeyVersion {
+        private int pending;
+        private long applied;
+        private int loaders;
+
+        private boolean isIdle() {
+            return pending == 0 && loaders == 0;
+        }
+    }
+}
@@ -1,221 +1,205 @@
 package org.aitest.ai_counsel.service;
 
-import com.theokanning.openai.completion.CompletionRequest;
-import com.theokanning.openai.service.OpenAiService;
-import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
-import kr.co.shineware.nlp.komoran.core.Komoran;
-import kr.co.shineware.nlp.komoran.model.KomoranResult;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import kr.co.shineware.nlp.komoran.model.Token;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.client.SentimentClient;
 import org.aitest.ai_counsel.domain.Counsel;
 import org.aitest.ai_counsel.exception.AnalysisException;
 import org.aitest.ai_counsel.exception.InvalidRequestException;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import jakarta.annotation.PostConstruct;
 import java.time.Duration;
 import java.util.*;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
-
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * 상담 내용을 분석합니다.
+ * <p>
+ * 형태소 분석, 유형 분류, 감정 분석 단계를 각각 관찰(Observation)하여 단계별 지연 시간 히스토그램과 span 을 남기고,
+ * 상담당 형태소 수를 분포로 기록합니다.
+ * <p>
+ * 저장 직후에는 자동 분석과 검색 색인이 같은 상담 내용을 거의 동시에 분석하므로,
+ * 최근 형태소 분석 결과를 짧게 보관하여 먼저 분석한 쪽의 결과를 함께 사용합니다.
+ */
 @Service
-@RequiredArgsConstructor
 public class CounselAnalysisService {
 
-    private final Komoran komoran = new Komoran(DEFAULT_MODEL.FULL);
-    private OpenAiService openAiService;
-
-    @Value("${openai.api.key}")
-    private String openaiApiKey;
+    private final KomoranPool komoranPool;
+    private final SentimentClient sentimentClient;
+    private final AnalysisResultCache analysisCache;
+    private final ClassificationDictionaryProvider dictionaryProvider;
+    private final ObservationRegistry observationRegistry;
+    private final DistributionSummary tokenCounts;
+    private final Cache<String, TokenizedContent> sharedTokens;
+
+    public CounselAnalysisService(KomoranPool komoranPool,
+                                  SentimentClient sentimentClient,
+                                  AnalysisResultCache analysisCache,
+                                  ClassificationDictionaryProvider dictionaryProvider,
+                                  ObservationRegistry observationRegistry,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${counsel.analysis.shared-tokens.maximum-size:1000}") int sharedTokensSize,
+                                  @Value("${counsel.analysis.shared-tokens.ttl:1m}") Duration sharedTokensTtl) {
+        this.komoranPool = komoranPool;
+        this.sentimentClient = sentimentClient;
+        this.analysisCache = analysisCache;
+        this.dictionaryProvider = dictionaryProvider;
+        this.observationRegistry = observationRegistry;
+        this.tokenCounts = DistributionSummary.builder("counsel.analysis.tokens")
+                .description("상담 한 건의 형태소 수")
+                .baseUnit("tokens")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.sharedTokens = Caffeine.newBuilder()
+                .maximumSize(sharedTokensSize)
+                .expireAfterWrite(sharedTokensTtl)
+                .build();
+    }
 
-    @PostConstruct
-    private void init() {
-        // API 키가 유효한 경우에만 OpenAiService를 초기화합니다.
-        if (openaiApiKey != null && !openaiApiKey.isEmpty() && !openaiApiKey.equals("YOUR_OPENAI_API_KEY")) {
-            this.openAiService = new OpenAiService(openaiApiKey, Duration.ofSeconds(60));
+    /**
+     * 상담 내용을 분석하여 결과를 반환합니다.
+     */
+    public AnalysisResult analyzeCounsel(Counsel counsel) {
+        CompletableFuture<AnalysisResult> future = analyzeCounselAsync(counsel);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            throw new AnalysisException("상담 내용 분석 중 오류가 발생했습니다: " + cause.getMessage(), cause);
         }
     }
 
-    private static final Map<String, String> COUNSEL_TYPES = Map.of(
-        "상품문의", "상품의 특성, 가격, 조건 등에 대한 문의",
-        "불만���수", "서비스나 상품에 대한 불만 제기",
-        "정보변경", "고객 정보 변경 요청",
-        "해지요청", "서비스 해지나 계약 종료 요청",
-        "일반상담", "기타 일반적인 문의사항"
-    );
-
     /**
-     * 상담 내용을 분석하여 결과�� 반환합니다.
+     * 단건 분석 요청용으로, 감정 분석을 다른 요청과 묶지 않고 바로 호출합니다.
      */
-    public AnalysisResult analyzeCounsel(Counsel counsel) {
-        return Optional.ofNullable(counsel)
-                .map(c -> {
-                    // 상담 내용 검증
-                    String content = Optional.ofNullable(c.getContent())
-                            .filter(text -> !text.trim().isEmpty())
-                            .orElseThrow(() -> new InvalidRequestException("분석할 상담 내용이 비어있습니다."));
-
-                    try {
-                        // 키워드 추출
-                        List<String> keywords = extractKeywords(content);
-
-                        // 감정 분석
-                        String sentiment = analyzeSentiment(content);
-
-                        // 상담 유형 분류
-                        String counselType = classifyCounselType(content);
-
-                        return new AnalysisResult(keywords, sentiment, counselType);
-                    } catch (Exception e) {
-                        throw new AnalysisException("상담 내용 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
-                    }
-                })
-                .orElseThrow(() -> new InvalidRequestException("분석할 상담 정보가 누락되었습니다."));
+    public CompletableFuture<AnalysisResult> analyzeCounselAsync(Counsel counsel) {
+        return analyzeCounselAsync(counsel, false);
     }
 
     /**
-     * 키워드를 추출합니다.
+     * 형태소 분석과 유형 분류는 호출 스레드에서 수행하고,
+     * 감정 분석은 외부 API 응답을 기다리지 않도록 비동기로 결합합니다.
+     * 같은 내용의 상담은 캐시된 분석 결과를 재사용합니다.
+     *
+     * @param batchSentiment 감정 분석 요청을 다른 요청과 묶어 호출할지 여부 (일괄 / 자동 분석)
      */
-    private List<String> extractKeywords(String content) {
+    public CompletableFuture<AnalysisResult> analyzeCounselAsync(Counsel counsel, boolean batchSentiment) {
+        String content = requireContent(counsel);
+
+        AnalysisResult cached = analysisCache.get(content);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(cached);
+        }
+
         try {
-            return Optional.ofNullable(content)
-                    .map(text -> {
-                        KomoranResult result = komoran.analyze(text);
-                        return result.getTokenList().stream()
-                                .filter(token -> token.getPos().matches("NN.*|VV.*|VA.*")) // 명사, 동사, 형용사만
-                                .map(token -> token.getMorph())
-                                .filter(word -> word.length() > 1) // 단일 문자 제외
-                                .distinct()
-                                .limit(10)
-                                .collect(Collectors.toList());
+            // 형태소 분석은 요청당 한 번만 수행하고 이후 단계에서 재사용
+            TokenizedContent tokenized = observe("counsel.analysis.tokenize", () -> tokenizeShared(content));
+
+            // 키워드 추출
+            List<String> keywords = tokenized.getKeywords();
+
+            // 상담 유형 분류와 대체 감정 분석을 사전 한 번 대조로 계산
+            ClassificationDictionary.Match match = observe("counsel.analysis.classify",
+                    () -> dictionaryProvider.get().match(tokenized));
+            String counselType = match.getCounselType();
+
+            // 감정 분석 (API 키가 없으면 대체 로직 결과도 그대로 캐시)
+            if (!sentimentClient.isEnabled()) {
+                AnalysisResult result = new AnalysisResult(keywords, counselType, match.getSentiment());
+                analysisCache.put(content, result);
+                return CompletableFuture.completedFuture(result);
+            }
+
+            // 응답은 다른 스레드에서 완료되므로 시작한 관찰을 완료 시점에 직접 종료
+            Observation observation = Observation.start("counsel.analysis.sentiment", observationRegistry);
+            CompletableFuture<String> classified = batchSentiment
+                    ? sentimentClient.classifyBatched(content)
+                    : sentimentClient.classify(content);
+            return classified
+                    .whenComplete((sentiment, error) -> {
+                        observation.lowCardinalityKeyValue("outcome", error == null ? "success" : "fallback");
+                        if (error != null) {
+                            observation.error(error);
+                        }
+                        observation.stop();
+                    })
+                    .thenApply(sentiment -> {
+                        AnalysisResult result = new AnalysisResult(keywords, counselType, sentiment);
+                        analysisCache.put(content, result);
+                        return result;
                     })
-                    .orElse(Collections.emptyList());
+                    // API 장애로 대체된 결과는 캐시하지 않음
+                    .exceptionally(e -> new AnalysisResult(keywords, counselType, match.getSentiment()));
         } catch (Exception e) {
-            throw new AnalysisException("키��드 추출 중 오류가 발생했습니다.", e);
+            throw new AnalysisException("상담 내용 분석 중 오류가 발생했습니다: " + e.getMessage(), e);
         }
     }
 
+    private <T> T observe(String name, Supplier<T> stage) {
+        return Observation.createNotStarted(name, observationRegistry).observe(stage);
+    }
+
     /**
-     * 상담 유형을 분류합니다.
+     * 분석할 상담 내용을 검증합니다.
      */
-    private String classifyCounselType(String content) {
-        // 최소 점수 임계값
-        final int THRESHOLD = 2;
-        
-        Map<String, Integer> typeScores = new HashMap<>();
-        COUNSEL_TYPES.keySet().forEach(type -> typeScores.put(type, 0));
-        
-        // 1. 문장 패턴 기반 점수 계산
-        if (content.contains("문의드립니다") || content.contains("알고 싶습니다") || 
-            content.contains("어떻게 되나요") || content.contains("문의하고 싶")) {
-            typeScores.merge("상품문의", 1, Integer::sum);
-        }
-        
-        // 2. 키워드 기반 점수 계산
-        for (String keyword : extractKeywords(content)) {
-            // 상품문의 관련 키워드 점수는 1점만 부여
-            if (Arrays.asList("상품", "펀드", "수익률", "이율", "금리", "주식", "채권").contains(keyword)) {
-                typeScores.merge("상품문의", 1, Integer::sum);
-            }
-            // 다른 형은 2점 부여
-            else if (Arrays.asList("불만", "불편", "민원", "항의", "문제").contains(keyword)) {
-                typeScores.merge("불만접수", 2, Integer::sum);
-            }
-            else if (Arrays.asList("변경", "수정", "정보", "주소", "연락처").contains(keyword)) {
-                typeScores.merge("정보변경", 2, Integer::sum);
-            }
-            else if (Arrays.asList("해지", "해약", "취소", "종료", "철회").contains(keyword)) {
-                typeScores.merge("해지요청", 2, Integer::sum);
-            }
-        }
-        
-        // 3. 긍정적 피드백 처리
-        if (content.contains("좋네요") || content.contains("좋습니다") || 
-            content.contains("만족") || content.contains("감사합니다")) {
-            // 상품 관련 키워드가 있더라도 일반상담으로 분류
-            return "일반상담";
-        }
-        
-        // 4. 임계값을 넘는 가장 높은 점수의 유형 반환
-        return typeScores.entrySet().stream()
-            .filter(e -> e.getValue() >= THRESHOLD)
-            .max(Map.Entry.comparingByValue())
-            .map(Map.Entry::getKey)
-            .orElse("일반상담");
+    private String requireContent(Counsel counsel) {
+        return Optional.ofNullable(counsel)
+                .map(c -> Optional.ofNullable(c.getContent())
+                        .filter(text -> !text.trim().isEmpty())
+                        .orElseThrow(() -> new InvalidRequestException("분석할 상담 내용이 비어있습니다.")))
+                .orElseThrow(() -> new InvalidRequestException("분석할 상담 정보가 누락되었습니다."));
     }
 
     /**
-     * OpenAI API를 사용하여 감정 분석을 수행합니다.
-     * API 키가 없거나 오류 발생 시 대체 로직��� 사용합니다.
+     * 상담 내용의 형태소를 분석합니다.
      */
-    private String analyzeSentiment(String content) {
-        // OpenAiService가 초기화되지 않았으면 대체 로직 실행
-        if (openAiService == null) {
-            return analyzeSentimentFallback(content);
-        }
-
+    public TokenizedContent tokenize(String content) {
         try {
-            String prompt = String.format(
-                "다음 상담 내용은 긍정, 부정, 중립 중 어떤 감정에 해당하나요? 답변은 '긍정', '부정', '중립' 중 하나로만 해주세요.\n\n내용: %s\n\n감정:",
-                content
-            );
-
-            CompletionRequest completionRequest = CompletionRequest.builder()
-                    .model("gpt-3.5-turbo-instruct")
-                    .prompt(prompt)
-                    .maxTokens(10)
-                    .temperature(0.0)
-                    .build();
-
-            String sentiment = openAiService.createCompletion(completionRequest).getChoices().get(0).getText().trim();
-
-            // AI의 답변이 예상과 다를 경우 기본값 처리
-            if (Set.of("긍정", "부정", "중립").contains(sentiment)) {
-                return sentiment;
+            if (content == null) {
+                return new TokenizedContent("", Collections.emptyList());
             }
-            return "중립";
-
+            List<Token> tokens = komoranPool.analyze(content);
+            tokenCounts.record(tokens.size());
+            return new TokenizedContent(content, tokens);
+        } catch (AnalysisException e) {
+            throw e;
         } catch (Exception e) {
-            // API 호출 중 에러 발생 시 로그를 남기고 대체 로직 실행
-            System.err.println("OpenAI API 호출 중 오류 발생: " + e.getMessage());
-            return analyzeSentimentFallback(content);
+            throw new AnalysisException("형태소 분석 중 오류가 발생했습니다.", e);
         }
     }
 
     /**
-     * API 호출 실패 시 대체할 간단한 감정 분석 로직
+     * 최근에 같은 내용을 분석했다면 그 결과를, 아니면 새로 분석한 결과를 반환합니다.
+     * 같은 내용을 동시에 요청하면 한 번만 분석하고 나머지는 결과를 기다립니다.
      */
-    private String analyzeSentimentFallback(String content) {
-        int positiveScore = 0;
-        int negativeScore = 0;
-
-        // 긍정 키워드
-        List<String> positiveWords = Arrays.asList(
-            "좋", "만족", "감사", "추천", "괜찮", "편리", "혜택", "성과"
-        );
-
-        // 부정 키워드
-        List<String> negativeWords = Arrays.asList(
-            "나쁘", "불만", "불편", "문제", "해지", "철회", "불안", "손해"
-        );
-
-        for (String keyword : extractKeywords(content)) {
-            if (positiveWords.stream().anyMatch(keyword::contains)) {
-                positiveScore++;
-            }
-            if (negativeWords.stream().anyMatch(keyword::contains)) {
-                negativeScore++;
-            }
+    public TokenizedContent tokenizeShared(String content) {
+        if (content == null) {
+            return tokenize(null);
         }
+        return sharedTokens.get(content, this::tokenize);
+    }
 
-        if (positiveScore > negativeScore) {
-            return "긍정";
-        } else if (negativeScore > positiveScore) {
-            return "부정";
-        } else {
-            return "중립";
-        }
+    /**
+     * 상담 유형을 분류합니다.
+     */
+    String classifyCounselType(TokenizedContent tokenized) {
+        return dictionaryProvider.get().match(tokenized).getCounselType();
+    }
+
+    /**
+     * API 호출 실패 시 대체할 간단한 감정 분석 로직
+     */
+    String analyzeSentimentFallback(TokenizedContent tokenized) {
+        return dictionaryProvider.get().match(tokenized).getSentiment();
     }
 
     @Getter
@@ -229,5 +213,12 @@ public class CounselAnalysisService {
             this.counselType = counselType;
             this.sentiment = sentiment;
         }
+
+        /**
+         * 분석 결과를 상담 엔티티에 반영합니다.
+         */
+        public void applyTo(Counsel counsel) {
+            counsel.applyAnalysis(counselType, sentiment, keywords);
+        }
     }
 }
@@ -0,0 +1,226 @@
+package org.aitest.ai_counsel.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository.AnalysisUpdate;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상담이 저장되면 백그라운드에서 미리 분석합니다. (counsel.analysis.auto.enabled)
+ * <p>
+ * 저장 트랜잭션이 커밋된 뒤 분석 워커 풀에 작업을 넣고, 저장 요청은 분석을 기다리지 않습니다.
+ * 워커 풀의 큐가 가득 차면 작업을 버리며, 버려진 상담은 미분석 일괄 분석으로 처리할 수 있습니다.
+ * 실패한 분석은 지수 백오프로 max-attempts 까지 다시 시도합니다.
+ */
+@Slf4j
+@Component
+public class CounselAutoAnalyzer {
+
+    private final CounselRepository counselRepository;
+    private final CounselJdbcRepository counselJdbcRepository;
+    private final CounselAnalysisService analysisService;
+    private final ThreadPoolTaskExecutor executor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledExecutorService retryScheduler;
+    private final Executor completionExecutor = this::completeOnWorker;
+    private final boolean enabled;
+    private final int maxAttempts;
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    public CounselAutoAnalyzer(CounselRepository counselRepository,
+                               CounselJdbcRepository counselJdbcRepository,
+                               CounselAnalysisService analysisService,
+                               @Qualifier("autoAnalysisExecutor") ThreadPoolTaskExecutor executor,
+                               ApplicationEventPublisher eventPublisher,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${counsel.analysis.auto.enabled:false}") boolean enabled,
+                               @Value("${counsel.analysis.auto.max-attempts:3}") int maxAttempts,
+                               @Value("${counsel.analysis.auto.initial-backoff:500ms}") Duration initialBackoff,
+                               @Value("${counsel.analysis.auto.max-backoff:30s}") Duration maxBackoff) {
+        this.counselRepository = counselRepository;
+        this.counselJdbcRepository = counselJdbcRepository;
+        this.analysisService = analysisService;
+        this.executor = executor;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.enabled = enabled;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoffMillis = initialBackoff.toMillis();
+        this.maxBackoffMillis = maxBackoff.toMillis();
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "auto-analysis-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        retryScheduler.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselSaved(CounselSavedEvent event) {
+        if (enabled) {
+            submit(event.getCounselId(), 1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselsSaved(CounselBatchSavedEvent event) {
+        event.getCounsels().forEach(this::onCounselSaved);
+    }
+
+    private void submit(Long counselId, int attempt) {
+        try {
+            executor.execute(() -> analyze(counselId, attempt));
+            if (attempt == 1) {
+                submitted.increment();
+            }
+        } catch (TaskRejectedException e) {
+            rejected.increment();
+            log.warn("자동 분석 대기열이 가득 차 건너뜁니다: counselId={}", counselId);
+        }
+    }
+
+    private void analyze(Long counselId, int attempt) {
+        Counsel counsel = counselRepository.findById(counselId).orElse(null);
+        // 삭제되었거나 이미 다른 경로로 분석된 상담은 건너뜀
+        if (counsel == null || counsel.isAnalyzed()) {
+            skipped.increment();
+            return;
+        }
+
+        AnalysisUpdate update = new AnalysisUpdate(counsel, counsel.getCounselType(), counsel.getSentiment());
+        // 감정 분석 응답은 워커를 점유하지 않고 기다리고, 저장은 응답을 완료한 스레드가 아닌 워커 풀에서 수행
+        CompletableFuture.completedFuture(counsel)
+                .thenCompose(target -> analysisService.analyzeCounselAsync(target, true))
+                .thenAcceptAsync(result -> {
+                    result.applyTo(counsel);
+                    boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+                        // 분석 중 다른 경로에서 먼저 분석되었으면 갱신하지 않고 이벤트도 발행하지 않음
+                        if (counselJdbcRepository.updateAnalyses(List.of(update)).isEmpty()) {
+                            return false;
+                        }
+                        eventPublisher.publishEvent(CounselAnalyzedEvent.from(counsel,
+                                update.getPreviousCounselType(), update.getPreviousSentiment()));
+                        return true;
+                    }));
+                    if (applied) {
+                        succeeded.increment();
+                    } else {
+                        skipped.increment();
+                    }
+                }, completionExecutor)
+                .exceptionallyAsync(error -> {
+                    onFailure(counselId, attempt, error instanceof CompletionException ? error.getCause() : error);
+                    return null;
+                }, completionExecutor);
+    }
+
+    /**
+     * 감정 분석이 끝난 뒤의 저장과 실패 처리를 워커 풀에서 실행합니다.
+     * 응답을 완료하는 스레드(HTTP 콜백, 배치 수집, 타임아웃 스레드)는 다른 호출과 공유되므로 JDBC 로 막지 않습니다.
+     * 워커 풀의 큐가 가득 차면 결과를 버리지 않도록 재시도 스케줄러 스레드에서 실행합니다.
+     */
+    private void completeOnWorker(Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (TaskRejectedException e) {
+            retryScheduler.execute(task);
+        }
+    }
+
+    private void onFailure(Long counselId, int attempt, Throwable error) {
+        if (error instanceof InvalidRequestException || attempt >= maxAttempts) {
+            failed.increment();
+            log.error("자동 분석 실패: counselId={}, attempts={}, reason={}", counselId, attempt, error.getMessage());
+            return;
+        }
+
+        long backoff = backoffMillis(attempt);
+        retried.increment();
+        log.warn("자동 분석 재시도 예정: counselId={}, attempt={}, {}ms 후, reason={}",
+                counselId, attempt + 1, backoff, error.getMessage());
+        retryScheduler.schedule(() -> submit(counselId, attempt + 1), backoff, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * attempt 번째 실패 후 대기 시간입니다. 초기값에서 두 배씩 늘리고 최대값으로 제한합니다.
+     */
+    long backoffMillis(int attempt) {
+        long backoff = initialBackoffMillis << Math.min(attempt - 1, 20);
+        return Math.min(backoff, maxBackoffMillis);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getQueueDepth() {
+        return executor.getThreadPoolExecutor().getQueue().size();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public long getSubmitted() {
+        return submitted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getSucceeded() {
+        return succeeded.sum();
+    }
+
+    public long getSkipped() {
+        return skipped.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+}
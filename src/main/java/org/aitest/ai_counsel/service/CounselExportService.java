@@ -0,0 +1,59 @@
+package org.aitest.ai_counsel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.dto.CounselResponse;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 전체 상담을 NDJSON(한 줄에 JSON 하나) 형식으로 내보냅니다.
+ * <p>
+ * 커서 기반 스트림으로 읽고 일정 건수마다 영속성 컨텍스트를 비워
+ * 데이터 양과 관계없이 일정한 메모리로 동작합니다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CounselExportService {
+
+    private static final int CLEAR_INTERVAL = 500;
+    private static final byte NEW_LINE = '\n';
+
+    private final CounselRepository counselRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @return 내보낸 상담 건수
+     */
+    @Transactional(readOnly = true)
+    public long exportNdjson(OutputStream outputStream) throws IOException {
+        long count = 0;
+        try (Stream<Counsel> counsels = counselRepository.streamAllOrderById()) {
+            Iterator<Counsel> iterator = counsels.iterator();
+            while (iterator.hasNext()) {
+                Counsel counsel = iterator.next();
+                outputStream.write(objectMapper.writeValueAsBytes(CounselResponse.from(counsel, false)));
+                outputStream.write(NEW_LINE);
+
+                if (++count % CLEAR_INTERVAL == 0) {
+                    outputStream.flush();
+                    entityManager.clear();
+                }
+            }
+        }
+        outputStream.flush();
+        log.info("상담 내보내기 완료: {}건", count);
+        return count;
+    }
+}
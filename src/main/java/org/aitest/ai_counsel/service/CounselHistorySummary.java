@@ -0,0 +1,38 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * 예측에 필요한 상담 이력 집계값입니다.
+ * 이력 전체를 불러오지 않고 DB 집계 결과만으로 예측할 수 있도록 합니다.
+ * 주기는 일 단위 소수로 표현하며, 감쇠 가중치는 최근 상담일수록 큰 유형별 가중치입니다.
+ */
+@Getter
+public class CounselHistorySummary {
+
+    private final Map<String, Integer> typeFrequency;
+    private final Map<String, Integer> keywordFrequency;
+    private final long counselCount;
+    private final double averageCycle;
+    private final double cycleDeviation;
+    private final LocalDateTime lastCounselDate;
+    private final String lastCounselType;
+    private final Map<String, Double> decayedTypeWeights;
+
+    public CounselHistorySummary(Map<String, Integer> typeFrequency, Map<String, Integer> keywordFrequency,
+                                 long counselCount, double averageCycle, double cycleDeviation,
+                                 LocalDateTime lastCounselDate, String lastCounselType,
+                                 Map<String, Double> decayedTypeWeights) {
+        this.typeFrequency = typeFrequency;
+        this.keywordFrequency = keywordFrequency;
+        this.counselCount = counselCount;
+        this.averageCycle = averageCycle;
+        this.cycleDeviation = cycleDeviation;
+        this.lastCounselDate = lastCounselDate;
+        this.lastCounselType = lastCounselType;
+        this.decayedTypeWeights = decayedTypeWeights;
+    }
+}
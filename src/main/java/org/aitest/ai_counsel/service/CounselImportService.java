@@ -0,0 +1,461 @@
+package org.aitest.ai_counsel.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.aitest.ai_counsel.dto.BatchAnalysisRequest;
+import org.aitest.ai_counsel.dto.CounselRequest;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselImportRepository;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 콜센터에서 내보낸 CSV / NDJSON 파일을 스트리밍으로 읽어 상담을 대량 적재합니다.
+ * <p>
+ * 각 행은 상담 등록 API 와 같은 {@link CounselRequest} 제약으로 검증하며,
+ * 올바른 행은 batch-size 단위로 JDBC 배치 INSERT 합니다.
+ * 배치를 커밋할 때 같은 트랜잭션에서 재개 지점을 갱신하므로, 실패한 작업은 같은 파일로 다시 요청하면
+ * 마지막으로 커밋된 행 다음부터 이어서 적재합니다.
+ */
+@Slf4j
+@Service
+public class CounselImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+    private static final long PROGRESS_LOG_INTERVAL = 100_000;
+    private static final DateTimeFormatter SPACED_DATE_TIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private final CounselImportRepository importRepository;
+    private final CounselJdbcRepository counselJdbcRepository;
+    private final BatchAnalysisService batchAnalysisService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final long analysisRetryMillis;
+
+    private final Set<Long> runningImports = ConcurrentHashMap.newKeySet();
+
+    public CounselImportService(CounselImportRepository importRepository,
+                                CounselJdbcRepository counselJdbcRepository,
+                                BatchAnalysisService batchAnalysisService,
+                                ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper,
+                                Validator validator,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${counsel.import.batch-size:2000}") int batchSize,
+                                @Value("${counsel.import.analysis-retry-interval-ms:200}") long analysisRetryMillis) {
+        this.importRepository = importRepository;
+        this.counselJdbcRepository = counselJdbcRepository;
+        this.batchAnalysisService = batchAnalysisService;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+        this.analysisRetryMillis = analysisRetryMillis;
+    }
+
+    /**
+     * 새 적재 작업을 등록합니다.
+     */
+    public CounselImport create(String source, CounselImport.Format format, boolean analyze) {
+        if (format == null) {
+            throw new InvalidRequestException("적재 파일 형식이 지정되지 않았습니다.");
+        }
+        CounselImport job = new CounselImport();
+        job.setSource(source == null || source.isBlank() ? "upload" : truncate(source, 200));
+        job.setFormat(format);
+        job.setAnalyze(analyze);
+        job.setStatus(CounselImport.Status.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        return importRepository.save(job);
+    }
+
+    public CounselImport getImport(Long id) {
+        return importRepository.findById(id)
+                .orElseThrow(() -> new BusinessException(ErrorCode.IMPORT_NOT_FOUND));
+    }
+
+    /**
+     * 적재 작업을 실행합니다. 재개하는 작업이면 재개 지점까지의 행을 건너뜁니다.
+     * 파일 읽기나 저장 중 오류가 나면 예외 대신 FAILED 상태의 결과를 반환하며, 같은 ID 로 다시 실행할 수 있습니다.
+     */
+    public ImportResult run(Long importId, InputStream input) {
+        CounselImport job = getImport(importId);
+        if (job.getStatus() == CounselImport.Status.COMPLETED) {
+            throw new InvalidRequestException("이미 완료된 적재 작업입니다: " + importId);
+        }
+        if (!runningImports.add(importId)) {
+            throw new BusinessException(ErrorCode.IMPORT_IN_PROGRESS);
+        }
+
+        try {
+            return execute(job, input);
+        } finally {
+            runningImports.remove(importId);
+        }
+    }
+
+    private ImportResult execute(CounselImport job, InputStream input) {
+        long skip = job.getProcessedRows();
+        Progress progress = new Progress(job);
+        List<RowError> errors = new ArrayList<>();
+        List<Counsel> batch = new ArrayList<>(batchSize);
+        long start = System.nanoTime();
+
+        markRunning(job);
+        log.info("상담 적재 시작: id={}, source={}, format={}, skip={}", job.getId(), job.getSource(), job.getFormat(), skip);
+
+        try (RowSource rows = open(job.getFormat(), input)) {
+            long rowNumber = 0;
+            Row row;
+            while ((row = rows.next()) != null) {
+                rowNumber++;
+                if (rowNumber <= skip) {
+                    continue;
+                }
+
+                String error = row.error != null ? row.error : validate(row.request);
+                if (error != null) {
+                    progress.rejected++;
+                    if (errors.size() < MAX_REPORTED_ERRORS) {
+                        errors.add(new RowError(rowNumber, row.line, error));
+                    }
+                } else {
+                    batch.add(row.request.toEntity());
+                }
+                progress.processed = rowNumber;
+
+                if (batch.size() >= batchSize) {
+                    commit(job, batch, progress);
+                }
+                if (rowNumber % PROGRESS_LOG_INTERVAL == 0) {
+                    log.info("상담 적재 진행: id={}, rows={}, {} rows/s", job.getId(), rowNumber,
+                            Math.round(ratePerSecond(rowNumber - skip, System.nanoTime() - start)));
+                }
+            }
+            commit(job, batch, progress);
+
+            job = finish(job.getId(), CounselImport.Status.COMPLETED, null);
+        } catch (Exception e) {
+            log.error("상담 적재 실패: id={}, 재개 지점={}", job.getId(), progress.committedRows, e);
+            job = finish(job.getId(), CounselImport.Status.FAILED, e.getMessage());
+        }
+
+        long elapsed = System.nanoTime() - start;
+        long rows = job.getProcessedRows() - skip;
+        log.info("상담 적재 종료: id={}, status={}, rows={}, imported={}, rejected={}, {} rows/s",
+                job.getId(), job.getStatus(), rows, job.getImportedRows(), job.getRejectedRows(),
+                Math.round(ratePerSecond(rows, elapsed)));
+        return new ImportResult(job, rows, TimeUnit.NANOSECONDS.toMillis(elapsed), errors);
+    }
+
+    /**
+     * 모은 상담을 배치로 저장하고 같은 트랜잭션에서 재개 지점을 갱신합니다.
+     */
+    private void commit(CounselImport job, List<Counsel> batch, Progress progress) {
+        if (batch.isEmpty() && progress.processed == progress.committedRows) {
+            return;
+        }
+
+        long imported = progress.imported + batch.size();
+        transactionTemplate.executeWithoutResult(status -> {
+            counselJdbcRepository.insertCounsels(batch);
+            if (!batch.isEmpty()) {
+                // 배치당 한 번 발행하고, 색인처럼 무거운 후속 작업은 각 리스너가 커밋 후 백그라운드에서 처리
+                eventPublisher.publishEvent(CounselBatchSavedEvent.from(batch));
+            }
+            importRepository.updateCheckpoint(job.getId(), progress.processed, imported, progress.rejected);
+        });
+        progress.imported = imported;
+        progress.committedRows = progress.processed;
+
+        if (job.isAnalyze() && !batch.isEmpty()) {
+            submitAnalysis(batch.stream().map(Counsel::getId).toList());
+        }
+        batch.clear();
+    }
+
+    /**
+     * 저장된 배치를 일괄 분석 작업으로 넘깁니다.
+     * 대기 작업이 가득 차면 잠시 기다렸다가 다시 요청하여 적재 속도를 분석 속도에 맞춥니다.
+     */
+    private void submitAnalysis(List<Long> ids) {
+        BatchAnalysisRequest request = new BatchAnalysisRequest();
+        request.setTarget(BatchAnalysisRequest.Target.IDS);
+        request.setIds(ids);
+        while (true) {
+            try {
+                batchAnalysisService.submit(request);
+                return;
+            } catch (BusinessException e) {
+                if (e.getErrorCode() != ErrorCode.BATCH_JOB_REJECTED) {
+                    throw e;
+                }
+                try {
+                    Thread.sleep(analysisRetryMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("분석 요청 대기 중 중단되었습니다.", interrupted);
+                }
+            }
+        }
+    }
+
+    private void markRunning(CounselImport job) {
+        job.setStatus(CounselImport.Status.RUNNING);
+        job.setLastError(null);
+        job.setFinishedAt(null);
+        importRepository.save(job);
+    }
+
+    private CounselImport finish(Long id, CounselImport.Status status, String error) {
+        CounselImport job = getImport(id);
+        job.setStatus(status);
+        job.setLastError(error == null ? null : truncate(error, 1000));
+        job.setFinishedAt(LocalDateTime.now());
+        return importRepository.save(job);
+    }
+
+    private String validate(CounselRequest request) {
+        Set<ConstraintViolation<CounselRequest>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private RowSource open(CounselImport.Format format, InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        return format == CounselImport.Format.CSV ? new CsvRowSource(reader) : new NdjsonRowSource(reader);
+    }
+
+    private static double ratePerSecond(long rows, long nanos) {
+        return nanos <= 0 ? 0.0 : rows * 1_000_000_000.0 / nanos;
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length);
+    }
+
+    /**
+     * 날짜는 ISO-8601(2024-01-15T09:30:00) 또는 2024-01-15 09:30:00 형식을 허용합니다.
+     */
+    static LocalDateTime parseDateTime(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String text = value.trim();
+        try {
+            return LocalDateTime.parse(text);
+        } catch (DateTimeParseException e) {
+            return LocalDateTime.parse(text, SPACED_DATE_TIME);
+        }
+    }
+
+    private interface RowSource extends Closeable {
+        /**
+         * 다음 데이터 행을 반환합니다. 더 없으면 null 입니다.
+         */
+        Row next() throws IOException;
+    }
+
+    private static final class Row {
+        private final long line;
+        private final CounselRequest request;
+        private final String error;
+
+        private Row(long line, CounselRequest request, String error) {
+            this.line = line;
+            this.request = request;
+            this.error = error;
+        }
+    }
+
+    private final class NdjsonRowSource implements RowSource {
+        private final BufferedReader reader;
+        private long line;
+
+        private NdjsonRowSource(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public Row next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+
+            try {
+                return new Row(line, objectMapper.readValue(text, CounselRequest.class), null);
+            } catch (JsonProcessingException e) {
+                return new Row(line, null, "JSON 형식 오류: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    /**
+     * 첫 레코드를 헤더로 읽어 열 순서를 정합니다. 열 이름은 camelCase 와 snake_case 를 모두 허용합니다.
+     */
+    private static final class CsvRowSource implements RowSource {
+        private static final List<String> COLUMNS = List.of("counselorid", "customerid", "content", "counseldate", "productinfo");
+
+        private final BufferedReader reader;
+        private final CsvRecordReader records;
+        private final Map<String, Integer> columnIndex = new HashMap<>();
+        private final int columnCount;
+
+        private CsvRowSource(BufferedReader reader) throws IOException {
+            this.reader = reader;
+            this.records = new CsvRecordReader(reader);
+
+            List<String> header = records.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+            }
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i).replace("\uFEFF", "").replace("_", "").trim().toLowerCase(Locale.ROOT);
+                if (COLUMNS.contains(name)) {
+                    columnIndex.put(name, i);
+                }
+            }
+            for (String required : List.of("counselorid", "customerid", "content")) {
+                if (!columnIndex.containsKey(required)) {
+                    throw new IllegalArgumentException("CSV 헤더에 필수 열이 없습니다: " + required);
+                }
+            }
+            this.columnCount = header.size();
+        }
+
+        @Override
+        public Row next() throws IOException {
+            long line = records.getLineNumber();
+            List<String> fields = records.next();
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() != columnCount) {
+                return new Row(line, null, "열 수가 헤더와 다릅니다: " + fields.size() + "/" + columnCount);
+            }
+
+            CounselRequest request = new CounselRequest();
+            request.setCounselorId(field(fields, "counselorid"));
+            request.setCustomerId(field(fields, "customerid"));
+            request.setContent(field(fields, "content"));
+            request.setProductInfo(field(fields, "productinfo"));
+            try {
+                request.setCounselDate(parseDateTime(field(fields, "counseldate")));
+            } catch (DateTimeParseException e) {
+                return new Row(line, null, "상담 일시 형식 오류: " + field(fields, "counseldate"));
+            }
+            return new Row(line, request, null);
+        }
+
+        private String field(List<String> fields, String column) {
+            Integer index = columnIndex.get(column);
+            if (index == null) {
+                return null;
+            }
+            String value = fields.get(index);
+            return value.isEmpty() ? null : value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class Progress {
+        private long processed;
+        private long committedRows;
+        private long imported;
+        private long rejected;
+
+        private Progress(CounselImport job) {
+            this.processed = job.getProcessedRows();
+            this.committedRows = job.getProcessedRows();
+            this.imported = job.getImportedRows();
+            this.rejected = job.getRejectedRows();
+        }
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class RowError {
+        private final long row;
+        private final long line;
+        private final String message;
+    }
+
+    @Getter
+    public static class ImportResult {
+        private final CounselImport job;
+        private final long rows;
+        private final long elapsedMillis;
+        private final List<RowError> errors;
+
+        public ImportResult(CounselImport job, long rows, long elapsedMillis, List<RowError> errors) {
+            this.job = job;
+            this.rows = rows;
+            this.elapsedMillis = elapsedMillis;
+            this.errors = Collections.unmodifiableList(errors);
+        }
+
+        /**
+         * 이번 실행에서 읽은 행 기준의 초당 처리량입니다.
+         */
+        public double getRowsPerSecond() {
+            return elapsedMillis == 0 ? rows : rows * 1000.0 / elapsedMillis;
+        }
+    }
+}
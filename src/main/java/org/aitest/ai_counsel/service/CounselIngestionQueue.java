@@ -0,0 +1,374 @@
+package org.aitest.ai_counsel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.dto.CounselRequest;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상담 저장 요청을 제한된 큐에 모아 JDBC 배치로 기록하는 쓰기 지연(write-behind) 적재기입니다.
+ * <p>
+ * 요청 스레드는 큐에 넣는 즉시 응답하고, 적재 스레드가 batch-size 만큼 모이거나 max-delay 가 지나면
+ * 한 트랜잭션에서 배치 INSERT 한 뒤 배치 저장 이벤트를 한 번 발행합니다.
+ * 큐가 가득 차면 offer-timeout 만큼 기다린 뒤 거절하여 호출자에게 부하를 되돌립니다.
+ * <p>
+ * 이미 202 로 접수한 상담은 버리지 않습니다. 배치 기록이 실패하면 retry-backoff 부터 두 배씩 늘려 max-attempts 회까지
+ * 다시 시도하고, 그래도 실패하면 배치를 반으로 나눠 가며 기록하여 문제 행만 골라냅니다.
+ * 한 건 단위에서도 실패한 상담은 dead-letter-file 에 NDJSON 으로 남기므로 원인을 고친 뒤
+ * POST /api/counsels/import 로 다시 적재할 수 있습니다.
+ * <p>
+ * 적재 스레드는 {@link SmartLifecycle} 로 웹 서버보다 먼저 시작하고 나중에 멈추며,
+ * 멈출 때는 새 요청을 받지 않고 큐에 남은 상담을 모두 기록합니다.
+ */
+@Slf4j
+@Component
+public class CounselIngestionQueue implements SmartLifecycle {
+
+    /** 웹 서버(DEFAULT_PHASE - 2048)보다 먼저 시작하고, 요청 수신이 끝난 뒤 멈추도록 더 낮은 단계를 사용 */
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final CounselJdbcRepository counselJdbcRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<Counsel> queue;
+    private final int capacity;
+    private final int batchSize;
+    private final long maxDelayNanos;
+    private final long offerTimeoutMillis;
+    private final int maxAttempts;
+    private final long retryBackoffMillis;
+    private final Path deadLetterFile;
+    private final ObjectMapper objectMapper;
+
+    private Thread writer;
+    private volatile boolean running;
+    /** 접수(읽기)와 종료(쓰기)를 배타로 묶어, 종료 후 큐에 들어와 기록되지 않는 상담이 없도록 함 */
+    private final ReadWriteLock acceptLock = new ReentrantReadWriteLock();
+    private volatile long lastFlushMillis;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder retried = new LongAdder();
+    private final LongAdder deadLettered = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+
+    public CounselIngestionQueue(CounselJdbcRepository counselJdbcRepository,
+                                 ApplicationEventPublisher eventPublisher,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${counsel.ingestion.queue-capacity:10000}") int capacity,
+                                 @Value("${counsel.ingestion.batch-size:500}") int batchSize,
+                                 @Value("${counsel.ingestion.max-delay:50ms}") Duration maxDelay,
+                                 @Value("${counsel.ingestion.offer-timeout:100ms}") Duration offerTimeout,
+                                 @Value("${counsel.ingestion.max-attempts:3}") int maxAttempts,
+                                 @Value("${counsel.ingestion.retry-backoff:200ms}") Duration retryBackoff,
+                                 @Value("${counsel.ingestion.dead-letter-file:dead-letter/counsel-ingestion.ndjson}") Path deadLetterFile,
+                                 ObjectMapper objectMapper) {
+        this.counselJdbcRepository = counselJdbcRepository;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.capacity = capacity;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayNanos = maxDelay.toNanos();
+        this.offerTimeoutMillis = offerTimeout.toMillis();
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retryBackoffMillis = retryBackoff.toMillis();
+        this.deadLetterFile = deadLetterFile;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::run, "counsel-ingestion");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * 새 요청을 받지 않고 큐에 남은 상담을 모두 기록한 뒤 적재 스레드를 멈춥니다.
+     */
+    @Override
+    public synchronized void stop() {
+        if (!running) {
+            return;
+        }
+        // 진행 중인 접수가 큐에 넣기를 마친 뒤 멈추므로 적재 스레드가 남은 상담을 모두 기록
+        acceptLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            acceptLock.writeLock().unlock();
+        }
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (!queue.isEmpty()) {
+            log.error("종료 시점까지 기록하지 못한 상담: {}건", queue.size());
+        }
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    /**
+     * 상담을 적재 큐에 넣습니다.
+     *
+     * @throws BusinessException 큐가 가득 찼거나(429) 적재기가 종료된 경우(503)
+     */
+    public void submit(Counsel counsel) {
+        if (counsel == null) {
+            throw new InvalidRequestException(ErrorCode.INVALID_INPUT_VALUE);
+        }
+
+        boolean offered;
+        acceptLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new BusinessException(ErrorCode.INGESTION_STOPPED);
+            }
+            offered = queue.offer(counsel, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            offered = false;
+        } finally {
+            acceptLock.readLock().unlock();
+        }
+        if (!offered) {
+            rejected.increment();
+            throw new BusinessException(ErrorCode.INGESTION_QUEUE_FULL);
+        }
+        accepted.increment();
+    }
+
+    private void run() {
+        List<Counsel> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                // 종료 중에도 이미 꺼낸 상담은 기록
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * 첫 상담을 기다린 뒤, 배치가 차거나 최대 지연 시간이 지날 때까지 추가로 모읍니다.
+     */
+    private void collect(List<Counsel> batch) throws InterruptedException {
+        Counsel first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+
+        long deadline = System.nanoTime() + maxDelayNanos;
+        while (batch.size() < batchSize) {
+            if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || !running) {
+                return;
+            }
+            Counsel next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<Counsel> batch) {
+        long start = System.nanoTime();
+        try {
+            Exception failure = writeWithRetry(batch);
+            if (failure != null) {
+                log.warn("상담 배치 기록 실패, 나눠서 다시 기록: {}건", batch.size(), failure);
+                bisect(batch, failure);
+            }
+        } finally {
+            lastFlushMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * 일시적인 오류(커넥션, 잠금 대기 등)에 대비해 간격을 두 배씩 늘려 가며 다시 시도합니다.
+     *
+     * @return 마지막 실패 원인, 성공하면 null
+     */
+    private Exception writeWithRetry(List<Counsel> batch) {
+        long backoff = retryBackoffMillis;
+        for (int attempt = 1; ; attempt++) {
+            Exception failure = write(batch);
+            if (failure == null || attempt >= maxAttempts) {
+                return failure;
+            }
+            retried.increment();
+            try {
+                Thread.sleep(backoff);
+            } catch (InterruptedException e) {
+                // 종료 중이면 기다리지 않고 바로 나눠서 기록
+                Thread.currentThread().interrupt();
+                return failure;
+            }
+            backoff *= 2;
+        }
+    }
+
+    /**
+     * 기록에 실패한 배치를 반씩 나눠 기록하여 문제 행만 dead-letter 로 보냅니다.
+     * 재시도는 전체 배치에서 이미 했으므로 나눈 배치는 한 번씩만 시도합니다.
+     */
+    private void bisect(List<Counsel> batch, Exception cause) {
+        if (batch.size() == 1) {
+            failed.increment();
+            deadLetter(batch.get(0), cause);
+            return;
+        }
+        int middle = batch.size() / 2;
+        for (List<Counsel> half : List.of(batch.subList(0, middle), batch.subList(middle, batch.size()))) {
+            Exception failure = write(half);
+            if (failure != null) {
+                bisect(half, failure);
+            }
+        }
+    }
+
+    private Exception write(List<Counsel> batch) {
+        try {
+            // 이벤트를 같은 트랜잭션에서 발행하여 커밋 이후에만 색인/집계에 반영되도록 함
+            transactionTemplate.executeWithoutResult(status -> {
+                counselJdbcRepository.insertCounsels(batch);
+                eventPublisher.publishEvent(CounselBatchSavedEvent.from(batch));
+            });
+            written.add(batch.size());
+            batches.increment();
+            return null;
+        } catch (Exception e) {
+            // 롤백된 배치에서 채번된 ID 는 무효
+            batch.forEach(counsel -> counsel.setId(null));
+            return e;
+        }
+    }
+
+    /**
+     * 기록할 수 없는 상담을 대량 적재 API 가 읽는 NDJSON 형식으로 남깁니다.
+     */
+    private void deadLetter(Counsel counsel, Exception cause) {
+        CounselRequest request = new CounselRequest();
+        request.setCounselorId(counsel.getCounselorId());
+        request.setCustomerId(counsel.getCustomerId());
+        request.setContent(counsel.getContent());
+        request.setCounselDate(counsel.getCounselDate());
+        request.setProductInfo(counsel.getProductInfo());
+        try {
+            String line = objectMapper.writeValueAsString(request);
+            if (deadLetterFile.getParent() != null) {
+                Files.createDirectories(deadLetterFile.getParent());
+            }
+            try (BufferedWriter writer = Files.newBufferedWriter(deadLetterFile, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                writer.write(line);
+                writer.newLine();
+            }
+            deadLettered.increment();
+            log.error("기록할 수 없는 상담을 {} 에 보관: customerId={}", deadLetterFile, counsel.getCustomerId(), cause);
+        } catch (IOException e) {
+            // 파일에도 남길 수 없으면 로그가 마지막 기록
+            log.error("상담 보관 실패: counselorId={}, customerId={}, counselDate={}, content={}",
+                    counsel.getCounselorId(), counsel.getCustomerId(), counsel.getCounselDate(),
+                    counsel.getContent(), e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getAccepted() {
+        return accepted.sum();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    public long getRetried() {
+        return retried.sum();
+    }
+
+    public long getDeadLettered() {
+        return deadLettered.sum();
+    }
+
+    public Path getDeadLetterFile() {
+        return deadLetterFile;
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getLastFlushMillis() {
+        return lastFlushMillis;
+    }
+}
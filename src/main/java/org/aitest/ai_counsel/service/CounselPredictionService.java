@@ -1,138 +1,162 @@
 package org.aitest.ai_counsel.service;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
-import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
 import org.aitest.ai_counsel.exception.AnalysisException;
 import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * 상담 이력 집계로부터 다음 상담의 유형과 시기를 예측합니다.
+ * <p>
+ * 다음 상담 유형은 고객 이력의 감쇠 가중치로 구한 유형 분포와, 마지막 상담 유형에서 시작하는 전체 고객의 유형 전이 확률을
+ * markov-weight 비율로 섞어 가장 확률이 높은 유형으로 정합니다.
+ * 다음 상담일은 마지막 상담일에 평균 주기를 더하고, 주기의 표준편차에 interval-z 를 곱한 범위를 함께 제공합니다.
+ */
 @Service
-@RequiredArgsConstructor
 public class CounselPredictionService {
 
-    private final CounselAnalysisService analysisService;
+    public static final int TOP_KEYWORD_COUNT = 5;
+    private static final String DEFAULT_TYPE = "일반상담";
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ISO_LOCAL_DATE;
 
-    /**
-     * 과거 상담 내역을 기반으로 다음 상담을 예측합니다.
-     */
-    public PredictionResult predictNextCounsel(List<Counsel> counselHistory) {
-        return Optional.ofNullable(counselHistory)
-                .filter(history -> !history.isEmpty())
-                .map(history -> {
-                    try {
-                        // 1. 상담 패턴 분석
-                        Map<String, Integer> typeFrequency = analyzeTypeFrequency(history);
-
-                        // 2. 주요 키워드 분석
-                        Map<String, Integer> keywordFrequency = analyzeKeywordFrequency(history);
-
-                        // 3. 상담 주기 분석
-                        double averageCycle = calculateAverageCycle(history);
-
-                        // 4. 예측 결과 생성
-                        String predictedType = predictMostLikelyType(typeFrequency);
-                        String details = generatePredictionDetails(typeFrequency, averageCycle, history.size());
-
-                        // 상위 5개 키워드만 반환
-                        Map<String, Integer> topKeywords = keywordFrequency.entrySet().stream()
-                                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
-                                .limit(5)
-                                .collect(Collectors.toMap(
-                                        Map.Entry::getKey,
-                                        Map.Entry::getValue,
-                                        (e1, e2) -> e1,
-                                        LinkedHashMap::new
-                                ));
-
-                        return new PredictionResult(predictedType, details, topKeywords);
-                    } catch (Exception e) {
-                        throw new AnalysisException("상담 예측 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
-                    }
-                })
-                .orElseThrow(() -> new InvalidRequestException("예측을 위한 상담 이력이 없습니다."));
+    private final TypeTransitionModel transitionModel;
+    private final double markovWeight;
+    private final double intervalZ;
+
+    public CounselPredictionService(TypeTransitionModel transitionModel,
+                                    @Value("${counsel.prediction.markov-weight:0.5}") double markovWeight,
+                                    @Value("${counsel.prediction.interval-z:1.96}") double intervalZ) {
+        this.transitionModel = transitionModel;
+        this.markovWeight = Math.min(1.0, Math.max(0.0, markovWeight));
+        this.intervalZ = intervalZ;
     }
 
     /**
-     * 상담 유형 빈도를 분석합니다.
+     * 집계된 상담 이력을 기반으로 다음 상담을 예측합니다.
      */
-    private Map<String, Integer> analyzeTypeFrequency(List<Counsel> counselHistory) {
-        Map<String, Integer> typeFrequency = new HashMap<>();
-
-        counselHistory.forEach(counsel ->
-            Optional.ofNullable(counsel.getAnalysis())
-                .filter(analysis -> analysis.contains("상담 유형:"))
-                .map(analysis -> analysis.split("\n")[0].replace("상담 유형: ", "").trim())
-                .ifPresent(type -> typeFrequency.merge(type, 1, Integer::sum))
-        );
+    public PredictionResult predictNextCounsel(CounselHistorySummary summary) {
+        if (summary == null || summary.getCounselCount() == 0) {
+            throw new InvalidRequestException("예측을 위한 상담 이력이 없습니다.");
+        }
 
-        return typeFrequency;
+        try {
+            Map<String, Double> typeProbabilities = scoreTypes(summary);
+            String predictedType = typeProbabilities.entrySet().stream()
+                    .max(Map.Entry.comparingByValue())
+                    .map(Map.Entry::getKey)
+                    .orElse(DEFAULT_TYPE);
+
+            LocalDateTime nextCounselDate = null;
+            LocalDateTime earliestDate = null;
+            LocalDateTime latestDate = null;
+            if (summary.getCounselCount() >= 2 && summary.getLastCounselDate() != null) {
+                double cycle = summary.getAverageCycle();
+                double spread = intervalZ * summary.getCycleDeviation();
+                nextCounselDate = plusDays(summary.getLastCounselDate(), cycle);
+                earliestDate = plusDays(summary.getLastCounselDate(), Math.max(0.0, cycle - spread));
+                latestDate = plusDays(summary.getLastCounselDate(), cycle + spread);
+            }
+
+            // 상위 5개 키워드만 반환
+            Map<String, Integer> topKeywords = summary.getKeywordFrequency().entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                    .limit(TOP_KEYWORD_COUNT)
+                    .collect(Collectors.toMap(
+                            Map.Entry::getKey,
+                            Map.Entry::getValue,
+                            (e1, e2) -> e1,
+                            LinkedHashMap::new
+                    ));
+
+            String details = generatePredictionDetails(summary, typeProbabilities, nextCounselDate, earliestDate, latestDate);
+            return new PredictionResult(predictedType, details, topKeywords, typeProbabilities,
+                    summary.getAverageCycle(), nextCounselDate, earliestDate, latestDate);
+        } catch (Exception e) {
+            throw new AnalysisException("상담 예측 처리 중 오류가 발생했습니다: " + e.getMessage(), e);
+        }
     }
 
     /**
-     * 주요 키워드 빈도를 분석합니다.
+     * 집계로부터 다음 상담을 예측하여 저장할 예측 행을 만듭니다. 고객 / 상담사 ID 는 호출하는 쪽에서 채웁니다.
      */
-    private Map<String, Integer> analyzeKeywordFrequency(List<Counsel> counselHistory) {
-        Map<String, Integer> keywordFrequency = new HashMap<>();
-
-        counselHistory.forEach(counsel ->
-            Optional.ofNullable(counsel.getAnalysis())
-                .filter(analysis -> analysis.contains("주요 키워드:"))
-                .map(analysis -> analysis.split("\n")[2].replace("주요 키워드: ", "").split(", "))
-                .ifPresent(keywords -> {
-                    for (String keyword : keywords) {
-                        keywordFrequency.merge(keyword.trim(), 1, Integer::sum);
-                    }
-                })
-        );
-
-        return keywordFrequency;
+    public CounselPrediction createPrediction(CounselAggregate aggregate, LocalDateTime generatedAt) {
+        CounselHistorySummary summary = aggregate.toSummary(TOP_KEYWORD_COUNT);
+        PredictionResult result = predictNextCounsel(summary);
+
+        CounselPrediction prediction = new CounselPrediction();
+        prediction.setPredictedType(result.getPredictedType());
+        prediction.setTypeProbability(result.getTypeProbabilities().getOrDefault(result.getPredictedType(), 0.0));
+        prediction.setAverageCycle(result.getAverageCycle());
+        prediction.setNextCounselDate(result.getNextCounselDate());
+        prediction.setNextCounselEarliest(result.getNextCounselEarliest());
+        prediction.setNextCounselLatest(result.getNextCounselLatest());
+        prediction.setDetails(result.getDetails());
+        prediction.setTopKeywords(new ArrayList<>(result.getTopKeywords().keySet()));
+        prediction.setCounselCount(summary.getCounselCount());
+        prediction.setLastCounselId(aggregate.getLatestCounselId());
+        prediction.setGeneratedAt(generatedAt);
+        return prediction;
     }
 
     /**
-     * 상담 간격을 분석합니다.
+     * 감쇠 가중치 분포와 마지막 상담 유형의 전이 확률을 섞어 다음 상담 유형별 확률을 구합니다.
+     * 한쪽이 없으면 다른 쪽만 사용합니다.
      */
-    private double calculateAverageCycle(List<Counsel> counselHistory) {
-        if (counselHistory.size() < 2) {
-            return 0.0;
+    private Map<String, Double> scoreTypes(CounselHistorySummary summary) {
+        Map<String, Double> history = normalize(summary.getDecayedTypeWeights());
+        Map<String, Double> transitions = transitionModel.transitionProbabilities(summary.getLastCounselType());
+        if (transitions.isEmpty()) {
+            return history;
         }
-
-        long totalDays = 0;
-        for (int i = 0; i < counselHistory.size() - 1; i++) {
-            LocalDateTime current = counselHistory.get(i).getCounselDate();
-            LocalDateTime next = counselHistory.get(i + 1).getCounselDate();
-            totalDays += Math.abs(current.until(next, java.time.temporal.ChronoUnit.DAYS));
+        if (history.isEmpty()) {
+            return transitions;
         }
 
-        return (double) totalDays / (counselHistory.size() - 1);
+        Map<String, Double> combined = new LinkedHashMap<>();
+        history.forEach((type, probability) -> combined.merge(type, (1 - markovWeight) * probability, Double::sum));
+        transitions.forEach((type, probability) -> combined.merge(type, markovWeight * probability, Double::sum));
+        return combined;
     }
 
-    /**
-     * 가장 가능성이 높은 상담 유형을 예측합니다.
-     */
-    private String predictMostLikelyType(Map<String, Integer> typeFrequency) {
-        return typeFrequency.entrySet().stream()
-                .max(Map.Entry.comparingByValue())
-                .map(Map.Entry::getKey)
-                .orElse("일반상담");
+    private static Map<String, Double> normalize(Map<String, Double> weights) {
+        double total = weights.values().stream().mapToDouble(Double::doubleValue).sum();
+        Map<String, Double> normalized = new LinkedHashMap<>();
+        if (total > 0) {
+            weights.forEach((type, weight) -> normalized.put(type, weight / total));
+        }
+        return normalized;
+    }
+
+    private static LocalDateTime plusDays(LocalDateTime date, double days) {
+        return date.plusSeconds(Math.round(days * 86_400));
     }
 
     /**
      * 예측 세부 정보를 생성합니다.
      */
-    private String generatePredictionDetails(Map<String, Integer> typeFrequency, double averageCycle, int historySize) {
+    private String generatePredictionDetails(CounselHistorySummary summary, Map<String, Double> typeProbabilities,
+                                             LocalDateTime nextCounselDate, LocalDateTime earliestDate,
+                                             LocalDateTime latestDate) {
         StringBuilder details = new StringBuilder();
-        details.append(String.format("상담 주기: %.1f일\n", averageCycle));
+        details.append(String.format("예상 상담 주기: %.1f일\n", summary.getAverageCycle()));
+        if (nextCounselDate != null) {
+            details.append(String.format("다음 상담 예상일: %s (범위: %s ~ %s)\n", nextCounselDate.format(DATE_FORMAT),
+                    earliestDate.format(DATE_FORMAT), latestDate.format(DATE_FORMAT)));
+        }
 
         // 상담 유형에 따른 세부 정보 추가
-        for (Map.Entry<String, Integer> entry : typeFrequency.entrySet()) {
+        for (Map.Entry<String, Integer> entry : summary.getTypeFrequency().entrySet()) {
             String type = entry.getKey();
             Integer count = entry.getValue();
-            details.append(String.format(" - %s: %d회\n", type, count));
+            details.append(String.format(" - %s: %d회 (다음 상담 확률 %.1f%%)\n",
+                    type, count, typeProbabilities.getOrDefault(type, 0.0) * 100));
         }
 
         return details.toString();
@@ -143,11 +167,24 @@ public class CounselPredictionService {
         private final String predictedType;
         private final String details;
         private final Map<String, Integer> topKeywords;
-
-        public PredictionResult(String predictedType, String details, Map<String, Integer> topKeywords) {
+        private final Map<String, Double> typeProbabilities;
+        private final double averageCycle;
+        private final LocalDateTime nextCounselDate;
+        private final LocalDateTime nextCounselEarliest;
+        private final LocalDateTime nextCounselLatest;
+
+        public PredictionResult(String predictedType, String details, Map<String, Integer> topKeywords,
+                                Map<String, Double> typeProbabilities, double averageCycle,
+                                LocalDateTime nextCounselDate, LocalDateTime nextCounselEarliest,
+                                LocalDateTime nextCounselLatest) {
             this.predictedType = predictedType;
             this.details = details;
             this.topKeywords = topKeywords;
+            this.typeProbabilities = typeProbabilities;
+            this.averageCycle = averageCycle;
+            this.nextCounselDate = nextCounselDate;
+            this.nextCounselEarliest = nextCounselEarliest;
+            this.nextCounselLatest = nextCounselLatest;
         }
     }
 }
@@ -0,0 +1,205 @@
+package org.aitest.ai_counsel.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import jakarta.persistence.EntityManager;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
+import org.aitest.ai_counsel.repository.CounselSummary;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 상담 단건과 고객/상담사별 상담 내역 페이지를 메모리에 캐시합니다.
+ * <p>
+ * 상담 단건은 영속성 컨텍스트에서 분리한 뒤 캐시하므로 쓰기 경로는 이 캐시를 거치지 않고 저장소에서 다시 읽어야 합니다.
+ * 상담 저장/분석 이벤트가 커밋되면 해당 상담과 그 고객, 상담사의 내역만 무효화합니다.
+ * 내역 페이지는 소유자별 세대 번호를 키에 포함하여, 무효화하면 세대 번호만 지우고 이전 페이지는 크기 제한으로 밀려나게 합니다.
+ * 세대 번호는 다시 쓰지 않으므로 무효화 전에 읽기 시작한 조회 결과는 이전 세대로 저장되어 다시 보이지 않습니다.
+ */
+@Component
+public class CounselReadCache {
+
+    private enum Owner {
+        CUSTOMER, COUNSELOR
+    }
+
+    private final EntityManager entityManager;
+    private final boolean enabled;
+    private final Cache<Long, Counsel> counsels;
+    private final Cache<HistoryKey, List<CounselSummary>> histories;
+    private final Cache<String, Long> generations;
+    private final AtomicLong nextGeneration = new AtomicLong();
+
+    public CounselReadCache(EntityManager entityManager,
+                            @Value("${counsel.cache.enabled:true}") boolean enabled,
+                            @Value("${counsel.cache.counsel.maximum-size:10000}") long counselMaximumSize,
+                            @Value("${counsel.cache.history.maximum-size:10000}") long historyMaximumSize,
+                            @Value("${counsel.cache.ttl:10m}") Duration ttl) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+        this.counsels = Caffeine.newBuilder()
+                .maximumSize(counselMaximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.histories = Caffeine.newBuilder()
+                .maximumSize(historyMaximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // 세대 번호가 제거되면 다음 조회에서 새 번호를 받으므로 이전 페이지와 섞이지 않음
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(historyMaximumSize)
+                .build();
+    }
+
+    /**
+     * 상담을 캐시에서 조회하고, 없으면 loader 로 읽어 분리된 상태로 캐시합니다. 없는 상담이면 null 을 반환합니다.
+     * 같은 상담을 읽는 중에 무효화되면 읽기가 끝난 뒤 제거되므로 이전 값이 남지 않습니다.
+     */
+    public Counsel getCounsel(Long id, Function<Long, Counsel> loader) {
+        if (!enabled) {
+            return loader.apply(id);
+        }
+        return counsels.get(id, key -> detach(loader.apply(key)));
+    }
+
+    public List<CounselSummary> getCustomerHistory(String customerId, String cursor, int size,
+                                                   Supplier<List<CounselSummary>> loader) {
+        return getHistory(Owner.CUSTOMER, customerId, cursor, size, loader);
+    }
+
+    public List<CounselSummary> getCounselorHistory(String counselorId, String cursor, int size,
+                                                    Supplier<List<CounselSummary>> loader) {
+        return getHistory(Owner.COUNSELOR, counselorId, cursor, size, loader);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselSaved(CounselSavedEvent event) {
+        invalidate(event.getCounselId(), event.getCustomerId(), event.getCounselorId());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselsSaved(CounselBatchSavedEvent event) {
+        event.getCounsels().forEach(this::onCounselSaved);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselAnalyzed(CounselAnalyzedEvent event) {
+        invalidate(event.getCounselId(), event.getCustomerId(), event.getCounselorId());
+    }
+
+    private List<CounselSummary> getHistory(Owner owner, String ownerId, String cursor, int size,
+                                            Supplier<List<CounselSummary>> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        // 세대 번호를 먼저 읽어야 조회 중 무효화된 결과가 새 세대로 저장되지 않음
+        HistoryKey key = new HistoryKey(owner, ownerId, generation(owner, ownerId), cursor, size);
+        return histories.get(key, ignored -> List.copyOf(loader.get()));
+    }
+
+    private void invalidate(Long counselId, String customerId, String counselorId) {
+        if (counselId != null) {
+            counsels.invalidate(counselId);
+        }
+        if (customerId != null) {
+            generations.invalidate(ownerKey(Owner.CUSTOMER, customerId));
+        }
+        if (counselorId != null) {
+            generations.invalidate(ownerKey(Owner.COUNSELOR, counselorId));
+        }
+    }
+
+    private long generation(Owner owner, String ownerId) {
+        return generations.get(ownerKey(owner, ownerId), ignored -> nextGeneration.incrementAndGet());
+    }
+
+    /**
+     * 요청 간에 공유되므로 지연 로딩 컬렉션을 채운 뒤 영속성 컨텍스트에서 분리합니다.
+     */
+    private Counsel detach(Counsel counsel) {
+        if (counsel == null) {
+            return null;
+        }
+        Hibernate.initialize(counsel.getKeywords());
+        if (entityManager.contains(counsel)) {
+            entityManager.detach(counsel);
+        }
+        return counsel;
+    }
+
+    private static String ownerKey(Owner owner, String ownerId) {
+        return owner.name() + ":" + ownerId;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long getCounselSize() {
+        return counsels.estimatedSize();
+    }
+
+    public CacheStats getCounselStats() {
+        return counsels.stats();
+    }
+
+    public long getHistorySize() {
+        return histories.estimatedSize();
+    }
+
+    public CacheStats getHistoryStats() {
+        return histories.stats();
+    }
+
+    private static final class HistoryKey {
+        private final Owner owner;
+        private final String ownerId;
+        private final long generation;
+        private final String cursor;
+        private final int size;
+
+        private HistoryKey(Owner owner, String ownerId, long generation, String cursor, int size) {
+            this.owner = owner;
+            this.ownerId = ownerId;
+            this.generation = generation;
+            this.cursor = cursor;
+            this.size = size;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof HistoryKey other)) {
+                return false;
+            }
+            return generation == other.generation
+                    && size == other.size
+                    && owner == other.owner
+                    && ownerId.equals(other.ownerId)
+                    && Objects.equals(cursor, other.cursor);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(owner, ownerId, generation, cursor, size);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package org.aitest.ai_counsel.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.co.shineware.nlp.komoran.model.Token;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.event.CounselBatchSavedEvent;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상담 내용과 상품 정보를 형태소 단위로 색인하는 메모리 역색인입니다.
+ * <p>
+ * 시작 시 전체 상담을 청크 단위로 읽어 병렬로 형태소 분석한 뒤 새 색인을 만들어 교체하고,
+ * 이후에는 상담 저장 이벤트로 갱신합니다. 재구축 중에 들어온 갱신은 교체 직후 다시 반영합니다.
+ * <p>
+ * 저장 이벤트는 커밋한 스레드에서 형태소 분석하지 않고 ID 별로 합쳐지는 대기열에 넣기만 하며,
+ * 색인 스레드가 모인 상담을 한꺼번에 분석하여 반영합니다. 대기열이 index-queue-capacity 를 넘으면
+ * 쌓인 갱신을 버리고 전체 재구축으로 대신합니다. 형태소는 분석 서비스와 공유하므로
+ * 자동 분석과 같은 상담을 색인할 때 다시 분석하지 않습니다.
+ */
+@Slf4j
+@Component
+public class CounselSearchIndex {
+
+    public enum Field {
+        ALL, CONTENT, PRODUCT
+    }
+
+    private static final int CONTENT_FIELD = 0;
+    private static final int PRODUCT_FIELD = 1;
+    private static final int FIELD_COUNT = 2;
+
+    private final CounselAnalysisService analysisService;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor workerExecutor;
+    private final boolean rebuildOnStartup;
+    private final int chunkSize;
+    private final double productWeight;
+    private final int indexQueueCapacity;
+    private final ExecutorService indexer;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final List<IndexedCounsel> pendingDuringRebuild = new ArrayList<>();
+    private InvertedIndex index = new InvertedIndex(FIELD_COUNT);
+    private boolean rebuilding;
+    /** 재구축 중에 들어온 재구축 요청 (진행 중인 재구축이 끝나면 한 번 더 수행) */
+    private boolean rebuildAgain;
+    private volatile boolean ready;
+    private volatile long lastRebuildMillis;
+
+    /** 색인 대기 중인 상담 (같은 ID 는 마지막 내용만 유지) */
+    private final Map<Long, PendingCounsel> pending = new LinkedHashMap<>();
+    private boolean drainScheduled;
+    private boolean rebuildRequested;
+
+    public CounselSearchIndex(CounselAnalysisService analysisService,
+                              JdbcTemplate jdbcTemplate,
+                              @Qualifier("batchAnalysisExecutor") ThreadPoolTaskExecutor workerExecutor,
+                              @Value("${counsel.search.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                              @Value("${counsel.search.rebuild-chunk-size:2000}") int chunkSize,
+                              @Value("${counsel.search.product-weight:2.0}") double productWeight,
+                              @Value("${counsel.search.index-queue-capacity:50000}") int indexQueueCapacity) {
+        this.analysisService = analysisService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.workerExecutor = workerExecutor;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.chunkSize = chunkSize;
+        this.productWeight = productWeight;
+        this.indexQueueCapacity = indexQueueCapacity;
+        this.indexer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "counsel-search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) {
+            ready = true;
+            return;
+        }
+        Thread thread = new Thread(this::rebuild, "counsel-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselSaved(CounselSavedEvent event) {
+        enqueue(event.getCounselId(), event.getContent(), event.getProductInfo());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCounselsSaved(CounselBatchSavedEvent event) {
+        event.getCounsels().forEach(this::onCounselSaved);
+    }
+
+    /**
+     * 상담을 색인 대기열에 넣습니다. 같은 ID 가 대기 중이면 내용만 교체합니다.
+     */
+    public void enqueue(long counselId, String content, String productInfo) {
+        synchronized (pending) {
+            if (rebuildRequested) {
+                // 예약된 재구축이 커밋된 상담을 모두 읽음
+                return;
+            }
+            if (pending.size() >= indexQueueCapacity && !pending.containsKey(counselId)) {
+                log.warn("상담 검색 색인 대기열 초과({}건), 전체 재구축으로 대신합니다.", pending.size());
+                pending.clear();
+                rebuildRequested = true;
+            } else {
+                pending.put(counselId, new PendingCounsel(counselId, content, productInfo));
+            }
+            if (!drainScheduled) {
+                try {
+                    indexer.execute(this::drain);
+                    drainScheduled = true;
+                } catch (RejectedExecutionException e) {
+                    log.warn("종료 중이라 상담 검색 색인을 건너뜁니다: id={}", counselId);
+                }
+            }
+        }
+    }
+
+    /**
+     * 색인 스레드에서 대기 중인 상담을 chunk-size 만큼씩 꺼내 분석하고 한 번의 잠금으로 반영합니다.
+     */
+    private void drain() {
+        while (true) {
+            List<Object[]> rows;
+            boolean rebuild;
+            synchronized (pending) {
+                rebuild = rebuildRequested;
+                rebuildRequested = false;
+                rows = new ArrayList<>(Math.min(pending.size(), chunkSize));
+                Iterator<PendingCounsel> iterator = pending.values().iterator();
+                while (iterator.hasNext() && rows.size() < chunkSize) {
+                    PendingCounsel counsel = iterator.next();
+                    rows.add(new Object[]{counsel.id, counsel.content, counsel.productInfo});
+                    iterator.remove();
+                }
+                if (!rebuild && rows.isEmpty()) {
+                    drainScheduled = false;
+                    return;
+                }
+            }
+
+            try {
+                if (rebuild) {
+                    rebuild();
+                } else {
+                    apply(rows.size() == 1 ? List.of(analyze(rows.get(0), true)) : analyzeParallel(rows, true));
+                }
+            } catch (Exception e) {
+                log.warn("상담 검색 색인 갱신 실패: {}건, {}", rows.size(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 상담 한 건을 바로 색인합니다. 같은 ID 가 이미 있으면 교체합니다.
+     */
+    public void index(long counselId, String content, String productInfo) {
+        apply(List.of(analyze(new Object[]{counselId, content, productInfo}, false)));
+    }
+
+    private void apply(List<IndexedCounsel> counsels) {
+        lock.writeLock().lock();
+        try {
+            for (IndexedCounsel counsel : counsels) {
+                index.add(counsel.id, counsel.fieldTerms);
+                if (rebuilding) {
+                    pendingDuringRebuild.add(counsel);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 질의를 형태소 분석하여 BM25 점수 상위 상담을 반환합니다.
+     */
+    public List<InvertedIndex.Hit> search(String query, Field field, int limit) {
+        List<String> terms = new ArrayList<>(termFrequencies(query, false).keySet());
+        double[] weights = {
+                field == Field.PRODUCT ? 0.0 : 1.0,
+                field == Field.CONTENT ? 0.0 : productWeight
+        };
+
+        lock.readLock().lock();
+        try {
+            return index.search(terms, weights, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 전체 상담으로 색인을 다시 만듭니다. 형태소 분석은 워커 풀에서 병렬로 수행합니다.
+     * 이미 재구축 중이면 요청을 남겨 두고, 진행 중인 재구축이 끝난 뒤 요청이 없을 때까지 다시 수행합니다.
+     */
+    public void rebuild() {
+        lock.writeLock().lock();
+        try {
+            if (rebuilding) {
+                // 진행 중인 재구축이 이미 읽은 구간 이후의 변경을 놓치지 않도록 다시 수행
+                rebuildAgain = true;
+                return;
+            }
+            rebuilding = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        while (rebuildOnce()) {
+            log.info("재구축 중 요청된 상담 검색 색인 재구축을 이어서 수행합니다.");
+        }
+    }
+
+    /**
+     * @return 재구축 중에 다시 요청되어 한 번 더 수행해야 하면 true
+     */
+    private boolean rebuildOnce() {
+        long start = System.currentTimeMillis();
+        InvertedIndex rebuilt = new InvertedIndex(FIELD_COUNT);
+        try {
+            long lastId = 0;
+            List<Object[]> rows;
+            do {
+                rows = jdbcTemplate.query(
+                        "SELECT id, content, product_info FROM counsel WHERE id > ? ORDER BY id LIMIT ?",
+                        (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getString(3)},
+                        lastId, chunkSize);
+                for (IndexedCounsel counsel : analyzeParallel(rows, false)) {
+                    rebuilt.add(counsel.id, counsel.fieldTerms);
+                }
+                if (!rows.isEmpty()) {
+                    lastId = (Long) rows.get(rows.size() - 1)[0];
+                }
+            } while (rows.size() == chunkSize);
+        } catch (Exception e) {
+            log.error("상담 검색 색인 재구축 실패", e);
+            lock.writeLock().lock();
+            try {
+                // 실패 중에 들어온 요청은 남아 있으므로 다시 시도, 없으면 기존 색인과 이후 반영분을 유지
+                boolean again = finishRebuild();
+                if (!again) {
+                    pendingDuringRebuild.clear();
+                }
+                return again;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        boolean again;
+        lock.writeLock().lock();
+        try {
+            // 재구축 중 저장된 상담은 읽은 시점보다 최신이므로 덮어쓴다
+            for (IndexedCounsel counsel : pendingDuringRebuild) {
+                rebuilt.add(counsel.id, counsel.fieldTerms);
+            }
+            pendingDuringRebuild.clear();
+            index = rebuilt;
+            again = finishRebuild();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        lastRebuildMillis = System.currentTimeMillis() - start;
+        ready = true;
+        log.info("상담 검색 색인 재구축 완료: {}건, {}ms", rebuilt.getDocumentCount(), lastRebuildMillis);
+        return again;
+    }
+
+    /**
+     * 쓰기 잠금을 잡은 상태에서 호출합니다. 재구축 중 다시 요청되었으면 재구축 상태를 유지합니다.
+     */
+    private boolean finishRebuild() {
+        boolean again = rebuildAgain;
+        rebuildAgain = false;
+        rebuilding = again;
+        return again;
+    }
+
+    private List<IndexedCounsel> analyzeParallel(List<Object[]> rows, boolean shared) {
+        int workers = Math.max(1, workerExecutor.getMaxPoolSize());
+        int sliceSize = Math.max(1, (rows.size() + workers - 1) / workers);
+
+        List<CompletableFuture<List<IndexedCounsel>>> slices = new ArrayList<>();
+        for (int from = 0; from < rows.size(); from += sliceSize) {
+            List<Object[]> slice = rows.subList(from, Math.min(from + sliceSize, rows.size()));
+            slices.add(CompletableFuture.supplyAsync(() -> {
+                List<IndexedCounsel> analyzed = new ArrayList<>(slice.size());
+                for (Object[] row : slice) {
+                    try {
+                        analyzed.add(analyze(row, shared));
+                    } catch (Exception e) {
+                        log.warn("상담 검색 색인 제외: id={}, {}", row[0], e.getMessage());
+                    }
+                }
+                return analyzed;
+            }, workerExecutor));
+        }
+
+        List<IndexedCounsel> analyzed = new ArrayList<>(rows.size());
+        for (CompletableFuture<List<IndexedCounsel>> slice : slices) {
+            analyzed.addAll(slice.join());
+        }
+        return analyzed;
+    }
+
+    /**
+     * (id, content, product_info) 행을 분석합니다. 저장 직후 색인하는 상담(shared)은 상담 내용의 형태소를
+     * 자동 분석과 공유합니다.
+     */
+    private IndexedCounsel analyze(Object[] row, boolean shared) {
+        List<Map<String, Integer>> fieldTerms = new ArrayList<>(FIELD_COUNT);
+        fieldTerms.add(CONTENT_FIELD, termFrequencies((String) row[1], shared));
+        fieldTerms.add(PRODUCT_FIELD, termFrequencies((String) row[2], false));
+        return new IndexedCounsel((Long) row[0], fieldTerms);
+    }
+
+    /**
+     * 명사, 동사, 형용사, 외국어, 한자, 숫자 형태소의 출현 빈도를 계산합니다.
+     */
+    private Map<String, Integer> termFrequencies(String text, boolean shared) {
+        if (text == null || text.isBlank()) {
+            return Map.of();
+        }
+
+        TokenizedContent tokenized = shared ? analysisService.tokenizeShared(text) : analysisService.tokenize(text);
+        Map<String, Integer> frequencies = new HashMap<>();
+        for (Token token : tokenized.getTokens()) {
+            if (PosTags.isIndexed(token.getPos())) {
+                frequencies.merge(token.getMorph().toLowerCase(Locale.ROOT), 1, Integer::sum);
+            }
+        }
+        return frequencies;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isRebuilding() {
+        lock.readLock().lock();
+        try {
+            return rebuilding;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getDocumentCount() {
+        lock.readLock().lock();
+        try {
+            return index.getDocumentCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int getTermCount() {
+        lock.readLock().lock();
+        try {
+            return index.getTermCount();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    /**
+     * 색인 대기 중인 상담 수입니다.
+     */
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    private static final class PendingCounsel {
+        private final long id;
+        private final String content;
+        private final String productInfo;
+
+        private PendingCounsel(long id, String content, String productInfo) {
+            this.id = id;
+            this.content = content;
+            this.productInfo = productInfo;
+        }
+    }
+
+    private static final class IndexedCounsel {
+        private final long id;
+        private final List<Map<String, Integer>> fieldTerms;
+
+        private IndexedCounsel(long id, List<Map<String, Integer>> fieldTerms) {
+            this.id = id;
+            this.fieldTerms = fieldTerms;
+        }
+    }
+}
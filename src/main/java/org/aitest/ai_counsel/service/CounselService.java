@@ -1,100 +1,329 @@
 package org.aitest.ai_counsel.service;
 
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.dto.CounselCursor;
+import org.aitest.ai_counsel.dto.CursorPage;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
 import org.aitest.ai_counsel.exception.CounselNotFoundException;
 import org.aitest.ai_counsel.exception.ErrorCode;
 import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository.AnalysisUpdate;
+import org.aitest.ai_counsel.repository.CounselPredictionRepository;
 import org.aitest.ai_counsel.repository.CounselRepository;
+import org.aitest.ai_counsel.repository.CounselSummary;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Transactional(readOnly = true)
 public class CounselService {
 
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final LocalDateTime LATEST_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
     private final CounselRepository counselRepository;
+    private final CounselJdbcRepository counselJdbcRepository;
+    private final CounselPredictionRepository predictionRepository;
     private final CounselAnalysisService analysisService;
     private final CounselPredictionService predictionService;
+    private final CounselSearchIndex searchIndex;
+    private final CounselAggregateStore aggregateStore;
+    private final CounselReadCache readCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    // 빈 이름과 같은 필드 이름으로 주입됨 (AnalysisExecutorConfig)
+    private final ThreadPoolTaskExecutor analysisPersistExecutor;
+    private final ObservationRegistry observationRegistry;
 
     @Transactional
     public Counsel saveCounsel(Counsel counsel) {
         if (counsel == null) {
             throw new InvalidRequestException(ErrorCode.INVALID_INPUT_VALUE);
         }
-        return counselRepository.save(counsel);
+        Counsel saved = counselRepository.save(counsel);
+        eventPublisher.publishEvent(CounselSavedEvent.from(saved));
+        return saved;
     }
 
+    /**
+     * 상담을 조회합니다. 조회 캐시에서 공유되는 분리된 엔티티이므로 수정하지 않아야 합니다.
+     */
     public Counsel getCounselById(Long id) {
-        return counselRepository.findById(id)
-                .orElseThrow(() -> new CounselNotFoundException(ErrorCode.COUNSEL_NOT_FOUND));
+        Counsel counsel = readCache.getCounsel(id, key -> counselRepository.findById(key).orElse(null));
+        if (counsel == null) {
+            throw new CounselNotFoundException(ErrorCode.COUNSEL_NOT_FOUND);
+        }
+        return counsel;
     }
 
-    public List<Counsel> getAllCounsels() {
-        return counselRepository.findAll();
+    public CursorPage<CounselSummary> getCounsels(String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        long afterId = cursor == null ? 0L : CounselCursor.decode(cursor).getId();
+        return CursorPage.of(
+                counselRepository.findPageAfterId(afterId, PageRequest.ofSize(pageSize + 1)),
+                pageSize,
+                counsel -> CounselCursor.of(counsel.getId()).encode());
     }
 
-    public List<Counsel> getCounselorHistory(String counselorId) {
-        return counselRepository.findByCounselorIdOrderByCounselDateDesc(counselorId);
+    /**
+     * 고객의 상담 내역을 최신순으로 조회합니다.
+     */
+    public CursorPage<CounselSummary> getCustomerHistory(String customerId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        CounselCursor position = cursor == null ? CounselCursor.of(LATEST_DATE, Long.MAX_VALUE) : decodeDated(cursor);
+        return CursorPage.of(
+                readCache.getCustomerHistory(customerId, cursor, pageSize, () ->
+                        counselRepository.findCustomerPageBefore(customerId, position.getCounselDate(), position.getId(),
+                                PageRequest.ofSize(pageSize + 1))),
+                pageSize,
+                CounselService::datedCursor);
     }
 
-    public List<Counsel> getCounselsByPeriod(LocalDateTime start, LocalDateTime end) {
-        return counselRepository.findByCounselDateBetween(start, end);
+    /**
+     * 상담사의 상담 내역을 최신순으로 조회합니다.
+     */
+    public CursorPage<CounselSummary> getCounselorHistory(String counselorId, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        CounselCursor position = cursor == null ? CounselCursor.of(LATEST_DATE, Long.MAX_VALUE) : decodeDated(cursor);
+        return CursorPage.of(
+                readCache.getCounselorHistory(counselorId, cursor, pageSize, () ->
+                        counselRepository.findCounselorPageBefore(counselorId, position.getCounselDate(), position.getId(),
+                                PageRequest.ofSize(pageSize + 1))),
+                pageSize,
+                CounselService::datedCursor);
     }
 
-    public List<Counsel> getCounselsByProduct(String productInfo) {
-        return counselRepository.findByProductInfoContaining(productInfo);
+    /**
+     * 기간 내 상담 내역을 상담 일시 순으로 조회합니다.
+     */
+    public CursorPage<CounselSummary> getCounselsByPeriod(LocalDateTime start, LocalDateTime end, String cursor, int size) {
+        if (start == null || end == null || start.isAfter(end)) {
+            throw new InvalidRequestException("조회 기간이 올바르지 않습니다.");
+        }
+        int pageSize = normalizePageSize(size);
+        CounselCursor position = cursor == null ? CounselCursor.of(start, 0L) : decodeDated(cursor);
+        return CursorPage.of(
+                counselRepository.findPeriodPageAfter(start, end, position.getCounselDate(), position.getId(),
+                        PageRequest.ofSize(pageSize + 1)),
+                pageSize,
+                CounselService::datedCursor);
     }
 
-    @Transactional
-    public Counsel analyzeCounsel(Long counselId) {
+    public CursorPage<CounselSummary> getCounselsByProduct(String productInfo, String cursor, int size) {
+        int pageSize = normalizePageSize(size);
+        long afterId = cursor == null ? 0L : CounselCursor.decode(cursor).getId();
+        return CursorPage.of(
+                counselRepository.findProductPageAfterId(productInfo, afterId, PageRequest.ofSize(pageSize + 1)),
+                pageSize,
+                counsel -> CounselCursor.of(counsel.getId()).encode());
+    }
+
+    /**
+     * 상담 내용과 상품 정보에서 질의와 관련도가 높은 상담을 검색합니다.
+     */
+    public List<SearchResult> searchCounsels(String query, CounselSearchIndex.Field field, int size) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("검색어를 입력해주세요.");
+        }
+        List<InvertedIndex.Hit> hits = searchIndex.search(query, field, normalizePageSize(size));
+        if (hits.isEmpty()) {
+            return List.of();
+        }
+
+        Map<Long, CounselSummary> summaries = counselRepository.findSummariesByIdIn(
+                        hits.stream().map(InvertedIndex.Hit::getId).toList())
+                .stream()
+                .collect(Collectors.toMap(CounselSummary::getId, Function.identity()));
+
+        // 색인과 DB 사이에 삭제된 상담은 제외하고 점수 순서를 유지
+        return hits.stream()
+                .filter(hit -> summaries.containsKey(hit.getId()))
+                .map(hit -> new SearchResult(summaries.get(hit.getId()), hit.getScore()))
+                .toList();
+    }
+
+    /**
+     * 저장된 분석 결과를 조회합니다. 분석을 실행하거나 상담을 수정하지 않습니다.
+     *
+     * @throws CounselNotFoundException 상담이 없거나 아직 분석되지 않은 경우
+     */
+    public Counsel getAnalyzedCounsel(Long counselId) {
         Counsel counsel = getCounselById(counselId);
-        CounselAnalysisService.AnalysisResult result = analysisService.analyzeCounsel(counsel);
+        if (!counsel.isAnalyzed()) {
+            throw new CounselNotFoundException(ErrorCode.ANALYSIS_NOT_FOUND);
+        }
+        return counsel;
+    }
 
-        String analysis = String.format("상담 유형: %s\n고객 감정: %s\n주요 키워드: %s",
-                result.getCounselType(),
-                result.getSentiment(),
-                String.join(", ", result.getKeywords()));
+    /**
+     * 상담을 분석하고 결과를 저장합니다.
+     * 감정 분석 응답을 기다리는 동안 요청 스레드, DB 커넥션, 트랜잭션을 점유하지 않습니다.
+     * 응답이 오면 저장 워커 풀에서, 분석 전에 읽은 유형·감정이 그대로일 때만 짧은 트랜잭션으로 반영합니다.
+     * 그 사이 다른 경로에서 먼저 분석되었으면 먼저 반영된 결과를 반환합니다.
+     *
+     * @throws CounselNotFoundException 상담이 없는 경우 (분석을 시작하기 전에 바로 발생)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Counsel> analyzeCounsel(Long counselId) {
+        // 응답은 다른 스레드에서 완료되므로 시작한 관찰을 완료 시점에 직접 종료
+        Observation observation = Observation.start("counsel.analyze", observationRegistry);
+        try (Observation.Scope ignored = observation.openScope()) {
+            Counsel counsel = observe("counsel.analyze.load", () -> loadDetached(counselId));
+            AnalysisUpdate update = new AnalysisUpdate(counsel, counsel.getCounselType(), counsel.getSentiment());
+            return analysisService.analyzeCounselAsync(counsel)
+                    .thenApplyAsync(result -> {
+                        result.applyTo(counsel);
+                        return Observation.createNotStarted("counsel.analyze.persist", observationRegistry)
+                                .parentObservation(observation)
+                                .observe(() -> persistAnalysis(update));
+                    }, analysisPersistExecutor)
+                    .whenComplete((analyzed, error) -> {
+                        if (error != null) {
+                            observation.error(error);
+                        }
+                        observation.stop();
+                    });
+        } catch (RuntimeException e) {
+            observation.error(e);
+            observation.stop();
+            throw e;
+        }
+    }
 
-        counsel.setAnalysis(analysis);
-        return counselRepository.save(counsel);
+    private Counsel persistAnalysis(AnalysisUpdate update) {
+        Counsel counsel = update.getCounsel();
+        boolean applied = Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            if (counselJdbcRepository.updateAnalyses(List.of(update)).isEmpty()) {
+                return false;
+            }
+            eventPublisher.publishEvent(CounselAnalyzedEvent.from(counsel,
+                    update.getPreviousCounselType(), update.getPreviousSentiment()));
+            return true;
+        }));
+        return applied ? counsel : loadDetached(counsel.getId());
     }
 
+    /**
+     * 증분 갱신되는 상담사별 집계로 예측하므로 이력 길이와 관계없이 일정한 비용이 듭니다.
+     * 예측은 예측 이력에 새 행으로 추가하며 상담은 수정하지 않습니다.
+     */
     @Transactional
-    public Counsel predictNextCounselByCounselor(String counselorId) {
-        List<Counsel> history = counselRepository.findByCounselorIdOrderByCounselDateDesc(counselorId);
-        if (history.isEmpty()) {
-            throw new InvalidRequestException(ErrorCode.INVALID_INPUT_VALUE);
-        }
-        return generatePrediction(history);
+    public CounselPrediction predictNextCounselByCounselor(String counselorId) {
+        return observe("counsel.predict", () -> {
+            CounselPrediction prediction = generatePrediction(
+                    observe("counsel.predict.aggregate", () -> aggregateStore.getCounselorAggregate(counselorId)));
+            prediction.setCounselorId(counselorId);
+            return observe("counsel.predict.persist", () -> predictionRepository.save(prediction));
+        });
     }
 
     @Transactional
-    public Counsel predictNextCounselByCustomer(String customerId) {
-        List<Counsel> customerHistory = counselRepository.findByCustomerIdOrderByCounselDateDesc(customerId);
-        if (customerHistory.isEmpty()) {
+    public CounselPrediction predictNextCounselByCustomer(String customerId) {
+        return observe("counsel.predict", () -> {
+            CounselPrediction prediction = generatePrediction(
+                    observe("counsel.predict.aggregate", () -> aggregateStore.getCustomerAggregate(customerId)));
+            prediction.setCustomerId(customerId);
+            return observe("counsel.predict.persist", () -> predictionRepository.save(prediction));
+        });
+    }
+
+    /**
+     * 고객의 가장 최근 예측을 (고객 ID, 생성 일시) 색인으로 조회합니다. 예측을 새로 계산하지 않습니다.
+     *
+     * @throws CounselNotFoundException 저장된 예측이 없는 경우
+     */
+    public CounselPrediction getPredictionByCustomer(String customerId) {
+        return predictionRepository.findFirstByCustomerIdOrderByGeneratedAtDescIdDesc(customerId)
+                .orElseThrow(() -> new CounselNotFoundException(ErrorCode.PREDICTION_NOT_FOUND));
+    }
+
+    /**
+     * 고객의 예측 이력을 최신순으로 조회합니다.
+     */
+    public List<CounselPrediction> getPredictionHistoryByCustomer(String customerId, int size) {
+        return predictionRepository.findByCustomerIdOrderByGeneratedAtDescIdDesc(
+                customerId, PageRequest.ofSize(normalizePageSize(size)));
+    }
+
+    private CounselPrediction generatePrediction(CounselAggregate aggregate) {
+        if (aggregate.getLatestCounselId() == null) {
             throw new InvalidRequestException(ErrorCode.INVALID_INPUT_VALUE);
         }
-        return generatePrediction(customerHistory);
+        return observe("counsel.predict.model",
+                () -> predictionService.createPrediction(aggregate, LocalDateTime.now()));
+    }
+
+    /**
+     * 쓰기 경로에서 사용합니다. 조회 캐시의 공유 엔티티를 수정하지 않도록 저장소에서 직접 읽습니다.
+     */
+    private Counsel findCounsel(Long id) {
+        return counselRepository.findById(id)
+                .orElseThrow(() -> new CounselNotFoundException(ErrorCode.COUNSEL_NOT_FOUND));
+    }
+
+    /**
+     * 트랜잭션 밖에서 수정할 상담을 읽습니다. 지연 로딩 컬렉션을 채워 두므로 분리된 뒤에도 사용할 수 있습니다.
+     */
+    private Counsel loadDetached(Long id) {
+        return transactionTemplate.execute(status -> {
+            Counsel counsel = findCounsel(id);
+            Hibernate.initialize(counsel.getKeywords());
+            return counsel;
+        });
+    }
+
+    /**
+     * 단계를 관찰하여 지연 시간 히스토그램과 span 을 남깁니다. 상위 단계가 있으면 그 하위 span 이 됩니다.
+     */
+    private <T> T observe(String name, Supplier<T> stage) {
+        return Observation.createNotStarted(name, observationRegistry).observe(stage);
+    }
+
+    private static int normalizePageSize(int size) {
+        if (size < 1) {
+            throw new InvalidRequestException("페이지 크기는 1 이상이어야 합니다.");
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
     }
 
-    private Counsel generatePrediction(List<Counsel> history) {
-        Counsel latestCounsel = history.get(0);
-        CounselPredictionService.PredictionResult prediction = predictionService.predictNextCounsel(history);
+    private static CounselCursor decodeDated(String cursor) {
+        CounselCursor position = CounselCursor.decode(cursor);
+        if (position.getCounselDate() == null) {
+            throw new InvalidRequestException("잘못된 커서입니다.");
+        }
+        return position;
+    }
 
-        StringBuilder predictionText = new StringBuilder();
-        predictionText.append(prediction.getPredictedType()).append("\n");
-        predictionText.append(prediction.getDetails()).append("\n");
-        predictionText.append("키워드 빈도:\n");
-        prediction.getTopKeywords().forEach((keyword, frequency) ->
-                predictionText.append(String.format("- %s (%d회)\n", keyword, frequency))
-        );
+    private static String datedCursor(CounselSummary counsel) {
+        return CounselCursor.of(counsel.getCounselDate(), counsel.getId()).encode();
+    }
 
-        latestCounsel.setPrediction(predictionText.toString());
-        return counselRepository.save(latestCounsel);
+    @Getter
+    @RequiredArgsConstructor
+    public static class SearchResult {
+        private final CounselSummary counsel;
+        private final double score;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,258 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.domain.CounselRollup;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselRollupCount;
+import org.aitest.ai_counsel.repository.CounselRollupKey;
+import org.aitest.ai_counsel.repository.CounselRollupRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 상담 유형 / 감정 통계를 시간, 일 단위 집계 테이블(counsel_rollup)로 유지하고 조회합니다.
+ * <p>
+ * 분석 이벤트마다 이전 분류를 1 빼고 새 분류를 1 더하며, 증감분은 트랜잭션 단위로 모아 커밋 직전에 한 번의 배치로 반영합니다.
+ * 분석 결과 저장과 같은 트랜잭션에서 갱신하므로 롤백되면 집계도 함께 취소됩니다.
+ * 재구축은 기간을 구간으로 나눠 병렬로 수행하며, 구간마다 한 트랜잭션에서 집계를 지우고 상담 테이블로부터 다시 계산합니다.
+ */
+@Slf4j
+@Service
+public class CounselStatisticsService {
+
+    private static final Object TRANSACTION_DELTAS = new Object();
+
+    private final CounselRollupRepository rollupRepository;
+    private final ThreadPoolTaskExecutor rebuildExecutor;
+    private final TransactionTemplate transactionTemplate;
+    private final int partitionDays;
+    private final int maxAttempts;
+    private final int maxBuckets;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final AtomicInteger failedPartitions = new AtomicInteger();
+    private final LongAdder appliedEvents = new LongAdder();
+    private volatile int partitions;
+    private volatile long lastRebuildMillis;
+    private volatile LocalDateTime lastRebuildAt;
+
+    public CounselStatisticsService(CounselRollupRepository rollupRepository,
+                                    @Qualifier("rollupRebuildExecutor") ThreadPoolTaskExecutor rebuildExecutor,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${counsel.statistics.rebuild.partition-days:7}") int partitionDays,
+                                    @Value("${counsel.statistics.rebuild.max-attempts:3}") int maxAttempts,
+                                    @Value("${counsel.statistics.max-buckets:1000}") int maxBuckets) {
+        this.rollupRepository = rollupRepository;
+        this.rebuildExecutor = rebuildExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.partitionDays = Math.max(1, partitionDays);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.maxBuckets = maxBuckets;
+    }
+
+    @EventListener
+    public void onCounselAnalyzed(CounselAnalyzedEvent event) {
+        Map<CounselRollupKey, Long> deltas = transactionDeltas();
+        boolean immediate = deltas == null;
+        if (immediate) {
+            deltas = new HashMap<>();
+        }
+
+        if (!event.isFirstAnalysis()) {
+            record(deltas, event, event.getPreviousCounselType(), event.getPreviousSentiment(), -1);
+        }
+        record(deltas, event, event.getCounselType(), event.getSentiment(), 1);
+        appliedEvents.increment();
+
+        if (immediate) {
+            rollupRepository.increment(deltas);
+        }
+    }
+
+    /**
+     * [from, to) 구간의 집계를 구간 시작 시각과 groupBy 차원별로 조회합니다.
+     */
+    public List<CounselRollupCount> getStatistics(CounselRollup.Granularity granularity, LocalDateTime from, LocalDateTime to,
+                                                  List<CounselRollup.Dimension> groupBy,
+                                                  Map<CounselRollup.Dimension, String> filters) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("조회 시작 시각은 종료 시각보다 앞서야 합니다.");
+        }
+        LocalDateTime bucketFrom = granularity.truncate(from);
+        long buckets = granularity == CounselRollup.Granularity.HOURLY
+                ? ChronoUnit.HOURS.between(bucketFrom, to)
+                : ChronoUnit.DAYS.between(bucketFrom, to);
+        if (buckets > maxBuckets) {
+            throw new InvalidRequestException("조회 구간이 너무 깁니다. 최대 " + maxBuckets + "개 구간까지 조회할 수 있습니다.");
+        }
+        return rollupRepository.summarize(granularity, bucketFrom, to, groupBy.stream().distinct().toList(), filters);
+    }
+
+    /**
+     * 집계를 상담 테이블로부터 다시 계산하는 작업을 시작합니다. 진행 중인 재구축이 있으면 거절합니다.
+     */
+    public CompletableFuture<Void> startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.STATISTICS_REBUILD_IN_PROGRESS);
+        }
+
+        long start = System.currentTimeMillis();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        try {
+            List<LocalDateTime[]> ranges = partition();
+            partitions = ranges.size();
+            completedPartitions.set(0);
+            failedPartitions.set(0);
+            for (LocalDateTime[] range : ranges) {
+                futures.add(CompletableFuture.runAsync(() -> rebuildPartition(range[0], range[1]), rebuildExecutor));
+            }
+        } catch (RuntimeException e) {
+            rebuilding.set(false);
+            throw e;
+        }
+
+        return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                .whenComplete((ignored, error) -> {
+                    lastRebuildMillis = System.currentTimeMillis() - start;
+                    lastRebuildAt = LocalDateTime.now();
+                    rebuilding.set(false);
+                    log.info("상담 통계 재구축 완료: 구간 {}개, 실패 {}개, {}ms",
+                            partitions, failedPartitions.get(), lastRebuildMillis);
+                });
+    }
+
+    /**
+     * 분석된 상담과 기존 집계를 모두 포함하는 기간을 partition-days 일 단위로 나눕니다.
+     */
+    private List<LocalDateTime[]> partition() {
+        List<LocalDateTime> range = rollupRepository.findDateRange();
+        List<LocalDateTime[]> ranges = new ArrayList<>();
+        if (range.isEmpty()) {
+            return ranges;
+        }
+
+        LocalDateTime end = range.get(1).truncatedTo(ChronoUnit.DAYS).plusDays(1);
+        for (LocalDateTime from = range.get(0).truncatedTo(ChronoUnit.DAYS); from.isBefore(end); from = from.plusDays(partitionDays)) {
+            LocalDateTime to = from.plusDays(partitionDays);
+            ranges.add(new LocalDateTime[]{from, to.isAfter(end) ? end : to});
+        }
+        return ranges;
+    }
+
+    /**
+     * 한 구간의 집계를 지운 뒤 같은 트랜잭션에서 상담 테이블을 읽어 다시 채웁니다.
+     * 지운 뒤에 읽으므로 동시에 커밋된 분석은 재계산 결과나 이후의 증분 갱신 중 한쪽에만 반영됩니다.
+     * 동시 분석이 같은 집계 행을 먼저 만들어 충돌하면 max-attempts 까지 다시 시도합니다.
+     */
+    private void rebuildPartition(LocalDateTime from, LocalDateTime to) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    rollupRepository.deleteRange(from, to);
+                    rollupRepository.insert(rollupRepository.aggregateAnalyzed(from, to));
+                });
+                completedPartitions.incrementAndGet();
+                return;
+            } catch (DataAccessException e) {
+                if (attempt >= maxAttempts) {
+                    failedPartitions.incrementAndGet();
+                    log.error("상담 통계 구간 재구축 실패: {} ~ {}, attempts={}", from, to, attempt, e);
+                    return;
+                }
+                log.warn("상담 통계 구간 재구축 재시도: {} ~ {}, attempt={}, reason={}", from, to, attempt + 1, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 현재 트랜잭션의 증감분 모음을 반환합니다. 처음 호출되면 커밋 직전에 반영하도록 등록하며,
+     * 트랜잭션 밖에서는 null 을 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<CounselRollupKey, Long> transactionDeltas() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        Map<CounselRollupKey, Long> deltas =
+                (Map<CounselRollupKey, Long>) TransactionSynchronizationManager.getResource(TRANSACTION_DELTAS);
+        if (deltas != null) {
+            return deltas;
+        }
+
+        Map<CounselRollupKey, Long> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(TRANSACTION_DELTAS, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                rollupRepository.increment(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_DELTAS);
+            }
+        });
+        return created;
+    }
+
+    private static void record(Map<CounselRollupKey, Long> deltas, CounselAnalyzedEvent event,
+                               String counselType, String sentiment, long delta) {
+        for (CounselRollup.Granularity granularity : CounselRollup.Granularity.values()) {
+            CounselRollupKey key = CounselRollupKey.of(granularity, event.getCounselDate(),
+                    event.getCounselorId(), event.getProductInfo(), counselType, sentiment);
+            deltas.merge(key, delta, Long::sum);
+        }
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions.get();
+    }
+
+    public int getFailedPartitions() {
+        return failedPartitions.get();
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    public LocalDateTime getLastRebuildAt() {
+        return lastRebuildAt;
+    }
+
+    public long getAppliedEvents() {
+        return appliedEvents.sum();
+    }
+}
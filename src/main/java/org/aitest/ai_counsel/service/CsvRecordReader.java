@@ -0,0 +1,110 @@
+package org.aitest.ai_counsel.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 형식의 CSV 를 레코드 단위로 읽습니다.
+ * 큰따옴표로 감싼 필드 안의 쉼표, 줄바꿈, 이중 큰따옴표("")를 지원하며 파일 전체를 메모리에 올리지 않습니다.
+ */
+final class CsvRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final StringBuilder field = new StringBuilder();
+    private int pushedBack = Integer.MIN_VALUE;
+    private long lineNumber = 1;
+
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * 다음 레코드를 반환합니다. 더 읽을 레코드가 없으면 null 입니다.
+     *
+     * @throws IllegalArgumentException 큰따옴표가 닫히지 않은 경우
+     */
+    List<String> next() throws IOException {
+        int c = read();
+        // 빈 줄은 건너뜀
+        while (c == '\r' || c == '\n') {
+            skipLineBreak(c);
+            c = read();
+        }
+        if (c == EOF) {
+            return null;
+        }
+
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    throw new IllegalArgumentException("큰따옴표가 닫히지 않았습니다 (line " + lineNumber + ")");
+                }
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        c = next;
+                        continue;
+                    }
+                } else {
+                    if (c == '\n') {
+                        lineNumber++;
+                    }
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n' || c == EOF) {
+                fields.add(field.toString());
+                if (c != EOF) {
+                    skipLineBreak(c);
+                }
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+    }
+
+    /**
+     * 현재 읽는 위치의 줄 번호(1부터)를 반환합니다.
+     */
+    long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * CRLF 를 한 줄바꿈으로 처리합니다. CR 뒤의 문자가 LF 가 아니면 다시 읽도록 되돌려 둡니다.
+     */
+    private void skipLineBreak(int c) throws IOException {
+        lineNumber++;
+        if (c == '\r') {
+            int next = read();
+            if (next != '\n') {
+                pushedBack = next;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != Integer.MIN_VALUE) {
+            int c = pushedBack;
+            pushedBack = Integer.MIN_VALUE;
+            return c;
+        }
+        return reader.read();
+    }
+}
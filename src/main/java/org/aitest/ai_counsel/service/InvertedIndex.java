@@ -0,0 +1,312 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * 필드별 BM25 점수를 계산하는 역색인입니다.
+ * <p>
+ * 문서는 내부 순번으로 관리하며, 같은 ID 의 문서가 다시 추가되면 이전 순번은 삭제 표시만 하고
+ * 문서 빈도(df)와 길이 통계에서 제외합니다. 삭제 표시된 순번이 전체의 1/4 을 넘으면
+ * 살아 있는 문서만 남기도록 순번과 포스팅을 다시 채번합니다.
+ * 검색은 동시에 호출될 수 있으며, 추가/삭제는 호출하는 쪽에서 쓰기 잠금으로 보호해야 합니다.
+ */
+final class InvertedIndex {
+
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+    private static final int COMPACT_MIN_DEAD = 1024;
+
+    private final int fieldCount;
+    private final List<Map<String, Postings>> postings;
+    private final Map<Long, Integer> ordinalById = new HashMap<>();
+    private final long[] totalLengths;
+    private Document[] documents = new Document[1024];
+    private int size;
+    private int liveCount;
+
+    InvertedIndex(int fieldCount) {
+        this.fieldCount = fieldCount;
+        this.totalLengths = new long[fieldCount];
+        this.postings = new ArrayList<>(fieldCount);
+        for (int i = 0; i < fieldCount; i++) {
+            postings.add(new HashMap<>());
+        }
+    }
+
+    /**
+     * 문서를 추가합니다. 필드별 용어 빈도는 fieldCount 와 같은 길이여야 합니다.
+     */
+    void add(long id, List<Map<String, Integer>> fieldTerms) {
+        remove(id);
+
+        int ordinal = size++;
+        if (ordinal == documents.length) {
+            documents = Arrays.copyOf(documents, documents.length * 2);
+        }
+
+        int[] lengths = new int[fieldCount];
+        String[][] terms = new String[fieldCount][];
+        for (int field = 0; field < fieldCount; field++) {
+            Map<String, Postings> fieldPostings = postings.get(field);
+            Map<String, Integer> frequencies = fieldTerms.get(field);
+            terms[field] = new String[frequencies.size()];
+
+            int i = 0;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                Postings termPostings = fieldPostings.computeIfAbsent(entry.getKey(), key -> new Postings());
+                termPostings.add(ordinal, entry.getValue());
+                terms[field][i++] = entry.getKey();
+                lengths[field] += entry.getValue();
+            }
+            totalLengths[field] += lengths[field];
+        }
+
+        documents[ordinal] = new Document(id, lengths, terms);
+        ordinalById.put(id, ordinal);
+        liveCount++;
+    }
+
+    void remove(long id) {
+        Integer ordinal = ordinalById.remove(id);
+        if (ordinal == null) {
+            return;
+        }
+
+        Document document = documents[ordinal];
+        document.live = false;
+        for (int field = 0; field < fieldCount; field++) {
+            Map<String, Postings> fieldPostings = postings.get(field);
+            for (String term : document.terms[field]) {
+                fieldPostings.get(term).documentFrequency--;
+            }
+            totalLengths[field] -= document.lengths[field];
+        }
+        document.terms = null;
+        liveCount--;
+
+        int dead = size - liveCount;
+        if (dead >= COMPACT_MIN_DEAD && dead * 4 > size) {
+            compact();
+        }
+    }
+
+    /**
+     * 삭제 표시된 문서를 제거하고 살아 있는 문서의 순번을 앞에서부터 다시 매깁니다.
+     * 순번 순서는 유지되므로 포스팅은 정렬된 상태로 남습니다.
+     */
+    private void compact() {
+        int[] remapped = new int[size];
+        Document[] compacted = new Document[Math.max(1024, Integer.highestOneBit(Math.max(1, liveCount)) * 2)];
+        int next = 0;
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            Document document = documents[ordinal];
+            if (document.live) {
+                remapped[ordinal] = next;
+                compacted[next++] = document;
+            } else {
+                remapped[ordinal] = -1;
+            }
+        }
+
+        for (Map<String, Postings> fieldPostings : postings) {
+            Iterator<Postings> iterator = fieldPostings.values().iterator();
+            while (iterator.hasNext()) {
+                Postings termPostings = iterator.next();
+                if (termPostings.documentFrequency <= 0) {
+                    iterator.remove();
+                } else {
+                    termPostings.retain(remapped);
+                }
+            }
+        }
+        for (int ordinal = 0; ordinal < next; ordinal++) {
+            ordinalById.put(compacted[ordinal].id, ordinal);
+        }
+
+        documents = compacted;
+        size = next;
+    }
+
+    /**
+     * 질의 용어에 대해 필드 가중치를 적용한 BM25 점수 상위 문서를 반환합니다.
+     */
+    List<Hit> search(List<String> terms, double[] fieldWeights, int limit) {
+        if (liveCount == 0 || terms.isEmpty() || limit < 1) {
+            return List.of();
+        }
+
+        // 후보 포스팅 길이의 합만큼만 점수 공간을 잡아 전체 문서 수와 무관하게 유지
+        int candidates = 0;
+        for (int field = 0; field < fieldCount; field++) {
+            if (fieldWeights[field] <= 0) {
+                continue;
+            }
+            for (String term : terms) {
+                Postings termPostings = postings.get(field).get(term);
+                if (termPostings != null && termPostings.documentFrequency > 0) {
+                    candidates += termPostings.documentFrequency;
+                }
+            }
+        }
+        if (candidates == 0) {
+            return List.of();
+        }
+        ScoreTable scores = new ScoreTable(candidates);
+
+        for (int field = 0; field < fieldCount; field++) {
+            if (fieldWeights[field] <= 0) {
+                continue;
+            }
+            double averageLength = Math.max(1.0, (double) totalLengths[field] / liveCount);
+            Map<String, Postings> fieldPostings = postings.get(field);
+
+            for (String term : terms) {
+                Postings termPostings = fieldPostings.get(term);
+                if (termPostings == null || termPostings.documentFrequency <= 0) {
+                    continue;
+                }
+                double df = termPostings.documentFrequency;
+                double idf = Math.log(1 + (liveCount - df + 0.5) / (df + 0.5));
+
+                for (int i = 0; i < termPostings.size; i++) {
+                    int ordinal = termPostings.ordinals[i];
+                    Document document = documents[ordinal];
+                    if (!document.live) {
+                        continue;
+                    }
+                    double tf = termPostings.frequencies[i];
+                    double norm = K1 * (1 - B + B * document.lengths[field] / averageLength);
+                    scores.add(ordinal, fieldWeights[field] * idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+        }
+
+        // 점수가 같으면 최근 등록(ID 가 큰) 문서를 우선
+        PriorityQueue<Hit> top = new PriorityQueue<>(limit + 1,
+                (a, b) -> a.score != b.score ? Double.compare(a.score, b.score) : Long.compare(a.id, b.id));
+        for (int slot = 0; slot < scores.ordinals.length; slot++) {
+            int ordinal = scores.ordinals[slot];
+            if (ordinal < 0) {
+                continue;
+            }
+            top.offer(new Hit(documents[ordinal].id, scores.values[slot]));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        Hit[] hits = new Hit[top.size()];
+        for (int i = hits.length - 1; i >= 0; i--) {
+            hits[i] = top.poll();
+        }
+        return List.of(hits);
+    }
+
+    int getDocumentCount() {
+        return liveCount;
+    }
+
+    int getTermCount() {
+        int count = 0;
+        for (Map<String, Postings> fieldPostings : postings) {
+            count += fieldPostings.size();
+        }
+        return count;
+    }
+
+    /**
+     * 검색 결과 항목입니다.
+     */
+    @Getter
+    @RequiredArgsConstructor
+    static final class Hit {
+        private final long id;
+        private final double score;
+    }
+
+    private static final class Document {
+        private final long id;
+        private final int[] lengths;
+        private String[][] terms;
+        private boolean live = true;
+
+        private Document(long id, int[] lengths, String[][] terms) {
+            this.id = id;
+            this.lengths = lengths;
+            this.terms = terms;
+        }
+    }
+
+    /**
+     * 순번별 점수를 모으는 개방 주소법 해시 테이블입니다. 후보 수의 두 배 이상 크기로 만들어 재할당하지 않습니다.
+     */
+    private static final class ScoreTable {
+        private final int[] ordinals;
+        private final double[] values;
+        private final int mask;
+
+        private ScoreTable(int candidates) {
+            int capacity = Integer.highestOneBit(Math.max(2, candidates) * 2 - 1) << 1;
+            this.ordinals = new int[capacity];
+            this.values = new double[capacity];
+            this.mask = capacity - 1;
+            Arrays.fill(ordinals, -1);
+        }
+
+        private void add(int ordinal, double score) {
+            int slot = (ordinal * 0x9E3779B9) >>> 1 & mask;
+            while (ordinals[slot] != -1 && ordinals[slot] != ordinal) {
+                slot = (slot + 1) & mask;
+            }
+            ordinals[slot] = ordinal;
+            values[slot] += score;
+        }
+    }
+
+    private static final class Postings {
+        private int[] ordinals = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+        private int documentFrequency;
+
+        private void add(int ordinal, int frequency) {
+            if (size == ordinals.length) {
+                ordinals = Arrays.copyOf(ordinals, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ordinals[size] = ordinal;
+            frequencies[size] = frequency;
+            size++;
+            documentFrequency++;
+        }
+
+        /**
+         * 삭제된 문서의 항목을 빼고 순번을 새 번호로 바꿉니다.
+         */
+        private void retain(int[] remapped) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int ordinal = remapped[ordinals[i]];
+                if (ordinal >= 0) {
+                    ordinals[kept] = ordinal;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            if (size < ordinals.length / 4 && ordinals.length > 4) {
+                ordinals = Arrays.copyOf(ordinals, Math.max(4, size * 2));
+                frequencies = Arrays.copyOf(frequencies, ordinals.length);
+            }
+        }
+    }
+}
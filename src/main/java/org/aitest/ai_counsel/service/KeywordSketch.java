@@ -0,0 +1,58 @@
+package org.aitest.ai_counsel.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 고정된 개수의 키워드만 추적하는 Space-Saving 빈도 요약입니다.
+ * <p>
+ * 추적 대상이 가득 찬 상태에서 새 키워드가 들어오면 가장 빈도가 낮은 키워드를 대체하고
+ * 그 빈도를 이어받습니다. 상위 키워드의 빈도는 실제 값 이상으로 근사됩니다.
+ * 스레드 안전하지 않습니다.
+ */
+final class KeywordSketch {
+
+    private final int capacity;
+    private final Map<String, Integer> counts;
+
+    KeywordSketch(int capacity) {
+        this.capacity = capacity;
+        this.counts = new HashMap<>(capacity * 2);
+    }
+
+    void add(String keyword, int count) {
+        Integer current = counts.get(keyword);
+        if (current != null) {
+            counts.put(keyword, current + count);
+            return;
+        }
+        if (counts.size() < capacity) {
+            counts.put(keyword, count);
+            return;
+        }
+
+        Map.Entry<String, Integer> min = null;
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (min == null || entry.getValue() < min.getValue()) {
+                min = entry;
+            }
+        }
+        int inherited = min.getValue();
+        counts.remove(min.getKey());
+        counts.put(keyword, inherited + count);
+    }
+
+    /**
+     * 빈도 내림차순으로 상위 키워드를 반환합니다. 빈도가 같으면 사전순입니다.
+     */
+    Map<String, Integer> top(int limit) {
+        Map<String, Integer> top = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .forEach(entry -> top.put(entry.getKey(), entry.getValue()));
+        return top;
+    }
+}
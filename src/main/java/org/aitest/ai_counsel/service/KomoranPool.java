@@ -0,0 +1,276 @@
+package org.aitest.ai_counsel.service;
+
+import jakarta.annotation.PreDestroy;
+import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
+import kr.co.shineware.nlp.komoran.core.Komoran;
+import kr.co.shineware.nlp.komoran.model.Token;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.exception.AnalysisException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Komoran 형태소 분석기를 관리합니다.
+ * <p>
+ * 모델은 기동 시 백그라운드 스레드에서 한 번만 적재하고 예열하므로 애플리케이션은 적재를 기다리지 않고 요청을 받습니다.
+ * 적재가 끝나기 전의 분석 요청은 적재 제한 시간까지 기다립니다.
+ * <p>
+ * Komoran 의 analyze 는 호출마다 별도의 격자를 만들어 인스턴스 상태를 바꾸지 않으므로,
+ * 사용자 사전까지 적용한 인스턴스 하나를 모든 스레드가 공유합니다.
+ * 대신 CPU 를 많이 쓰는 분석이 코어 수 이상으로 겹치지 않도록 동시 분석 수를 허가(permit) 풀로 제한하고,
+ * 허가를 기다린 시간을 집계합니다.
+ * <p>
+ * 가상 스레드로 요청을 처리할 때는 dedicated-threads 를 켜서 분석을 풀 크기만큼의 전용 플랫폼 스레드에서 실행합니다.
+ * 가상 스레드는 허가와 결과만 기다리므로, 분석이 가상 스레드의 캐리어 스레드를 점유해 I/O 요청을 굶기지 않습니다.
+ */
+@Slf4j
+@Component
+public class KomoranPool {
+
+    private static final List<String> WARM_UP_SAMPLES = List.of(
+            "신용카드 한도 상향 문의드립니다.",
+            "정기예금 금리가 어떻게 되나요?",
+            "서비스가 불편해서 해지하고 싶습니다."
+    );
+
+    private final DEFAULT_MODEL model;
+    private final String userDictionary;
+    private final int size;
+    private final long acquireTimeoutMillis;
+    private final Semaphore permits;
+    private final CompletableFuture<Komoran> analyzer;
+    private final ExecutorService dedicatedThreads;
+
+    private final LongAdder analyses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile long loadMillis = -1;
+
+    public KomoranPool(ResourceLoader resourceLoader,
+                       @Value("${counsel.analysis.komoran.model:FULL}") DEFAULT_MODEL model,
+                       @Value("${counsel.analysis.komoran.user-dictionary:}") String userDictionary,
+                       @Value("${counsel.analysis.komoran.pool-size:0}") int size,
+                       @Value("${counsel.analysis.komoran.acquire-timeout:30s}") Duration acquireTimeout,
+                       @Value("${counsel.analysis.komoran.dedicated-threads:false}") boolean dedicatedThreads) {
+        this.model = model;
+        this.userDictionary = userDictionary;
+        this.size = size > 0 ? size : Runtime.getRuntime().availableProcessors();
+        this.acquireTimeoutMillis = acquireTimeout.toMillis();
+        this.permits = new Semaphore(this.size, true);
+        // 허가 수와 스레드 수가 같으므로 허가를 얻은 분석은 대기 없이 바로 실행됨
+        this.dedicatedThreads = dedicatedThreads ? newDedicatedThreads(this.size) : null;
+
+        // 사용자 사전 경로는 기동 스레드에서 확인하여 설정 오류를 바로 드러냄
+        Path userDictionaryPath = resolveUserDictionary(resourceLoader, userDictionary);
+
+        this.analyzer = new CompletableFuture<>();
+        Thread loader = new Thread(() -> load(userDictionaryPath), "komoran-loader");
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        analyzer.cancel(false);
+        if (dedicatedThreads != null) {
+            dedicatedThreads.shutdownNow();
+        }
+    }
+
+    private static ExecutorService newDedicatedThreads(int size) {
+        AtomicInteger sequence = new AtomicInteger();
+        return Executors.newFixedThreadPool(size, runnable -> {
+            Thread thread = new Thread(runnable, "komoran-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private void load(Path userDictionaryPath) {
+        try {
+            long start = System.nanoTime();
+            Komoran komoran = new Komoran(model);
+            if (userDictionaryPath != null) {
+                komoran.setUserDic(userDictionaryPath.toString());
+            }
+            // 첫 요청이 클래스 초기화와 JIT 컴파일 비용을 떠안지 않도록 예열
+            for (String sample : WARM_UP_SAMPLES) {
+                komoran.analyze(sample);
+            }
+            loadMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            log.info("형태소 분석기 적재 완료: model={}, userDictionary={}, {}ms", model, userDictionary, loadMillis);
+            analyzer.complete(komoran);
+        } catch (Throwable e) {
+            log.error("형태소 분석기 적재 실패: model={}", model, e);
+            analyzer.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * 형태소를 분석합니다. 동시 분석 수가 풀 크기를 넘으면 허가를 얻을 때까지 기다립니다.
+     *
+     * @throws AnalysisException 분석기를 적재하지 못했거나 제한 시간 안에 허가를 얻지 못한 경우
+     */
+    public List<Token> analyze(String text) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(acquireTimeoutMillis);
+        Komoran komoran = awaitAnalyzer();
+
+        long waitStart = System.nanoTime();
+        boolean acquired = permits.tryAcquire();
+        try {
+            if (!acquired) {
+                waits.increment();
+                acquired = permits.tryAcquire(Math.max(0, deadline - waitStart), TimeUnit.NANOSECONDS);
+                recordWait(System.nanoTime() - waitStart);
+                if (!acquired) {
+                    timeouts.increment();
+                    throw new AnalysisException(ErrorCode.ANALYZER_UNAVAILABLE);
+                }
+            }
+            analyses.increment();
+            if (dedicatedThreads == null) {
+                return komoran.analyze(text).getTokenList();
+            }
+            return dedicatedThreads.submit(() -> komoran.analyze(text).getTokenList()).get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AnalysisException("형태소 분석 중 오류가 발생했습니다: " + e.getCause().getMessage(), e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisException(ErrorCode.ANALYZER_UNAVAILABLE);
+        } finally {
+            if (acquired) {
+                permits.release();
+            }
+        }
+    }
+
+    private Komoran awaitAnalyzer() {
+        Komoran komoran = analyzer.getNow(null);
+        if (komoran != null) {
+            return komoran;
+        }
+        try {
+            return analyzer.get(acquireTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AnalysisException(ErrorCode.ANALYZER_UNAVAILABLE);
+        } catch (ExecutionException | TimeoutException | CancellationException e) {
+            throw new AnalysisException(ErrorCode.ANALYZER_UNAVAILABLE);
+        }
+    }
+
+    private void recordWait(long nanos) {
+        totalWaitNanos.add(nanos);
+        maxWaitNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * 사용자 사전 위치를 Komoran 이 읽을 수 있는 파일 경로로 바꿉니다.
+     * JAR 내부 리소스처럼 파일이 아니면 임시 파일로 복사합니다.
+     */
+    private static Path resolveUserDictionary(ResourceLoader resourceLoader, String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        Resource resource = resourceLoader.getResource(location);
+        if (!resource.exists()) {
+            throw new IllegalStateException("사용자 사전을 찾을 수 없습니다: " + location);
+        }
+        try {
+            if (resource.isFile()) {
+                return resource.getFile().toPath();
+            }
+            Path copy = Files.createTempFile("komoran-user-dic", ".txt");
+            copy.toFile().deleteOnExit();
+            try (InputStream in = resource.getInputStream()) {
+                Files.copy(in, copy, StandardCopyOption.REPLACE_EXISTING);
+            }
+            return copy;
+        } catch (IOException e) {
+            throw new IllegalStateException("사용자 사전을 읽을 수 없습니다: " + location, e);
+        }
+    }
+
+    public boolean isReady() {
+        return analyzer.isDone() && !analyzer.isCompletedExceptionally();
+    }
+
+    public DEFAULT_MODEL getModel() {
+        return model;
+    }
+
+    public String getUserDictionary() {
+        return userDictionary;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public boolean isDedicatedThreads() {
+        return dedicatedThreads != null;
+    }
+
+    public int getInUse() {
+        return size - permits.availablePermits();
+    }
+
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    public long getLoadMillis() {
+        return loadMillis;
+    }
+
+    public long getAnalyses() {
+        return analyses.sum();
+    }
+
+    public long getWaits() {
+        return waits.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    /**
+     * 허가를 기다린 요청의 평균 대기 시간(ms)을 반환합니다.
+     */
+    public double getAverageWaitMillis() {
+        long count = getWaits();
+        return count == 0 ? 0.0 : totalWaitNanos.sum() / 1_000_000.0 / count;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,35 @@
+package org.aitest.ai_counsel.service;
+
+/**
+ * Komoran 품사 태그 판별 함수입니다.
+ * 토큰마다 호출되므로 정규식 대신 앞 글자 비교로 판별하여 객체를 할당하지 않습니다.
+ */
+final class PosTags {
+
+    private PosTags() {
+    }
+
+    /**
+     * 일반/고유/의존 명사(NN*), 동사(VV*), 형용사(VA*) 여부를 반환합니다.
+     */
+    static boolean isContentWord(String pos) {
+        if (pos == null || pos.length() < 2) {
+            return false;
+        }
+        char first = pos.charAt(0);
+        char second = pos.charAt(1);
+        return (first == 'N' && second == 'N')
+                || (first == 'V' && (second == 'V' || second == 'A'));
+    }
+
+    /**
+     * 내용어에 더해 외국어(SL), 한자(SH), 숫자(SN) 여부를 반환합니다.
+     */
+    static boolean isIndexed(String pos) {
+        if (isContentWord(pos)) {
+            return true;
+        }
+        return pos != null && pos.length() == 2 && pos.charAt(0) == 'S'
+                && (pos.charAt(1) == 'L' || pos.charAt(1) == 'H' || pos.charAt(1) == 'N');
+    }
+}
@@ -0,0 +1,101 @@
+package org.aitest.ai_counsel.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselPredictionJdbcRepository;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 저장된 예측 이력을 실제로 이어진 상담과 비교하여 예측 정확도를 계산합니다.
+ * <p>
+ * 각 예측은 생성 이후 같은 고객의 첫 상담과 비교합니다. 유형 적중률은 그 상담이 분석된 경우만,
+ * 예상일 범위 적중률과 예상일 오차는 예상일이 있는 예측만 집계하며, 이후 상담이 아직 없는 예측은 대기 건수로 셉니다.
+ * 같은 고객을 여러 번 예측했으면 각각 집계합니다.
+ */
+@Service
+@RequiredArgsConstructor
+public class PredictionAccuracyService {
+
+    private static final double SECONDS_PER_DAY = 86_400.0;
+
+    private final CounselPredictionJdbcRepository predictionJdbcRepository;
+
+    public PredictionAccuracy evaluate(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new InvalidRequestException("예측 생성 기간이 올바르지 않습니다.");
+        }
+
+        PredictionAccuracy accuracy = new PredictionAccuracy(from, to);
+        predictionJdbcRepository.findOutcomes(from, to, outcome -> {
+            accuracy.predictions++;
+            if (outcome.getActualDate() == null) {
+                accuracy.pending++;
+                return;
+            }
+            accuracy.evaluated++;
+
+            if (outcome.getActualType() != null) {
+                accuracy.typeEvaluated++;
+                if (outcome.getActualType().equals(outcome.getPredictedType())) {
+                    accuracy.typeHits++;
+                }
+            }
+            if (outcome.getNextCounselDate() != null) {
+                accuracy.dateEvaluated++;
+                accuracy.absoluteErrorDays += Math.abs(
+                        ChronoUnit.SECONDS.between(outcome.getNextCounselDate(), outcome.getActualDate())) / SECONDS_PER_DAY;
+                if (!outcome.getActualDate().isBefore(outcome.getNextCounselEarliest())
+                        && !outcome.getActualDate().isAfter(outcome.getNextCounselLatest())) {
+                    accuracy.intervalHits++;
+                }
+            }
+        });
+        return accuracy;
+    }
+
+    @Getter
+    public static class PredictionAccuracy {
+        private final LocalDateTime from;
+        private final LocalDateTime to;
+        private long predictions;
+        private long pending;
+        private long evaluated;
+        private long typeEvaluated;
+        private long typeHits;
+        private long dateEvaluated;
+        private long intervalHits;
+        @Getter(AccessLevel.NONE)
+        private double absoluteErrorDays;
+
+        private PredictionAccuracy(LocalDateTime from, LocalDateTime to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * 예측 유형이 실제 다음 상담 유형과 같은 비율입니다.
+         */
+        public double getTypeAccuracy() {
+            return typeEvaluated == 0 ? 0.0 : (double) typeHits / typeEvaluated;
+        }
+
+        /**
+         * 실제 다음 상담일이 예상일 범위 안에 든 비율입니다.
+         */
+        public double getIntervalHitRate() {
+            return dateEvaluated == 0 ? 0.0 : (double) intervalHits / dateEvaluated;
+        }
+
+        /**
+         * 예상일과 실제 다음 상담일 차이의 평균(일)입니다.
+         */
+        public double getMeanAbsoluteErrorDays() {
+            return dateEvaluated == 0 ? 0.0 : absoluteErrorDays / dateEvaluated;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.aitest.ai_counsel.service;
+
+import kr.co.shineware.nlp.komoran.model.Token;
+import lombok.Getter;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 상담 내용에 대한 형태소 분석 결과입니다.
+ * 한 번 분석한 결과를 키워드 추출, 유형 분류, 감정 분석 단계에서 함께 사용합니다.
+ */
+@Getter
+public class TokenizedContent {
+
+    private static final int MAX_KEYWORDS = 10;
+
+    private final String content;
+    private final List<Token> tokens;
+    private final List<String> keywords;
+
+    public TokenizedContent(String content, List<Token> tokens) {
+        this.content = content;
+        this.tokens = tokens == null ? Collections.emptyList() : Collections.unmodifiableList(tokens);
+        this.keywords = extractKeywords(this.tokens);
+    }
+
+    /**
+     * 명사, 동사, 형용사 중 두 글자 이상인 형태소를 키워드로 추출합니다.
+     * <p>
+     * 키워드는 최대 10개이므로 중복 제거는 결과 배열의 선형 탐색으로 충분합니다.
+     * 결과 배열 외에는 토큰마다 객체를 할당하지 않으며, 10개를 채우면 바로 종료합니다.
+     */
+    static List<String> extractKeywords(List<Token> tokens) {
+        String[] found = null;
+        int count = 0;
+        for (int i = 0, size = tokens.size(); i < size && count < MAX_KEYWORDS; i++) {
+            Token token = tokens.get(i);
+            String word = token.getMorph();
+            // 단일 문자 제외
+            if (word == null || word.length() < 2 || !PosTags.isContentWord(token.getPos())) {
+                continue;
+            }
+            if (found == null) {
+                found = new String[MAX_KEYWORDS];
+            } else if (contains(found, count, word)) {
+                continue;
+            }
+            found[count++] = word;
+        }
+
+        if (count == 0) {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(count == MAX_KEYWORDS ? found : Arrays.copyOf(found, count)));
+    }
+
+    private static boolean contains(String[] words, int count, String word) {
+        for (int i = 0; i < count; i++) {
+            if (words[i].equals(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,127 @@
+package org.aitest.ai_counsel.service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 상담 유형 간 전이 건수 행렬입니다. 유형은 처음 나타난 순서대로 번호를 붙여 행과 열로 사용합니다.
+ * <p>
+ * 스레드 안전하지 않으므로 갱신은 복사본에 수행하고, 공개된 행렬은 읽기만 합니다.
+ * 상담 유형 수는 수십 개 이내이므로 복사 비용이 작습니다.
+ */
+class TransitionMatrix {
+
+    private final Map<String, Integer> index;
+    private final List<String> types;
+    private long[][] counts;
+    private long[] rowTotals;
+    private long transitionCount;
+
+    TransitionMatrix() {
+        this.index = new HashMap<>();
+        this.types = new ArrayList<>();
+        this.counts = new long[0][0];
+        this.rowTotals = new long[0];
+    }
+
+    private TransitionMatrix(TransitionMatrix source) {
+        this.index = new HashMap<>(source.index);
+        this.types = new ArrayList<>(source.types);
+        this.counts = new long[source.counts.length][];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = source.counts[i].clone();
+        }
+        this.rowTotals = source.rowTotals.clone();
+        this.transitionCount = source.transitionCount;
+    }
+
+    TransitionMatrix copy() {
+        return new TransitionMatrix(this);
+    }
+
+    /**
+     * from 유형 다음에 to 유형이 온 건수에 delta 를 더합니다. 증감분을 모을 때도 쓰므로 음수가 될 수 있습니다.
+     */
+    void add(String from, String to, long delta) {
+        int row = indexOf(from);
+        int column = indexOf(to);
+        counts[row][column] += delta;
+        rowTotals[row] += delta;
+        transitionCount += delta;
+    }
+
+    void addAll(TransitionMatrix other) {
+        for (int i = 0; i < other.types.size(); i++) {
+            for (int j = 0; j < other.types.size(); j++) {
+                if (other.counts[i][j] != 0) {
+                    add(other.types.get(i), other.types.get(j), other.counts[i][j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 다른 행렬의 건수(증감분)를 더합니다. 재구축 시점에 따라 없는 전이를 빼는 경우가 있으므로 건수는 0 아래로 내려가지 않습니다.
+     */
+    void merge(TransitionMatrix other) {
+        for (int i = 0; i < other.types.size(); i++) {
+            for (int j = 0; j < other.types.size(); j++) {
+                long delta = other.counts[i][j];
+                if (delta != 0) {
+                    int row = indexOf(other.types.get(i));
+                    int column = indexOf(other.types.get(j));
+                    add(other.types.get(i), other.types.get(j), Math.max(delta, -counts[row][column]));
+                }
+            }
+        }
+    }
+
+    /**
+     * from 유형 다음 상담의 유형별 확률을 반환합니다. 관측되지 않은 전이도 0 이 되지 않도록 라플라스 평활을 적용하며,
+     * from 유형에서 시작한 전이가 없으면 빈 맵을 반환합니다.
+     */
+    Map<String, Double> probabilities(String from) {
+        Integer row = from == null ? null : index.get(from);
+        if (row == null || rowTotals[row] == 0) {
+            return Map.of();
+        }
+
+        double denominator = rowTotals[row] + types.size();
+        Map<String, Double> probabilities = new LinkedHashMap<>();
+        for (int column = 0; column < types.size(); column++) {
+            probabilities.put(types.get(column), (counts[row][column] + 1) / denominator);
+        }
+        return probabilities;
+    }
+
+    int getTypeCount() {
+        return types.size();
+    }
+
+    long getTransitionCount() {
+        return transitionCount;
+    }
+
+    private int indexOf(String type) {
+        Integer existing = index.get(type);
+        if (existing != null) {
+            return existing;
+        }
+
+        int added = types.size();
+        index.put(type, added);
+        types.add(type);
+        long[][] grown = new long[added + 1][];
+        for (int i = 0; i < added; i++) {
+            grown[i] = Arrays.copyOf(counts[i], added + 1);
+        }
+        grown[added] = new long[added + 1];
+        counts = grown;
+        rowTotals = Arrays.copyOf(rowTotals, added + 1);
+        return added;
+    }
+}
@@ -0,0 +1,404 @@
+package org.aitest.ai_counsel.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 고객의 상담 유형 순서로부터 학습한 1차 마르코프 전이 모델입니다.
+ * <p>
+ * 고객별 분석된 상담을 일시 순으로 나열했을 때 이웃한 두 상담의 유형을 전이 한 건으로 셉니다.
+ * 조회는 불변 행렬을 잠금 없이 읽고, 갱신은 행렬을 복사해 교체합니다.
+ * <p>
+ * 분석 이벤트는 트랜잭션이 커밋된 뒤 증분 스레드로 넘겨, 같은 고객의 바로 앞 / 뒤 상담 유형을 조회하여 전이를 반영합니다.
+ * 이웃 조회가 분석 트랜잭션의 커밋 경로에 들어가지 않으며, 증분 대기열이 가득 차면 건너뛰고 재구축에서 바로잡습니다.
+ * 이미 분석된 상담 사이에 뒤늦게 분석된 상담이 끼어들면 기존 전이를 나누지 못하므로,
+ * 주기적으로 상담 테이블 전체로부터 행렬을 다시 계산합니다. 재구축은 고객 ID 구간별로 병렬 수행하며,
+ * 재구축 중에 반영된 증분은 새 행렬에 포함되었는지 알 수 없으므로 버리고 다음 재구축에서 바로잡습니다.
+ */
+@Slf4j
+@Component
+public class TypeTransitionModel {
+
+    private static final Object TRANSACTION_EVENTS = new Object();
+    private static final int DELTA_QUEUE_CAPACITY = 1024;
+    private static final PageRequest NEIGHBOR = PageRequest.ofSize(1);
+    // 고객별 상담 수가 고르지 않으므로 워커 수보다 잘게 나눔
+    private static final int PARTITIONS_PER_WORKER = 4;
+
+    private static final String COUNT_CUSTOMERS_SQL =
+            "SELECT COUNT(DISTINCT customer_id) FROM counsel WHERE counsel_type IS NOT NULL";
+    private static final String SELECT_CUSTOMERS_SQL =
+            "SELECT DISTINCT customer_id FROM counsel WHERE counsel_type IS NOT NULL ORDER BY customer_id";
+    private static final String SELECT_SEQUENCE_SQL =
+            "SELECT customer_id, counsel_type FROM counsel "
+                    + "WHERE counsel_type IS NOT NULL AND customer_id >= ? AND customer_id < ? "
+                    + "ORDER BY customer_id, counsel_date, id";
+    private static final String SELECT_LAST_SEQUENCE_SQL =
+            "SELECT customer_id, counsel_type FROM counsel "
+                    + "WHERE counsel_type IS NOT NULL AND customer_id >= ? "
+                    + "ORDER BY customer_id, counsel_date, id";
+
+    private final CounselRepository counselRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor rebuildExecutor;
+    private final boolean rebuildOnStartup;
+    private final ScheduledExecutorService scheduler;
+    private final ThreadPoolExecutor deltaExecutor;
+
+    private final Object updateLock = new Object();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final AtomicInteger completedPartitions = new AtomicInteger();
+    private final LongAdder appliedEvents = new LongAdder();
+    private final LongAdder skippedEvents = new LongAdder();
+    private volatile TransitionMatrix matrix = new TransitionMatrix();
+    private volatile int partitions;
+    private volatile long lastRebuildMillis;
+    private volatile LocalDateTime lastRebuildAt;
+
+    public TypeTransitionModel(CounselRepository counselRepository,
+                               JdbcTemplate jdbcTemplate,
+                               @Qualifier("transitionRebuildExecutor") ThreadPoolTaskExecutor rebuildExecutor,
+                               @Value("${counsel.prediction.transition.rebuild-on-startup:true}") boolean rebuildOnStartup,
+                               @Value("${counsel.prediction.transition.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.counselRepository = counselRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.rebuildExecutor = rebuildExecutor;
+        this.rebuildOnStartup = rebuildOnStartup;
+        this.deltaExecutor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(DELTA_QUEUE_CAPACITY), runnable -> {
+            Thread thread = new Thread(runnable, "transition-delta");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (rebuildInterval.isZero() || rebuildInterval.isNegative()) {
+            this.scheduler = null;
+        } else {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "transition-rebuild-scheduler");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = rebuildInterval.toMillis();
+            scheduler.scheduleWithFixedDelay(this::scheduledRebuild, interval, interval, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+        deltaExecutor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            startRebuild();
+        }
+    }
+
+    /**
+     * 유형이 바뀐 분석 이벤트를 트랜잭션 단위로 모아 두었다가 커밋되면 증분 스레드로 넘깁니다.
+     * 트랜잭션 밖에서 발행되면 바로 넘깁니다.
+     */
+    @EventListener
+    public void onCounselAnalyzed(CounselAnalyzedEvent event) {
+        if (event.getCounselType().equals(event.getPreviousCounselType())) {
+            return;
+        }
+
+        List<CounselAnalyzedEvent> transactionEvents = transactionEvents();
+        if (transactionEvents == null) {
+            submit(List.of(event));
+        } else {
+            transactionEvents.add(event);
+        }
+    }
+
+    private void submit(List<CounselAnalyzedEvent> events) {
+        try {
+            deltaExecutor.execute(() -> applyEvents(events));
+        } catch (RejectedExecutionException e) {
+            skippedEvents.add(events.size());
+            log.warn("상담 유형 전이 증분 대기열이 가득 차 건너뜁니다: {}건 (다음 재구축에서 반영)", events.size());
+        }
+    }
+
+    /**
+     * 커밋된 분석 이벤트들의 전이 증감분을 한 번에 반영합니다.
+     */
+    private void applyEvents(List<CounselAnalyzedEvent> events) {
+        TransitionMatrix deltas = new TransitionMatrix();
+        for (CounselAnalyzedEvent event : events) {
+            try {
+                addDeltas(deltas, event);
+                appliedEvents.increment();
+            } catch (Exception e) {
+                skippedEvents.increment();
+                log.warn("상담 유형 전이 증분 계산 실패: counselId={}, {}", event.getCounselId(), e.getMessage());
+            }
+        }
+        apply(deltas);
+    }
+
+    /**
+     * 분석으로 생긴 전이 증감분을 계산합니다. 처음 분석된 상담은 바로 앞 상담으로부터의 전이를 더하고,
+     * 유형이 바뀐 재분석은 앞 / 뒤 상담과의 전이를 새 유형으로 옮깁니다.
+     */
+    private void addDeltas(TransitionMatrix deltas, CounselAnalyzedEvent event) {
+        String counselType = event.getCounselType();
+        String previousType = event.getPreviousCounselType();
+
+        String before = first(counselRepository.findPreviousCounselTypes(
+                event.getCustomerId(), event.getCounselDate(), event.getCounselId(), NEIGHBOR));
+        if (before != null) {
+            deltas.add(before, counselType, 1);
+        }
+        if (!event.isFirstAnalysis()) {
+            String after = first(counselRepository.findNextCounselTypes(
+                    event.getCustomerId(), event.getCounselDate(), event.getCounselId(), NEIGHBOR));
+            if (before != null) {
+                deltas.add(before, previousType, -1);
+            }
+            if (after != null) {
+                deltas.add(previousType, after, -1);
+                deltas.add(counselType, after, 1);
+            }
+        }
+    }
+
+    /**
+     * 한 고객의 일시 순 상담 유형 목록으로 전이를 학습합니다. 상담 테이블을 거치지 않고 모델을 채울 때 사용합니다.
+     */
+    void learn(List<String> counselTypes) {
+        TransitionMatrix deltas = new TransitionMatrix();
+        for (int i = 1; i < counselTypes.size(); i++) {
+            deltas.add(counselTypes.get(i - 1), counselTypes.get(i), 1);
+        }
+        apply(deltas);
+    }
+
+    /**
+     * fromType 다음 상담의 유형별 확률을 반환합니다. 학습된 전이가 없으면 빈 맵을 반환합니다.
+     */
+    public Map<String, Double> transitionProbabilities(String fromType) {
+        return matrix.probabilities(fromType);
+    }
+
+    /**
+     * 전이 행렬을 상담 테이블로부터 다시 계산하는 작업을 시작합니다. 진행 중인 재구축이 있으면 거절합니다.
+     * 구간 하나라도 실패하면 기존 행렬을 유지합니다.
+     */
+    public CompletableFuture<Void> startRebuild() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            throw new BusinessException(ErrorCode.PREDICTION_MODEL_REBUILD_IN_PROGRESS);
+        }
+
+        long start = System.currentTimeMillis();
+        completedPartitions.set(0);
+        return CompletableFuture.supplyAsync(this::partition, rebuildExecutor)
+                .thenCompose(boundaries -> {
+                    partitions = boundaries.size();
+                    List<CompletableFuture<TransitionMatrix>> futures = new ArrayList<>();
+                    for (int i = 0; i < boundaries.size(); i++) {
+                        String from = boundaries.get(i);
+                        String to = i + 1 < boundaries.size() ? boundaries.get(i + 1) : null;
+                        futures.add(CompletableFuture.supplyAsync(() -> countTransitions(from, to), rebuildExecutor));
+                    }
+                    return CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new))
+                            .thenApply(ignored -> {
+                                TransitionMatrix rebuilt = new TransitionMatrix();
+                                futures.forEach(future -> rebuilt.addAll(future.join()));
+                                return rebuilt;
+                            });
+                })
+                .thenAccept(rebuilt -> {
+                    synchronized (updateLock) {
+                        matrix = rebuilt;
+                    }
+                    lastRebuildAt = LocalDateTime.now();
+                    log.info("상담 유형 전이 모델 재구축 완료: 유형 {}개, 전이 {}건, 구간 {}개",
+                            rebuilt.getTypeCount(), rebuilt.getTransitionCount(), partitions);
+                })
+                .whenComplete((ignored, error) -> {
+                    lastRebuildMillis = System.currentTimeMillis() - start;
+                    rebuilding.set(false);
+                    if (error != null) {
+                        log.error("상담 유형 전이 모델 재구축 실패", error);
+                    }
+                });
+    }
+
+    private void scheduledRebuild() {
+        try {
+            startRebuild();
+        } catch (BusinessException e) {
+            log.debug("상담 유형 전이 모델 재구축이 이미 진행 중이어서 건너뜁니다.");
+        }
+    }
+
+    /**
+     * 분석된 상담이 있는 고객 ID 를 정렬 순서대로 읽으며 구간 시작 ID 를 고릅니다.
+     * 구간 경계는 DB 의 정렬 순서를 따르므로 구간 조회 조건과 어긋나지 않습니다.
+     */
+    private List<String> partition() {
+        Long customers = jdbcTemplate.queryForObject(COUNT_CUSTOMERS_SQL, Long.class);
+        List<String> boundaries = new ArrayList<>();
+        if (customers == null || customers == 0) {
+            return boundaries;
+        }
+
+        int target = Math.max(1, rebuildExecutor.getCorePoolSize() * PARTITIONS_PER_WORKER);
+        long step = Math.max(1, (customers + target - 1) / target);
+        long[] row = {0};
+        jdbcTemplate.query(SELECT_CUSTOMERS_SQL, (RowCallbackHandler) rs -> {
+            if (row[0]++ % step == 0) {
+                boundaries.add(rs.getString(1));
+            }
+        });
+        return boundaries;
+    }
+
+    /**
+     * [from, to) 구간 고객의 분석된 상담을 고객, 일시 순으로 읽으며 이웃한 두 상담의 유형 전이를 셉니다.
+     * to 가 null 이면 마지막 구간입니다.
+     */
+    private TransitionMatrix countTransitions(String from, String to) {
+        TransitionMatrix counted = new TransitionMatrix();
+        String[] previous = new String[2];
+        RowCallbackHandler handler = rs -> {
+            String customerId = rs.getString(1);
+            String counselType = rs.getString(2);
+            if (customerId.equals(previous[0])) {
+                counted.add(previous[1], counselType, 1);
+            }
+            previous[0] = customerId;
+            previous[1] = counselType;
+        };
+
+        if (to == null) {
+            jdbcTemplate.query(SELECT_LAST_SEQUENCE_SQL, handler, from);
+        } else {
+            jdbcTemplate.query(SELECT_SEQUENCE_SQL, handler, from, to);
+        }
+        completedPartitions.incrementAndGet();
+        return counted;
+    }
+
+    private void apply(TransitionMatrix deltas) {
+        synchronized (updateLock) {
+            TransitionMatrix updated = matrix.copy();
+            updated.merge(deltas);
+            matrix = updated;
+        }
+    }
+
+    /**
+     * 현재 트랜잭션의 분석 이벤트 모음을 반환합니다. 처음 호출되면 커밋 후에 증분 스레드로 넘기도록 등록하며,
+     * 트랜잭션 밖에서는 null 을 반환합니다.
+     */
+    @SuppressWarnings("unchecked")
+    private List<CounselAnalyzedEvent> transactionEvents() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return null;
+        }
+
+        List<CounselAnalyzedEvent> events =
+                (List<CounselAnalyzedEvent>) TransactionSynchronizationManager.getResource(TRANSACTION_EVENTS);
+        if (events != null) {
+            return events;
+        }
+
+        List<CounselAnalyzedEvent> created = new ArrayList<>();
+        TransactionSynchronizationManager.bindResource(TRANSACTION_EVENTS, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                submit(created);
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(TRANSACTION_EVENTS);
+            }
+        });
+        return created;
+    }
+
+    private static String first(List<String> types) {
+        return types.isEmpty() ? null : types.get(0);
+    }
+
+    public int getTypeCount() {
+        return matrix.getTypeCount();
+    }
+
+    public long getTransitionCount() {
+        return matrix.getTransitionCount();
+    }
+
+    public boolean isRebuilding() {
+        return rebuilding.get();
+    }
+
+    public int getPartitions() {
+        return partitions;
+    }
+
+    public int getCompletedPartitions() {
+        return completedPartitions.get();
+    }
+
+    public long getLastRebuildMillis() {
+        return lastRebuildMillis;
+    }
+
+    public LocalDateTime getLastRebuildAt() {
+        return lastRebuildAt;
+    }
+
+    public long getAppliedEvents() {
+        return appliedEvents.sum();
+    }
+
+    public long getSkippedEvents() {
+        return skippedEvents.sum();
+    }
+
+    public int getPendingDeltaBatches() {
+        return deltaExecutor.getQueue().size();
+    }
+}
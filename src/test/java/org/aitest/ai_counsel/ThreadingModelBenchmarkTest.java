@@ -0,0 +1,234 @@
+package org.aitest.ai_counsel;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 플랫폼 스레드(Tomcat 기본 스레드 풀)와 가상 스레드 모드의 동시 요청 처리량을 비교합니다.
+ * <p>
+ * 감정 분석 API 를 응답 지연이 있는 가짜 엔드포인트로 대체하고, 동시 접속 수를 늘려가며
+ * POST /api/counsels/{id}/analysis 의 처리량과 지연 시간을 측정합니다.
+ * 가상 스레드 모드는 Java 21 이상에서만 측정합니다.
+ * <p>
+ * mvn -Pbenchmark test 로 실행하며, 다음 값으로 조정합니다.
+ * -Dbenchmark.threading.latency-ms (감정 분석 응답 지연), -Dbenchmark.threading.requests-per-client
+ */
+@Tag("benchmark")
+class ThreadingModelBenchmarkTest {
+
+    private static final int[] CONCURRENCY = {50, 200, 800};
+    private static final int LATENCY_MILLIS = Integer.getInteger("benchmark.threading.latency-ms", 200);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("benchmark.threading.requests-per-client", 5);
+    private static final int MAX_CONCURRENCY = Arrays.stream(CONCURRENCY).max().orElseThrow();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private HttpServer sentimentServer;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        sentimentServer = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), MAX_CONCURRENCY * 2);
+        sentimentServer.createContext("/v1/completions", this::handleCompletion);
+        sentimentServer.setExecutor(Executors.newCachedThreadPool());
+        sentimentServer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        sentimentServer.stop(0);
+    }
+
+    @Test
+    void benchmarkConcurrentRequestCapacity() throws Exception {
+        Map<Integer, Result> platform = run(false);
+        platform.forEach((concurrency, result) -> result.print("플랫폼 스레드", concurrency));
+
+        assumeTrue(Runtime.version().feature() >= 21, "가상 스레드 측정은 Java 21 이상에서만 실행합니다.");
+        Map<Integer, Result> virtual = run(true);
+        virtual.forEach((concurrency, result) -> result.print("가상 스레드", concurrency));
+
+        virtual.values().forEach(result -> assertEquals(0, result.errors));
+        // Tomcat 스레드 수(200)를 넘는 동시 요청에서 가상 스레드가 더 많은 요청을 처리해야 함
+        assertTrue(virtual.get(MAX_CONCURRENCY).throughput() > platform.get(MAX_CONCURRENCY).throughput());
+    }
+
+    private Map<Integer, Result> run(boolean virtualThreads) throws Exception {
+        String mode = virtualThreads ? "virtual" : "platform";
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(AiCounselApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:threading-" + mode + ";MODE=MySQL;DB_CLOSE_DELAY=-1;DATABASE_TO_UPPER=FALSE",
+                        // 분석 명령은 트랜잭션 동안 커넥션을 점유하므로 커넥션 풀이 먼저 한계가 되지 않도록 설정
+                        "spring.datasource.hikari.maximum-pool-size=" + MAX_CONCURRENCY,
+                        "spring.jpa.show-sql=false",
+                        "counsel.search.rebuild-on-startup=false",
+                        "openai.api.key=benchmark-key",
+                        "openai.api.base-url=http://127.0.0.1:" + sentimentServer.getAddress().getPort() + "/",
+                        "openai.sentiment.max-concurrent-calls=" + MAX_CONCURRENCY,
+                        "openai.sentiment.timeout-ms=30000",
+                        "openai.sentiment.batch.enabled=false")
+                .run()) {
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            CounselJdbcRepository counselJdbcRepository = context.getBean(CounselJdbcRepository.class);
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(30))
+                    .build();
+
+            // 분석 결과 캐시에 걸리지 않도록 요청마다 내용이 다른 상담을 사용
+            load(client, baseUrl, insertCounsels(counselJdbcRepository, mode + "-warmup", 50), 50);
+
+            Map<Integer, Result> results = new LinkedHashMap<>();
+            for (int concurrency : CONCURRENCY) {
+                List<Long> ids = insertCounsels(counselJdbcRepository, mode + "-" + concurrency,
+                        concurrency * REQUESTS_PER_CLIENT);
+                results.put(concurrency, load(client, baseUrl, ids, concurrency));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * 동시 접속 수만큼의 클라이언트가 응답을 받는 즉시 다음 요청을 보내는 방식(closed loop)으로 부하를 겁니다.
+     */
+    private Result load(HttpClient client, String baseUrl, List<Long> ids, int concurrency) {
+        long[] latencies = new long[ids.size()];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        long start = System.nanoTime();
+        CompletableFuture<?>[] clients = new CompletableFuture<?>[concurrency];
+        for (int i = 0; i < concurrency; i++) {
+            clients[i] = send(client, baseUrl, ids, next, latencies, errors);
+        }
+        CompletableFuture.allOf(clients).join();
+        return new Result(latencies, System.nanoTime() - start, errors.get());
+    }
+
+    private CompletableFuture<Void> send(HttpClient client, String baseUrl, List<Long> ids, AtomicInteger next,
+                                         long[] latencies, AtomicInteger errors) {
+        int index = next.getAndIncrement();
+        if (index >= ids.size()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/counsels/" + ids.get(index) + "/analysis"))
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .timeout(Duration.ofMinutes(2))
+                .build();
+        long begin = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .handle((response, error) -> {
+                    latencies[index] = System.nanoTime() - begin;
+                    if (error != null || response.statusCode() != 200) {
+                        errors.incrementAndGet();
+                    }
+                    return null;
+                })
+                .thenCompose(ignored -> send(client, baseUrl, ids, next, latencies, errors));
+    }
+
+    private static List<Long> insertCounsels(CounselJdbcRepository repository, String prefix, int count) {
+        List<Counsel> counsels = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Counsel counsel = new Counsel();
+            counsel.setCounselorId("CS" + (i % 8));
+            counsel.setCustomerId("THREADING" + (i % 200));
+            counsel.setContent("동시 요청 측정용 상담 " + prefix + "-" + i + ". 신용카드 한도 상향과 연회비를 문의드립니다.");
+            counsel.setCounselDate(LocalDateTime.now());
+            counsel.setProductInfo("신용카드");
+            counsels.add(counsel);
+        }
+        repository.insertCounsels(counsels);
+        return counsels.stream().map(Counsel::getId).toList();
+    }
+
+    /**
+     * 응답 지연을 흉내 내는 Completion 엔드포인트입니다.
+     */
+    private void handleCompletion(HttpExchange exchange) throws IOException {
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+        try {
+            Thread.sleep(LATENCY_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("id", "cmpl-benchmark");
+        response.put("object", "text_completion");
+        response.put("model", request.get("model").asText());
+        ArrayNode choices = response.putArray("choices");
+        ObjectNode choice = choices.addObject();
+        choice.put("text", " 중립");
+        choice.put("index", 0);
+        choice.put("finish_reason", "stop");
+
+        byte[] body = mapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private static final class Result {
+        private final long[] sortedLatencies;
+        private final long elapsedNanos;
+        private final int errors;
+
+        private Result(long[] latencies, long elapsedNanos, int errors) {
+            this.sortedLatencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            this.errors = errors;
+            Arrays.sort(sortedLatencies);
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        long percentile(int percent) {
+            int index = (int) Math.ceil(percent / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+
+        void print(String name, int concurrency) {
+            System.out.printf("[benchmark] %s, 동시 %d: %,.0f req/s, p50 %.1f ms, p99 %.1f ms, 오류 %d%n",
+                    name, concurrency, throughput(), percentile(50) / 1e6, percentile(99) / 1e6, errors);
+        }
+    }
+}
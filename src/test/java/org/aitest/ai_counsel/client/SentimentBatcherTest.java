@@ -0,0 +1,153 @@
+package org.aitest.ai_counsel.client;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 프롬프트 배열을 처리하는 가짜 Completion 엔드포인트로 배치 전송과 응답 매핑을 검증합니다.
+ */
+class SentimentBatcherTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<Integer> promptsPerRequest = new CopyOnWriteArrayList<>();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/completions", this::handleCompletion);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * 프롬프트마다 choice 를 만들되 역순으로 응답하여 index 기반 매핑을 확인합니다.
+     */
+    private void handleCompletion(HttpExchange exchange) throws IOException {
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+        JsonNode prompt = request.get("prompt");
+        int size = prompt.isArray() ? prompt.size() : 1;
+        promptsPerRequest.add(size);
+
+        ObjectNode response = mapper.createObjectNode();
+        response.put("id", "cmpl-batch");
+        response.put("object", "text_completion");
+        response.put("model", request.get("model").asText());
+        ArrayNode choices = response.putArray("choices");
+        for (int i = size - 1; i >= 0; i--) {
+            String text = prompt.isArray() ? prompt.get(i).asText() : prompt.asText();
+            ObjectNode choice = choices.addObject();
+            choice.put("text", text.contains("불만") ? " 부정" : " 긍정");
+            choice.put("index", i);
+            choice.put("finish_reason", "stop");
+        }
+
+        byte[] body = mapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(200, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private SentimentClient createClient(int maxBatchSize, long maxDelayMillis) {
+        SentimentProperties properties = new SentimentProperties();
+        properties.setTimeoutMs(5_000);
+        properties.getBatch().setEnabled(true);
+        properties.getBatch().setMaxSize(maxBatchSize);
+        properties.getBatch().setMaxDelayMs(maxDelayMillis);
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        return new SentimentClient("test-key", baseUrl, properties);
+    }
+
+    @Test
+    void testBatch_FlushesWhenFull() {
+        // given
+        SentimentClient client = createClient(10, 60_000);
+
+        // when
+        List<CompletableFuture<String>> futures = IntStream.range(0, 10)
+                .mapToObj(i -> client.classifyBatched(i % 2 == 0 ? "서비스 불만 접수 " + i : "혜택이 좋습니다 " + i))
+                .toList();
+
+        // then
+        for (int i = 0; i < futures.size(); i++) {
+            assertEquals(i % 2 == 0 ? "부정" : "긍정", futures.get(i).join());
+        }
+        assertEquals(List.of(10), promptsPerRequest); // 10건이 한 번의 요청으로 전송
+        assertEquals(1, client.getTotalCalls());
+    }
+
+    @Test
+    void testBatch_FlushesAfterMaxDelay() {
+        // given
+        SentimentClient client = createClient(50, 20);
+
+        // when
+        CompletableFuture<String> first = client.classifyBatched("불만이 있습니다");
+        CompletableFuture<String> second = client.classifyBatched("만족합니다");
+
+        // then
+        assertEquals("부정", first.join());
+        assertEquals("긍정", second.join());
+        assertEquals(List.of(2), promptsPerRequest);
+        assertEquals(0, client.getPendingBatchSize());
+    }
+
+    @Test
+    void testSingleClassifyIsNotDelayedByBatchWindow() {
+        // given - 묶음 대기 시간이 길어도
+        SentimentClient client = createClient(50, 60_000);
+
+        // when - 단건 분석은 묶지 않고 바로 호출
+        String sentiment = client.classify("불만이 있습니다").orTimeout(5, TimeUnit.SECONDS).join();
+
+        // then
+        assertEquals("부정", sentiment);
+        assertEquals(List.of(1), promptsPerRequest);
+        assertEquals(0, client.getPendingBatchSize());
+    }
+
+    @Test
+    void testBatch_MissingChoiceFallsBack() {
+        // given
+        List<String> results = new CopyOnWriteArrayList<>();
+        SentimentBatcher batcher = new SentimentBatcher(2, 60_000,
+                contents -> CompletableFuture.completedFuture(Arrays.asList("긍정", null)));
+
+        // when
+        CompletableFuture<String> first = batcher.submit("첫 번째");
+        CompletableFuture<String> second = batcher.submit("두 번째");
+        first.thenAccept(results::add).join();
+
+        // then
+        assertEquals(List.of("긍정"), results);
+        assertTrue(second.isCompletedExceptionally());
+        batcher.shutdown();
+    }
+}
@@ -0,0 +1,169 @@
+package org.aitest.ai_counsel.client;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 로컬 스텁 HTTP 서버를 OpenAI API 대신 사용하여 호출 제한 동작을 검증합니다.
+ */
+class SentimentClientTest {
+
+    private HttpServer server;
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private volatile int responseStatus = 200;
+    private volatile long responseDelayMillis = 0;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1/completions", this::handleCompletion);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    private void handleCompletion(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        exchange.getRequestBody().readAllBytes();
+        try {
+            Thread.sleep(responseDelayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        byte[] body = ("{\"id\":\"cmpl-1\",\"object\":\"text_completion\",\"created\":1,\"model\":\"gpt-3.5-turbo-instruct\","
+                + "\"choices\":[{\"text\":\" 부정\",\"index\":0,\"finish_reason\":\"stop\"}]}")
+                .getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(responseStatus, body.length);
+        try (OutputStream os = exchange.getResponseBody()) {
+            os.write(body);
+        }
+    }
+
+    private SentimentClient createClient(int maxConcurrentCalls, long timeoutMillis) {
+        SentimentProperties properties = new SentimentProperties();
+        properties.setMaxConcurrentCalls(maxConcurrentCalls);
+        properties.setTimeoutMs(timeoutMillis);
+        properties.getCircuit().setSlidingWindowSize(4);
+        properties.getCircuit().setMinimumCalls(4);
+        properties.getCircuit().setOpenDurationMs(60_000);
+        properties.getCircuit().setHalfOpenCalls(1);
+        properties.getBatch().setEnabled(false);
+        return createClient(properties);
+    }
+
+    private SentimentClient createClient(SentimentProperties properties) {
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/";
+        return new SentimentClient("test-key", baseUrl, properties);
+    }
+
+    @Test
+    void testClassify_Success() {
+        // given
+        SentimentClient client = createClient(4, 2_000);
+
+        // when
+        String sentiment = client.classify("수수료가 너무 비싸서 불만입니다.").join();
+
+        // then
+        assertEquals("부정", sentiment);
+        assertEquals(1, client.getSuccesses());
+        assertEquals(0, client.getInFlight());
+        assertEquals(CircuitBreaker.State.CLOSED, client.getCircuitState());
+    }
+
+    @Test
+    void testClassify_TimeoutWithinLatencyBudget() {
+        // given
+        responseDelayMillis = 1_000;
+        SentimentClient client = createClient(4, 100);
+
+        // when
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.classify("응답이 느린 경우").join());
+
+        // then
+        assertInstanceOf(TimeoutException.class, exception.getCause());
+        assertEquals(1, client.getTimeouts());
+    }
+
+    @Test
+    void testClassify_BulkheadRejectsExcessCalls() {
+        // given
+        responseDelayMillis = 500;
+        SentimentClient client = createClient(1, 2_000);
+
+        // when
+        CompletableFuture<String> first = client.classify("첫 번째 요청");
+        CompletableFuture<String> second = client.classify("두 번째 요청");
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(SentimentClient.SentimentUnavailableException.class, exception.getCause());
+        assertEquals("부정", first.join());
+        assertEquals(1, client.getRejected());
+    }
+
+    @Test
+    void testClassify_CircuitOpensAfterFailures() {
+        // given
+        responseStatus = 500;
+        SentimentClient client = createClient(4, 2_000);
+
+        // when
+        for (int i = 0; i < 4; i++) {
+            assertThrows(CompletionException.class, () -> client.classify("서버 오류").join());
+        }
+        int requestsBeforeOpen = requestCount.get();
+        CompletionException exception = assertThrows(CompletionException.class,
+                () -> client.classify("차단되어야 하는 요청").join());
+
+        // then
+        assertEquals(CircuitBreaker.State.OPEN, client.getCircuitState());
+        assertInstanceOf(SentimentClient.SentimentUnavailableException.class, exception.getCause());
+        assertEquals(requestsBeforeOpen, requestCount.get()); // 서킷이 열린 뒤에는 API를 호출하지 않음
+        assertEquals(1, client.getShortCircuited());
+        assertEquals(100.0, client.getFallbackRate());
+    }
+
+    @Test
+    void testCircuitBreaker_HalfOpenRecovers() {
+        // given
+        long[] now = {0L};
+        CircuitBreaker circuitBreaker = new CircuitBreaker(4, 2, 50, 1_000, 1, () -> now[0]);
+        circuitBreaker.onFailure();
+        circuitBreaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission());
+
+        // when
+        now[0] = 1_000L;
+        assertTrue(circuitBreaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, circuitBreaker.getState());
+        assertFalse(circuitBreaker.tryAcquirePermission()); // 시험 호출은 1건만 허용
+        circuitBreaker.onSuccess();
+
+        // then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+}
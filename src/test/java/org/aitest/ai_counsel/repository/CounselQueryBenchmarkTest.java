@@ -0,0 +1,173 @@
+package org.aitest.ai_counsel.repository;
+
+import jakarta.persistence.EntityManager;
+import org.aitest.ai_counsel.domain.Counsel;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 대용량 상담 데이터에서 인덱스와 프로젝션 적용 전후의 조회 지연 시간을 측정합니다.
+ * mvn -Pbenchmark test 로 실행하며, 데이터 건수는 -Dbenchmark.rows 로 조정합니다.
+ */
+@Tag("benchmark")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+// 힙 대신 파일 DB 에 적재하여 백만 건에서도 메모리 부족 없이 측정
+@SpringBootTest(properties = {
+        "openai.api.key=",
+        "spring.datasource.url=jdbc:h2:file:./target/benchmark/counsel;MODE=MySQL;DATABASE_TO_UPPER=FALSE",
+        "spring.jpa.show-sql=false"
+})
+class CounselQueryBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 1_000_000);
+    private static final int COUNSELORS = 200;
+    private static final int CUSTOMERS = Math.max(1, ROWS / 10);
+    private static final int INSERT_BATCH = 5_000;
+    private static final int ITERATIONS = 20;
+    private static final int PAGE_SIZE = 100;
+    private static final LocalDateTime BASE_DATE = LocalDateTime.of(2022, 1, 1, 9, 0);
+    private static final LocalDateTime LATEST_DATE = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    private static final String CONTENT = "주택담보대출 금리 변경 문의드립니다. ".repeat(40);
+
+    private static final String[][] INDEXES = {
+            {"idx_counsel_customer_date", "customer_id, counsel_date"},
+            {"idx_counsel_counselor_date", "counselor_id, counsel_date"},
+            {"idx_counsel_counsel_date", "counsel_date"}
+    };
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeAll
+    void loadData() {
+        long start = System.currentTimeMillis();
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < ROWS; i++) {
+            Timestamp counselDate = Timestamp.valueOf(BASE_DATE.plusMinutes(i * 3L % (60L * 24 * 365 * 3)));
+            batch.add(new Object[]{
+                    counselorId(i % COUNSELORS), customerId(i % CUSTOMERS), CONTENT, counselDate, "상품" + (i % 50), counselDate
+            });
+            if (batch.size() == INSERT_BATCH) {
+                insert(batch);
+                batch.clear();
+            }
+        }
+        insert(batch);
+        jdbcTemplate.execute("ANALYZE");
+        System.out.printf("[benchmark] %,d건 적재: %,dms%n", ROWS, System.currentTimeMillis() - start);
+    }
+
+    @Test
+    void benchmarkIndexesAndProjection() {
+        dropIndexes();
+        long counselorScan = measure(this::counselorPage);
+        long customerScan = measure(this::customerLatest);
+        long periodScan = measure(this::periodPage);
+
+        createIndexes();
+        long counselorIndexed = measure(this::counselorPage);
+        long customerIndexed = measure(this::customerLatest);
+        long periodIndexed = measure(this::periodPage);
+        long counselorEntity = measure(this::counselorEntityPage);
+
+        System.out.printf("[benchmark] %,d건 기준 중앙값 (us)%n", ROWS);
+        System.out.printf("[benchmark] 상담사별 최신 %d건   : 인덱스 없음 %,d -> 인덱스 %,d%n", PAGE_SIZE, counselorScan, counselorIndexed);
+        System.out.printf("[benchmark] 고객 최근 상담 1건   : 인덱스 없음 %,d -> 인덱스 %,d%n", customerScan, customerIndexed);
+        System.out.printf("[benchmark] 기간별 %d건          : 인덱스 없음 %,d -> 인덱스 %,d%n", PAGE_SIZE, periodScan, periodIndexed);
+        System.out.printf("[benchmark] 상담사별 최신 %d건   : 엔티티 %,d -> 프로젝션 %,d%n", PAGE_SIZE, counselorEntity, counselorIndexed);
+
+        assertTrue(counselorIndexed < counselorScan);
+        assertTrue(customerIndexed < customerScan);
+    }
+
+    private void counselorPage() {
+        counselRepository.findCounselorPageBefore(counselorId(42), LATEST_DATE, Long.MAX_VALUE, PageRequest.ofSize(PAGE_SIZE));
+    }
+
+    private void customerLatest() {
+        counselRepository.findFirstByCustomerIdOrderByCounselDateDesc(customerId(4_242 % CUSTOMERS));
+    }
+
+    private void periodPage() {
+        LocalDateTime start = BASE_DATE.plusDays(400);
+        counselRepository.findPeriodPageAfter(start, start.plusDays(1), start, 0L, PageRequest.ofSize(PAGE_SIZE));
+    }
+
+    /**
+     * 프로젝션 적용 전처럼 엔티티 전체(content, analysis 포함)를 읽습니다.
+     */
+    private void counselorEntityPage() {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.createQuery("select c from Counsel c where c.counselorId = :counselorId " +
+                            "order by c.counselDate desc, c.id desc", Counsel.class)
+                    .setParameter("counselorId", counselorId(42))
+                    .setMaxResults(PAGE_SIZE)
+                    .getResultList();
+            entityManager.clear();
+        });
+    }
+
+    private long measure(Runnable query) {
+        for (int i = 0; i < 3; i++) {
+            query.run();
+        }
+        long[] elapsed = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            elapsed[i] = (System.nanoTime() - start) / 1_000;
+        }
+        Arrays.sort(elapsed);
+        return elapsed[ITERATIONS / 2];
+    }
+
+    private void insert(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO counsel (counselor_id, customer_id, content, counsel_date, product_info, created_at) " +
+                "VALUES (?, ?, ?, ?, ?, ?)", rows);
+    }
+
+    private void dropIndexes() {
+        for (String[] index : INDEXES) {
+            jdbcTemplate.execute("DROP INDEX IF EXISTS " + index[0]);
+        }
+    }
+
+    private void createIndexes() {
+        for (String[] index : INDEXES) {
+            jdbcTemplate.execute("CREATE INDEX " + index[0] + " ON counsel (" + index[1] + ")");
+        }
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static String counselorId(int n) {
+        return String.format("BM%04d", n);
+    }
+
+    private static String customerId(int n) {
+        return String.format("BU%07d", n);
+    }
+}
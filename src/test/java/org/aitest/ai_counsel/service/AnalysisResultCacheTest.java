@@ -0,0 +1,97 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.AnalysisCacheEntry;
+import org.aitest.ai_counsel.repository.AnalysisCacheRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "openai.api.key=",
+        "counsel.analysis.cache.persistent.enabled=true",
+        "counsel.analysis.cache.persistent.ttl=7d",
+        "counsel.analysis.cache.persistent.max-rows=3",
+        "counsel.analysis.cache.persistent.purge-interval=0s"
+})
+class AnalysisResultCacheTest {
+
+    @Autowired
+    private AnalysisResultCache analysisCache;
+
+    @Autowired
+    private AnalysisCacheRepository cacheRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void clear() {
+        cacheRepository.deleteAllInBatch();
+    }
+
+    @Test
+    void testPurgeDeletesExpiredRowsAndCapsRowCount() {
+        // given - 만료된 행 1건과 유효한 행 5건
+        saveEntry("expired", LocalDateTime.now().minusDays(8));
+        for (int i = 0; i < 5; i++) {
+            saveEntry("valid" + i, LocalDateTime.now().minusHours(5 - i));
+        }
+
+        // when
+        long deleted = analysisCache.purgePersistent();
+
+        // then - 만료된 행과 가장 오래된 유효한 행 2건이 삭제됨
+        assertEquals(3, deleted);
+        List<String> remaining = cacheRepository.findAll().stream().map(AnalysisCacheEntry::getContentHash).sorted().toList();
+        assertEquals(List.of("valid2", "valid3", "valid4"), remaining);
+    }
+
+    @Test
+    void testPersistentWriteIsIndependentOfCallerTransaction() {
+        // given
+        CounselAnalysisService.AnalysisResult result =
+                new CounselAnalysisService.AnalysisResult(List.of("펀드"), "상품문의", "중립");
+
+        // when - 분석 트랜잭션이 롤백되어도 캐시 저장은 별도 트랜잭션으로 반영됨
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            analysisCache.put("펀드 수익률을 문의합니다.", result);
+            status.setRollbackOnly();
+        });
+
+        // then
+        assertEquals(1, cacheRepository.count());
+    }
+
+    @Test
+    void testPersistentWriteOverwritesSameContent() {
+        // given
+        analysisCache.put("예금 금리를 문의합니다.", new CounselAnalysisService.AnalysisResult(List.of("예금"), "상품문의", "중립"));
+
+        // when
+        analysisCache.put("예금  금리를 문의합니다.", new CounselAnalysisService.AnalysisResult(List.of("금리"), "상품문의", "긍정"));
+
+        // then - 공백만 다른 내용은 같은 행을 덮어씀
+        List<AnalysisCacheEntry> entries = cacheRepository.findAll();
+        assertEquals(1, entries.size());
+        assertEquals("긍정", entries.get(0).getSentiment());
+        assertEquals("금리", entries.get(0).getKeywords());
+    }
+
+    private void saveEntry(String hash, LocalDateTime createdAt) {
+        AnalysisCacheEntry entry = new AnalysisCacheEntry();
+        entry.setContentHash(hash);
+        entry.setCounselType("상품문의");
+        entry.setSentiment("중립");
+        entry.setKeywords("펀드");
+        entry.setCreatedAt(createdAt);
+        cacheRepository.save(entry);
+    }
+}
@@ -0,0 +1,58 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.dto.BatchAnalysisRequest;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class BatchAnalysisServiceTest {
+
+    @Autowired
+    private BatchAnalysisService batchAnalysisService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Test
+    void testSubmitByIds() throws InterruptedException {
+        // given
+        BatchAnalysisRequest request = new BatchAnalysisRequest();
+        request.setTarget(BatchAnalysisRequest.Target.IDS);
+        request.setIds(List.of(1L, 2L, 3L, 999_999L));
+
+        // when
+        BatchAnalysisJob job = batchAnalysisService.submit(request);
+        awaitFinished(job);
+
+        // then
+        assertEquals(BatchAnalysisJob.Status.COMPLETED, job.getStatus());
+        assertEquals(4, job.getTotal());
+        assertEquals(3, job.getSucceeded());
+        assertEquals(1, job.getFailed()); // 존재하지 않는 ID
+        assertNotNull(counselRepository.findById(1L).orElseThrow().getAnalysis());
+    }
+
+    @Test
+    void testSubmitWithInvalidPeriod() {
+        // given
+        BatchAnalysisRequest request = new BatchAnalysisRequest();
+        request.setTarget(BatchAnalysisRequest.Target.PERIOD);
+
+        // when & then
+        assertThrows(InvalidRequestException.class, () -> batchAnalysisService.submit(request));
+    }
+
+    private void awaitFinished(BatchAnalysisJob job) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!job.isFinished() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+    }
+}
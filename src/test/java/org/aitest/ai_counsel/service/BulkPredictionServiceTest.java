@@ -0,0 +1,114 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.domain.CounselPredictionJob;
+import org.aitest.ai_counsel.repository.CounselPredictionJobRepository;
+import org.aitest.ai_counsel.repository.CounselPredictionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"openai.api.key=", "counsel.prediction.bulk.chunk-size=2"})
+class BulkPredictionServiceTest {
+
+    @Autowired
+    private BulkPredictionService bulkPredictionService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselPredictionRepository predictionRepository;
+
+    @Autowired
+    private CounselPredictionJobRepository jobRepository;
+
+    @Test
+    void testBulkPredictionStoresPredictionPerActiveCustomer() throws InterruptedException {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        saveAnalyzed("BULK-A01", "주식형 펀드 수익률 문의드립니다.", now.minusDays(30));
+        saveAnalyzed("BULK-A01", "펀드 수수료 관련 문의드립니다.", now.minusDays(20));
+        saveAnalyzed("BULK-A01", "펀드 해지 요청드립니다. 처리해주세요.", now.minusDays(10));
+        saveAnalyzed("BULK-A02", "신용카드 연회비 문의드립니다.", now.minusDays(5));
+        saveAnalyzed("BULK-A03", "오래된 대출 상환 문의드립니다.", now.minusYears(3));
+
+        // when
+        CounselPredictionJob job = awaitFinished(bulkPredictionService.start().getId());
+
+        // then
+        assertEquals(CounselPredictionJob.Status.COMPLETED, job.getStatus());
+        assertEquals(job.getProcessedCustomers(), job.getPredictedCustomers());
+        assertEquals(0, job.getFailedCustomers());
+
+        Map<String, CounselPrediction> predictions = predictionRepository
+                .findByJobIdAndCustomerIdIn(job.getId(), List.of("BULK-A01", "BULK-A02", "BULK-A03")).stream()
+                .collect(Collectors.toMap(CounselPrediction::getCustomerId, Function.identity()));
+        assertEquals(2, predictions.size()); // 활동 기간이 지난 고객은 제외
+
+        CounselPrediction prediction = predictions.get("BULK-A01");
+        assertEquals(3, prediction.getCounselCount());
+        assertEquals(10.0, prediction.getAverageCycle(), 0.01);
+        assertNotNull(prediction.getNextCounselDate());
+        assertTrue(prediction.getTypeProbability() > 0);
+        assertTrue(prediction.getTopKeywords().contains("펀드"));
+        assertNull(predictions.get("BULK-A02").getNextCounselDate()); // 상담 1건이면 주기 없음
+    }
+
+    @Test
+    void testResumedJobContinuesAfterCheckpoint() throws InterruptedException {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        saveAnalyzed("BULK-R01", "예금 금리 문의드립니다.", now.minusDays(3));
+        saveAnalyzed("BULK-R02", "적금 만기 문의드립니다.", now.minusDays(2));
+        saveAnalyzed("BULK-R03", "대출 한도 문의드립니다.", now.minusDays(1));
+
+        // BULK-R01 까지 커밋한 뒤 중단된 작업
+        CounselPredictionJob failed = new CounselPredictionJob();
+        failed.setStatus(CounselPredictionJob.Status.FAILED);
+        failed.setActiveSince(now.minusDays(365));
+        failed.setLastCustomerId("BULK-R01");
+        failed.setStartedAt(now);
+        failed = jobRepository.save(failed);
+
+        // when
+        bulkPredictionService.resume(failed.getId());
+        CounselPredictionJob job = awaitFinished(failed.getId());
+
+        // then
+        assertEquals(CounselPredictionJob.Status.COMPLETED, job.getStatus());
+        List<String> predicted = predictionRepository
+                .findByJobIdAndCustomerIdIn(job.getId(), List.of("BULK-R01", "BULK-R02", "BULK-R03")).stream()
+                .map(CounselPrediction::getCustomerId)
+                .sorted()
+                .toList();
+        assertEquals(List.of("BULK-R02", "BULK-R03"), predicted);
+        assertEquals(job.getPredictedCustomers(), predictionRepository.countByJobId(job.getId()));
+    }
+
+    private void saveAnalyzed(String customerId, String content, LocalDateTime counselDate) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("BULKCS");
+        counsel.setCustomerId(customerId);
+        counsel.setContent(content);
+        counsel.setCounselDate(counselDate);
+        counselService.analyzeCounsel(counselService.saveCounsel(counsel).getId()).join();
+    }
+
+    private CounselPredictionJob awaitFinished(Long jobId) throws InterruptedException {
+        for (int i = 0; i < 100 && bulkPredictionService.isRunning(jobId); i++) {
+            Thread.sleep(100);
+        }
+        assertFalse(bulkPredictionService.isRunning(jobId));
+        return bulkPredictionService.getJob(jobId);
+    }
+}
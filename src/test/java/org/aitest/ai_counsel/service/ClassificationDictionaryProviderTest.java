@@ -0,0 +1,127 @@
+package org.aitest.ai_counsel.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class ClassificationDictionaryProviderTest {
+
+    private static final String CONTENT = "외화예금 환율 우대 조건이 궁금합니다.";
+
+    @Autowired
+    private CounselAnalysisService analysisService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @TempDir
+    Path tempDir;
+
+    private Path dictionaryFile;
+    private AnalysisResultCache cache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        dictionaryFile = tempDir.resolve("counsel-dictionary.json");
+        writeDictionary("상품문의", "예금");
+        cache = new AnalysisResultCache(null, true, 100, Duration.ofMinutes(1), false, Duration.ZERO, 0, Duration.ZERO);
+    }
+
+    @Test
+    void testDefaultDictionaryClassifiesCounsel() {
+        // given
+        TokenizedContent tokenized = analysisService.tokenize("카드 해지 요청합니다. 서비스가 너무 불편해서 해지하고 싶습니다.");
+
+        // when
+        String counselType = analysisService.classifyCounselType(tokenized);
+        String sentiment = analysisService.analyzeSentimentFallback(tokenized);
+
+        // then
+        assertEquals("해지요청", counselType);
+        assertEquals(ClassificationDictionary.NEGATIVE, sentiment);
+    }
+
+    @Test
+    void testReloadAppliesNewDictionaryAndClearsCache() throws IOException {
+        // given
+        ClassificationDictionaryProvider provider = newProvider();
+        TokenizedContent tokenized = analysisService.tokenize(CONTENT);
+        assertEquals("상품문의", provider.get().match(tokenized).getCounselType());
+        cache.put(CONTENT, new CounselAnalysisService.AnalysisResult(tokenized.getKeywords(), "상품문의", "중립"));
+
+        // when
+        writeDictionary("외환문의", "환율");
+        provider.reload();
+
+        // then
+        assertEquals("외환문의", provider.get().match(tokenized).getCounselType());
+        assertEquals(2, provider.getVersion());
+        assertNull(cache.get(CONTENT));
+    }
+
+    @Test
+    void testInvalidDictionaryKeepsPreviousVersion() throws IOException {
+        // given
+        ClassificationDictionaryProvider provider = newProvider();
+        ClassificationDictionary previous = provider.get();
+        Files.writeString(dictionaryFile, "{\"threshold\": 1, \"defaultType\": \"없는유형\", \"types\": []}", StandardCharsets.UTF_8);
+
+        // when
+        BusinessException exception = assertThrows(BusinessException.class, provider::reload);
+
+        // then
+        assertEquals(ErrorCode.INVALID_DICTIONARY, exception.getErrorCode());
+        assertSame(previous, provider.get());
+        assertEquals(1, provider.getVersion());
+    }
+
+    @Test
+    void testTooLongTypeNameKeepsPreviousVersion() throws IOException {
+        // given - 상담 유형 컬럼(20자)에 저장할 수 없는 유형 이름
+        ClassificationDictionaryProvider provider = newProvider();
+        ClassificationDictionary previous = provider.get();
+        writeDictionary("아주긴이름의상담유형으로컬럼길이를넘는유형", "적금");
+
+        // when
+        BusinessException exception = assertThrows(BusinessException.class, provider::reload);
+
+        // then
+        assertEquals(ErrorCode.INVALID_DICTIONARY, exception.getErrorCode());
+        assertSame(previous, provider.get());
+    }
+
+    private ClassificationDictionaryProvider newProvider() {
+        return new ClassificationDictionaryProvider(new DefaultResourceLoader(), objectMapper, cache,
+                dictionaryFile.toUri().toString(), Duration.ZERO);
+    }
+
+    private void writeDictionary(String type, String keyword) throws IOException {
+        String json = """
+                {
+                  "threshold": 2,
+                  "defaultType": "일반상담",
+                  "types": [
+                    {"name": "%s", "description": "테스트 유형", "keywords": ["%s"], "keywordScore": 2},
+                    {"name": "일반상담", "description": "기타 일반적인 문의사항"}
+                  ],
+                  "sentiment": {"positive": ["좋"], "negative": ["불편"]}
+                }
+                """.formatted(type, keyword);
+        Files.writeString(dictionaryFile, json, StandardCharsets.UTF_8);
+    }
+}
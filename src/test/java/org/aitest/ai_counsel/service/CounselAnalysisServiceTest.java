@@ -1,8 +1,12 @@
 package org.aitest.ai_counsel.service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import kr.co.shineware.nlp.komoran.model.Token;
 import org.aitest.ai_counsel.domain.Counsel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
@@ -10,6 +14,9 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 @SpringBootTest
 class CounselAnalysisServiceTest {
@@ -17,6 +24,9 @@ class CounselAnalysisServiceTest {
     @Autowired
     private CounselAnalysisService analysisService;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     private Counsel testCounsel;
 
     @BeforeEach
@@ -96,4 +106,82 @@ class CounselAnalysisServiceTest {
         assertTrue(keywords.contains("펀드"));
         assertTrue(keywords.contains("수익률"));
     }
+
+    @Test
+    void testAnalyzeCounsel_TokenizesOnce() {
+        // given
+        testCounsel.setContent("펀드 수수료 문제로 불편합니다. 해지 절차를 알고 싶습니다.");
+        CounselAnalysisService spyService = Mockito.spy(analysisService);
+
+        // when
+        spyService.analyzeCounsel(testCounsel);
+
+        // then
+        // 키워드 추출, 유형 분류, 감정 분석이 하나의 형태소 분석 결과를 공유해야 함
+        verify(spyService, times(1)).tokenize(anyString());
+    }
+
+    @Test
+    void testAnalyzeCounsel_ReusesCachedResultForSameContent() {
+        // given
+        CounselAnalysisService spyService = Mockito.spy(analysisService);
+        testCounsel.setContent("카드 포인트 적립률 문의드립니다. 캐시 확인용 상담입니다.");
+        Counsel sameContent = new Counsel();
+        sameContent.setContent("카드 포인트  적립률 문의드립니다.\n캐시 확인용 상담입니다."); // 공백만 다른 내용
+
+        // when
+        CounselAnalysisService.AnalysisResult first = spyService.analyzeCounsel(testCounsel);
+        CounselAnalysisService.AnalysisResult second = spyService.analyzeCounsel(sameContent);
+
+        // then
+        verify(spyService, times(1)).tokenize(anyString());
+        assertSame(first, second);
+    }
+
+    @Test
+    void testKeywordExtraction_MatchesRegexFilterAndLimit() {
+        // given
+        TokenizedContent tokenized = analysisService.tokenize(
+                "펀드 수수료 문제로 펀드 해지를 원합니다. 예금 금리와 대출 금리, 카드 한도와 카드 포인트, "
+                        + "보험 약관과 연금 상품, 주소 변경과 연락처 수정도 요청합니다.");
+
+        // when
+        List<String> keywords = tokenized.getKeywords();
+
+        // then
+        // 기존 정규식/스트림 구현과 같은 결과여야 함
+        List<String> expected = tokenized.getTokens().stream()
+                .filter(token -> token.getPos().matches("NN.*|VV.*|VA.*"))
+                .map(Token::getMorph)
+                .filter(word -> word.length() > 1)
+                .distinct()
+                .limit(10)
+                .toList();
+        assertEquals(expected, keywords);
+        assertEquals(10, keywords.size());
+        assertThrows(UnsupportedOperationException.class, () -> keywords.add("추가"));
+    }
+
+    @Test
+    void testAnalysisStagesAreTimed() {
+        // given
+        testCounsel.setContent("지표 확인용 상담입니다. 체크카드 결제 취소와 환불 일정을 알고 싶습니다. " + System.nanoTime());
+        long tokenizeBefore = timerCount("counsel.analysis.tokenize");
+        long classifyBefore = timerCount("counsel.analysis.classify");
+        long tokensBefore = meterRegistry.get("counsel.analysis.tokens").summary().count();
+
+        // when
+        analysisService.analyzeCounsel(testCounsel);
+
+        // then
+        assertEquals(tokenizeBefore + 1, timerCount("counsel.analysis.tokenize"));
+        assertEquals(classifyBefore + 1, timerCount("counsel.analysis.classify"));
+        assertEquals(tokensBefore + 1, meterRegistry.get("counsel.analysis.tokens").summary().count());
+        assertTrue(meterRegistry.get("counsel.analysis.tokens").summary().max() > 0);
+    }
+
+    private long timerCount(String name) {
+        Timer timer = meterRegistry.find(name).timer();
+        return timer == null ? 0 : timer.count();
+    }
 }
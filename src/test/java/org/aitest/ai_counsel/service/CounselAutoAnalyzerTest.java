@@ -0,0 +1,99 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"openai.api.key=", "counsel.analysis.auto.enabled=true"})
+class CounselAutoAnalyzerTest {
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselAutoAnalyzer autoAnalyzer;
+
+    @Test
+    void testSavedCounselIsAnalyzedInBackground() throws InterruptedException {
+        // given
+        long succeededBefore = autoAnalyzer.getSucceeded();
+
+        // when
+        Counsel saved = counselService.saveCounsel(counsel("AUTO001", "신용카드 한도 상향을 요청드립니다. 빠른 처리 부탁드려요."));
+        Counsel analyzed = awaitAnalyzed(saved.getId());
+
+        // then
+        assertTrue(analyzed.isAnalyzed());
+        assertNotNull(analyzed.getSentiment());
+        assertNotNull(analyzed.getAnalysis());
+        assertTrue(autoAnalyzer.getSucceeded() > succeededBefore);
+    }
+
+    @Test
+    void testAnalysisReadReturnsPrecomputedResult() throws InterruptedException {
+        // given
+        Counsel saved = counselService.saveCounsel(counsel("AUTO002", "정기예금 금리와 만기 조건을 문의합니다."));
+        Counsel precomputed = awaitAnalyzed(saved.getId());
+
+        // when
+        Counsel result = counselService.getAnalyzedCounsel(saved.getId());
+
+        // then
+        assertEquals(precomputed.getCounselType(), result.getCounselType());
+        assertEquals(precomputed.getAnalysis(), result.getAnalysis());
+        // 조회 시 다시 분석하지 않으므로 수정 시각이 바뀌지 않아야 함
+        assertEquals(precomputed.getModifiedAt(), result.getModifiedAt());
+    }
+
+    @Test
+    void testBackoffDoublesUpToMaximum() {
+        // given
+        CounselAutoAnalyzer analyzer = new CounselAutoAnalyzer(
+                Mockito.mock(CounselRepository.class), Mockito.mock(CounselJdbcRepository.class),
+                Mockito.mock(CounselAnalysisService.class), new ThreadPoolTaskExecutor(),
+                Mockito.mock(ApplicationEventPublisher.class), Mockito.mock(PlatformTransactionManager.class),
+                true, 5, Duration.ofMillis(100), Duration.ofMillis(350));
+
+        // when & then
+        assertEquals(100, analyzer.backoffMillis(1));
+        assertEquals(200, analyzer.backoffMillis(2));
+        assertEquals(350, analyzer.backoffMillis(3));
+        assertEquals(350, analyzer.backoffMillis(10));
+        analyzer.shutdown();
+    }
+
+    private Counsel awaitAnalyzed(Long id) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        Counsel counsel = counselRepository.findById(id).orElseThrow();
+        while (!counsel.isAnalyzed() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            counsel = counselRepository.findById(id).orElseThrow();
+        }
+        return counsel;
+    }
+
+    private static Counsel counsel(String customerId, String content) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS001");
+        counsel.setCustomerId(customerId);
+        counsel.setContent(content);
+        counsel.setCounselDate(LocalDateTime.now());
+        counsel.setProductInfo("신용카드");
+        return counsel;
+    }
+}
@@ -0,0 +1,134 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselImport;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {"openai.api.key=", "counsel.import.batch-size=2"})
+class CounselImportServiceTest {
+
+    private static final String CSV = """
+            counselor_id,customer_id,content,counsel_date,product_info
+            CS001,IMPORT01,"카드 한도 상향, 연회비 문의드립니다.",2024-01-15 09:30:00,신용카드
+            CS001,IMPORT01,"정기예금 금리 문의드립니다.
+            만기 조건도 알고 싶습니다.",2024-01-16T10:00:00,정기예금
+            CS002,IMPORT01,짧음,2024-01-17T10:00:00,펀드
+            CS002,IMPORT01,"대출 상환 방법을 ""자세히"" 알려주세요.",,주택담보대출
+            CS002,IMPORT01,펀드 수수료 관련 문의드립니다.,2024-13-01T00:00:00,펀드
+            """;
+
+    @Autowired
+    private CounselImportService importService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselSearchIndex searchIndex;
+
+    @Test
+    void testCsvImportValidatesRowsAndParsesQuotedFields() {
+        // given
+        CounselImport job = importService.create("counsels.csv", CounselImport.Format.CSV, false);
+
+        // when
+        CounselImportService.ImportResult result = importService.run(job.getId(), stream(CSV));
+
+        // then
+        CounselImport finished = result.getJob();
+        assertEquals(CounselImport.Status.COMPLETED, finished.getStatus());
+        assertEquals(5, finished.getProcessedRows());
+        assertEquals(3, finished.getImportedRows());
+        assertEquals(2, finished.getRejectedRows());
+        assertEquals(List.of(3L, 5L), result.getErrors().stream().map(CounselImportService.RowError::getRow).toList());
+
+        List<Counsel> saved = counselRepository.findByCustomerIdOrderByCounselDateDesc("IMPORT01");
+        assertTrue(saved.stream().anyMatch(c -> c.getContent().equals("정기예금 금리 문의드립니다.\n만기 조건도 알고 싶습니다.")));
+        assertTrue(saved.stream().anyMatch(c -> c.getContent().equals("대출 상환 방법을 \"자세히\" 알려주세요.")));
+    }
+
+    @Test
+    void testImportedCounselsAreIndexedInBackground() throws InterruptedException {
+        // given
+        String ndjson = """
+                {"counselorId":"CS001","customerId":"IMPORT03","content":"방카슈랑스 해지 환급금을 문의합니다.","productInfo":"방카슈랑스"}
+                {"counselorId":"CS001","customerId":"IMPORT03","content":"방카슈랑스 납입 유예가 가능한지 궁금합니다.","productInfo":"방카슈랑스"}
+                {"counselorId":"CS001","customerId":"IMPORT03","content":"방카슈랑스 보장 내용을 다시 확인하고 싶습니다.","productInfo":"방카슈랑스"}
+                """;
+        CounselImport job = importService.create("counsels.ndjson", CounselImport.Format.NDJSON, false);
+
+        // when - 배치당 한 번 발행된 저장 이벤트로 색인 스레드가 반영
+        importService.run(job.getId(), stream(ndjson));
+
+        // then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (searchIndex.search("방카슈랑스", CounselSearchIndex.Field.PRODUCT, 10).size() < 3
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(3, searchIndex.search("방카슈랑스", CounselSearchIndex.Field.PRODUCT, 10).size());
+    }
+
+    @Test
+    void testFailedNdjsonImportResumesFromCheckpoint() {
+        // given
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 7; i++) {
+            ndjson.append("{\"counselorId\":\"CS001\",\"customerId\":\"IMPORT02\",\"content\":\"재개 확인용 상담 내용입니다. ")
+                    .append(i).append("\"}\n");
+        }
+        byte[] bytes = ndjson.toString().getBytes(StandardCharsets.UTF_8);
+        CounselImport job = importService.create("counsels.ndjson", CounselImport.Format.NDJSON, false);
+
+        // when
+        // 다섯 번째 행을 읽는 도중 연결이 끊긴 상황
+        int cut = ndjson.indexOf("4\"}") + 1;
+        CounselImportService.ImportResult failed = importService.run(job.getId(), new FailingInputStream(bytes, cut));
+        CounselImportService.ImportResult resumed = importService.run(job.getId(), new ByteArrayInputStream(bytes));
+
+        // then
+        assertEquals(CounselImport.Status.FAILED, failed.getJob().getStatus());
+        assertEquals(4, failed.getJob().getProcessedRows()); // 배치 크기 2 단위로 커밋된 행까지
+        assertEquals(CounselImport.Status.COMPLETED, resumed.getJob().getStatus());
+        assertEquals(3, resumed.getRows());
+        assertEquals(7, resumed.getJob().getImportedRows());
+        assertEquals(7, counselRepository.findByCustomerIdOrderByCounselDateDesc("IMPORT02").size());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 지정한 위치까지 읽은 뒤 입출력 오류를 발생시킵니다.
+     */
+    private static class FailingInputStream extends InputStream {
+        private final byte[] bytes;
+        private final int failAt;
+        private int position;
+
+        FailingInputStream(byte[] bytes, int failAt) {
+            this.bytes = bytes;
+            this.failAt = failAt;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (position >= failAt) {
+                throw new IOException("connection reset");
+            }
+            return bytes[position++] & 0xff;
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 동기 저장(JPA save)과 쓰기 지연 적재의 처리량과 요청 지연 시간 p99 를 비교합니다.
+ * mvn -Pbenchmark test 로 실행하며, 요청 수는 -Dbenchmark.ingestion.requests 로 조정합니다.
+ */
+@Tag("benchmark")
+@SpringBootTest(properties = {
+        "openai.api.key=",
+        "spring.jpa.show-sql=false",
+        "counsel.search.rebuild-on-startup=false",
+        "counsel.ingestion.queue-capacity=50000"
+})
+class CounselIngestionBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int REQUESTS = Integer.getInteger("benchmark.ingestion.requests", 32_000);
+    private static final int WARMUP = 2_000;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselIngestionQueue ingestionQueue;
+
+    @Test
+    void benchmarkWriteBehindIngestion() throws Exception {
+        run(counselService::saveCounsel, WARMUP);
+        run(ingestionQueue::submit, WARMUP);
+        awaitDrained();
+
+        Result sync = run(counselService::saveCounsel, REQUESTS);
+
+        long writtenBefore = ingestionQueue.getWritten();
+        long start = System.nanoTime();
+        Result writeBehind = run(ingestionQueue::submit, REQUESTS);
+        awaitDrained();
+        // 적재는 DB 기록 완료 시점까지 포함하여 처리량을 계산
+        double writeBehindThroughput = REQUESTS / ((System.nanoTime() - start) / 1e9);
+
+        print("동기 저장", sync.throughput(), sync);
+        print("쓰기 지연 적재", writeBehindThroughput, writeBehind);
+
+        assertEquals(writtenBefore + REQUESTS, ingestionQueue.getWritten());
+        assertTrue(writeBehind.percentile(99) < sync.percentile(99));
+    }
+
+    private Result run(Consumer<Counsel> task, int requests) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        int perThread = requests / THREADS;
+        long start = System.nanoTime();
+        try {
+            List<Future<long[]>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    long[] latencies = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        Counsel counsel = counsel(thread, i);
+                        long begin = System.nanoTime();
+                        task.accept(counsel);
+                        latencies[i] = System.nanoTime() - begin;
+                    }
+                    return latencies;
+                }));
+            }
+
+            long[] all = new long[perThread * THREADS];
+            for (int t = 0; t < THREADS; t++) {
+                System.arraycopy(futures.get(t).get(), 0, all, t * perThread, perThread);
+            }
+            return new Result(all, System.nanoTime() - start);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private void awaitDrained() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 120_000;
+        while (ingestionQueue.getWritten() + ingestionQueue.getFailed() < ingestionQueue.getAccepted()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static void print(String name, double throughput, Result result) {
+        System.out.printf("[benchmark] %s: %,.0f req/s, p50 %.3f ms, p99 %.3f ms%n",
+                name, throughput, result.percentile(50) / 1e6, result.percentile(99) / 1e6);
+    }
+
+    private static Counsel counsel(int thread, int index) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS" + (thread % 8));
+        counsel.setCustomerId("BENCH" + (index % 500));
+        counsel.setContent("적재 성능 측정용 상담 내용입니다. 정기예금 금리와 만기 조건을 문의드립니다.");
+        counsel.setCounselDate(LocalDateTime.now());
+        counsel.setProductInfo("정기예금");
+        return counsel;
+    }
+
+    private static final class Result {
+        private final long[] sortedLatencies;
+        private final long elapsedNanos;
+
+        private Result(long[] latencies, long elapsedNanos) {
+            this.sortedLatencies = latencies;
+            this.elapsedNanos = elapsedNanos;
+            Arrays.sort(sortedLatencies);
+        }
+
+        double throughput() {
+            return sortedLatencies.length / (elapsedNanos / 1e9);
+        }
+
+        long percentile(int percent) {
+            int index = (int) Math.ceil(percent / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+
+@SpringBootTest(properties = "openai.api.key=")
+class CounselIngestionQueueTest {
+
+    @Autowired
+    private CounselIngestionQueue ingestionQueue;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testSubmittedCounselsAreWrittenInBatches() throws InterruptedException {
+        // given
+        long countBefore = counselRepository.count();
+        long writtenBefore = ingestionQueue.getWritten();
+        long batchesBefore = ingestionQueue.getBatches();
+
+        // when
+        for (int i = 0; i < 1_200; i++) {
+            ingestionQueue.submit(counsel("INGEST" + (i % 20)));
+        }
+        awaitWritten(writtenBefore + 1_200);
+
+        // then
+        assertEquals(countBefore + 1_200, counselRepository.count());
+        // 한 건씩이 아니라 배치로 묶여 기록되어야 함
+        assertTrue(ingestionQueue.getBatches() - batchesBefore < 1_200);
+        assertFalse(counselRepository.findByCustomerIdOrderByCounselDateDesc("INGEST0").isEmpty());
+    }
+
+    @Test
+    void testFullQueueRejectsWithTooManyRequests() throws InterruptedException {
+        // given
+        CounselJdbcRepository blockingRepository = Mockito.mock(CounselJdbcRepository.class);
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            writing.countDown();
+            release.await();
+            return null;
+        }).when(blockingRepository).insertCounsels(anyList());
+
+        CounselIngestionQueue queue = queue(blockingRepository, 2, 1, tempDir.resolve("dead-letter.ndjson"));
+        queue.start();
+
+        // when
+        queue.submit(counsel("FULL"));
+        assertTrue(writing.await(5, TimeUnit.SECONDS)); // 첫 상담은 기록 중에 멈춤
+        queue.submit(counsel("FULL"));
+        queue.submit(counsel("FULL"));
+        BusinessException exception = assertThrows(BusinessException.class, () -> queue.submit(counsel("FULL")));
+
+        // then
+        assertEquals(ErrorCode.INGESTION_QUEUE_FULL, exception.getErrorCode());
+        assertEquals(1, queue.getRejected());
+        release.countDown();
+        queue.stop();
+        assertEquals(3, queue.getWritten());
+    }
+
+    @Test
+    void testFailedBatchIsSplitAndOnlyBadRowsAreDeadLettered() throws IOException {
+        // given - 고객 ID 가 BAD 인 상담이 포함된 배치는 기록 실패
+        CounselJdbcRepository failingRepository = Mockito.mock(CounselJdbcRepository.class);
+        doAnswer(invocation -> {
+            List<Counsel> batch = invocation.getArgument(0);
+            if (batch.stream().anyMatch(counsel -> "BAD".equals(counsel.getCustomerId()))) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return null;
+        }).when(failingRepository).insertCounsels(anyList());
+        Path deadLetterFile = tempDir.resolve("dead-letter/counsel-ingestion.ndjson");
+        CounselIngestionQueue queue = queue(failingRepository, 100, 100, deadLetterFile);
+
+        // when - 종료 전에 접수한 상담은 stop() 에서 모두 기록
+        queue.start();
+        for (int i = 0; i < 8; i++) {
+            queue.submit(counsel(i == 5 ? "BAD" : "GOOD" + i));
+        }
+        queue.stop();
+
+        // then
+        assertFalse(queue.isRunning());
+        assertEquals(7, queue.getWritten());
+        assertEquals(1, queue.getFailed());
+        assertEquals(1, queue.getDeadLettered());
+        assertEquals(2, queue.getRetried()); // 전체 배치만 max-attempts 회 시도
+        List<String> lines = Files.readAllLines(deadLetterFile);
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"customerId\":\"BAD\""));
+        assertThrows(BusinessException.class, () -> queue.submit(counsel("LATE")));
+    }
+
+    private static CounselIngestionQueue queue(CounselJdbcRepository repository, int capacity, int batchSize,
+                                               Path deadLetterFile) {
+        return new CounselIngestionQueue(repository,
+                Mockito.mock(ApplicationEventPublisher.class), Mockito.mock(PlatformTransactionManager.class),
+                capacity, batchSize, Duration.ofMillis(1), Duration.ofMillis(10),
+                3, Duration.ofMillis(1), deadLetterFile, Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    private void awaitWritten(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (ingestionQueue.getWritten() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    private static Counsel counsel(String customerId) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS001");
+        counsel.setCustomerId(customerId);
+        counsel.setContent("적재 큐를 통해 저장되는 상담입니다.");
+        counsel.setCounselDate(LocalDateTime.now());
+        counsel.setProductInfo("정기예금");
+        return counsel;
+    }
+}
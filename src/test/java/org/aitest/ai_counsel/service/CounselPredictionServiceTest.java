@@ -1,13 +1,21 @@
 package org.aitest.ai_counsel.service;
 
 import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.event.CounselAnalyzedEvent;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +27,18 @@ class CounselPredictionServiceTest {
     @Autowired
     private CounselPredictionService predictionService;
 
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselAggregateStore aggregateStore;
+
+    @Autowired
+    private TypeTransitionModel transitionModel;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     private List<Counsel> testHistory;
 
     @BeforeEach
@@ -28,39 +48,40 @@ class CounselPredictionServiceTest {
             "COUNSEL001",
             "주식형 펀드 수익률 문의",
             LocalDateTime.now().minusDays(30),
-            "상담 유형: 상품문의\n고객 감정: 중립\n주요 키워드: 주식형, 펀드, 수익률"
+            "상품문의", "중립", List.of("주식형", "펀드", "수익률")
         );
 
         Counsel counsel2 = createTestCounsel(
             "COUNSEL001",
             "펀드 수수료 관련 문의",
             LocalDateTime.now().minusDays(20),
-            "상담 유형: 상품문의\n고객 감정: 중립\n주요 키워드: 펀드, 수수료"
+            "상품문의", "중립", List.of("펀드", "수수료")
         );
 
         Counsel counsel3 = createTestCounsel(
             "COUNSEL001",
             "펀드 해지 요청",
             LocalDateTime.now().minusDays(10),
-            "상담 유형: 해지요청\n고객 감정: 부정\n주요 키워드: 펀드, 해지"
+            "해지요청", "부정", List.of("펀드", "해지")
         );
 
         testHistory = Arrays.asList(counsel3, counsel2, counsel1); // 최신순
     }
 
-    private Counsel createTestCounsel(String counselorId, String content, LocalDateTime counselDate, String analysis) {
+    private Counsel createTestCounsel(String counselorId, String content, LocalDateTime counselDate,
+                                      String counselType, String sentiment, List<String> keywords) {
         Counsel counsel = new Counsel();
         counsel.setCounselorId(counselorId);
         counsel.setContent(content);
         counsel.setCounselDate(counselDate);
-        counsel.setAnalysis(analysis);
+        counsel.applyAnalysis(counselType, sentiment, keywords);
         return counsel;
     }
 
     @Test
     void testPredictNextCounsel() {
         // when
-        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(testHistory);
+        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(summarize(testHistory));
 
         // then
         assertNotNull(result);
@@ -83,13 +104,11 @@ class CounselPredictionServiceTest {
 
     @Test
     void testPredictWithEmptyHistory() {
-        // when
-        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(List.of());
+        // given
+        CounselHistorySummary empty = summarize(List.of());
 
-        // then
-        assertEquals("예측 불가", result.getPredictedType());
-        assertEquals("상담 이력이 없음", result.getDetails());
-        assertTrue(result.getTopKeywords().isEmpty());
+        // when & then
+        assertThrows(InvalidRequestException.class, () -> predictionService.predictNextCounsel(empty));
     }
 
     @Test
@@ -98,7 +117,7 @@ class CounselPredictionServiceTest {
         List<Counsel> singleHistory = List.of(testHistory.get(0));
 
         // when
-        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(singleHistory);
+        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(summarize(singleHistory));
 
         // then
         assertNotNull(result);
@@ -109,4 +128,139 @@ class CounselPredictionServiceTest {
             .replace("일", "")
             .trim()));
     }
+
+    @Test
+    @Transactional
+    void testPredictFromAggregatedHistory() {
+        // given - 다른 테스트가 학습한 유형 전이와 섞이지 않도록 이 테스트에서만 쓰는 유형
+        String customerId = "CU-AGG-" + System.nanoTime();
+        List<Counsel> history = List.of(
+            createTestCounsel("COUNSEL001", "주식형 펀드 수익률 문의", LocalDateTime.now().minusDays(30),
+                "집계문의", "중립", List.of("주식형", "펀드", "수익률")),
+            createTestCounsel("COUNSEL001", "펀드 수수료 관련 문의", LocalDateTime.now().minusDays(20),
+                "집계문의", "중립", List.of("펀드", "수수료")),
+            createTestCounsel("COUNSEL001", "펀드 해지 요청", LocalDateTime.now().minusDays(10),
+                "집계해지", "부정", List.of("펀드", "해지"))
+        );
+        history.forEach(counsel -> {
+            counsel.setCustomerId(customerId);
+            counselRepository.save(counsel);
+        });
+        counselRepository.flush();
+
+        // when - 예측 API 와 같이 집계 저장소의 집계로 예측
+        CounselAggregate aggregate = aggregateStore.getCustomerAggregate(customerId);
+        CounselPrediction prediction = predictionService.createPrediction(aggregate, LocalDateTime.now());
+
+        // then
+        CounselHistorySummary summary = aggregate.toSummary(CounselPredictionService.TOP_KEYWORD_COUNT);
+        assertEquals(2, summary.getTypeFrequency().get("집계문의"));
+        assertEquals(3, summary.getKeywordFrequency().get("펀드"));
+        assertEquals(3, prediction.getCounselCount());
+        assertEquals("집계문의", prediction.getPredictedType());
+        assertEquals("펀드", prediction.getTopKeywords().get(0));
+        assertEquals(10.0, prediction.getAverageCycle(), 0.01);
+        assertEquals(history.get(2).getId(), prediction.getLastCounselId());
+    }
+
+    @Test
+    void testRecentCounselsOutweighOlderOnes() {
+        // given: 오래전 상담이 더 많지만 최근 상담은 다른 유형
+        List<Counsel> history = List.of(
+            createTestCounsel("COUNSEL001", "예전 문의", LocalDateTime.now().minusDays(400), "감쇠과거", "중립", List.of("예전")),
+            createTestCounsel("COUNSEL001", "예전 문의", LocalDateTime.now().minusDays(390), "감쇠과거", "중립", List.of("예전")),
+            createTestCounsel("COUNSEL001", "예전 문의", LocalDateTime.now().minusDays(380), "감쇠과거", "중립", List.of("예전")),
+            createTestCounsel("COUNSEL001", "최근 문의", LocalDateTime.now().minusDays(10), "감쇠최근", "중립", List.of("최근")),
+            createTestCounsel("COUNSEL001", "최근 문의", LocalDateTime.now().minusDays(5), "감쇠최근", "중립", List.of("최근"))
+        );
+
+        // when
+        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(summarize(history));
+
+        // then
+        assertEquals("감쇠최근", result.getPredictedType());
+        assertTrue(result.getTypeProbabilities().get("감쇠최근") > 0.9);
+    }
+
+    @Test
+    void testTransitionsLearnedAcrossCustomers() throws InterruptedException {
+        // given: 기동 시 재구축이 학습 결과를 덮어쓰지 않도록 끝날 때까지 대기
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (transitionModel.isRebuilding() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        // 다른 고객들은 A 상담 다음에 주로 B 상담을 받음
+        for (int i = 0; i < 20; i++) {
+            transitionModel.learn(List.of("전이A", "전이B"));
+        }
+        List<Counsel> history = List.of(
+            createTestCounsel("COUNSEL001", "B 문의", LocalDateTime.now().minusDays(2), "전이B", "중립", List.of()),
+            createTestCounsel("COUNSEL001", "A 문의", LocalDateTime.now().minusDays(1), "전이A", "중립", List.of())
+        );
+
+        // when
+        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(summarize(history));
+
+        // then: 이력 분포는 최근 유형(A)이 조금 높지만 전이 확률로 B 를 예측
+        assertEquals("전이B", result.getPredictedType());
+        assertTrue(result.getTypeProbabilities().get("전이B") > result.getTypeProbabilities().get("전이A"));
+    }
+
+    @Test
+    void testTransitionDeltasAreComputedAfterCommit() throws InterruptedException {
+        // given
+        long appliedBefore = transitionModel.getAppliedEvents();
+        CounselAnalyzedEvent event = new CounselAnalyzedEvent(-1L, "CU-DELTA-" + System.nanoTime(), "CS001",
+                LocalDateTime.now(), null, null, null, "상품문의", "중립", List.of());
+
+        // when - 트랜잭션 안에서는 이웃 조회 없이 모아 두기만 함
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            transitionModel.onCounselAnalyzed(event);
+            assertEquals(appliedBefore, transitionModel.getAppliedEvents());
+        });
+
+        // then - 커밋 후 증분 스레드에서 반영
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (transitionModel.getAppliedEvents() == appliedBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(appliedBefore + 1, transitionModel.getAppliedEvents());
+    }
+
+    @Test
+    void testNextCounselDateWithInterval() {
+        // given: 순서가 섞인 이력, 상담 간격 10일 / 20일
+        LocalDateTime last = LocalDateTime.of(2025, 6, 30, 10, 0);
+        List<Counsel> history = List.of(
+            createTestCounsel("COUNSEL001", "두 번째 문의", last.minusDays(20), "상품문의", "중립", List.of("펀드")),
+            createTestCounsel("COUNSEL001", "세 번째 문의", last, "상품문의", "중립", List.of("펀드")),
+            createTestCounsel("COUNSEL001", "첫 번째 문의", last.minusDays(30), "상품문의", "중립", List.of("펀드"))
+        );
+
+        // when
+        CounselPredictionService.PredictionResult result = predictionService.predictNextCounsel(summarize(history));
+
+        // then: 평균 15일, 표준편차 약 7.07일
+        assertEquals(15.0, result.getAverageCycle(), 0.001);
+        assertEquals(last.plusDays(15), result.getNextCounselDate());
+        assertTrue(result.getNextCounselEarliest().isAfter(last));
+        assertTrue(result.getNextCounselEarliest().isBefore(last.plusDays(2)));
+        assertTrue(result.getNextCounselLatest().isAfter(last.plusDays(28)));
+        assertTrue(result.getNextCounselLatest().isBefore(last.plusDays(29)));
+        assertTrue(result.getDetails().contains("다음 상담 예상일: 2025-07-15"));
+    }
+
+    /**
+     * 내역을 상담 일시 순으로 증분 집계와 같은 방식으로 집계합니다. 내역은 정렬되어 있지 않아도 됩니다.
+     */
+    private static CounselHistorySummary summarize(List<Counsel> history) {
+        CounselAggregate aggregate = new CounselAggregate(64, CounselAggregate.decayRate(90), true);
+        history.stream()
+            .sorted(Comparator.comparing(Counsel::getCounselDate))
+            .forEach(counsel -> {
+                aggregate.recordCounsel(counsel.getId(), counsel.getCounselDate());
+                aggregate.recordAnalysis(null, counsel.getCounselType(), counsel.getCounselDate(), counsel.getKeywords());
+            });
+        return aggregate.toSummary(CounselPredictionService.TOP_KEYWORD_COUNT);
+    }
 }
@@ -0,0 +1,89 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.dto.CursorPage;
+import org.aitest.ai_counsel.repository.CounselSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class CounselReadCacheTest {
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselReadCache readCache;
+
+    @Test
+    void testRepeatedReadIsServedFromCache() {
+        // given
+        Counsel saved = counselService.saveCounsel(counsel("CU-CACHE-1", LocalDateTime.of(2025, 5, 1, 9, 0)));
+        counselService.getCounselById(saved.getId());
+        long hitsBefore = readCache.getCounselStats().hitCount();
+
+        // when
+        Counsel cached = counselService.getCounselById(saved.getId());
+
+        // then
+        assertEquals(hitsBefore + 1, readCache.getCounselStats().hitCount());
+        assertEquals(saved.getContent(), cached.getContent());
+    }
+
+    @Test
+    void testAnalysisInvalidatesCachedCounselAndPredictionKeepsIt() {
+        // given
+        String customerId = "CU-CACHE-2";
+        Counsel saved = counselService.saveCounsel(counsel(customerId, LocalDateTime.of(2025, 5, 2, 9, 0)));
+        assertFalse(counselService.getCounselById(saved.getId()).isAnalyzed());
+
+        // when
+        Counsel analyzed = counselService.analyzeCounsel(saved.getId()).join();
+        Counsel readAfterAnalysis = counselService.getCounselById(saved.getId());
+        long hitsBefore = readCache.getCounselStats().hitCount();
+        counselService.predictNextCounselByCustomer(customerId);
+        Counsel readAfterPrediction = counselService.getCounselById(saved.getId());
+
+        // then
+        assertEquals(analyzed.getAnalysis(), readAfterAnalysis.getAnalysis());
+        assertEquals(analyzed.getKeywords(), readAfterAnalysis.getKeywords());
+        // 예측은 상담을 수정하지 않으므로 캐시된 상담이 그대로 사용됨
+        assertEquals(hitsBefore + 1, readCache.getCounselStats().hitCount());
+        assertEquals(readAfterAnalysis.getModifiedAt(), readAfterPrediction.getModifiedAt());
+    }
+
+    @Test
+    void testSaveInvalidatesCustomerHistory() {
+        // given
+        String customerId = "CU-CACHE-3";
+        counselService.saveCounsel(counsel(customerId, LocalDateTime.of(2025, 5, 3, 9, 0)));
+        CursorPage<CounselSummary> before = counselService.getCustomerHistory(customerId, null, 10);
+        long hitsBefore = readCache.getHistoryStats().hitCount();
+        counselService.getCustomerHistory(customerId, null, 10);
+
+        // when
+        Counsel latest = counselService.saveCounsel(counsel(customerId, LocalDateTime.of(2025, 5, 4, 9, 0)));
+        CursorPage<CounselSummary> after = counselService.getCustomerHistory(customerId, null, 10);
+
+        // then
+        assertEquals(hitsBefore + 1, readCache.getHistoryStats().hitCount());
+        assertEquals(1, before.getContent().size());
+        assertEquals(2, after.getContent().size());
+        assertEquals(latest.getId(), after.getContent().get(0).getId());
+    }
+
+    private static Counsel counsel(String customerId, LocalDateTime counselDate) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS-CACHE");
+        counsel.setCustomerId(customerId);
+        counsel.setContent("신용카드 연회비와 포인트 적립 혜택을 문의드립니다.");
+        counsel.setCounselDate(counselDate);
+        counsel.setProductInfo("신용카드");
+        return counsel;
+    }
+}
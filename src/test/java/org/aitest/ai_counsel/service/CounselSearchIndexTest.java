@@ -0,0 +1,116 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class CounselSearchIndexTest {
+
+    @Autowired
+    private CounselSearchIndex searchIndex;
+
+    @Autowired
+    private CounselService counselService;
+
+    @BeforeEach
+    void awaitReady() throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        while (!searchIndex.isReady() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(searchIndex.isReady());
+    }
+
+    @Test
+    void testSearchRanksRelevantCounsels() {
+        // when
+        List<CounselService.SearchResult> results = counselService.searchCounsels("대출 금리", CounselSearchIndex.Field.ALL, 5);
+
+        // then
+        assertFalse(results.isEmpty());
+        for (int i = 1; i < results.size(); i++) {
+            assertTrue(results.get(i - 1).getScore() >= results.get(i).getScore());
+        }
+    }
+
+    @Test
+    void testSavedCounselIsSearchable() throws InterruptedException {
+        // given
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS001");
+        counsel.setCustomerId("CU001");
+        counsel.setContent("외화예금 환율 우대 조건을 알고 싶습니다.");
+        counsel.setProductInfo("외화보통예금");
+        counsel.setCounselDate(LocalDateTime.now());
+
+        // when - 색인은 커밋 이후 색인 스레드에서 반영
+        Counsel saved = counselService.saveCounsel(counsel);
+
+        // then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!isSearchable("환율", saved.getId()) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(isSearchable("환율", saved.getId()));
+    }
+
+    @Test
+    void testRepeatedSavesOfSameCounselAreCoalesced() throws InterruptedException {
+        // when - 같은 ID 는 마지막 내용만 색인
+        for (int i = 0; i < 50; i++) {
+            searchIndex.enqueue(-1L, "임시 내용 " + i + " 입니다.", null);
+        }
+        searchIndex.enqueue(-1L, "골드바 실물 인출 가능 여부를 문의합니다.", "골드뱅킹");
+
+        // then
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (searchIndex.search("골드바", CounselSearchIndex.Field.CONTENT, 5).isEmpty()
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        List<InvertedIndex.Hit> hits = searchIndex.search("골드바", CounselSearchIndex.Field.CONTENT, 5);
+        assertTrue(hits.stream().anyMatch(hit -> hit.getId() == -1L));
+        assertTrue(searchIndex.search("임시", CounselSearchIndex.Field.CONTENT, 5).stream()
+                .noneMatch(hit -> hit.getId() == -1L));
+    }
+
+    @Test
+    void testReplacedDocumentsAreCompacted() {
+        // given
+        InvertedIndex index = new InvertedIndex(2);
+        index.add(2L, List.of(Map.of("예금", 1), Map.of()));
+
+        // when - 같은 ID 를 다른 용어로 계속 교체하여 삭제 표시를 쌓음
+        for (int i = 0; i < 5_000; i++) {
+            index.add(1L, List.of(Map.of("용어" + i, 2), Map.of("상품", 1)));
+        }
+
+        // then - 삭제된 문서의 용어가 정리되고 검색 결과는 그대로 유지
+        assertEquals(2, index.getDocumentCount());
+        assertTrue(index.getTermCount() < 2_000);
+        List<InvertedIndex.Hit> hits = index.search(List.of("용어4999", "예금"), new double[]{1.0, 1.0}, 5);
+        assertEquals(2, hits.size());
+        assertTrue(index.search(List.of("용어0"), new double[]{1.0, 1.0}, 5).isEmpty());
+    }
+
+    private boolean isSearchable(String query, Long counselId) {
+        return counselService.searchCounsels(query, CounselSearchIndex.Field.CONTENT, 5).stream()
+                .anyMatch(result -> result.getCounsel().getId().equals(counselId));
+    }
+
+    @Test
+    void testSearchWithBlankQuery() {
+        assertThrows(InvalidRequestException.class,
+                () -> counselService.searchCounsels(" ", CounselSearchIndex.Field.ALL, 5));
+    }
+}
@@ -0,0 +1,246 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselPrediction;
+import org.aitest.ai_counsel.dto.CursorPage;
+import org.aitest.ai_counsel.event.CounselSavedEvent;
+import org.aitest.ai_counsel.exception.BusinessException;
+import org.aitest.ai_counsel.exception.ErrorCode;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselPredictionJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.aitest.ai_counsel.repository.CounselSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class CounselServiceTest {
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselExportService counselExportService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselAggregateStore aggregateStore;
+
+    @Autowired
+    private CounselPredictionJdbcRepository predictionJdbcRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void testGetCounselsWithCursor() {
+        // given
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+
+        // when
+        do {
+            CursorPage<CounselSummary> page = counselService.getCounsels(cursor, 7);
+            page.getContent().forEach(counsel -> ids.add(counsel.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // then
+        assertEquals(counselRepository.count(), ids.size());
+        assertEquals(ids.size(), new HashSet<>(ids).size()); // 중복 없음
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1) < ids.get(i));
+        }
+    }
+
+    @Test
+    void testGetCounselorHistoryWithCursor() {
+        // given
+        CursorPage<CounselSummary> first = counselService.getCounselorHistory("CS001", null, 2);
+
+        // when
+        CursorPage<CounselSummary> second = counselService.getCounselorHistory("CS001", first.getNextCursor(), 2);
+
+        // then
+        assertTrue(first.isHasNext());
+        assertEquals(2, first.getContent().size());
+        CounselSummary lastOfFirst = first.getContent().get(1);
+        CounselSummary firstOfSecond = second.getContent().get(0);
+        assertFalse(firstOfSecond.getCounselDate().isAfter(lastOfFirst.getCounselDate())); // 최신순 유지
+        assertNotEquals(lastOfFirst.getId(), firstOfSecond.getId());
+    }
+
+    @Test
+    void testGetCounselsWithInvalidCursor() {
+        assertThrows(InvalidRequestException.class, () -> counselService.getCounsels("not-a-cursor!", 10));
+        assertThrows(InvalidRequestException.class, () -> counselService.getCounsels(null, 0));
+    }
+
+    @Test
+    void testExportNdjson() throws IOException {
+        // given
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        // when
+        long exported = counselExportService.exportNdjson(outputStream);
+
+        // then
+        String[] lines = outputStream.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(exported, lines.length);
+        assertTrue(lines[0].startsWith("{") && lines[0].contains("\"customerId\""));
+    }
+
+    @Test
+    void testPredictionAggregateUpdatedIncrementally() {
+        // given
+        String customerId = "CU-AGG-" + System.nanoTime();
+        Counsel first = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 3, 1, 10, 0)));
+        counselService.analyzeCounsel(first.getId()).join();
+        counselService.predictNextCounselByCustomer(customerId); // 집계 적재
+
+        // when
+        Counsel second = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 3, 31, 10, 0)));
+        counselService.analyzeCounsel(second.getId()).join();
+        counselService.analyzeCounsel(second.getId()).join(); // 재분석은 중복 집계하지 않음
+        CounselPrediction predicted = counselService.predictNextCounselByCustomer(customerId);
+
+        // then
+        CounselHistorySummary summary = aggregateStore.getCustomerAggregate(customerId)
+                .toSummary(CounselPredictionService.TOP_KEYWORD_COUNT);
+        assertEquals(2, summary.getCounselCount());
+        assertEquals(30.0, summary.getAverageCycle());
+        assertEquals(2, summary.getTypeFrequency().values().stream().mapToInt(Integer::intValue).sum());
+        assertEquals(second.getId(), predicted.getLastCounselId());
+        assertEquals(30.0, predicted.getAverageCycle());
+        assertTrue(predicted.getDetails().contains("상담 주기: 30.0일"));
+    }
+
+    @Test
+    void testAggregateSeededFromQueriesMatchesFullTimeline() {
+        // given
+        String customerId = "CU-SEED-" + System.nanoTime();
+        Counsel first = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 1, 1, 9, 0)));
+        counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 1, 20, 15, 30)));
+        Counsel third = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 3, 2, 11, 0)));
+        counselService.analyzeCounsel(first.getId()).join();
+        counselService.analyzeCounsel(third.getId()).join();
+        String before = customerId.substring(0, customerId.length() - 1);
+
+        // when
+        CounselHistorySummary seeded = aggregateStore.getCustomerAggregate(customerId)
+                .toSummary(CounselPredictionService.TOP_KEYWORD_COUNT);
+        CounselHistorySummary replayed = aggregateStore.createCustomerAggregate(
+                        predictionJdbcRepository.findTimelines(before, customerId).get(customerId),
+                        predictionJdbcRepository.countKeywords(before, customerId).get(customerId))
+                .toSummary(CounselPredictionService.TOP_KEYWORD_COUNT);
+
+        // then - 집계 쿼리로 적재한 상태가 이력 전체를 순서대로 반영한 상태와 같아야 함
+        assertEquals(replayed.getCounselCount(), seeded.getCounselCount());
+        assertEquals(replayed.getAverageCycle(), seeded.getAverageCycle(), 1e-9);
+        assertEquals(replayed.getCycleDeviation(), seeded.getCycleDeviation(), 1e-9);
+        assertEquals(replayed.getLastCounselDate(), seeded.getLastCounselDate());
+        assertEquals(replayed.getLastCounselType(), seeded.getLastCounselType());
+        assertEquals(replayed.getTypeFrequency(), seeded.getTypeFrequency());
+        assertEquals(replayed.getKeywordFrequency(), seeded.getKeywordFrequency());
+        assertEquals(replayed.getDecayedTypeWeights().keySet(), seeded.getDecayedTypeWeights().keySet());
+        replayed.getDecayedTypeWeights().forEach((type, weight) ->
+                assertEquals(weight, seeded.getDecayedTypeWeights().get(type), 1e-9));
+        assertEquals(third.getId(), aggregateStore.getCustomerAggregate(customerId).getLatestCounselId());
+    }
+
+    @Test
+    void testPendingWriteOnlyBlocksCachingOfItsOwnCustomer() {
+        // given
+        String writingCustomer = "CU-PEND-" + System.nanoTime();
+        String otherCustomer = "CU-OTHER-" + System.nanoTime();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // when - 커밋 전인 변경이 있는 동안 두 고객의 집계를 조회
+        transactionTemplate.executeWithoutResult(status -> {
+            aggregateStore.onCounselSaved(new CounselSavedEvent(-1L, writingCustomer, "CS001",
+                    LocalDateTime.of(2025, 5, 1, 10, 0), "커밋 전 상담입니다.", null));
+
+            // then - 다른 고객은 캐시되고, 변경 중인 고객은 커밋 전까지 캐시되지 않음
+            assertSame(aggregateStore.getCustomerAggregate(otherCustomer),
+                    aggregateStore.getCustomerAggregate(otherCustomer));
+            assertNotSame(aggregateStore.getCustomerAggregate(writingCustomer),
+                    aggregateStore.getCustomerAggregate(writingCustomer));
+            status.setRollbackOnly();
+        });
+        assertSame(aggregateStore.getCustomerAggregate(writingCustomer),
+                aggregateStore.getCustomerAggregate(writingCustomer));
+    }
+
+    @Test
+    void testAnalysisAndPredictionReadsDoNotWrite() {
+        // given
+        String customerId = "CU-READ-" + System.nanoTime();
+        Counsel saved = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 4, 1, 10, 0)));
+        BusinessException notAnalyzed = assertThrows(BusinessException.class,
+                () -> counselService.getAnalyzedCounsel(saved.getId()));
+        BusinessException notPredicted = assertThrows(BusinessException.class,
+                () -> counselService.getPredictionByCustomer(customerId));
+
+        // when
+        Counsel analyzed = counselService.analyzeCounsel(saved.getId()).join();
+        LocalDateTime modifiedAt = counselRepository.findById(saved.getId()).orElseThrow().getModifiedAt();
+        CounselPrediction predicted = counselService.predictNextCounselByCustomer(customerId);
+        Counsel readAnalysis = counselService.getAnalyzedCounsel(saved.getId());
+        CounselPrediction readPrediction = counselService.getPredictionByCustomer(customerId);
+
+        // then
+        assertEquals(ErrorCode.ANALYSIS_NOT_FOUND, notAnalyzed.getErrorCode());
+        assertEquals(ErrorCode.PREDICTION_NOT_FOUND, notPredicted.getErrorCode());
+        assertEquals(analyzed.getAnalysis(), readAnalysis.getAnalysis());
+        assertEquals(predicted.getId(), readPrediction.getId());
+        // 예측과 조회는 상담을 수정하지 않으므로 ETag / Last-Modified 기준인 수정 시각이 그대로여야 함
+        assertEquals(modifiedAt, counselRepository.findById(saved.getId()).orElseThrow().getModifiedAt());
+    }
+
+    @Test
+    void testPredictionsAreAppendedToHistory() {
+        // given
+        String customerId = "CU-HIST-" + System.nanoTime();
+        Counsel first = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 5, 1, 10, 0)));
+        counselService.analyzeCounsel(first.getId()).join();
+        CounselPrediction earlier = counselService.predictNextCounselByCustomer(customerId);
+
+        // when
+        Counsel second = counselService.saveCounsel(newCounsel(customerId, LocalDateTime.of(2025, 5, 11, 10, 0)));
+        counselService.analyzeCounsel(second.getId()).join();
+        CounselPrediction later = counselService.predictNextCounselByCustomer(customerId);
+
+        // then
+        assertNotEquals(earlier.getId(), later.getId());
+        assertEquals(later.getId(), counselService.getPredictionByCustomer(customerId).getId());
+        List<CounselPrediction> history = counselService.getPredictionHistoryByCustomer(customerId, 10);
+        assertEquals(List.of(later.getId(), earlier.getId()), history.stream().map(CounselPrediction::getId).toList());
+        assertEquals(first.getId(), history.get(1).getLastCounselId());
+        assertEquals(10.0, history.get(0).getAverageCycle());
+    }
+
+    private Counsel newCounsel(String customerId, LocalDateTime counselDate) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS001");
+        counsel.setCustomerId(customerId);
+        counsel.setContent("정기예금 금리 문의드립니다. 만기 시 자동 재예치가 가능한가요?");
+        counsel.setProductInfo("정기예금");
+        counsel.setCounselDate(counselDate);
+        return counsel;
+    }
+}
@@ -0,0 +1,126 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.aitest.ai_counsel.domain.CounselRollup;
+import org.aitest.ai_counsel.exception.InvalidRequestException;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository;
+import org.aitest.ai_counsel.repository.CounselJdbcRepository.AnalysisUpdate;
+import org.aitest.ai_counsel.repository.CounselRepository;
+import org.aitest.ai_counsel.repository.CounselRollupCount;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class CounselStatisticsServiceTest {
+
+    private static final LocalDateTime COUNSEL_DATE = LocalDateTime.of(2020, 3, 5, 10, 15);
+
+    @Autowired
+    private CounselStatisticsService statisticsService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Autowired
+    private CounselRepository counselRepository;
+
+    @Autowired
+    private CounselJdbcRepository counselJdbcRepository;
+
+    @Test
+    void testAnalysisUpdatesRollupsIncrementally() {
+        // given
+        Counsel saved = counselService.saveCounsel(counsel("STAT001", "신용카드 한도 상향을 요청드립니다. 연회비도 궁금합니다."));
+
+        // when
+        Counsel analyzed = counselService.analyzeCounsel(saved.getId()).join();
+        // 다시 분석해도 이전 분류를 차감하므로 한 건으로 집계되어야 함
+        counselService.analyzeCounsel(saved.getId()).join();
+        List<CounselRollupCount> daily = statistics(CounselRollup.Granularity.DAILY, "STAT001");
+        List<CounselRollupCount> hourly = statistics(CounselRollup.Granularity.HOURLY, "STAT001");
+
+        // then
+        assertEquals(1, daily.size());
+        assertEquals(1, daily.get(0).getCount());
+        assertEquals(LocalDateTime.of(2020, 3, 5, 0, 0), daily.get(0).getBucketStart());
+        assertEquals(analyzed.getCounselType(), daily.get(0).getCounselType());
+        assertEquals(analyzed.getSentiment(), daily.get(0).getSentiment());
+        assertEquals(1, hourly.size());
+        assertEquals(LocalDateTime.of(2020, 3, 5, 10, 0), hourly.get(0).getBucketStart());
+    }
+
+    @Test
+    void testRebuildMatchesIncrementalRollups() {
+        // given
+        for (int i = 0; i < 3; i++) {
+            Counsel saved = counselService.saveCounsel(counsel("STAT002", "정기예금 금리와 만기 조건을 문의합니다. 번호 " + i));
+            counselService.analyzeCounsel(saved.getId()).join();
+        }
+        List<CounselRollupCount> incremental = statistics(CounselRollup.Granularity.DAILY, "STAT002");
+
+        // when
+        statisticsService.startRebuild().join();
+        List<CounselRollupCount> rebuilt = statistics(CounselRollup.Granularity.DAILY, "STAT002");
+
+        // then
+        assertEquals(3, incremental.stream().mapToLong(CounselRollupCount::getCount).sum());
+        assertEquals(incremental.size(), rebuilt.size());
+        for (int i = 0; i < rebuilt.size(); i++) {
+            assertEquals(incremental.get(i).getCounselType(), rebuilt.get(i).getCounselType());
+            assertEquals(incremental.get(i).getCount(), rebuilt.get(i).getCount());
+        }
+        assertEquals(0, statisticsService.getFailedPartitions());
+        assertFalse(statisticsService.isRebuilding());
+    }
+
+    @Test
+    void testStaleAnalysisIsNotCountedTwice() {
+        // given
+        Counsel saved = counselService.saveCounsel(counsel("STAT003", "대출 상환 일정과 중도상환 수수료를 문의합니다."));
+        // 다른 분석기가 분석 전 상태를 먼저 읽어 둔 상황
+        Counsel stale = counselRepository.findById(saved.getId()).orElseThrow();
+        Counsel analyzed = counselService.analyzeCounsel(saved.getId()).join();
+
+        // when
+        stale.applyAnalysis("기타", "부정", List.of("상환"));
+        List<AnalysisUpdate> applied = counselJdbcRepository.updateAnalyses(List.of(new AnalysisUpdate(stale, null, null)));
+        List<CounselRollupCount> daily = statistics(CounselRollup.Granularity.DAILY, "STAT003");
+
+        // then
+        assertTrue(applied.isEmpty());
+        assertEquals(analyzed.getCounselType(), counselRepository.findById(saved.getId()).orElseThrow().getCounselType());
+        assertEquals(1, daily.stream().mapToLong(CounselRollupCount::getCount).sum());
+    }
+
+    @Test
+    void testRejectsInvalidRange() {
+        // when & then
+        assertThrows(InvalidRequestException.class, () -> statisticsService.getStatistics(CounselRollup.Granularity.DAILY,
+                COUNSEL_DATE, COUNSEL_DATE.minusDays(1), List.of(), Map.of()));
+        assertThrows(InvalidRequestException.class, () -> statisticsService.getStatistics(CounselRollup.Granularity.HOURLY,
+                COUNSEL_DATE, COUNSEL_DATE.plusYears(1), List.of(), Map.of()));
+    }
+
+    private List<CounselRollupCount> statistics(CounselRollup.Granularity granularity, String counselorId) {
+        return statisticsService.getStatistics(granularity, COUNSEL_DATE.minusDays(1), COUNSEL_DATE.plusDays(1),
+                List.of(CounselRollup.Dimension.TYPE, CounselRollup.Dimension.SENTIMENT),
+                Map.of(CounselRollup.Dimension.COUNSELOR, counselorId));
+    }
+
+    private static Counsel counsel(String counselorId, String content) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId(counselorId);
+        counsel.setCustomerId("CU" + counselorId);
+        counsel.setContent(content);
+        counsel.setProductInfo("신용카드");
+        counsel.setCounselDate(COUNSEL_DATE);
+        return counsel;
+    }
+}
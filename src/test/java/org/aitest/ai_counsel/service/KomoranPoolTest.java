@@ -0,0 +1,96 @@
+package org.aitest.ai_counsel.service;
+
+import kr.co.shineware.nlp.komoran.constant.DEFAULT_MODEL;
+import kr.co.shineware.nlp.komoran.model.Token;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class KomoranPoolTest {
+
+    @Autowired
+    private KomoranPool komoranPool;
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void testConcurrentAnalysisReleasesPermits() throws Exception {
+        // given
+        long before = komoranPool.getAnalyses();
+        ExecutorService executor = Executors.newFixedThreadPool(komoranPool.getSize() * 2);
+
+        // when
+        List<Future<List<Token>>> futures = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            futures.add(executor.submit(() -> komoranPool.analyze("주택담보대출 금리와 한도를 알고 싶습니다.")));
+        }
+        List<List<Token>> results = new ArrayList<>();
+        for (Future<List<Token>> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+
+        // then
+        assertTrue(komoranPool.isReady());
+        assertTrue(komoranPool.getAnalyses() - before >= 32);
+        assertEquals(0, komoranPool.getInUse());
+        results.forEach(tokens -> assertEquals(results.get(0).size(), tokens.size()));
+    }
+
+    @Test
+    void testUserDictionaryKeepsCompoundNoun() throws IOException {
+        // given
+        Path userDictionary = tempDir.resolve("user.dic");
+        Files.writeString(userDictionary, "외화보통예금\tNNP\n", StandardCharsets.UTF_8);
+        KomoranPool pool = new KomoranPool(new DefaultResourceLoader(), DEFAULT_MODEL.LIGHT,
+                userDictionary.toUri().toString(), 1, Duration.ofMinutes(1), false);
+
+        // when
+        List<Token> tokens = pool.analyze("외화보통예금 가입을 원합니다.");
+
+        // then
+        assertEquals(DEFAULT_MODEL.LIGHT, pool.getModel());
+        assertTrue(tokens.stream().anyMatch(token -> token.getMorph().equals("외화보통예금") && token.getPos().equals("NNP")));
+    }
+
+    @Test
+    void testDedicatedThreadsRunAnalysisOffCallerThreads() throws Exception {
+        // given
+        KomoranPool pool = new KomoranPool(new DefaultResourceLoader(), DEFAULT_MODEL.LIGHT, "", 2, Duration.ofMinutes(1), true);
+        ExecutorService callers = Executors.newFixedThreadPool(16);
+        List<Token> expected = pool.analyze("체크카드 분실 신고를 하고 싶습니다.");
+
+        // when
+        List<Future<List<Token>>> futures = new ArrayList<>();
+        for (int i = 0; i < 64; i++) {
+            futures.add(callers.submit(() -> pool.analyze("체크카드 분실 신고를 하고 싶습니다.")));
+        }
+
+        // then
+        for (Future<List<Token>> future : futures) {
+            assertEquals(expected.size(), future.get().size());
+        }
+        callers.shutdown();
+        assertTrue(pool.isDedicatedThreads());
+        assertEquals(0, pool.getInUse());
+        assertEquals(65, pool.getAnalyses());
+        pool.shutdown();
+    }
+}
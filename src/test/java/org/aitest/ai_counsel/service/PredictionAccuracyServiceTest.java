@@ -0,0 +1,59 @@
+package org.aitest.ai_counsel.service;
+
+import org.aitest.ai_counsel.domain.Counsel;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "openai.api.key=")
+class PredictionAccuracyServiceTest {
+
+    private static final String CONTENT = "정기예금 금리 문의드립니다. 만기 시 자동 재예치가 가능한가요?";
+
+    @Autowired
+    private PredictionAccuracyService accuracyService;
+
+    @Autowired
+    private CounselService counselService;
+
+    @Test
+    void testPredictionsAreComparedWithFollowingCounsel() {
+        // given
+        LocalDateTime from = LocalDateTime.now();
+        String customerId = "CU-ACC-" + System.nanoTime();
+        String pendingCustomerId = "CU-ACC-PENDING-" + System.nanoTime();
+        // 주기 10일, 8일 -> 평균 9일이므로 다음 상담 예상일은 from + 6일
+        saveAnalyzed(customerId, from.minusDays(21));
+        saveAnalyzed(customerId, from.minusDays(11));
+        saveAnalyzed(customerId, from.minusDays(3));
+        saveAnalyzed(pendingCustomerId, from.minusDays(2));
+        counselService.predictNextCounselByCustomer(customerId);
+        counselService.predictNextCounselByCustomer(pendingCustomerId);
+
+        // when
+        saveAnalyzed(customerId, from.plusDays(5)); // 예측 이후 실제 상담
+        PredictionAccuracyService.PredictionAccuracy accuracy =
+                accuracyService.evaluate(from, LocalDateTime.now().plusSeconds(1));
+
+        // then
+        assertEquals(2, accuracy.getPredictions());
+        assertEquals(1, accuracy.getPending());
+        assertEquals(1, accuracy.getEvaluated());
+        assertEquals(1.0, accuracy.getTypeAccuracy());
+        assertEquals(1.0, accuracy.getIntervalHitRate());
+        assertEquals(1.0, accuracy.getMeanAbsoluteErrorDays(), 0.01);
+    }
+
+    private void saveAnalyzed(String customerId, LocalDateTime counselDate) {
+        Counsel counsel = new Counsel();
+        counsel.setCounselorId("CS-ACC");
+        counsel.setCustomerId(customerId);
+        counsel.setContent(CONTENT);
+        counsel.setCounselDate(counselDate);
+        counselService.analyzeCounsel(counselService.saveCounsel(counsel).getId()).join();
+    }
+}